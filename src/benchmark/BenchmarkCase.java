@@ -0,0 +1,160 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The super-class of any benchmark case run by BenchmarkHarness. A case
+ * performs a batch of operations in each invocation, and reports how many were
+ * performed, so that the harness needs no per-operation timing. The state of a
+ * case is built in setUp(), which is not timed.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public abstract class BenchmarkCase {
+
+	/**
+	 * Mode. Report operations per second.
+	 */
+	public static final int THROUGHPUT = 0;
+
+	/**
+	 * Mode. Report nanoseconds per operation.
+	 */
+	public static final int AVERAGE_TIME = 1;
+
+	/**
+	 * The name, e.g., "Maze.tryStep".
+	 */
+	String name;
+
+	/**
+	 * THROUGHPUT or AVERAGE_TIME.
+	 */
+	int mode;
+
+	/**
+	 * The names of parameters.
+	 */
+	List<String> paramNames;
+
+	/**
+	 * The values of parameters.
+	 */
+	List<String> paramValues;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraName
+	 *            The name.
+	 * @param paraMode
+	 *            THROUGHPUT or AVERAGE_TIME.
+	 ****************** 
+	 */
+	public BenchmarkCase(String paraName, int paraMode) {
+		name = paraName;
+		mode = paraMode;
+		paramNames = new ArrayList<String>();
+		paramValues = new ArrayList<String>();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Add a parameter for display and export.
+	 * 
+	 * @param paraName
+	 *            The name of the parameter.
+	 * @param paraValue
+	 *            The value.
+	 * @return This case.
+	 ****************** 
+	 */
+	public BenchmarkCase addParam(String paraName, Object paraValue) {
+		paramNames.add(paraName);
+		paramValues.add(String.valueOf(paraValue));
+		return this;
+	}// Of addParam
+
+	/**
+	 ****************** 
+	 * Build the state before warming up. Not timed.
+	 ****************** 
+	 */
+	public void setUp() {
+	}// Of setUp
+
+	/**
+	 ****************** 
+	 * Perform a batch of operations. The result of operations should be
+	 * passed to BenchmarkHarness.consume() to prevent dead code elimination.
+	 * 
+	 * @return The number of operations performed.
+	 ****************** 
+	 */
+	public abstract long invoke();
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The name.
+	 ****************** 
+	 */
+	public String getName() {
+		return name;
+	}// Of getName
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The mode.
+	 ****************** 
+	 */
+	public int getMode() {
+		return mode;
+	}// Of getMode
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The unit of the score.
+	 ****************** 
+	 */
+	public String getUnit() {
+		if (mode == THROUGHPUT) {
+			return "ops/s";
+		} // Of if
+
+		return "ns/op";
+	}// Of getUnit
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = name;
+		for (int i = 0; i < paramNames.size(); i++) {
+			resultString += (i == 0 ? " (" : ", ") + paramNames.get(i) + "="
+					+ paramValues.get(i);
+		} // Of for i
+		if (!paramNames.isEmpty()) {
+			resultString += ")";
+		} // Of if
+
+		return resultString;
+	}// Of toString
+
+} // Of class BenchmarkCase
@@ -0,0 +1,405 @@
+package benchmark;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A small harness in the manner of JMH: each case is set up, warmed up for
+ * some iterations, and then measured for some iterations of a fixed duration.
+ * The score is the mean of the iterations, and the error is the half width of
+ * the 99.9% confidence interval. Results can be exported as JSON in the layout
+ * of JMH (-rf json), so that the same tools can compare releases. Unlike JMH,
+ * cases run in the same JVM without forking, hence the order of cases may
+ * affect the profile of the JIT.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class BenchmarkHarness {
+
+	/**
+	 * The 99.95% quantiles of the Student t distribution with 1 to 10 degrees
+	 * of freedom.
+	 */
+	static final double[] T_QUANTILES = { 636.62, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408,
+			5.041, 4.781, 4.587 };
+
+	/**
+	 * The 99.95% quantile of the standard normal distribution.
+	 */
+	static final double Z_QUANTILE = 3.2905267;
+
+	/**
+	 * To prevent dead code elimination.
+	 */
+	static volatile long sink;
+
+	/**
+	 * The number of warmup iterations.
+	 */
+	int warmupIterations;
+
+	/**
+	 * The number of measurement iterations.
+	 */
+	int measurementIterations;
+
+	/**
+	 * The duration of an iteration in nanoseconds.
+	 */
+	long iterationTime;
+
+	/**
+	 * The results so far.
+	 */
+	List<Result> results;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraWarmupIterations
+	 *            The number of warmup iterations.
+	 * @param paraMeasurementIterations
+	 *            The number of measurement iterations, at least 2.
+	 * @param paraIterationMillis
+	 *            The duration of an iteration in milliseconds.
+	 * @throws IllegalArgumentException
+	 *             if there are fewer than 2 measurement iterations.
+	 ****************** 
+	 */
+	public BenchmarkHarness(int paraWarmupIterations, int paraMeasurementIterations,
+			long paraIterationMillis) {
+		if (paraMeasurementIterations < 2) {
+			throw new IllegalArgumentException("BenchmarkHarness: " + paraMeasurementIterations
+					+ " measurement iterations, while at least 2 are needed for the error.");
+		} // Of if
+
+		warmupIterations = paraWarmupIterations;
+		measurementIterations = paraMeasurementIterations;
+		iterationTime = paraIterationMillis * 1000000;
+		results = new ArrayList<Result>();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Consume a value so that its computation cannot be eliminated.
+	 * 
+	 * @param paraValue
+	 *            The value.
+	 ****************** 
+	 */
+	public static void consume(long paraValue) {
+		sink += paraValue;
+	}// Of consume
+
+	/**
+	 ****************** 
+	 * Consume a value so that its computation cannot be eliminated.
+	 * 
+	 * @param paraValue
+	 *            The value.
+	 ****************** 
+	 */
+	public static void consume(double paraValue) {
+		sink += Double.doubleToRawLongBits(paraValue);
+	}// Of consume
+
+	/**
+	 ****************** 
+	 * Run one iteration, i.e., invoke the case until the duration elapses.
+	 * 
+	 * @param paraCase
+	 *            The case.
+	 * @return The score of the iteration.
+	 ****************** 
+	 */
+	double runIteration(BenchmarkCase paraCase) {
+		long tempOperations = 0;
+		long tempStartTime = System.nanoTime();
+		long tempElapsed;
+		do {
+			tempOperations += paraCase.invoke();
+			tempElapsed = System.nanoTime() - tempStartTime;
+		} while (tempElapsed < iterationTime);
+
+		if (paraCase.getMode() == BenchmarkCase.THROUGHPUT) {
+			return tempOperations * 1e9 / tempElapsed;
+		} // Of if
+
+		return tempElapsed / (double) tempOperations;
+	}// Of runIteration
+
+	/**
+	 ****************** 
+	 * Set up, warm up and measure the given case. The result is printed and
+	 * kept for export.
+	 * 
+	 * @param paraCase
+	 *            The case.
+	 * @return The result.
+	 ****************** 
+	 */
+	public Result run(BenchmarkCase paraCase) {
+		paraCase.setUp();
+		for (int i = 0; i < warmupIterations; i++) {
+			runIteration(paraCase);
+		} // Of for i
+
+		double[] tempScores = new double[measurementIterations];
+		for (int i = 0; i < tempScores.length; i++) {
+			tempScores[i] = runIteration(paraCase);
+		} // Of for i
+
+		Result resultResult = new Result(paraCase, tempScores);
+		results.add(resultResult);
+		System.out.println(resultResult);
+		return resultResult;
+	}// Of run
+
+	/**
+	 ****************** 
+	 * Run the given cases whose descriptions contain the filter.
+	 * 
+	 * @param paraCases
+	 *            The cases.
+	 * @param paraFilter
+	 *            The filter, empty for all.
+	 ****************** 
+	 */
+	public void runAll(List<BenchmarkCase> paraCases, String paraFilter) {
+		for (int i = 0; i < paraCases.size(); i++) {
+			if (paraCases.get(i).toString().contains(paraFilter)) {
+				run(paraCases.get(i));
+			} // Of if
+		} // Of for i
+	}// Of runAll
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The results so far.
+	 ****************** 
+	 */
+	public List<Result> getResults() {
+		return results;
+	}// Of getResults
+
+	/**
+	 ****************** 
+	 * Quote a string for JSON.
+	 * 
+	 * @param paraString
+	 *            The string.
+	 * @return The quoted string.
+	 ****************** 
+	 */
+	static String quote(String paraString) {
+		return "\"" + paraString.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}// Of quote
+
+	/**
+	 ****************** 
+	 * Convert a number for JSON. NaN and infinities are quoted, as JMH does,
+	 * since JSON does not support them.
+	 * 
+	 * @param paraValue
+	 *            The value.
+	 * @return The number, or the quoted string.
+	 ****************** 
+	 */
+	static String number(double paraValue) {
+		if (Double.isNaN(paraValue) || Double.isInfinite(paraValue)) {
+			return quote("" + paraValue);
+		} // Of if
+		return "" + paraValue;
+	}// Of number
+
+	/**
+	 ****************** 
+	 * The 99.95% quantile of the Student t distribution, i.e., the factor of
+	 * the two-sided 99.9% confidence interval. Beyond the table, the
+	 * Cornish-Fisher expansion is within 0.001 of the exact value.
+	 * 
+	 * @param paraDegrees
+	 *            The degrees of freedom, at least 1.
+	 * @return The quantile.
+	 ****************** 
+	 */
+	static double tQuantile(int paraDegrees) {
+		if (paraDegrees <= T_QUANTILES.length) {
+			return T_QUANTILES[paraDegrees - 1];
+		} // Of if
+
+		// The terms of 1 / n to 1 / n^4, with z the normal quantile.
+		double tempZ = Z_QUANTILE;
+		double tempZ2 = tempZ * tempZ;
+		double tempInverse = 1.0 / paraDegrees;
+		double[] tempTerms = { (tempZ2 + 1) / 4, ((5 * tempZ2 + 16) * tempZ2 + 3) / 96,
+				(((3 * tempZ2 + 19) * tempZ2 + 17) * tempZ2 - 15) / 384,
+				((((79 * tempZ2 + 776) * tempZ2 + 1482) * tempZ2 - 1920) * tempZ2 - 945)
+						/ 92160 };
+		double resultQuantile = 1;
+		double tempPower = 1;
+		for (int i = 0; i < tempTerms.length; i++) {
+			tempPower *= tempInverse;
+			resultQuantile += tempTerms[i] * tempPower;
+		} // Of for i
+
+		return tempZ * resultQuantile;
+	}// Of tQuantile
+
+	/**
+	 ****************** 
+	 * Convert the results so far to JSON.
+	 * 
+	 * @return The JSON array.
+	 ****************** 
+	 */
+	public String toJson() {
+		StringBuilder tempBuilder = new StringBuilder("[\n");
+		Result tempResult;
+		BenchmarkCase tempCase;
+		for (int i = 0; i < results.size(); i++) {
+			tempResult = results.get(i);
+			tempCase = tempResult.benchmarkCase;
+			tempBuilder.append("  {\n    \"benchmark\": ").append(quote(tempCase.getName()));
+			tempBuilder.append(",\n    \"mode\": ").append(
+					quote(tempCase.getMode() == BenchmarkCase.THROUGHPUT ? "thrpt" : "avgt"));
+			tempBuilder.append(",\n    \"threads\": 1, \"forks\": 0");
+			tempBuilder.append(",\n    \"warmupIterations\": ").append(warmupIterations);
+			tempBuilder.append(",\n    \"measurementIterations\": ")
+					.append(measurementIterations);
+			tempBuilder.append(",\n    \"measurementTime\": ")
+					.append(quote(iterationTime / 1000000 + " ms"));
+			tempBuilder.append(",\n    \"params\": {");
+			for (int j = 0; j < tempCase.paramNames.size(); j++) {
+				tempBuilder.append(j == 0 ? " " : ", ").append(quote(tempCase.paramNames.get(j)))
+						.append(": ").append(quote(tempCase.paramValues.get(j)));
+			} // Of for j
+			tempBuilder.append(" },\n    \"primaryMetric\": {\n      \"score\": ")
+					.append(number(tempResult.getScore()));
+			tempBuilder.append(",\n      \"scoreError\": ")
+					.append(number(tempResult.getScoreError()));
+			tempBuilder.append(",\n      \"scoreUnit\": ").append(quote(tempCase.getUnit()));
+			tempBuilder.append(",\n      \"rawData\": [ [");
+			for (int j = 0; j < tempResult.scores.length; j++) {
+				tempBuilder.append(j == 0 ? " " : ", ").append(number(tempResult.scores[j]));
+			} // Of for j
+			tempBuilder.append(" ] ]\n    }\n  }").append(i < results.size() - 1 ? ",\n" : "\n");
+		} // Of for i
+		tempBuilder.append("]\n");
+
+		return tempBuilder.toString();
+	}// Of toJson
+
+	/**
+	 ****************** 
+	 * Write the results so far to the given JSON file.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 ****************** 
+	 */
+	public void writeJson(String paraFilename) throws IOException {
+		Writer tempWriter = new FileWriter(paraFilename);
+		try {
+			tempWriter.write(toJson());
+		} finally {
+			tempWriter.close();
+		} // Of try
+	}// Of writeJson
+
+	/**
+	 *************************** 
+	 * The result of one case.
+	 *************************** 
+	 */
+	public static class Result {
+		/**
+		 * The case.
+		 */
+		BenchmarkCase benchmarkCase;
+
+		/**
+		 * The scores of the measurement iterations.
+		 */
+		double[] scores;
+
+		/**
+		 *************************** 
+		 * The constructor.
+		 * 
+		 * @param paraCase
+		 *            The case.
+		 * @param paraScores
+		 *            The scores of the measurement iterations.
+		 *************************** 
+		 */
+		Result(BenchmarkCase paraCase, double[] paraScores) {
+			benchmarkCase = paraCase;
+			scores = paraScores;
+		}// Of the constructor
+
+		/**
+		 *************************** 
+		 * Getter.
+		 * 
+		 * @return The mean score.
+		 *************************** 
+		 */
+		public double getScore() {
+			double tempSum = 0;
+			for (int i = 0; i < scores.length; i++) {
+				tempSum += scores[i];
+			} // Of for i
+
+			return tempSum / scores.length;
+		}// Of getScore
+
+		/**
+		 *************************** 
+		 * Getter.
+		 * 
+		 * @return The half width of the 99.9% confidence interval, NaN for
+		 *         fewer than 2 iterations.
+		 *************************** 
+		 */
+		public double getScoreError() {
+			int tempDegrees = scores.length - 1;
+			if (tempDegrees < 1) {
+				return Double.NaN;
+			} // Of if
+
+			double tempMean = getScore();
+			double tempSquares = 0;
+			for (int i = 0; i < scores.length; i++) {
+				tempSquares += (scores[i] - tempMean) * (scores[i] - tempMean);
+			} // Of for i
+			return tQuantile(tempDegrees) * Math.sqrt(tempSquares / tempDegrees / scores.length);
+		}// Of getScoreError
+
+		/**
+		 *************************** 
+		 * For display.
+		 *************************** 
+		 */
+		public String toString() {
+			return String.format("  %-60s %14.1f +- %12.1f %s", benchmarkCase, getScore(),
+					getScoreError(), benchmarkCase.getUnit());
+		}// Of toString
+	}// Of class Result
+
+} // Of class BenchmarkHarness
@@ -0,0 +1,215 @@
+package benchmark;
+
+import java.util.Random;
+
+import qlearning.action.*;
+import qlearning.agent.*;
+import qlearning.environment.*;
+import qlearning.table.QTable;
+
+/**
+ * Compare the throughput of the episode loop with exceptions (the adapters
+ * selectAction() and step()) and with status codes (chooseAction() and
+ * tryStep()) on the complex maze.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class EpisodeLoopBenchmark {
+
+	/**
+	 * The start state in the complex maze.
+	 */
+	public static final int START_STATE = 32;
+
+	/**
+	 * The alpha value.
+	 */
+	public static final double ALPHA = 0.1;
+
+	/**
+	 * The gamma value.
+	 */
+	public static final double GAMMA = 0.99;
+
+	/**
+	 ****************** 
+	 * Run the episodes with the exception-based API.
+	 * 
+	 * @param paraAgent
+	 *            The agent.
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @return The total number of steps.
+	 ****************** 
+	 */
+	public static long runWithExceptions(QAgent paraAgent, Environment paraEnvironment,
+			int paraEpisodes) {
+		QTable tempTable = paraAgent.getQualityTable();
+		double[] tempRow = new double[paraEnvironment.getNumActions()];
+		long resultSteps = 0;
+		int tempAction, tempCurrentState, tempNextState;
+		for (int i = 0; i < paraEpisodes; i++) {
+			paraEnvironment.reset();
+			tempCurrentState = paraEnvironment.getStartState();
+			paraEnvironment.setCurrentState(tempCurrentState);
+			while (!paraEnvironment.isFinished()) {
+				resultSteps++;
+				int[] tempValidActions = paraEnvironment.getValidActions();
+				tempTable.copyRow(tempCurrentState, tempRow);
+				try {
+					tempAction = paraAgent.selectAction(tempRow, tempValidActions);
+				} catch (NoValidActionException ee) {
+					break;
+				} // Of try
+
+				try {
+					paraEnvironment.step(tempAction);
+				} catch (IllegalActionException ee) {
+					break;
+				} // Of try
+
+				tempNextState = paraEnvironment.getCurrentState();
+				update(tempTable, paraEnvironment, tempCurrentState, tempAction, tempNextState);
+				tempCurrentState = tempNextState;
+			} // Of while
+		} // Of for i
+
+		return resultSteps;
+	}// Of runWithExceptions
+
+	/**
+	 ****************** 
+	 * Run the episodes with the status-based API.
+	 * 
+	 * @param paraAgent
+	 *            The agent.
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @return The total number of steps.
+	 ****************** 
+	 */
+	public static long runWithStatus(QAgent paraAgent, Environment paraEnvironment,
+			int paraEpisodes) {
+		QTable tempTable = paraAgent.getQualityTable();
+		double[] tempRow = new double[paraEnvironment.getNumActions()];
+		long resultSteps = 0;
+		int tempAction, tempCurrentState, tempNextState;
+		for (int i = 0; i < paraEpisodes; i++) {
+			paraEnvironment.reset();
+			tempCurrentState = paraEnvironment.getStartState();
+			paraEnvironment.setCurrentState(tempCurrentState);
+			while (!paraEnvironment.isFinished()) {
+				resultSteps++;
+				int[] tempValidActions = paraEnvironment.getValidActions();
+				tempTable.copyRow(tempCurrentState, tempRow);
+				tempAction = paraAgent.chooseAction(tempRow, tempValidActions);
+				if (tempAction == QAgent.NO_VALID_ACTION) {
+					break;
+				} // Of if
+
+				if (paraEnvironment.tryStep(tempAction) != Environment.STEP_OK) {
+					break;
+				} // Of if
+
+				tempNextState = paraEnvironment.getCurrentState();
+				update(tempTable, paraEnvironment, tempCurrentState, tempAction, tempNextState);
+				tempCurrentState = tempNextState;
+			} // Of while
+		} // Of for i
+
+		return resultSteps;
+	}// Of runWithStatus
+
+	/**
+	 ****************** 
+	 * The TD update, the same as QAgent.learn().
+	 * 
+	 * @param paraTable
+	 *            The quality table.
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @param paraState
+	 *            The current state.
+	 * @param paraAction
+	 *            The action.
+	 * @param paraNextState
+	 *            The next state.
+	 ****************** 
+	 */
+	static void update(QTable paraTable, Environment paraEnvironment, int paraState,
+			int paraAction, int paraNextState) {
+		double tempReward = paraEnvironment.getCurrentReward();
+		if (tempReward == Environment.PENALTY_VALUE) {
+			paraTable.setValue(paraState, paraAction, tempReward);
+		} else {
+			double tempMax = paraTable.getMaxValue(paraNextState,
+					paraEnvironment.getValidActions(paraNextState), 0);
+			paraTable.addValue(paraState, paraAction,
+					ALPHA * (tempReward + GAMMA * tempMax - paraTable.getValue(paraState, paraAction)));
+		} // Of if
+	}// Of update
+
+	/**
+	 ****************** 
+	 * Measure one loop.
+	 * 
+	 * @param paraWithExceptions
+	 *            Use the exception-based API?
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @param paraSeed
+	 *            The seed.
+	 ****************** 
+	 */
+	public static void measure(boolean paraWithExceptions, int paraEpisodes, long paraSeed) {
+		Environment tempEnvironment = new Maze(Maze.generateComplexMaze());
+		tempEnvironment.setStartState(START_STATE);
+		QAgent tempAgent = new WeightedRandomQAgent(tempEnvironment);
+		tempAgent.setRandom(new Random(paraSeed));
+
+		long tempStartTime = System.nanoTime();
+		long tempSteps;
+		if (paraWithExceptions) {
+			tempSteps = runWithExceptions(tempAgent, tempEnvironment, paraEpisodes);
+		} else {
+			tempSteps = runWithStatus(tempAgent, tempEnvironment, paraEpisodes);
+		} // Of if
+		double tempSeconds = (System.nanoTime() - tempStartTime) / 1e9;
+
+		System.out.printf("  %s: %.1f episodes/s, %.0f steps/s\r\n",
+				paraWithExceptions ? "exceptions" : "status    ", paraEpisodes / tempSeconds,
+				tempSteps / tempSeconds);
+	}// Of measure
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		int tempEpisodes = 300;
+		System.out.println("Warming up ...");
+		measure(true, tempEpisodes, 0);
+		measure(false, tempEpisodes, 0);
+
+		System.out.println("Complex maze, " + tempEpisodes + " episodes:");
+		for (int i = 1; i <= 3; i++) {
+			measure(true, tempEpisodes, i);
+			measure(false, tempEpisodes, i);
+		} // Of for i
+	}// Of main
+} // Of class EpisodeLoopBenchmark
@@ -0,0 +1,509 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import common.RunContext;
+import common.SplitMixRandom;
+import qlearning.agent.*;
+import qlearning.environment.*;
+import qlearning.umpire.Umpire;
+import vlearning.agent.VAgentDynamicProgramming;
+import vlearning.environment.VTicTacToeDynamicProgramming;
+import vlearning.umpire.VUmpire;
+
+/**
+ * The benchmarks of the learning hot paths, parameterized by the maze size and
+ * the checkerboard size: Environment.tryStep(), getValidActions(), the action
+ * selection of agents, QAgent.learn() episodes, VUmpire.train() and
+ * Umpire.train() games, and the sweep of VAgentDynamicProgramming.update().
+ * The cases of LargeMazeBenchmark, TraceBenchmark and PlanningBenchmark are
+ * included. The results are written as JSON to track regressions between
+ * releases.<br>
+ * Usage: java benchmark.HotPathBenchmarks [json file] [name filter] [ms per
+ * iteration].<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class HotPathBenchmarks {
+
+	/**
+	 * The maze sizes, including the walls.
+	 */
+	public static final int[] MAZE_SIZES = { 7, 15, 31 };
+
+	/**
+	 * The checkerboard sizes of k-in-a-row with k = 3.
+	 */
+	public static final int[] BOARD_SIZES = { 3, 4 };
+
+	/**
+	 * The default name of the JSON file.
+	 */
+	/**
+	 * The numbers of lanes of batched environments.
+	 */
+	public static final int[] LANE_COUNTS = { 1, 16, 256 };
+
+	/**
+	 * The size of the generated maze for the cases of LargeMazeBenchmark.
+	 */
+	public static final int LARGE_MAZE_SIZE = 1024;
+
+	/**
+	 * The default file of results.
+	 */
+	public static final String DEFAULT_JSON_FILE = "hotpath-benchmark.json";
+
+	/**
+	 * The number of operations for each invocation of fast cases.
+	 */
+	public static final int BATCH_SIZE = 10000;
+
+	/**
+	 ****************** 
+	 * Generate an open maze surrounded by walls. The start state is at (1, 1)
+	 * and the final state is at the opposite corner.
+	 * 
+	 * @param paraSize
+	 *            The number of rows and columns, at least 3.
+	 * @return The maze.
+	 ****************** 
+	 */
+	public static int[][] generateOpenMaze(int paraSize) {
+		int[][] resultMaze = new int[paraSize][paraSize];
+		for (int i = 0; i < paraSize; i++) {
+			resultMaze[0][i] = Maze.TRAP_STATE_VALUE;
+			resultMaze[paraSize - 1][i] = Maze.TRAP_STATE_VALUE;
+			resultMaze[i][0] = Maze.TRAP_STATE_VALUE;
+			resultMaze[i][paraSize - 1] = Maze.TRAP_STATE_VALUE;
+		} // Of for i
+		resultMaze[paraSize - 2][paraSize - 2] = Maze.FINAL_STATE_VALUE;
+
+		return resultMaze;
+	}// Of generateOpenMaze
+
+	/**
+	 ****************** 
+	 * Create a maze environment with the start state at (1, 1).
+	 * 
+	 * @param paraSize
+	 *            The number of rows and columns.
+	 * @return The environment.
+	 ****************** 
+	 */
+	public static Maze createMaze(int paraSize) {
+		Maze resultMaze = new Maze(generateOpenMaze(paraSize));
+		resultMaze.setStartState(paraSize + 1);
+		resultMaze.setContext(new RunContext(0));
+		return resultMaze;
+	}// Of createMaze
+
+	/**
+	 ****************** 
+	 * Collect the states of random walks or games, reset when finished.
+	 * 
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @param paraNumStates
+	 *            The number of states to collect.
+	 * @return The states.
+	 ****************** 
+	 */
+	public static int[] collectStates(Environment paraEnvironment, int paraNumStates) {
+		Random tempRandom = new SplitMixRandom(1);
+		int[] resultStates = new int[paraNumStates];
+		int[] tempValidActions;
+		paraEnvironment.reset();
+		for (int i = 0; i < paraNumStates; i++) {
+			tempValidActions = paraEnvironment.getValidActions();
+			if (paraEnvironment.isFinished() || tempValidActions.length == 0) {
+				paraEnvironment.reset();
+				tempValidActions = paraEnvironment.getValidActions();
+			} // Of if
+			resultStates[i] = paraEnvironment.getCurrentState();
+			paraEnvironment.tryStep(tempValidActions[tempRandom.nextInt(tempValidActions.length)]);
+		} // Of for i
+
+		return resultStates;
+	}// Of collectStates
+
+	/**
+	 ****************** 
+	 * Random walk in a maze.
+	 * 
+	 * @param paraSize
+	 *            The maze size.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase mazeStepCase(final int paraSize) {
+		return new BenchmarkCase("Maze.tryStep", BenchmarkCase.THROUGHPUT) {
+			Maze maze;
+			Random random;
+
+			public void setUp() {
+				maze = createMaze(paraSize);
+				random = new SplitMixRandom(2);
+				maze.reset();
+			}// Of setUp
+
+			public long invoke() {
+				int[] tempValidActions;
+				for (int i = 0; i < BATCH_SIZE; i++) {
+					if (maze.isFinished()) {
+						maze.reset();
+					} // Of if
+					tempValidActions = maze.getValidActions();
+					maze.tryStep(tempValidActions[random.nextInt(tempValidActions.length)]);
+				} // Of for i
+				BenchmarkHarness.consume(maze.getCurrentState());
+				return BATCH_SIZE;
+			}// Of invoke
+		}.addParam("mazeSize", paraSize);
+	}// Of mazeStepCase
+
+	/**
+	 ****************** 
+	 * getValidActions() of visited states.
+	 * 
+	 * @param paraName
+	 *            The name of the case.
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase validActionsCase(String paraName,
+			final Environment paraEnvironment) {
+		return new BenchmarkCase(paraName, BenchmarkCase.AVERAGE_TIME) {
+			int[] states;
+
+			public void setUp() {
+				states = collectStates(paraEnvironment, 4096);
+			}// Of setUp
+
+			public long invoke() {
+				long tempSum = 0;
+				for (int i = 0; i < BATCH_SIZE; i++) {
+					tempSum += paraEnvironment.getValidActions(states[i & 4095]).length;
+				} // Of for i
+				BenchmarkHarness.consume(tempSum);
+				return BATCH_SIZE;
+			}// Of invoke
+		};
+	}// Of validActionsCase
+
+	/**
+	 ****************** 
+	 * Action selection among the 9 actions of tic-tac-toe.
+	 * 
+	 * @param paraVariant
+	 *            "static", "weighted", "simple" or "competition".
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase selectActionCase(final String paraVariant) {
+		return new BenchmarkCase("QAgent.chooseAction", BenchmarkCase.AVERAGE_TIME) {
+			double[][] rows;
+			int[] validActions;
+			QAgent agent;
+			Random random;
+
+			public void setUp() {
+				TicTacToe tempEnvironment = new TicTacToe();
+				tempEnvironment.setContext(new RunContext(3));
+				if (paraVariant.equals("competition")) {
+					agent = new CompetitionQAgent(tempEnvironment, 1);
+				} else if (paraVariant.equals("simple")) {
+					agent = new SimpleQAgent(tempEnvironment);
+				} else {
+					agent = new WeightedRandomQAgent(tempEnvironment);
+				} // Of if
+				random = new SplitMixRandom(4);
+
+				// Rows with ties and trap values.
+				rows = new double[1024][tempEnvironment.getNumActions()];
+				for (int i = 0; i < rows.length; i++) {
+					for (int j = 0; j < rows[i].length; j++) {
+						rows[i][j] = random.nextInt(5) * 10 - 10;
+						if (random.nextInt(10) == 0) {
+							rows[i][j] = Environment.PENALTY_VALUE;
+						} // Of if
+					} // Of for j
+				} // Of for i
+				validActions = new int[] { 0, 2, 3, 5, 6, 8 };
+			}// Of setUp
+
+			public long invoke() {
+				long tempSum = 0;
+				boolean tempStatic = paraVariant.equals("static");
+				for (int i = 0; i < BATCH_SIZE; i++) {
+					if (tempStatic) {
+						tempSum += WeightedRandomQAgent.chooseActionWeightedRandom(
+								rows[i & 1023], validActions, random);
+					} else {
+						tempSum += agent.chooseAction(rows[i & 1023], validActions);
+					} // Of if
+				} // Of for i
+				BenchmarkHarness.consume(tempSum);
+				return BATCH_SIZE;
+			}// Of invoke
+		}.addParam("variant", paraVariant);
+	}// Of selectActionCase
+
+	/**
+	 ****************** 
+	 * Episodes of QAgent.learn() from scratch in a maze.
+	 * 
+	 * @param paraSize
+	 *            The maze size.
+	 * @param paraEpisodes
+	 *            The number of episodes of each invocation.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase learnCase(final int paraSize, final int paraEpisodes) {
+		return new BenchmarkCase("QAgent.learn", BenchmarkCase.THROUGHPUT) {
+			QAgent agent;
+
+			public void setUp() {
+				agent = new WeightedRandomQAgent(createMaze(paraSize));
+			}// Of setUp
+
+			public long invoke() {
+				agent.learn(paraEpisodes);
+				BenchmarkHarness.consume(agent.getAverageReward());
+				return paraEpisodes;
+			}// Of invoke
+		}.addParam("mazeSize", paraSize).addParam("episodesPerRun", paraEpisodes);
+	}// Of learnCase
+
+	/**
+	 ****************** 
+	 * Episodes of QAgent.learnBatched() from scratch on an open maze.
+	 * 
+	 * @param paraSize
+	 *            The maze size.
+	 * @param paraNumLanes
+	 *            The number of lanes.
+	 * @param paraEpisodes
+	 *            The number of episodes of each invocation.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase learnBatchedCase(final int paraSize, final int paraNumLanes,
+			final int paraEpisodes) {
+		return new BenchmarkCase("QAgent.learnBatched", BenchmarkCase.THROUGHPUT) {
+			QAgent agent;
+
+			public void setUp() {
+				agent = new WeightedRandomQAgent(createMaze(paraSize));
+			}// Of setUp
+
+			public long invoke() {
+				agent.learnBatched(paraNumLanes, paraEpisodes);
+				BenchmarkHarness.consume(agent.getAverageReward());
+				return paraEpisodes;
+			}// Of invoke
+		}.addParam("mazeSize", paraSize).addParam("lanes", paraNumLanes)
+				.addParam("episodesPerRun", paraEpisodes);
+	}// Of learnBatchedCase
+
+	/**
+	 ****************** 
+	 * Lane steps of VectorEnvironment.step() with random valid actions.
+	 * 
+	 * @param paraName
+	 *            The name of the case.
+	 * @param paraEnvironment
+	 *            The source environment.
+	 * @param paraNumLanes
+	 *            The number of lanes.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase vectorStepCase(String paraName,
+			final Environment paraEnvironment, final int paraNumLanes) {
+		return new BenchmarkCase(paraName, BenchmarkCase.THROUGHPUT) {
+			VectorEnvironment vectorEnvironment;
+			int[] actions;
+			Random random;
+
+			public void setUp() {
+				vectorEnvironment = paraEnvironment.createVectorEnvironment(paraNumLanes);
+				actions = new int[paraNumLanes];
+				random = new Random(9);
+			}// Of setUp
+
+			public long invoke() {
+				int[] tempStates = vectorEnvironment.getStates();
+				int[] tempValidActions;
+				for (int i = 0; i < BATCH_SIZE / paraNumLanes + 1; i++) {
+					for (int j = 0; j < paraNumLanes; j++) {
+						tempValidActions = vectorEnvironment.getValidActions(tempStates[j]);
+						actions[j] = tempValidActions[random.nextInt(tempValidActions.length)];
+					} // Of for j
+					vectorEnvironment.step(actions);
+				} // Of for i
+				BenchmarkHarness.consume(vectorEnvironment.getNumFinishedEpisodes());
+				return (BATCH_SIZE / paraNumLanes + 1) * paraNumLanes;
+			}// Of invoke
+		}.addParam("lanes", paraNumLanes);
+	}// Of vectorStepCase
+
+	/**
+	 ****************** 
+	 * Games of VUmpire.train() from scratch on tic-tac-toe.
+	 * 
+	 * @param paraGames
+	 *            The number of games of each invocation.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase vTrainCase(final int paraGames) {
+		return new BenchmarkCase("VUmpire.train", BenchmarkCase.THROUGHPUT) {
+			VUmpire umpire;
+
+			public void setUp() {
+				umpire = new VUmpire();
+				umpire.setContext(new RunContext(5));
+			}// Of setUp
+
+			public long invoke() {
+				umpire.train(paraGames, 0.1, 0.1);
+				BenchmarkHarness.consume(umpire.getWinTimesArray()[0]);
+				return paraGames;
+			}// Of invoke
+		}.addParam("boardSize", 3).addParam("gamesPerRun", paraGames);
+	}// Of vTrainCase
+
+	/**
+	 ****************** 
+	 * Games of Umpire.train() from scratch on k-in-a-row with k = 3.
+	 * 
+	 * @param paraSize
+	 *            The checkerboard size.
+	 * @param paraGames
+	 *            The number of games of each invocation.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase qTrainCase(final int paraSize, final int paraGames) {
+		return new BenchmarkCase("Umpire.train", BenchmarkCase.THROUGHPUT) {
+			Umpire umpire;
+
+			public void setUp() {
+				KInARow tempEnvironment = new KInARow(paraSize, 3);
+				CompetitionQAgent[] tempAgents = new CompetitionQAgent[2];
+				for (int i = 0; i < tempAgents.length; i++) {
+					tempAgents[i] = new CompetitionQAgent(tempEnvironment, i + 1);
+				} // Of for i
+				umpire = new Umpire(tempEnvironment, tempAgents);
+				umpire.setContext(new RunContext(6));
+			}// Of setUp
+
+			public long invoke() {
+				umpire.train(paraGames);
+				BenchmarkHarness.consume(umpire.getWinTimesArray()[0]);
+				return paraGames;
+			}// Of invoke
+		}.addParam("boardSize", paraSize).addParam("gamesPerRun", paraGames);
+	}// Of qTrainCase
+
+	/**
+	 ****************** 
+	 * One sweep of VAgentDynamicProgramming.update() on tic-tac-toe.
+	 * 
+	 * @param paraStrategy
+	 *            The update strategy.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase sweepCase(final int paraStrategy) {
+		return new BenchmarkCase("VAgentDynamicProgramming.update", BenchmarkCase.AVERAGE_TIME) {
+			VAgentDynamicProgramming agent;
+
+			public void setUp() {
+				agent = new VAgentDynamicProgramming(new VTicTacToeDynamicProgramming(), 1);
+				agent.setUpdateStrategy(paraStrategy);
+			}// Of setUp
+
+			public long invoke() {
+				agent.update();
+				BenchmarkHarness.consume(agent.getValue(0));
+				return 1;
+			}// Of invoke
+		}.addParam("boardSize", 3).addParam("strategy",
+				paraStrategy == VAgentDynamicProgramming.AVERAGE_UPDATE ? "average" : "greedy");
+	}// Of sweepCase
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            The JSON file, the filter of names, and the milliseconds for
+	 *            each iteration, all optional.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		String tempJsonFile = args.length > 0 ? args[0] : DEFAULT_JSON_FILE;
+		String tempFilter = args.length > 1 ? args[1] : "";
+		long tempIterationMillis = args.length > 2 ? Long.parseLong(args[2]) : 500;
+
+		List<BenchmarkCase> tempCases = new ArrayList<BenchmarkCase>();
+		for (int i = 0; i < MAZE_SIZES.length; i++) {
+			tempCases.add(mazeStepCase(MAZE_SIZES[i]));
+			tempCases.add(validActionsCase("Maze.getValidActions", createMaze(MAZE_SIZES[i]))
+					.addParam("mazeSize", MAZE_SIZES[i]));
+			tempCases.add(learnCase(MAZE_SIZES[i], 20));
+			for (int j = 0; j < LANE_COUNTS.length; j++) {
+				tempCases.add(learnBatchedCase(MAZE_SIZES[i], LANE_COUNTS[j],
+						Math.max(20, LANE_COUNTS[j])));
+				tempCases.add(vectorStepCase("VectorMaze.step", createMaze(MAZE_SIZES[i]),
+						LANE_COUNTS[j]).addParam("mazeSize", MAZE_SIZES[i]));
+			} // Of for j
+		} // Of for i
+		for (int j = 0; j < LANE_COUNTS.length; j++) {
+			tempCases.add(vectorStepCase("VectorTicTacToe.step", new TicTacToe(), LANE_COUNTS[j]));
+		} // Of for j
+		for (int i = 0; i < BOARD_SIZES.length; i++) {
+			KInARow tempEnvironment = new KInARow(BOARD_SIZES[i], 3);
+			tempEnvironment.setContext(new RunContext(7));
+			tempCases.add(validActionsCase("KInARow.getValidActions", tempEnvironment)
+					.addParam("boardSize", BOARD_SIZES[i]));
+			tempCases.add(qTrainCase(BOARD_SIZES[i], 200));
+		} // Of for i
+		String[] tempVariants = { "static", "weighted", "simple", "competition" };
+		for (int i = 0; i < tempVariants.length; i++) {
+			tempCases.add(selectActionCase(tempVariants[i]));
+		} // Of for i
+		tempCases.add(vTrainCase(200));
+		tempCases.add(sweepCase(VAgentDynamicProgramming.AVERAGE_UPDATE));
+		tempCases.add(sweepCase(VAgentDynamicProgramming.GREEDY_UPDATE));
+		tempCases.addAll(
+				LargeMazeBenchmark.createCases(LargeMazeBenchmark.generateMaze(LARGE_MAZE_SIZE)));
+		tempCases.addAll(TraceBenchmark.createCases());
+		tempCases.addAll(PlanningBenchmark.createCases());
+
+		BenchmarkHarness tempHarness = new BenchmarkHarness(3, 5, tempIterationMillis);
+		tempHarness.runAll(tempCases, tempFilter);
+
+		try {
+			tempHarness.writeJson(tempJsonFile);
+			System.out.println("Results are written to " + tempJsonFile);
+		} catch (IOException ee) {
+			System.out.println("HotPathBenchmarks: " + ee);
+		} // Of try
+	}// Of main
+} // Of class HotPathBenchmarks
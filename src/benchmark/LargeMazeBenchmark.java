@@ -0,0 +1,255 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import common.SplitMixRandom;
+import independent.maze.ShortestPathEngine;
+import qlearning.environment.*;
+
+/**
+ * Generate, save and load a large maze, find the distances to the exit, and
+ * walk in it randomly, all through BenchmarkHarness. The size is 4096 * 4096
+ * by default, where the maze takes 16 MB. HotPathBenchmarks runs the same
+ * cases on a smaller maze.<br>
+ * Usage: java benchmark.LargeMazeBenchmark [size] [json file].<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class LargeMazeBenchmark {
+
+	/**
+	 * The probability for a dead end to become a trap.
+	 */
+	public static final double TRAP_PROBABILITY = 0.1;
+
+	/**
+	 * The seed of the generator.
+	 */
+	public static final long SEED = 7;
+
+	/**
+	 * The number of lanes of the batched walk.
+	 */
+	public static final int NUM_LANES = 64;
+
+	/**
+	 ****************** 
+	 * Generate a square maze.
+	 * 
+	 * @param paraSize
+	 *            The number of rows and columns.
+	 * @return The maze.
+	 ****************** 
+	 */
+	public static Maze generateMaze(int paraSize) {
+		return MazeGenerator.generateRecursiveBacktracker(paraSize, paraSize, TRAP_PROBABILITY,
+				SEED);
+	}// Of generateMaze
+
+	/**
+	 ****************** 
+	 * Generating a maze.
+	 * 
+	 * @param paraSize
+	 *            The number of rows and columns.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase generateCase(final int paraSize) {
+		return new BenchmarkCase("MazeGenerator.generateRecursiveBacktracker",
+				BenchmarkCase.AVERAGE_TIME) {
+			public long invoke() {
+				BenchmarkHarness.consume(generateMaze(paraSize).getStartState());
+				return 1;
+			}// Of invoke
+		}.addParam("mazeSize", paraSize);
+	}// Of generateCase
+
+	/**
+	 ****************** 
+	 * Saving or loading the given maze. The file is written in setUp(), and
+	 * the loaded maze is checked once.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraBinary
+	 *            True for the binary format, false for the text one.
+	 * @param paraSave
+	 *            True to save, false to load.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase fileCase(final Maze paraMaze, final boolean paraBinary,
+			final boolean paraSave) {
+		String tempName = "MazeLoader." + (paraSave ? "save" : "load")
+				+ (paraBinary ? "Binary" : "Text");
+		return new BenchmarkCase(tempName, BenchmarkCase.AVERAGE_TIME) {
+			String filename;
+
+			public void setUp() {
+				try {
+					File tempFile = File.createTempFile("maze", paraBinary ? ".bin" : ".txt");
+					tempFile.deleteOnExit();
+					filename = tempFile.getPath();
+					save();
+					if (!Arrays.equals(paraMaze.getCells(), load().getCells())) {
+						throw new IllegalStateException(
+								"LargeMazeBenchmark: the loaded maze differs.");
+					} // Of if
+				} catch (IOException ee) {
+					throw new IllegalStateException("LargeMazeBenchmark: " + ee);
+				} // Of try
+			}// Of setUp
+
+			void save() throws IOException {
+				if (paraBinary) {
+					MazeLoader.saveBinary(paraMaze, filename);
+				} else {
+					MazeLoader.saveText(paraMaze, filename);
+				} // Of if
+			}// Of save
+
+			Maze load() throws IOException {
+				if (paraBinary) {
+					return MazeLoader.loadBinary(filename);
+				} // Of if
+				return MazeLoader.loadText(filename);
+			}// Of load
+
+			public long invoke() {
+				try {
+					if (paraSave) {
+						save();
+					} else {
+						BenchmarkHarness.consume(load().getStartState());
+					} // Of if
+				} catch (IOException ee) {
+					throw new IllegalStateException("LargeMazeBenchmark: " + ee);
+				} // Of try
+				return 1;
+			}// Of invoke
+		}.addParam("mazeSize", paraMaze.getNumRows());
+	}// Of fileCase
+
+	/**
+	 ****************** 
+	 * The distances of all states to the exit.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase shortestPathCase(final Maze paraMaze) {
+		return new BenchmarkCase("ShortestPathEngine.solve", BenchmarkCase.AVERAGE_TIME) {
+			int[] costs;
+
+			public void setUp() {
+				costs = new int[paraMaze.getNumStates()];
+				for (int i = 0; i < costs.length; i++) {
+					costs[i] = paraMaze.isTrapState(i) ? ShortestPathEngine.BLOCKED : 1;
+				} // Of for i
+			}// Of setUp
+
+			public long invoke() {
+				ShortestPathEngine tempEngine = new ShortestPathEngine(paraMaze.getNumRows(),
+						paraMaze.getNumColumns(), costs);
+				tempEngine.solve(paraMaze.getFinalStates());
+				BenchmarkHarness.consume(tempEngine.getDistance(paraMaze.getStartState()));
+				return 1;
+			}// Of invoke
+		}.addParam("mazeSize", paraMaze.getNumRows());
+	}// Of shortestPathCase
+
+	/**
+	 ****************** 
+	 * Random walk in the given maze, without any per-state table.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase walkCase(final Maze paraMaze) {
+		return new BenchmarkCase("Maze.tryStep", BenchmarkCase.THROUGHPUT) {
+			Random random;
+
+			public void setUp() {
+				random = new SplitMixRandom(11);
+				paraMaze.reset();
+			}// Of setUp
+
+			public long invoke() {
+				int[] tempValidActions;
+				for (int i = 0; i < HotPathBenchmarks.BATCH_SIZE; i++) {
+					tempValidActions = paraMaze.getValidActions();
+					paraMaze.tryStep(tempValidActions[random.nextInt(tempValidActions.length)]);
+					if (paraMaze.isFinished()) {
+						paraMaze.reset();
+					} // Of if
+				} // Of for i
+				BenchmarkHarness.consume(paraMaze.getCurrentState());
+				return HotPathBenchmarks.BATCH_SIZE;
+			}// Of invoke
+		}.addParam("mazeSize", paraMaze.getNumRows()).addParam("maze", "generated");
+	}// Of walkCase
+
+	/**
+	 ****************** 
+	 * All cases on the given maze.
+	 * 
+	 * @param paraMaze
+	 *            The maze, generated by generateMaze().
+	 * @return The cases.
+	 ****************** 
+	 */
+	public static List<BenchmarkCase> createCases(Maze paraMaze) {
+		List<BenchmarkCase> resultCases = new ArrayList<BenchmarkCase>();
+		resultCases.add(generateCase(paraMaze.getNumRows()));
+		resultCases.add(fileCase(paraMaze, true, true));
+		resultCases.add(fileCase(paraMaze, true, false));
+		resultCases.add(fileCase(paraMaze, false, true));
+		resultCases.add(fileCase(paraMaze, false, false));
+		resultCases.add(shortestPathCase(paraMaze));
+		resultCases.add(walkCase(paraMaze));
+		resultCases.add(HotPathBenchmarks
+				.vectorStepCase("VectorMaze.step", paraMaze, NUM_LANES)
+				.addParam("mazeSize", paraMaze.getNumRows()).addParam("maze", "generated"));
+
+		return resultCases;
+	}// Of createCases
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            The size of the maze and the JSON file, both optional.
+	 ****************** 
+	 */
+	public static void main(String args[]) throws IOException {
+		int tempSize = args.length > 0 ? Integer.parseInt(args[0]) : 4096;
+		Maze tempMaze = generateMaze(tempSize);
+		System.out.println("Maze " + tempSize + " * " + tempSize + ", " + tempMaze.getNumStates()
+				+ " states, " + tempMaze.getCells().length / 1024 + " KB of cells:");
+
+		BenchmarkHarness tempHarness = new BenchmarkHarness(2, 5, 1000);
+		tempHarness.runAll(createCases(tempMaze), "");
+		if (args.length > 1) {
+			tempHarness.writeJson(args[1]);
+		} // Of if
+		System.out.println("  used heap: " + MetricsBenchmark.usedHeap() / 1048576 + " MB");
+	}// Of main
+} // Of class LargeMazeBenchmark
@@ -0,0 +1,110 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import common.EpisodeMetrics;
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * Check that the heap used by learning does not grow with the number of
+ * episodes, and measure the cost of spilling the rows of episodes to a file.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class MetricsBenchmark {
+
+	/**
+	 ****************** 
+	 * Compute the used heap after garbage collection.
+	 * 
+	 * @return The used heap in bytes.
+	 ****************** 
+	 */
+	public static long usedHeap() {
+		Runtime tempRuntime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		} // Of for i
+		return tempRuntime.totalMemory() - tempRuntime.freeMemory();
+	}// Of usedHeap
+
+	/**
+	 ****************** 
+	 * Learn the second example maze once.
+	 * 
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @param paraSpillFilename
+	 *            The spill file, null for no spilling.
+	 * @param paraFormat
+	 *            The format of the spill file.
+	 * @return The agent after learning.
+	 * @throws IOException
+	 *             if the spill file cannot be written.
+	 ****************** 
+	 */
+	public static QAgent learnOnce(int paraEpisodes, String paraSpillFilename, int paraFormat)
+			throws IOException {
+		Environment tempEnvironment = new Maze(Maze.EXAMPLE_TWO_MAZE);
+		tempEnvironment.setStartState(0);
+		QAgent resultAgent = new WeightedRandomQAgent(tempEnvironment);
+		EpisodeMetrics tempMetrics = resultAgent.getMetrics();
+		if (paraSpillFilename != null) {
+			tempMetrics.openSpillFile(paraSpillFilename, paraFormat);
+		} // Of if
+
+		try {
+			resultAgent.learn(paraEpisodes);
+		} finally {
+			tempMetrics.closeSpillFile();
+		} // Of try
+
+		return resultAgent;
+	}// Of learnOnce
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) throws IOException {
+		learnOnce(100000, null, EpisodeMetrics.CSV);
+
+		System.out.println("No spilling:");
+		long tempBaseHeap = usedHeap();
+		QAgent tempAgent;
+		long tempStartTime;
+		for (int tempEpisodes = 10000; tempEpisodes <= 10000000; tempEpisodes *= 10) {
+			tempStartTime = System.nanoTime();
+			tempAgent = learnOnce(tempEpisodes, null, EpisodeMetrics.CSV);
+			System.out.printf("  %8d episodes: %.0f ms, heap growth %d KB, %s\r\n", tempEpisodes,
+					(System.nanoTime() - tempStartTime) / 1e6,
+					(usedHeap() - tempBaseHeap) / 1024, tempAgent.getMetrics());
+		} // Of for tempEpisodes
+
+		String[] tempFormatNames = { "CSV", "binary" };
+		int[] tempFormats = { EpisodeMetrics.CSV, EpisodeMetrics.BINARY };
+		File tempFile;
+		for (int i = 0; i < tempFormats.length; i++) {
+			tempFile = File.createTempFile("metrics", "." + tempFormatNames[i]);
+			tempStartTime = System.nanoTime();
+			learnOnce(1000000, tempFile.getPath(), tempFormats[i]);
+			System.out.printf("Spilling 1000000 episodes in %s: %.0f ms, %d KB\r\n",
+					tempFormatNames[i], (System.nanoTime() - tempStartTime) / 1e6,
+					tempFile.length() / 1024);
+			tempFile.delete();
+		} // Of for i
+	}// Of main
+} // Of class MetricsBenchmark
@@ -0,0 +1,106 @@
+package benchmark;
+
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * Measure the scaling of ParallelQLearner on the complex maze, from one thread
+ * to all processors, in both update modes. The total number of episodes is
+ * fixed, hence the speedup is the throughput ratio to one thread. The average
+ * number of steps of the last episodes shows whether unsynchronized updates
+ * hurt learning.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class ParallelQLearningBenchmark {
+
+	/**
+	 * The start state in the complex maze.
+	 */
+	public static final int START_STATE = 32;
+
+	/**
+	 * The total number of episodes.
+	 */
+	public static final int NUM_EPISODES = 1200;
+
+	/**
+	 * The number of last episodes of each thread to evaluate learning.
+	 */
+	public static final int NUM_LAST_EPISODES = 20;
+
+	/**
+	 ****************** 
+	 * Learn once.
+	 * 
+	 * @param paraNumThreads
+	 *            The number of threads.
+	 * @param paraUpdateMode
+	 *            The update mode of ParallelQLearner.
+	 * @param paraSeed
+	 *            The seed.
+	 * @return The learner after learning.
+	 ****************** 
+	 */
+	public static ParallelQLearner learnOnce(int paraNumThreads, int paraUpdateMode,
+			long paraSeed) {
+		int[][] tempMaze = Maze.generateComplexMaze();
+		QAgent[] tempAgents = new QAgent[paraNumThreads];
+		for (int i = 0; i < tempAgents.length; i++) {
+			Environment tempEnvironment = new Maze(tempMaze);
+			tempEnvironment.setStartState(START_STATE);
+			tempAgents[i] = new WeightedRandomQAgent(tempEnvironment);
+		} // Of for i
+
+		ParallelQLearner resultLearner = new ParallelQLearner(tempAgents, paraUpdateMode);
+		resultLearner.setSeed(paraSeed);
+		resultLearner.learn(NUM_EPISODES);
+
+		return resultLearner;
+	}// Of learnOnce
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		int tempMaxThreads = Runtime.getRuntime().availableProcessors();
+		int[] tempModes = { ParallelQLearner.HOGWILD, ParallelQLearner.STRIPED_LOCKS };
+		String[] tempModeNames = { "Hogwild", "striped" };
+
+		System.out.println("Warming up ...");
+		learnOnce(1, ParallelQLearner.HOGWILD, 0);
+		learnOnce(tempMaxThreads, ParallelQLearner.STRIPED_LOCKS, 0);
+
+		System.out.println("Complex maze, " + NUM_EPISODES + " episodes, " + tempMaxThreads
+				+ " processors:");
+		double[] tempBaseSeconds = new double[tempModes.length];
+		ParallelQLearner tempLearner;
+		double tempSeconds;
+		for (int i = 1; i <= tempMaxThreads; i++) {
+			for (int j = 0; j < tempModes.length; j++) {
+				tempLearner = learnOnce(i, tempModes[j], i);
+				tempSeconds = tempLearner.getLastLearningTime() / 1e9;
+				if (i == 1) {
+					tempBaseSeconds[j] = tempSeconds;
+				} // Of if
+				System.out.printf(
+						"  %2d threads, %-7s: %.1f episodes/s, speedup %.2f, last steps %.1f\r\n",
+						i, tempModeNames[j], NUM_EPISODES / tempSeconds,
+						tempBaseSeconds[j] / tempSeconds,
+						tempLearner.getAverageLastSteps(NUM_LAST_EPISODES));
+			} // Of for j
+		} // Of for i
+	}// Of main
+} // Of class ParallelQLearningBenchmark
@@ -0,0 +1,264 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import common.RunContext;
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * Compare the real steps and the time to converge of model-free agents with
+ * prioritized sweeping. After each episode the greedy route is compared with
+ * the shortest one, and the agent converges when they are the same for
+ * STABLE_EPISODES consecutive episodes. Real steps are those counted by the
+ * context, i.e., planning backups are not included. With the rewards of Maze,
+ * the value of a state more than about 70 steps away from the final state is
+ * not positive, hence the mazes are chosen with shorter routes. The time to
+ * converge is measured by BenchmarkHarness.<br>
+ * Usage: java benchmark.PlanningBenchmark [json file].<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class PlanningBenchmark {
+
+	/**
+	 * The maximal number of episodes.
+	 */
+	public static final int MAX_EPISODES = 3000;
+
+	/**
+	 * The number of consecutive episodes to be stable.
+	 */
+	public static final int STABLE_EPISODES = 3;
+
+	/**
+	 * The number of seeds.
+	 */
+	public static final int NUM_SEEDS = 5;
+
+	/**
+	 * The names of the agents.
+	 */
+	public static final String[] AGENT_NAMES = { "WeightedRandomQAgent", "SARSA(lambda)",
+			"Prioritized sweeping" };
+
+	/**
+	 * The names of the mazes of createMazes().
+	 */
+	public static final String[] MAZE_NAMES = { "complex", "generated 15 * 15",
+			"generated 21 * 21" };
+
+	/**
+	 ****************** 
+	 * Create an agent.
+	 * 
+	 * @param paraType
+	 *            The index of the agent in AGENT_NAMES.
+	 * @param paraMaze
+	 *            The maze.
+	 * @return The agent.
+	 ****************** 
+	 */
+	static QAgent createAgent(int paraType, Maze paraMaze) {
+		switch (paraType) {
+		case 0:
+			return new WeightedRandomQAgent(paraMaze);
+		case 1:
+			return new TraceQAgent(paraMaze, TraceQAgent.SARSA);
+		default:
+			return new PrioritizedSweepingQAgent(paraMaze);
+		}// Of switch
+	}// Of createAgent
+
+	/**
+	 ****************** 
+	 * Learn until the greedy route is the shortest.
+	 * 
+	 * @param paraType
+	 *            The index of the agent in AGENT_NAMES.
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraSeed
+	 *            The seed.
+	 * @param paraShortestLength
+	 *            The length of the shortest route.
+	 * @param paraSteps
+	 *            The real steps, to be filled at index 0.
+	 * @return The episodes to converge, or -1 if never.
+	 ****************** 
+	 */
+	static int episodesToConverge(int paraType, Maze paraMaze, long paraSeed,
+			int paraShortestLength, long[] paraSteps) {
+		RunContext tempContext = new RunContext(new Random(paraSeed));
+		paraMaze.setContext(tempContext);
+		QAgent tempAgent = createAgent(paraType, paraMaze);
+		tempAgent.reset();
+
+		int tempStartState = paraMaze.getStartState();
+		int tempStableEpisodes = 0;
+		int tempLength;
+		for (int i = 0; i < MAX_EPISODES; i++) {
+			tempAgent.continueLearning(i, 1);
+
+			try {
+				tempLength = tempAgent.greedyRouting(tempStartState).length - 1;
+			} catch (Exception ee) {
+				tempLength = -1;
+			} // Of try
+
+			if (tempLength == paraShortestLength) {
+				tempStableEpisodes++;
+			} else {
+				tempStableEpisodes = 0;
+			} // Of if
+			if (tempStableEpisodes == STABLE_EPISODES) {
+				paraSteps[0] = tempContext.getRunSteps();
+				return i + 1;
+			} // Of if
+		} // Of for i
+
+		return -1;
+	}// Of episodesToConverge
+
+	/**
+	 ****************** 
+	 * Compare the episodes and real steps of the agents on one maze.
+	 * 
+	 * @param paraName
+	 *            The name of the maze.
+	 * @param paraMaze
+	 *            The maze.
+	 ****************** 
+	 */
+	static void compare(String paraName, Maze paraMaze) {
+		int tempShortestLength = TraceBenchmark.shortestLength(paraMaze,
+				paraMaze.getStartState());
+		System.out.println(paraName + ", the shortest route has " + tempShortestLength
+				+ " steps. Mean cost until the greedy route is the shortest for "
+				+ STABLE_EPISODES + " episodes:");
+
+		long[] tempSteps = new long[1];
+		int tempEpisodes;
+		for (int i = 0; i < AGENT_NAMES.length; i++) {
+			double tempTotalEpisodes = 0;
+			double tempTotalSteps = 0;
+			int tempNumReached = 0;
+			for (int j = 0; j < NUM_SEEDS; j++) {
+				tempEpisodes = episodesToConverge(i, paraMaze, j, tempShortestLength,
+						tempSteps);
+				if (tempEpisodes != -1) {
+					tempTotalEpisodes += tempEpisodes;
+					tempTotalSteps += tempSteps[0];
+					tempNumReached++;
+				} // Of if
+			} // Of for j
+
+			System.out.printf("  %-20s: %.0f episodes, %.0f real steps (%d of %d reached)\r\n",
+					AGENT_NAMES[i], tempTotalEpisodes / tempNumReached,
+					tempTotalSteps / tempNumReached, tempNumReached, NUM_SEEDS);
+		} // Of for i
+	}// Of compare
+
+	/**
+	 ****************** 
+	 * Learning until convergence, with the seeds in turn. A run which never
+	 * converges counts with all MAX_EPISODES episodes.
+	 * 
+	 * @param paraType
+	 *            The index of the agent in AGENT_NAMES.
+	 * @param paraName
+	 *            The name of the maze.
+	 * @param paraMaze
+	 *            The maze.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase convergeCase(final int paraType, String paraName,
+			final Maze paraMaze) {
+		return new BenchmarkCase("PlanningBenchmark.converge", BenchmarkCase.AVERAGE_TIME) {
+			int shortestLength;
+			long[] steps;
+			int seed;
+
+			public void setUp() {
+				shortestLength = TraceBenchmark.shortestLength(paraMaze,
+						paraMaze.getStartState());
+				steps = new long[1];
+			}// Of setUp
+
+			public long invoke() {
+				BenchmarkHarness.consume(
+						episodesToConverge(paraType, paraMaze, seed, shortestLength, steps));
+				seed = (seed + 1) % NUM_SEEDS;
+				return 1;
+			}// Of invoke
+		}.addParam("maze", paraName).addParam("agent", AGENT_NAMES[paraType]);
+	}// Of convergeCase
+
+	/**
+	 ****************** 
+	 * The mazes of the benchmark.
+	 * 
+	 * @return The mazes.
+	 ****************** 
+	 */
+	static Maze[] createMazes() {
+		Maze tempComplexMaze = new Maze(Maze.generateComplexMaze());
+		tempComplexMaze.setStartState(TraceBenchmark.START_STATE);
+		Maze[] resultMazes = { tempComplexMaze,
+				MazeGenerator.generateRecursiveBacktracker(15, 15, 0, 2),
+				MazeGenerator.generateRecursiveBacktracker(21, 21, 0, 1) };
+		return resultMazes;
+	}// Of createMazes
+
+	/**
+	 ****************** 
+	 * The cases of all agents on all mazes.
+	 * 
+	 * @return The cases.
+	 ****************** 
+	 */
+	public static List<BenchmarkCase> createCases() {
+		Maze[] tempMazes = createMazes();
+		List<BenchmarkCase> resultCases = new ArrayList<BenchmarkCase>();
+		for (int i = 0; i < tempMazes.length; i++) {
+			for (int j = 0; j < AGENT_NAMES.length; j++) {
+				resultCases.add(convergeCase(j, MAZE_NAMES[i], tempMazes[i]));
+			} // Of for j
+		} // Of for i
+
+		return resultCases;
+	}// Of createCases
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            The JSON file, optional.
+	 ****************** 
+	 */
+	public static void main(String args[]) throws IOException {
+		Maze[] tempMazes = createMazes();
+		for (int i = 0; i < tempMazes.length; i++) {
+			compare("The " + MAZE_NAMES[i] + " maze", tempMazes[i]);
+		} // Of for i
+
+		System.out.println("The time to converge:");
+		BenchmarkHarness tempHarness = new BenchmarkHarness(2, 5, 1000);
+		tempHarness.runAll(createCases(), "");
+		if (args.length > 0) {
+			tempHarness.writeJson(args[0]);
+		} // Of if
+	}// Of main
+} // Of class PlanningBenchmark
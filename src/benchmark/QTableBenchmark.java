@@ -0,0 +1,180 @@
+package benchmark;
+
+import java.util.Random;
+
+import qlearning.table.*;
+
+/**
+ * Compare the update speed of quality tables. The jagged double[][] matrix
+ * used before is the baseline.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class QTableBenchmark {
+
+	/**
+	 * The number of TD updates for each measurement.
+	 */
+	public static final int NUM_UPDATES = 20000000;
+
+	/**
+	 * The alpha value.
+	 */
+	public static final double ALPHA = 0.1;
+
+	/**
+	 * The gamma value.
+	 */
+	public static final double GAMMA = 0.99;
+
+	/**
+	 ****************** 
+	 * Generate a random trajectory of (state, action, next state) triples.
+	 * 
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 * @param paraLength
+	 *            The length of the trajectory.
+	 * @return The trajectory, 3 values for each step.
+	 ****************** 
+	 */
+	public static int[] generateTrajectory(int paraNumStates, int paraNumActions, int paraLength) {
+		Random tempRandom = new Random(0);
+		int[] resultTrajectory = new int[paraLength * 3];
+		for (int i = 0; i < paraLength; i++) {
+			resultTrajectory[i * 3] = tempRandom.nextInt(paraNumStates);
+			resultTrajectory[i * 3 + 1] = tempRandom.nextInt(paraNumActions);
+			resultTrajectory[i * 3 + 2] = tempRandom.nextInt(paraNumStates);
+		} // Of for i
+
+		return resultTrajectory;
+	}// Of generateTrajectory
+
+	/**
+	 ****************** 
+	 * Run the TD updates on a jagged matrix.
+	 * 
+	 * @param paraMatrix
+	 *            The quality matrix.
+	 * @param paraTrajectory
+	 *            The trajectory.
+	 * @return The updates per second.
+	 ****************** 
+	 */
+	public static double updateJagged(double[][] paraMatrix, int[] paraTrajectory) {
+		int tempNumActions = paraMatrix[0].length;
+		long tempStartTime = System.nanoTime();
+		int tempState, tempAction, tempNextState;
+		double tempMax;
+		for (int i = 0; i < NUM_UPDATES; i++) {
+			int j = (i * 3) % paraTrajectory.length;
+			tempState = paraTrajectory[j];
+			tempAction = paraTrajectory[j + 1];
+			tempNextState = paraTrajectory[j + 2];
+
+			tempMax = 0;
+			for (int k = 0; k < tempNumActions; k++) {
+				if (tempMax < paraMatrix[tempNextState][k]) {
+					tempMax = paraMatrix[tempNextState][k];
+				} // Of if
+			} // Of for k
+			paraMatrix[tempState][tempAction] += ALPHA
+					* (1 + GAMMA * tempMax - paraMatrix[tempState][tempAction]);
+		} // Of for i
+		long tempEndTime = System.nanoTime();
+
+		return NUM_UPDATES * 1e9 / (tempEndTime - tempStartTime);
+	}// Of updateJagged
+
+	/**
+	 ****************** 
+	 * Run the TD updates on a quality table.
+	 * 
+	 * @param paraTable
+	 *            The quality table.
+	 * @param paraTrajectory
+	 *            The trajectory.
+	 * @return The updates per second.
+	 ****************** 
+	 */
+	public static double updateTable(QTable paraTable, int[] paraTrajectory) {
+		int[] tempActions = new int[paraTable.getNumActions()];
+		for (int i = 0; i < tempActions.length; i++) {
+			tempActions[i] = i;
+		} // Of for i
+
+		long tempStartTime = System.nanoTime();
+		int tempState, tempAction, tempNextState;
+		double tempMax;
+		for (int i = 0; i < NUM_UPDATES; i++) {
+			int j = (i * 3) % paraTrajectory.length;
+			tempState = paraTrajectory[j];
+			tempAction = paraTrajectory[j + 1];
+			tempNextState = paraTrajectory[j + 2];
+
+			tempMax = paraTable.getMaxValue(tempNextState, tempActions, 0);
+			paraTable.addValue(tempState, tempAction,
+					ALPHA * (1 + GAMMA * tempMax - paraTable.getValue(tempState, tempAction)));
+		} // Of for i
+		long tempEndTime = System.nanoTime();
+
+		return NUM_UPDATES * 1e9 / (tempEndTime - tempStartTime);
+	}// Of updateTable
+
+	/**
+	 ****************** 
+	 * Compare the three implementations with the given size.
+	 * 
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 ****************** 
+	 */
+	public static void compare(int paraNumStates, int paraNumActions) {
+		int[] tempTrajectory = generateTrajectory(paraNumStates, paraNumActions, 1 << 20);
+
+		double[][] tempMatrix = new double[paraNumStates][paraNumActions];
+		QTable tempDoubleTable = new DoubleQTable(paraNumStates, paraNumActions);
+		QTable tempFloatTable = new FloatQTable(paraNumStates, paraNumActions);
+
+		// Warm up.
+		updateJagged(tempMatrix, tempTrajectory);
+		updateTable(tempDoubleTable, tempTrajectory);
+		updateTable(tempFloatTable, tempTrajectory);
+
+		System.out.println("States = " + paraNumStates + ", actions = " + paraNumActions);
+		System.out.printf("  double[][]:   %.0f updates/s\r\n",
+				updateJagged(tempMatrix, tempTrajectory));
+		System.out.printf("  DoubleQTable: %.0f updates/s\r\n",
+				updateTable(tempDoubleTable, tempTrajectory));
+		System.out.printf("  FloatQTable:  %.0f updates/s\r\n",
+				updateTable(tempFloatTable, tempTrajectory));
+	}// Of compare
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		// TicTacToe.
+		compare(19683, 9);
+		// The complex maze.
+		compare(31 * 31, 4);
+		// A large maze.
+		compare(2048 * 2048, 4);
+	}// Of main
+} // Of class QTableBenchmark
@@ -0,0 +1,158 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import common.SplitMixRandom;
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * Compare java.util.Random shared by threads with SplitMixRandom streams split
+ * for each thread, and check the reproducibility of seeded learning.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class RandomBenchmark {
+
+	/**
+	 * The number of doubles drawn by each thread.
+	 */
+	public static final int NUM_DRAWS = 20000000;
+
+	/**
+	 * Prevent the draws from being optimized away.
+	 */
+	static volatile double sink;
+
+	/**
+	 ****************** 
+	 * Draw doubles with the given random objects, one thread for each.
+	 * 
+	 * @param paraRandoms
+	 *            The random objects. They may be the same object.
+	 * @return The time in nanoseconds.
+	 ****************** 
+	 */
+	public static long drawInThreads(final Random[] paraRandoms) {
+		Thread[] tempThreads = new Thread[paraRandoms.length];
+		for (int i = 0; i < tempThreads.length; i++) {
+			final Random tempRandom = paraRandoms[i];
+			tempThreads[i] = new Thread() {
+				public void run() {
+					double tempSum = 0;
+					for (int j = 0; j < NUM_DRAWS; j++) {
+						tempSum += tempRandom.nextDouble();
+					} // Of for j
+					sink = tempSum;
+				}// Of run
+			};
+		} // Of for i
+
+		long tempStartTime = System.nanoTime();
+		for (int i = 0; i < tempThreads.length; i++) {
+			tempThreads[i].start();
+		} // Of for i
+		try {
+			for (int i = 0; i < tempThreads.length; i++) {
+				tempThreads[i].join();
+			} // Of for i
+		} catch (InterruptedException ee) {
+			Thread.currentThread().interrupt();
+		} // Of try
+
+		return System.nanoTime() - tempStartTime;
+	}// Of drawInThreads
+
+	/**
+	 ****************** 
+	 * Measure the throughput with the given number of threads.
+	 * 
+	 * @param paraNumThreads
+	 *            The number of threads.
+	 ****************** 
+	 */
+	public static void measure(int paraNumThreads) {
+		Random[] tempShared = new Random[paraNumThreads];
+		Arrays.fill(tempShared, new Random(0));
+		Random[] tempSplit = new Random[paraNumThreads];
+		SplitMixRandom tempRoot = new SplitMixRandom(0);
+		for (int i = 0; i < paraNumThreads; i++) {
+			tempSplit[i] = tempRoot.split(i);
+		} // Of for i
+
+		double tempDraws = (double) NUM_DRAWS * paraNumThreads;
+		System.out.printf(
+				"  %2d threads: shared Random %.2f ns/draw, split SplitMixRandom %.2f ns/draw\r\n",
+				paraNumThreads, drawInThreads(tempShared) / tempDraws,
+				drawInThreads(tempSplit) / tempDraws);
+	}// Of measure
+
+	/**
+	 ****************** 
+	 * Learn the complex maze with a seed.
+	 * 
+	 * @param paraNumThreads
+	 *            The number of threads.
+	 * @param paraSeed
+	 *            The seed.
+	 * @return The steps of all episodes, worker by worker.
+	 ****************** 
+	 */
+	public static int[] learnMaze(int paraNumThreads, long paraSeed) {
+		int[][] tempMaze = Maze.generateComplexMaze();
+		QAgent[] tempAgents = new QAgent[paraNumThreads];
+		for (int i = 0; i < tempAgents.length; i++) {
+			Environment tempEnvironment = new Maze(tempMaze);
+			tempEnvironment.setStartState(ParallelQLearningBenchmark.START_STATE);
+			tempAgents[i] = new WeightedRandomQAgent(tempEnvironment);
+			tempAgents[i].getMetrics().setKeepHistory(true);
+		} // Of for i
+
+		ParallelQLearner tempLearner = new ParallelQLearner(tempAgents, ParallelQLearner.HOGWILD);
+		tempLearner.setSeed(paraSeed);
+		tempLearner.learn(200);
+
+		int[] resultSteps = new int[0];
+		int[] tempSteps;
+		for (int i = 0; i < tempAgents.length; i++) {
+			tempSteps = tempAgents[i].getStepsArray();
+			resultSteps = Arrays.copyOf(resultSteps, resultSteps.length + tempSteps.length);
+			System.arraycopy(tempSteps, 0, resultSteps, resultSteps.length - tempSteps.length,
+					tempSteps.length);
+		} // Of for i
+
+		return resultSteps;
+	}// Of learnMaze
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		int tempMaxThreads = Runtime.getRuntime().availableProcessors();
+		System.out.println("Warming up ...");
+		measure(1);
+
+		System.out.println(NUM_DRAWS + " doubles for each thread:");
+		for (int i = 1; i <= tempMaxThreads; i *= 2) {
+			measure(i);
+		} // Of for i
+
+		System.out.println("One thread, the same seed, identical episodes: "
+				+ Arrays.equals(learnMaze(1, 7), learnMaze(1, 7)));
+		System.out.println("One thread, different seeds, identical episodes: "
+				+ Arrays.equals(learnMaze(1, 7), learnMaze(1, 8)));
+	}// Of main
+} // Of class RandomBenchmark
@@ -0,0 +1,162 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * Measure the time and the allocated bytes per action selection. The
+ * allocating static methods are the baseline.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class SelectActionBenchmark {
+
+	/**
+	 * The number of selections for each measurement.
+	 */
+	public static final int NUM_SELECTIONS = 5000000;
+
+	/**
+	 * The thread bean to obtain allocated bytes.
+	 */
+	static final com.sun.management.ThreadMXBean THREAD_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory
+			.getThreadMXBean();
+
+	/**
+	 * Selection method: WeightedRandomQAgent.chooseActionWeightedRandom()
+	 * without buffers.
+	 */
+	public static final int STATIC_WEIGHTED = 0;
+
+	/**
+	 * Selection method: WeightedRandomQAgent.chooseAction().
+	 */
+	public static final int AGENT_WEIGHTED = 1;
+
+	/**
+	 * Selection method: CompetitionQAgent.chooseAction().
+	 */
+	public static final int AGENT_COMPETITION = 2;
+
+	/**
+	 * Names of the selection methods.
+	 */
+	public static final String[] METHOD_NAMES = { "static weighted random ",
+			"WeightedRandomQAgent   ", "CompetitionQAgent      " };
+
+	/**
+	 * To prevent dead code elimination.
+	 */
+	static long sink;
+
+	/**
+	 ****************** 
+	 * Get the bytes allocated by the current thread.
+	 * 
+	 * @return The bytes.
+	 ****************** 
+	 */
+	static long getAllocatedBytes() {
+		return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}// Of getAllocatedBytes
+
+	/**
+	 ****************** 
+	 * Measure one method.
+	 * 
+	 * @param paraMethod
+	 *            The method.
+	 * @param paraWeightedAgent
+	 *            The weighted random agent.
+	 * @param paraCompetitionAgent
+	 *            The competition agent.
+	 * @param paraRewardRows
+	 *            The reward rows to select from.
+	 * @param paraValidActions
+	 *            The valid actions.
+	 * @param paraOutput
+	 *            Print the result?
+	 ****************** 
+	 */
+	static void measure(int paraMethod, QAgent paraWeightedAgent, QAgent paraCompetitionAgent,
+			double[][] paraRewardRows, int[] paraValidActions, boolean paraOutput) {
+		Random tempRandom = new Random(0);
+		long tempSum = 0;
+		long tempStartBytes = getAllocatedBytes();
+		long tempStartTime = System.nanoTime();
+		for (int i = 0; i < NUM_SELECTIONS; i++) {
+			double[] tempRow = paraRewardRows[i & (paraRewardRows.length - 1)];
+			switch (paraMethod) {
+			case STATIC_WEIGHTED:
+				tempSum += WeightedRandomQAgent.chooseActionWeightedRandom(tempRow,
+						paraValidActions, tempRandom);
+				break;
+			case AGENT_WEIGHTED:
+				tempSum += paraWeightedAgent.chooseAction(tempRow, paraValidActions);
+				break;
+			default:
+				tempSum += paraCompetitionAgent.chooseAction(tempRow, paraValidActions);
+			}// Of switch
+		} // Of for i
+		long tempEndTime = System.nanoTime();
+		long tempEndBytes = getAllocatedBytes();
+		sink += tempSum;
+
+		if (paraOutput) {
+			System.out.printf("  %s %.1f ns/op, %.1f B/op\r\n", METHOD_NAMES[paraMethod],
+					(tempEndTime - tempStartTime) / (double) NUM_SELECTIONS,
+					(tempEndBytes - tempStartBytes) / (double) NUM_SELECTIONS);
+		} // Of if
+	}// Of measure
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		TicTacToe tempEnvironment = new TicTacToe();
+		QAgent tempWeightedAgent = new WeightedRandomQAgent(tempEnvironment);
+		tempWeightedAgent.setRandom(new Random(1));
+		QAgent tempCompetitionAgent = new CompetitionQAgent(tempEnvironment, 1);
+		tempCompetitionAgent.setRandom(new Random(2));
+
+		// Rows with ties and trap values.
+		Random tempRandom = new Random(3);
+		double[][] tempRewardRows = new double[1024][tempEnvironment.getNumActions()];
+		for (int i = 0; i < tempRewardRows.length; i++) {
+			for (int j = 0; j < tempRewardRows[i].length; j++) {
+				tempRewardRows[i][j] = tempRandom.nextInt(5) * 10 - 10;
+				if (tempRandom.nextInt(10) == 0) {
+					tempRewardRows[i][j] = Environment.PENALTY_VALUE;
+				} // Of if
+			} // Of for j
+		} // Of for i
+		int[] tempValidActions = { 0, 2, 3, 5, 6, 8 };
+
+		for (int i = 0; i < 3; i++) {
+			measure(i, tempWeightedAgent, tempCompetitionAgent, tempRewardRows, tempValidActions,
+					false);
+		} // Of for i
+
+		System.out.println("Selecting among " + tempValidActions.length + " of "
+				+ tempEnvironment.getNumActions() + " actions:");
+		for (int i = 0; i < 3; i++) {
+			measure(i, tempWeightedAgent, tempCompetitionAgent, tempRewardRows, tempValidActions,
+					true);
+		} // Of for i
+	}// Of main
+} // Of class SelectActionBenchmark
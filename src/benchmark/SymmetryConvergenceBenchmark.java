@@ -0,0 +1,248 @@
+package benchmark;
+
+import java.util.Random;
+
+import qlearning.agent.CompetitionQAgent;
+import qlearning.environment.*;
+import qlearning.table.*;
+import qlearning.umpire.Umpire;
+import vlearning.agent.VAgent;
+import vlearning.environment.VTicTacToe;
+
+/**
+ * Compare the episodes needed to reach a stable tie rate with and without
+ * symmetry canonicalization. Two agents of the same kind play tic-tac-toe,
+ * and the tie rate is measured in consecutive blocks of episodes. The win
+ * rate is stable when the tie rate of STABLE_BLOCKS consecutive blocks is at
+ * least the threshold.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class SymmetryConvergenceBenchmark {
+
+	/**
+	 * The number of episodes of each block.
+	 */
+	public static final int BLOCK_EPISODES = 100;
+
+	/**
+	 * The maximal number of blocks.
+	 */
+	public static final int MAX_BLOCKS = 300;
+
+	/**
+	 * The number of consecutive blocks to be stable.
+	 */
+	public static final int STABLE_BLOCKS = 5;
+
+	/**
+	 * The number of seeds.
+	 */
+	public static final int NUM_SEEDS = 5;
+
+	/**
+	 ****************** 
+	 * Play one block with Q-learning agents.
+	 * 
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @param paraAgentArray
+	 *            The two agents.
+	 * @return The number of ties.
+	 ****************** 
+	 */
+	static int playQBlock(TicTacToe paraEnvironment, CompetitionQAgent[] paraAgentArray) {
+		int resultTies = 0;
+		int tempCurrentPlayer;
+		boolean tempFinished;
+		for (int i = 0; i < BLOCK_EPISODES; i++) {
+			// The same as Umpire.train().
+			paraEnvironment.reset();
+			paraEnvironment.setCurrentState(0);
+			tempCurrentPlayer = 0;
+			tempFinished = false;
+			while (!tempFinished) {
+				paraAgentArray[tempCurrentPlayer].step(paraEnvironment.getCurrentState());
+				tempFinished = paraEnvironment.isFinished();
+				tempCurrentPlayer = 1 - tempCurrentPlayer;
+			} // Of while
+
+			if (paraEnvironment.getGameSituation() == CompetitionEnvironment.TIE) {
+				resultTies++;
+			} // Of if
+		} // Of for i
+
+		return resultTies;
+	}// Of playQBlock
+
+	/**
+	 ****************** 
+	 * Play one block with V-learning agents.
+	 * 
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @param paraAgentArray
+	 *            The two agents.
+	 * @return The number of ties.
+	 ****************** 
+	 */
+	static int playVBlock(VTicTacToe paraEnvironment, VAgent[] paraAgentArray) {
+		int resultTies = 0;
+		int tempSituation;
+		int tempCurrentPlayer;
+		for (int i = 0; i < BLOCK_EPISODES; i++) {
+			paraEnvironment.reset();
+			tempCurrentPlayer = 0;
+			tempSituation = VTicTacToe.UNFINISHED;
+			while (tempSituation == VTicTacToe.UNFINISHED) {
+				tempSituation = paraAgentArray[tempCurrentPlayer].step();
+				tempCurrentPlayer = 1 - tempCurrentPlayer;
+			} // Of while
+
+			if (tempSituation == VTicTacToe.TIE) {
+				resultTies++;
+			} // Of if
+			for (int j = 0; j < paraAgentArray.length; j++) {
+				paraAgentArray[j].backup();
+			} // Of for j
+		} // Of for i
+
+		return resultTies;
+	}// Of playVBlock
+
+	/**
+	 ****************** 
+	 * Train until the tie rate is stable.
+	 * 
+	 * @param paraVLearning
+	 *            V-learning or Q-learning.
+	 * @param paraSymmetric
+	 *            Use symmetry canonicalization or not.
+	 * @param paraSeed
+	 *            The seed.
+	 * @param paraThreshold
+	 *            The tie rate threshold.
+	 * @param paraTieRates
+	 *            The tie rate of each block, to be filled.
+	 * @return The episodes to be stable, or -1 if never.
+	 ****************** 
+	 */
+	static int episodesToStable(boolean paraVLearning, boolean paraSymmetric, long paraSeed,
+			double paraThreshold, double[] paraTieRates) {
+		Random tempRandom = new Random(paraSeed);
+		TicTacToe tempQEnvironment = null;
+		CompetitionQAgent[] tempQAgentArray = null;
+		VTicTacToe tempVEnvironment = null;
+		VAgent[] tempVAgentArray = null;
+		if (paraVLearning) {
+			tempVEnvironment = new VTicTacToe();
+			tempVAgentArray = new VAgent[2];
+			for (int i = 0; i < tempVAgentArray.length; i++) {
+				tempVAgentArray[i] = new VAgent(tempVEnvironment, i + 1);
+				tempVAgentArray[i].setRandom(tempRandom);
+				tempVAgentArray[i].setEpsilon(0.1);
+				tempVAgentArray[i].setAlpha(0.1);
+				tempVAgentArray[i].setSymmetric(paraSymmetric);
+			} // Of for i
+		} else {
+			tempQEnvironment = new TicTacToe();
+			tempQAgentArray = new CompetitionQAgent[2];
+			for (int i = 0; i < tempQAgentArray.length; i++) {
+				tempQAgentArray[i] = new CompetitionQAgent(tempQEnvironment, i + 1);
+				if (paraSymmetric) {
+					tempQAgentArray[i].setQualityTable(
+							new SymmetricQTable(new HashQTable(tempQEnvironment.getNumActions())));
+				} // Of if
+			} // Of for i
+			// Let the agents know their competitors.
+			Umpire tempUmpire = new Umpire(tempQEnvironment, tempQAgentArray);
+			tempUmpire.setRandom(tempRandom);
+		} // Of if
+
+		int resultEpisodes = -1;
+		int tempStableBlocks = 0;
+		int tempTies;
+		for (int i = 0; i < paraTieRates.length; i++) {
+			if (paraVLearning) {
+				tempTies = playVBlock(tempVEnvironment, tempVAgentArray);
+			} else {
+				tempTies = playQBlock(tempQEnvironment, tempQAgentArray);
+			} // Of if
+			paraTieRates[i] = tempTies / (double) BLOCK_EPISODES;
+
+			if (paraTieRates[i] >= paraThreshold) {
+				tempStableBlocks++;
+			} else {
+				tempStableBlocks = 0;
+			} // Of if
+			if (tempStableBlocks == STABLE_BLOCKS && resultEpisodes == -1) {
+				resultEpisodes = (i + 1) * BLOCK_EPISODES;
+			} // Of if
+		} // Of for i
+
+		return resultEpisodes;
+	}// Of episodesToStable
+
+	/**
+	 ****************** 
+	 * Compare one kind of agents.
+	 * 
+	 * @param paraVLearning
+	 *            V-learning or Q-learning.
+	 * @param paraThreshold
+	 *            The tie rate threshold.
+	 ****************** 
+	 */
+	static void compare(boolean paraVLearning, double paraThreshold) {
+		String tempName = paraVLearning ? "V-learning" : "Q-learning";
+		System.out.println(tempName + ", episodes until " + STABLE_BLOCKS + " blocks of "
+				+ BLOCK_EPISODES + " episodes have a tie rate of at least " + paraThreshold
+				+ ":");
+
+		double[] tempTieRates = new double[MAX_BLOCKS];
+		int tempEpisodes;
+		long tempStartTime;
+		for (int i = 0; i < 2; i++) {
+			boolean tempSymmetric = (i == 1);
+			String tempResult = "";
+			double tempTotal = 0;
+			int tempNumReached = 0;
+			tempStartTime = System.nanoTime();
+			for (int j = 0; j < NUM_SEEDS; j++) {
+				tempEpisodes = episodesToStable(paraVLearning, tempSymmetric, j, paraThreshold,
+						tempTieRates);
+				tempResult += " " + (tempEpisodes == -1 ? "never" : "" + tempEpisodes);
+				if (tempEpisodes != -1) {
+					tempTotal += tempEpisodes;
+					tempNumReached++;
+				} // Of if
+			} // Of for j
+
+			System.out.printf("  %s:%s, mean %.0f (%d of %d reached), final tie rate %.3f, %d ms\r\n",
+					tempSymmetric ? "symmetric" : "plain    ", tempResult,
+					tempNumReached == 0 ? Double.NaN : tempTotal / tempNumReached,
+					tempNumReached, NUM_SEEDS, tempTieRates[MAX_BLOCKS - 1],
+					(System.nanoTime() - tempStartTime) / 1000000);
+		} // Of for i
+	}// Of compare
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		compare(false, 0.45);
+		compare(true, 0.85);
+	}// Of main
+} // Of class SymmetryConvergenceBenchmark
@@ -0,0 +1,257 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import common.RunContext;
+import independent.maze.ShortestPathEngine;
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * Compare the episodes and the time to converge of one-step Q-learning with
+ * Q(lambda) and SARSA(lambda) on the complex maze. The agent learns in blocks
+ * of episodes, and after each block its greedy route is compared with the
+ * shortest one found by ShortestPathEngine. It converges when the greedy
+ * route is the shortest for STABLE_BLOCKS consecutive blocks. The episodes
+ * are counted for each seed, and the time to converge, including the checks
+ * of routes, is measured by BenchmarkHarness.<br>
+ * Usage: java benchmark.TraceBenchmark [json file].<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class TraceBenchmark {
+
+	/**
+	 * The start state.
+	 */
+	public static final int START_STATE = 32;
+
+	/**
+	 * The number of episodes of each block.
+	 */
+	public static final int BLOCK_EPISODES = 10;
+
+	/**
+	 * The maximal number of blocks.
+	 */
+	public static final int MAX_BLOCKS = 300;
+
+	/**
+	 * The number of consecutive blocks to be stable.
+	 */
+	public static final int STABLE_BLOCKS = 3;
+
+	/**
+	 * The number of seeds.
+	 */
+	public static final int NUM_SEEDS = 5;
+
+	/**
+	 * The names of the agents.
+	 */
+	public static final String[] AGENT_NAMES = { "SimpleQAgent", "WeightedRandomQAgent",
+			"Watkins Q(lambda)", "SARSA(lambda)" };
+
+	/**
+	 ****************** 
+	 * Create an agent.
+	 * 
+	 * @param paraType
+	 *            The index of the agent in AGENT_NAMES.
+	 * @param paraEnvironment
+	 *            The environment.
+	 * @return The agent.
+	 ****************** 
+	 */
+	static QAgent createAgent(int paraType, Environment paraEnvironment) {
+		switch (paraType) {
+		case 0:
+			return new SimpleQAgent(paraEnvironment);
+		case 1:
+			return new WeightedRandomQAgent(paraEnvironment);
+		case 2:
+			return new TraceQAgent(paraEnvironment, TraceQAgent.WATKINS);
+		default:
+			return new TraceQAgent(paraEnvironment, TraceQAgent.SARSA);
+		}// Of switch
+	}// Of createAgent
+
+	/**
+	 ****************** 
+	 * Compute the length of the shortest route from the given state.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraStartState
+	 *            The start state.
+	 * @return The length.
+	 ****************** 
+	 */
+	static int shortestLength(Maze paraMaze, int paraStartState) {
+		byte[] tempCells = paraMaze.getCells();
+		int[] tempCosts = new int[tempCells.length];
+		int tempNumFinals = 0;
+		for (int i = 0; i < tempCells.length; i++) {
+			if (tempCells[i] == Maze.TRAP_STATE_VALUE) {
+				tempCosts[i] = ShortestPathEngine.BLOCKED;
+			} else {
+				tempCosts[i] = 1;
+			} // Of if
+			if (tempCells[i] == Maze.FINAL_STATE_VALUE) {
+				tempNumFinals++;
+			} // Of if
+		} // Of for i
+
+		int[] tempFinals = new int[tempNumFinals];
+		tempNumFinals = 0;
+		for (int i = 0; i < tempCells.length; i++) {
+			if (tempCells[i] == Maze.FINAL_STATE_VALUE) {
+				tempFinals[tempNumFinals++] = i;
+			} // Of if
+		} // Of for i
+
+		ShortestPathEngine tempEngine = new ShortestPathEngine(paraMaze.getNumRows(),
+				paraMaze.getNumColumns(), tempCosts);
+		tempEngine.solve(tempFinals);
+		return tempEngine.getDistance(paraStartState);
+	}// Of shortestLength
+
+	/**
+	 ****************** 
+	 * Learn until the greedy route is the shortest.
+	 * 
+	 * @param paraType
+	 *            The index of the agent in AGENT_NAMES.
+	 * @param paraSeed
+	 *            The seed.
+	 * @param paraShortestLength
+	 *            The length of the shortest route.
+	 * @return The episodes to converge, or -1 if never.
+	 ****************** 
+	 */
+	static int episodesToConverge(int paraType, long paraSeed, int paraShortestLength) {
+		Environment tempEnvironment = new Maze(Maze.generateComplexMaze());
+		tempEnvironment.setStartState(START_STATE);
+		tempEnvironment.setContext(new RunContext(new Random(paraSeed)));
+		QAgent tempAgent = createAgent(paraType, tempEnvironment);
+		tempAgent.reset();
+
+		int tempStableBlocks = 0;
+		int tempLength;
+		for (int i = 0; i < MAX_BLOCKS; i++) {
+			tempAgent.continueLearning(i * BLOCK_EPISODES, BLOCK_EPISODES);
+
+			try {
+				tempLength = tempAgent.greedyRouting(START_STATE).length - 1;
+			} catch (Exception ee) {
+				tempLength = -1;
+			} // Of try
+
+			if (tempLength == paraShortestLength) {
+				tempStableBlocks++;
+			} else {
+				tempStableBlocks = 0;
+			} // Of if
+			if (tempStableBlocks == STABLE_BLOCKS) {
+				return (i + 1) * BLOCK_EPISODES;
+			} // Of if
+		} // Of for i
+
+		return -1;
+	}// Of episodesToConverge
+
+	/**
+	 ****************** 
+	 * Learning until convergence, with the seeds in turn. A run which never
+	 * converges counts with all MAX_BLOCKS blocks.
+	 * 
+	 * @param paraType
+	 *            The index of the agent in AGENT_NAMES.
+	 * @param paraShortestLength
+	 *            The length of the shortest route.
+	 * @return The case.
+	 ****************** 
+	 */
+	public static BenchmarkCase convergeCase(final int paraType, final int paraShortestLength) {
+		return new BenchmarkCase("TraceBenchmark.converge", BenchmarkCase.AVERAGE_TIME) {
+			int seed;
+
+			public long invoke() {
+				BenchmarkHarness.consume(episodesToConverge(paraType, seed, paraShortestLength));
+				seed = (seed + 1) % NUM_SEEDS;
+				return 1;
+			}// Of invoke
+		}.addParam("agent", AGENT_NAMES[paraType]);
+	}// Of convergeCase
+
+	/**
+	 ****************** 
+	 * The cases of all agents.
+	 * 
+	 * @return The cases.
+	 ****************** 
+	 */
+	public static List<BenchmarkCase> createCases() {
+		int tempShortestLength = shortestLength(new Maze(Maze.generateComplexMaze()),
+				START_STATE);
+		List<BenchmarkCase> resultCases = new ArrayList<BenchmarkCase>();
+		for (int i = 0; i < AGENT_NAMES.length; i++) {
+			resultCases.add(convergeCase(i, tempShortestLength));
+		} // Of for i
+
+		return resultCases;
+	}// Of createCases
+
+	/**
+	 ****************** 
+	 * The entrance.
+	 * 
+	 * @param args
+	 *            The JSON file, optional.
+	 ****************** 
+	 */
+	public static void main(String args[]) throws IOException {
+		int tempShortestLength = shortestLength(new Maze(Maze.generateComplexMaze()),
+				START_STATE);
+		System.out.println("The shortest route from " + START_STATE + " has " + tempShortestLength
+				+ " steps. Episodes until the greedy route is the shortest for " + STABLE_BLOCKS
+				+ " blocks of " + BLOCK_EPISODES + " episodes:");
+
+		int tempEpisodes;
+		for (int i = 0; i < AGENT_NAMES.length; i++) {
+			String tempResult = "";
+			double tempTotal = 0;
+			int tempNumReached = 0;
+			for (int j = 0; j < NUM_SEEDS; j++) {
+				tempEpisodes = episodesToConverge(i, j, tempShortestLength);
+				tempResult += " " + (tempEpisodes == -1 ? "never" : "" + tempEpisodes);
+				if (tempEpisodes != -1) {
+					tempTotal += tempEpisodes;
+					tempNumReached++;
+				} // Of if
+			} // Of for j
+
+			System.out.printf("  %-20s:%s, mean %.0f episodes (%d of %d reached)\r\n",
+					AGENT_NAMES[i], tempResult,
+					tempNumReached == 0 ? Double.NaN : tempTotal / tempNumReached,
+					tempNumReached, NUM_SEEDS);
+		} // Of for i
+
+		System.out.println("The time to converge:");
+		BenchmarkHarness tempHarness = new BenchmarkHarness(2, 5, 1000);
+		tempHarness.runAll(createCases(), "");
+		if (args.length > 0) {
+			tempHarness.writeJson(args[0]);
+		} // Of if
+	}// Of main
+} // Of class TraceBenchmark
@@ -0,0 +1,600 @@
+package common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A binary checkpoint of learned values, e.g., a quality table or a value
+ * table. The file is a fixed header, the name of the environment, and then the
+ * raw values as little-endian doubles. The header is:<br>
+ * magic (int), version (int), kind (int), flags (int), number of states
+ * (int), number of actions (int), length of the name (int), layout hash (int),
+ * gamma, alpha, epsilon (double), number of episodes (long), number of values
+ * (long).<br>
+ * The layout hash tells apart environments of the same size, e.g., mazes of
+ * different cells, and it is 0 for those with a fixed layout. The name is
+ * padded to a multiple of 8 bytes, hence the values are aligned.
+ * The file is written with a FileChannel, and is mapped for loading, so that
+ * the values are read from the page cache without being copied to the heap.
+ * A writable mapping is private, i.e., the values may be changed in memory,
+ * e.g., for more learning, while the file is never changed. A file without
+ * write permission is mapped read-only instead.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class Checkpoint {
+
+	/**
+	 * The magic number, "MFCK" in the file.
+	 */
+	public static final int MAGIC = 0x4B43464D;
+
+	/**
+	 * The version of the format.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Kind. Quality values, numStates * numActions of them, row by row.
+	 */
+	public static final int QUALITY_TABLE = 1;
+
+	/**
+	 * Kind. State values, numStates of them, NaN for untouched states.
+	 */
+	public static final int VALUE_TABLE = 2;
+
+	/**
+	 * Flag. Only canonical states of symmetric ones are stored.
+	 */
+	public static final int FLAG_SYMMETRIC = 1;
+
+	/**
+	 * The size of the fixed part of the header in bytes.
+	 */
+	public static final int HEADER_SIZE = 72;
+
+	/**
+	 * The charset of the name.
+	 */
+	static final Charset NAME_CHARSET = Charset.forName("UTF-8");
+
+	/**
+	 * The number of doubles written at a time.
+	 */
+	static final int WRITE_BLOCK_SIZE = 8192;
+
+	/**
+	 * The kind of values.
+	 */
+	int kind;
+
+	/**
+	 * The flags.
+	 */
+	int flags;
+
+	/**
+	 * The name of the environment, e.g., its class name.
+	 */
+	String environmentName;
+
+	/**
+	 * The number of states.
+	 */
+	int numStates;
+
+	/**
+	 * The number of actions.
+	 */
+	int numActions;
+
+	/**
+	 * The hash of the layout of the environment, 0 for a fixed layout.
+	 */
+	int layoutHash;
+
+	/**
+	 * The discount factor, NaN if not applicable.
+	 */
+	double gamma;
+
+	/**
+	 * The learning rate, NaN if not applicable.
+	 */
+	double alpha;
+
+	/**
+	 * The exploration rate, NaN if not applicable.
+	 */
+	double epsilon;
+
+	/**
+	 * The number of episodes learned.
+	 */
+	long numEpisodes;
+
+	/**
+	 * The mapped values, only for a loaded checkpoint.
+	 */
+	DoubleBuffer values;
+
+	/**
+	 ****************** 
+	 * The constructor.
+	 * 
+	 * @param paraKind
+	 *            QUALITY_TABLE or VALUE_TABLE.
+	 * @param paraEnvironmentName
+	 *            The name of the environment.
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 ****************** 
+	 */
+	public Checkpoint(int paraKind, String paraEnvironmentName, int paraNumStates,
+			int paraNumActions) {
+		kind = paraKind;
+		environmentName = paraEnvironmentName;
+		numStates = paraNumStates;
+		numActions = paraNumActions;
+		layoutHash = 0;
+		flags = 0;
+		gamma = Double.NaN;
+		alpha = Double.NaN;
+		epsilon = Double.NaN;
+		numEpisodes = 0;
+	}// Of the constructor
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraGamma
+	 *            The discount factor, NaN if not applicable.
+	 * @param paraAlpha
+	 *            The learning rate, NaN if not applicable.
+	 * @param paraEpsilon
+	 *            The exploration rate, NaN if not applicable.
+	 ****************** 
+	 */
+	public void setHyperParameters(double paraGamma, double paraAlpha, double paraEpsilon) {
+		gamma = paraGamma;
+		alpha = paraAlpha;
+		epsilon = paraEpsilon;
+	}// Of setHyperParameters
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraNumEpisodes
+	 *            The number of episodes learned.
+	 ****************** 
+	 */
+	public void setNumEpisodes(long paraNumEpisodes) {
+		numEpisodes = paraNumEpisodes;
+	}// Of setNumEpisodes
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraLayoutHash
+	 *            The hash of the layout of the environment, 0 for a fixed
+	 *            layout.
+	 ****************** 
+	 */
+	public void setLayoutHash(int paraLayoutHash) {
+		layoutHash = paraLayoutHash;
+	}// Of setLayoutHash
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraFlags
+	 *            The flags, e.g., FLAG_SYMMETRIC.
+	 ****************** 
+	 */
+	public void setFlags(int paraFlags) {
+		flags = paraFlags;
+	}// Of setFlags
+
+	/**
+	 ****************** 
+	 * Compute the expected number of values.
+	 * 
+	 * @return The number of values.
+	 ****************** 
+	 */
+	public long getExpectedNumValues() {
+		if (kind == QUALITY_TABLE) {
+			return (long) numStates * numActions;
+		} // Of if
+
+		return numStates;
+	}// Of getExpectedNumValues
+
+	/**
+	 ****************** 
+	 * Write the header and the given values to the given file. An existing
+	 * file is replaced.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @param paraValues
+	 *            The values.
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 * @throws IllegalArgumentException
+	 *             if the number of values does not match the header.
+	 ****************** 
+	 */
+	public void write(String paraFilename, double[] paraValues) throws IOException {
+		if (paraValues.length != getExpectedNumValues()) {
+			throw new IllegalArgumentException("Checkpoint: " + paraValues.length
+					+ " values are given while " + getExpectedNumValues() + " are expected.");
+		} // Of if
+
+		byte[] tempNameBytes = environmentName.getBytes(NAME_CHARSET);
+		int tempDataOffset = computeDataOffset(tempNameBytes.length);
+
+		ByteBuffer tempHeader = ByteBuffer.allocate(tempDataOffset).order(ByteOrder.LITTLE_ENDIAN);
+		tempHeader.putInt(MAGIC);
+		tempHeader.putInt(VERSION);
+		tempHeader.putInt(kind);
+		tempHeader.putInt(flags);
+		tempHeader.putInt(numStates);
+		tempHeader.putInt(numActions);
+		tempHeader.putInt(tempNameBytes.length);
+		tempHeader.putInt(layoutHash);
+		tempHeader.putDouble(gamma);
+		tempHeader.putDouble(alpha);
+		tempHeader.putDouble(epsilon);
+		tempHeader.putLong(numEpisodes);
+		tempHeader.putLong(paraValues.length);
+		tempHeader.put(tempNameBytes);
+		tempHeader.clear();
+
+		Path tempPath = Paths.get(paraFilename);
+		if (tempPath.getParent() != null) {
+			Files.createDirectories(tempPath.getParent());
+		} // Of if
+
+		ByteBuffer tempBlock = ByteBuffer.allocateDirect(WRITE_BLOCK_SIZE * 8)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		DoubleBuffer tempDoubleBlock = tempBlock.asDoubleBuffer();
+		FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		try {
+			writeFully(tempChannel, tempHeader);
+
+			int tempLength;
+			for (int i = 0; i < paraValues.length; i += WRITE_BLOCK_SIZE) {
+				tempLength = Math.min(WRITE_BLOCK_SIZE, paraValues.length - i);
+				tempDoubleBlock.clear();
+				tempDoubleBlock.put(paraValues, i, tempLength);
+				tempBlock.clear();
+				tempBlock.limit(tempLength * 8);
+				writeFully(tempChannel, tempBlock);
+			} // Of for i
+		} finally {
+			tempChannel.close();
+		} // Of try
+	}// Of write
+
+	/**
+	 ****************** 
+	 * Write all remaining bytes of the given buffer.
+	 * 
+	 * @param paraChannel
+	 *            The channel.
+	 * @param paraBuffer
+	 *            The buffer.
+	 * @throws IOException
+	 *             if the channel fails.
+	 ****************** 
+	 */
+	static void writeFully(FileChannel paraChannel, ByteBuffer paraBuffer) throws IOException {
+		while (paraBuffer.hasRemaining()) {
+			paraChannel.write(paraBuffer);
+		} // Of while
+	}// Of writeFully
+
+	/**
+	 ****************** 
+	 * Compute the offset of the values, a multiple of 8.
+	 * 
+	 * @param paraNameLength
+	 *            The length of the name in bytes.
+	 * @return The offset.
+	 ****************** 
+	 */
+	static int computeDataOffset(int paraNameLength) {
+		return HEADER_SIZE + (paraNameLength + 7) / 8 * 8;
+	}// Of computeDataOffset
+
+	/**
+	 ****************** 
+	 * Map the given file read-only.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @return The checkpoint with the mapped values.
+	 * @throws IOException
+	 *             if the file cannot be read or is not a valid checkpoint.
+	 ****************** 
+	 */
+	public static Checkpoint map(String paraFilename) throws IOException {
+		return map(paraFilename, false);
+	}// Of map
+
+	/**
+	 ****************** 
+	 * Map the given file. Only the header is parsed, and the values are read
+	 * lazily through the mapping.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @param paraWritable
+	 *            Map privately so that the values can be changed in memory.
+	 *            The file is never changed. If it cannot be opened for
+	 *            writing, e.g., a shipped file, it is mapped read-only, and
+	 *            getValues().isReadOnly() tells.
+	 * @return The checkpoint with the mapped values.
+	 * @throws IOException
+	 *             if the file cannot be read or is not a valid checkpoint.
+	 ****************** 
+	 */
+	public static Checkpoint map(String paraFilename, boolean paraWritable)
+			throws IOException {
+		FileChannel tempChannel = null;
+		FileChannel.MapMode tempMode = FileChannel.MapMode.READ_ONLY;
+		if (paraWritable) {
+			// A private mapping requires a channel opened for writing.
+			try {
+				tempChannel = FileChannel.open(Paths.get(paraFilename),
+						StandardOpenOption.READ, StandardOpenOption.WRITE);
+				tempMode = FileChannel.MapMode.PRIVATE;
+			} catch (AccessDeniedException ee) {
+				tempChannel = null;
+			} // Of try
+		} // Of if
+		if (tempChannel == null) {
+			tempChannel = FileChannel.open(Paths.get(paraFilename), StandardOpenOption.READ);
+		} // Of if
+
+		MappedByteBuffer tempMapped;
+		try {
+			// The mapping stays valid after the channel is closed.
+			tempMapped = tempChannel.map(tempMode, 0, tempChannel.size());
+		} finally {
+			tempChannel.close();
+		} // Of try
+		tempMapped.order(ByteOrder.LITTLE_ENDIAN);
+
+		if (tempMapped.capacity() < HEADER_SIZE || tempMapped.getInt(0) != MAGIC) {
+			throw new IOException("Checkpoint: " + paraFilename + " is not a checkpoint.");
+		} // Of if
+		if (tempMapped.getInt(4) != VERSION) {
+			throw new IOException("Checkpoint: unsupported version " + tempMapped.getInt(4)
+					+ " of " + paraFilename + ".");
+		} // Of if
+
+		int tempNameLength = tempMapped.getInt(24);
+		if (tempNameLength < 0 || tempNameLength > tempMapped.capacity() - HEADER_SIZE) {
+			throw new IOException("Checkpoint: " + paraFilename + " is truncated or corrupted.");
+		} // Of if
+		byte[] tempNameBytes = new byte[tempNameLength];
+		tempMapped.position(HEADER_SIZE);
+		tempMapped.get(tempNameBytes);
+
+		Checkpoint resultCheckpoint = new Checkpoint(tempMapped.getInt(8),
+				new String(tempNameBytes, NAME_CHARSET), tempMapped.getInt(16),
+				tempMapped.getInt(20));
+		resultCheckpoint.flags = tempMapped.getInt(12);
+		resultCheckpoint.layoutHash = tempMapped.getInt(28);
+		resultCheckpoint.setHyperParameters(tempMapped.getDouble(32), tempMapped.getDouble(40),
+				tempMapped.getDouble(48));
+		resultCheckpoint.numEpisodes = tempMapped.getLong(56);
+
+		long tempNumValues = tempMapped.getLong(64);
+		int tempDataOffset = computeDataOffset(tempNameLength);
+		if (tempNumValues != resultCheckpoint.getExpectedNumValues()
+				|| tempMapped.capacity() - tempDataOffset != tempNumValues * 8) {
+			throw new IOException("Checkpoint: " + paraFilename + " is truncated or corrupted.");
+		} // Of if
+
+		tempMapped.position(tempDataOffset);
+		resultCheckpoint.values = tempMapped.slice().order(ByteOrder.LITTLE_ENDIAN)
+				.asDoubleBuffer();
+
+		return resultCheckpoint;
+	}// Of map
+
+	/**
+	 ****************** 
+	 * Check whether the checkpoint can be loaded by the given learner.
+	 * 
+	 * @param paraKind
+	 *            The expected kind.
+	 * @param paraEnvironmentName
+	 *            The expected name of the environment.
+	 * @param paraNumStates
+	 *            The expected number of states.
+	 * @param paraNumActions
+	 *            The expected number of actions.
+	 * @param paraLayoutHash
+	 *            The expected hash of the layout.
+	 * @throws IllegalArgumentException
+	 *             if anything does not match.
+	 ****************** 
+	 */
+	public void checkCompatible(int paraKind, String paraEnvironmentName, int paraNumStates,
+			int paraNumActions, int paraLayoutHash) {
+		if (kind != paraKind || !environmentName.equals(paraEnvironmentName)
+				|| numStates != paraNumStates || numActions != paraNumActions) {
+			throw new IllegalArgumentException("Checkpoint: " + this + " does not match kind "
+					+ paraKind + " of " + paraEnvironmentName + " with " + paraNumStates
+					+ " states and " + paraNumActions + " actions.");
+		} // Of if
+		if (layoutHash != paraLayoutHash) {
+			throw new IllegalArgumentException("Checkpoint: the layout hash " + layoutHash
+					+ " does not match " + paraLayoutHash + " of " + paraEnvironmentName
+					+ ", i.e., another layout of the same size.");
+		} // Of if
+	}// Of checkCompatible
+
+	/**
+	 ****************** 
+	 * Getter. The buffer views the mapped file, with absolute index in [0,
+	 * getExpectedNumValues()). It is read-only unless mapped writable.
+	 * 
+	 * @return The values, null if the checkpoint is not loaded.
+	 ****************** 
+	 */
+	public DoubleBuffer getValues() {
+		return values;
+	}// Of getValues
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The kind of values.
+	 ****************** 
+	 */
+	public int getKind() {
+		return kind;
+	}// Of getKind
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The hash of the layout of the environment.
+	 ****************** 
+	 */
+	public int getLayoutHash() {
+		return layoutHash;
+	}// Of getLayoutHash
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The flags.
+	 ****************** 
+	 */
+	public int getFlags() {
+		return flags;
+	}// Of getFlags
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The name of the environment.
+	 ****************** 
+	 */
+	public String getEnvironmentName() {
+		return environmentName;
+	}// Of getEnvironmentName
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of states.
+	 ****************** 
+	 */
+	public int getNumStates() {
+		return numStates;
+	}// Of getNumStates
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of actions.
+	 ****************** 
+	 */
+	public int getNumActions() {
+		return numActions;
+	}// Of getNumActions
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The discount factor.
+	 ****************** 
+	 */
+	public double getGamma() {
+		return gamma;
+	}// Of getGamma
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The learning rate.
+	 ****************** 
+	 */
+	public double getAlpha() {
+		return alpha;
+	}// Of getAlpha
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The exploration rate.
+	 ****************** 
+	 */
+	public double getEpsilon() {
+		return epsilon;
+	}// Of getEpsilon
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of episodes learned.
+	 ****************** 
+	 */
+	public long getNumEpisodes() {
+		return numEpisodes;
+	}// Of getNumEpisodes
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am a checkpoint of kind " + kind + " for " + environmentName + " with "
+				+ numStates + " states and " + numActions + " actions, " + numEpisodes
+				+ " episodes.";
+	}// Of toString
+
+} // Of class Checkpoint
@@ -17,7 +17,7 @@ import java.util.*;
  *         www.fansmale.com, github.com/fansmale/TCR.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  * @date Created: October 20, 2008.<br>
- *       Last modified: January 30, 2020.
+ *       Last modified: October 18, 2026.
  * @version 1.0
  */
 
@@ -43,11 +43,6 @@ public class Common extends Object {
 	 */
 	public static long runSteps = 0;
 
-	/**
-	 * The number of time for reaching the wall.
-	 */
-	public static int wallTimes;
-
 	/**
 	 * Help the relative directory. In this way all file paths are correct while
 	 * migrating to a new machine.
@@ -0,0 +1,533 @@
+package common;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The statistics of episodes, updated online when an episode ends. The memory
+ * does not grow with the number of episodes: the mean and variance are
+ * maintained with the method of Welford, and the moving averages with a ring
+ * buffer of a fixed window. The rows of all episodes may be kept in memory for
+ * small runs, or spilled to a buffered file in CSV or binary format for large
+ * ones. A binary row is the episode index (long), the reward (double), the
+ * steps (int) and the times for reaching the wall (int), big-endian as written
+ * by DataOutputStream.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class EpisodeMetrics {
+
+	/**
+	 * The default size of the window for moving averages.
+	 */
+	public static final int DEFAULT_WINDOW_SIZE = 100;
+
+	/**
+	 * Spill format. One line for each episode, with a header line.
+	 */
+	public static final int CSV = 0;
+
+	/**
+	 * Spill format. 24 bytes for each episode.
+	 */
+	public static final int BINARY = 1;
+
+	/**
+	 * The number of episodes.
+	 */
+	long numEpisodes;
+
+	/**
+	 * The sum of rewards. The mean is computed from it, so that it is exactly
+	 * the same as summing up the rewards of all episodes.
+	 */
+	double rewardSum;
+
+	/**
+	 * The running mean of rewards for Welford's method.
+	 */
+	double rewardMean;
+
+	/**
+	 * The sum of squared deviations of rewards.
+	 */
+	double rewardM2;
+
+	/**
+	 * The sum of steps.
+	 */
+	long stepsSum;
+
+	/**
+	 * The running mean of steps for Welford's method.
+	 */
+	double stepsMean;
+
+	/**
+	 * The sum of squared deviations of steps.
+	 */
+	double stepsM2;
+
+	/**
+	 * The total times for reaching the wall.
+	 */
+	long wallTimesSum;
+
+	/**
+	 * The reward of the last episode.
+	 */
+	double lastReward;
+
+	/**
+	 * The steps of the last episode.
+	 */
+	int lastSteps;
+
+	/**
+	 * The rewards of the recent episodes in a ring.
+	 */
+	double[] windowRewards;
+
+	/**
+	 * The steps of the recent episodes in a ring.
+	 */
+	int[] windowSteps;
+
+	/**
+	 * The number of episodes in the window.
+	 */
+	int windowFill;
+
+	/**
+	 * The position for the next episode in the ring.
+	 */
+	int windowNext;
+
+	/**
+	 * Keep the rows of all episodes in memory?
+	 */
+	boolean keepHistory;
+
+	/**
+	 * The rewards of all episodes, only if keepHistory.
+	 */
+	double[] rewardHistory;
+
+	/**
+	 * The steps of all episodes, only if keepHistory.
+	 */
+	int[] stepsHistory;
+
+	/**
+	 * The stream of the binary spill file, null if not spilled.
+	 */
+	DataOutputStream binaryOutput;
+
+	/**
+	 * The writer of the CSV spill file, null if not spilled.
+	 */
+	BufferedWriter csvOutput;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 ****************** 
+	 */
+	public EpisodeMetrics() {
+		this(DEFAULT_WINDOW_SIZE);
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraWindowSize
+	 *            The size of the window for moving averages.
+	 ****************** 
+	 */
+	public EpisodeMetrics(int paraWindowSize) {
+		windowRewards = new double[paraWindowSize];
+		windowSteps = new int[paraWindowSize];
+		keepHistory = false;
+		reset();
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * Clear the statistics, e.g., for a new run. The settings are kept, and
+	 * the spill file, if any, stays open.
+	 ****************** 
+	 */
+	public void reset() {
+		numEpisodes = 0;
+		rewardSum = 0;
+		rewardMean = 0;
+		rewardM2 = 0;
+		stepsSum = 0;
+		stepsMean = 0;
+		stepsM2 = 0;
+		wallTimesSum = 0;
+		lastReward = Double.NaN;
+		lastSteps = 0;
+		windowFill = 0;
+		windowNext = 0;
+		if (keepHistory) {
+			rewardHistory = new double[DEFAULT_WINDOW_SIZE];
+			stepsHistory = new int[DEFAULT_WINDOW_SIZE];
+		} // Of if
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Setter. The statistics are reset.
+	 * 
+	 * @param paraKeepHistory
+	 *            Keep the rows of all episodes in memory or not. Memory grows
+	 *            with the number of episodes if so.
+	 ****************** 
+	 */
+	public void setKeepHistory(boolean paraKeepHistory) {
+		keepHistory = paraKeepHistory;
+		rewardHistory = null;
+		stepsHistory = null;
+		reset();
+	}// Of setKeepHistory
+
+	/**
+	 ****************** 
+	 * Spill the rows of the following episodes to the given file. A spill
+	 * file already open is closed first.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file. An existing one is replaced.
+	 * @param paraFormat
+	 *            CSV or BINARY.
+	 * @throws IOException
+	 *             if the file cannot be created.
+	 ****************** 
+	 */
+	public void openSpillFile(String paraFilename, int paraFormat) throws IOException {
+		closeSpillFile();
+		if (paraFormat == BINARY) {
+			binaryOutput = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(paraFilename), 1 << 16));
+		} else {
+			csvOutput = new BufferedWriter(new FileWriter(paraFilename), 1 << 16);
+			csvOutput.write("episode,reward,steps,wallTimes\r\n");
+		} // Of if
+	}// Of openSpillFile
+
+	/**
+	 ****************** 
+	 * Flush and close the spill file, if any.
+	 * 
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 ****************** 
+	 */
+	public void closeSpillFile() throws IOException {
+		if (binaryOutput != null) {
+			binaryOutput.close();
+			binaryOutput = null;
+		} // Of if
+		if (csvOutput != null) {
+			csvOutput.close();
+			csvOutput = null;
+		} // Of if
+	}// Of closeSpillFile
+
+	/**
+	 ****************** 
+	 * Record an ended episode.
+	 * 
+	 * @param paraReward
+	 *            The reward of the episode.
+	 * @param paraSteps
+	 *            The number of steps of the episode.
+	 * @param paraWallTimes
+	 *            The times for reaching the wall in the episode.
+	 * @throws IllegalStateException
+	 *             if the spill file cannot be written.
+	 ****************** 
+	 */
+	public void addEpisode(double paraReward, int paraSteps, int paraWallTimes) {
+		if (binaryOutput != null || csvOutput != null) {
+			spill(paraReward, paraSteps, paraWallTimes);
+		} // Of if
+		if (keepHistory) {
+			if (numEpisodes == rewardHistory.length) {
+				rewardHistory = Arrays.copyOf(rewardHistory, rewardHistory.length * 2);
+				stepsHistory = Arrays.copyOf(stepsHistory, stepsHistory.length * 2);
+			} // Of if
+			rewardHistory[(int) numEpisodes] = paraReward;
+			stepsHistory[(int) numEpisodes] = paraSteps;
+		} // Of if
+
+		// Welford's method.
+		numEpisodes++;
+		double tempDelta = paraReward - rewardMean;
+		rewardMean += tempDelta / numEpisodes;
+		rewardM2 += tempDelta * (paraReward - rewardMean);
+		tempDelta = paraSteps - stepsMean;
+		stepsMean += tempDelta / numEpisodes;
+		stepsM2 += tempDelta * (paraSteps - stepsMean);
+
+		rewardSum += paraReward;
+		stepsSum += paraSteps;
+		wallTimesSum += paraWallTimes;
+		lastReward = paraReward;
+		lastSteps = paraSteps;
+
+		windowRewards[windowNext] = paraReward;
+		windowSteps[windowNext] = paraSteps;
+		windowNext = (windowNext + 1) % windowRewards.length;
+		if (windowFill < windowRewards.length) {
+			windowFill++;
+		} // Of if
+	}// Of addEpisode
+
+	/**
+	 ****************** 
+	 * Write the row of an episode to the spill file.
+	 * 
+	 * @param paraReward
+	 *            The reward of the episode.
+	 * @param paraSteps
+	 *            The number of steps of the episode.
+	 * @param paraWallTimes
+	 *            The times for reaching the wall in the episode.
+	 ****************** 
+	 */
+	void spill(double paraReward, int paraSteps, int paraWallTimes) {
+		try {
+			if (binaryOutput != null) {
+				binaryOutput.writeLong(numEpisodes);
+				binaryOutput.writeDouble(paraReward);
+				binaryOutput.writeInt(paraSteps);
+				binaryOutput.writeInt(paraWallTimes);
+			} else {
+				csvOutput.write(numEpisodes + "," + paraReward + "," + paraSteps + ","
+						+ paraWallTimes + "\r\n");
+			} // Of if
+		} catch (IOException ee) {
+			throw new IllegalStateException("EpisodeMetrics: cannot spill episode " + numEpisodes,
+					ee);
+		} // Of try
+	}// Of spill
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of episodes.
+	 ****************** 
+	 */
+	public long getNumEpisodes() {
+		return numEpisodes;
+	}// Of getNumEpisodes
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The average reward, NaN if no episode.
+	 ****************** 
+	 */
+	public double getMeanReward() {
+		return rewardSum / numEpisodes;
+	}// Of getMeanReward
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The population variance of rewards, NaN if no episode.
+	 ****************** 
+	 */
+	public double getRewardVariance() {
+		return rewardM2 / numEpisodes;
+	}// Of getRewardVariance
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The average number of steps, NaN if no episode.
+	 ****************** 
+	 */
+	public double getMeanSteps() {
+		return stepsSum / (double) numEpisodes;
+	}// Of getMeanSteps
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The population variance of steps, NaN if no episode.
+	 ****************** 
+	 */
+	public double getStepsVariance() {
+		return stepsM2 / numEpisodes;
+	}// Of getStepsVariance
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The total times for reaching the wall.
+	 ****************** 
+	 */
+	public long getTotalWallTimes() {
+		return wallTimesSum;
+	}// Of getTotalWallTimes
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The reward of the last episode, NaN if no episode.
+	 ****************** 
+	 */
+	public double getLastReward() {
+		return lastReward;
+	}// Of getLastReward
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The steps of the last episode.
+	 ****************** 
+	 */
+	public int getLastSteps() {
+		return lastSteps;
+	}// Of getLastSteps
+
+	/**
+	 ****************** 
+	 * Get the number of recent episodes available, at most the window size.
+	 * 
+	 * @param paraNumRecent
+	 *            The number of recent episodes wanted.
+	 * @return The number available.
+	 ****************** 
+	 */
+	public int getNumRecentEpisodes(int paraNumRecent) {
+		return Math.min(paraNumRecent, windowFill);
+	}// Of getNumRecentEpisodes
+
+	/**
+	 ****************** 
+	 * Compute the average reward of the given number of recent episodes.
+	 * 
+	 * @param paraNumRecent
+	 *            The number of recent episodes. It is bounded by the window.
+	 * @return The average reward, NaN if no episode.
+	 ****************** 
+	 */
+	public double getRecentAverageReward(int paraNumRecent) {
+		int tempNum = getNumRecentEpisodes(paraNumRecent);
+		double tempSum = 0;
+		for (int i = 1; i <= tempNum; i++) {
+			tempSum += windowRewards[(windowNext - i + windowRewards.length)
+					% windowRewards.length];
+		} // Of for i
+
+		return tempSum / tempNum;
+	}// Of getRecentAverageReward
+
+	/**
+	 ****************** 
+	 * Compute the average steps of the given number of recent episodes.
+	 * 
+	 * @param paraNumRecent
+	 *            The number of recent episodes. It is bounded by the window.
+	 * @return The average steps, NaN if no episode.
+	 ****************** 
+	 */
+	public double getRecentAverageSteps(int paraNumRecent) {
+		int tempNum = getNumRecentEpisodes(paraNumRecent);
+		long tempSum = 0;
+		for (int i = 1; i <= tempNum; i++) {
+			tempSum += windowSteps[(windowNext - i + windowSteps.length) % windowSteps.length];
+		} // Of for i
+
+		return tempSum / (double) tempNum;
+	}// Of getRecentAverageSteps
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The moving average reward over the window.
+	 ****************** 
+	 */
+	public double getMovingAverageReward() {
+		return getRecentAverageReward(windowRewards.length);
+	}// Of getMovingAverageReward
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The moving average steps over the window.
+	 ****************** 
+	 */
+	public double getMovingAverageSteps() {
+		return getRecentAverageSteps(windowSteps.length);
+	}// Of getMovingAverageSteps
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The rewards of all episodes, null if the history is not kept.
+	 ****************** 
+	 */
+	public double[] getRewardHistory() {
+		if (!keepHistory) {
+			return null;
+		} // Of if
+
+		return Arrays.copyOf(rewardHistory, (int) numEpisodes);
+	}// Of getRewardHistory
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The steps of all episodes, null if the history is not kept.
+	 ****************** 
+	 */
+	public int[] getStepsHistory() {
+		if (!keepHistory) {
+			return null;
+		} // Of if
+
+		return Arrays.copyOf(stepsHistory, (int) numEpisodes);
+	}// Of getStepsHistory
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am EpisodeMetrics of " + numEpisodes + " episodes, reward " + getMeanReward()
+				+ " +- " + Math.sqrt(getRewardVariance()) + ", steps " + getMeanSteps()
+				+ " +- " + Math.sqrt(getStepsVariance()) + ".";
+	}// Of toString
+
+} // Of class EpisodeMetrics
@@ -0,0 +1,219 @@
+package common;
+
+import java.util.Arrays;
+
+/**
+ * A map from non-negative int keys to double values with open addressing and
+ * linear probing. No object is created for an entry, hence it is much more
+ * compact than HashMap<Integer, Double>.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class IntDoubleHashMap {
+
+	/**
+	 * Indicate an empty slot. Keys are non-negative.
+	 */
+	static final int EMPTY_KEY = -1;
+
+	/**
+	 * The keys of the slots.
+	 */
+	int[] keys;
+
+	/**
+	 * The values of the slots.
+	 */
+	double[] values;
+
+	/**
+	 * The number of entries.
+	 */
+	int size;
+
+	/**
+	 * keys.length - 1.
+	 */
+	int mask;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraExpectedSize
+	 *            The expected number of entries. The map grows if necessary.
+	 ****************** 
+	 */
+	public IntDoubleHashMap(int paraExpectedSize) {
+		int tempCapacity = 16;
+		// The load factor is at most 1/2.
+		while (tempCapacity < paraExpectedSize * 2) {
+			tempCapacity <<= 1;
+		} // Of while
+		allocate(tempCapacity);
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Allocate empty slots.
+	 * 
+	 * @param paraCapacity
+	 *            The number of slots, a power of 2.
+	 ****************** 
+	 */
+	private void allocate(int paraCapacity) {
+		keys = new int[paraCapacity];
+		Arrays.fill(keys, EMPTY_KEY);
+		values = new double[paraCapacity];
+		mask = paraCapacity - 1;
+		size = 0;
+	}// Of allocate
+
+	/**
+	 ****************** 
+	 * Find the slot of the key.
+	 * 
+	 * @param paraKey
+	 *            The key.
+	 * @return The slot, with either the key or EMPTY_KEY.
+	 ****************** 
+	 */
+	private int findSlot(int paraKey) {
+		int tempHash = paraKey * 0x9E3779B9;
+		int resultSlot = (tempHash ^ (tempHash >>> 16)) & mask;
+		while (keys[resultSlot] != EMPTY_KEY && keys[resultSlot] != paraKey) {
+			resultSlot = (resultSlot + 1) & mask;
+		} // Of while
+
+		return resultSlot;
+	}// Of findSlot
+
+	/**
+	 ****************** 
+	 * Get the value of the key.
+	 * 
+	 * @param paraKey
+	 *            The key.
+	 * @param paraDefaultValue
+	 *            The value to return if the key is absent.
+	 * @return The value.
+	 ****************** 
+	 */
+	public double get(int paraKey, double paraDefaultValue) {
+		int tempSlot = findSlot(paraKey);
+		if (keys[tempSlot] == EMPTY_KEY) {
+			return paraDefaultValue;
+		} // Of if
+
+		return values[tempSlot];
+	}// Of get
+
+	/**
+	 ****************** 
+	 * Is the key stored?
+	 * 
+	 * @param paraKey
+	 *            The key.
+	 * @return True if it is.
+	 ****************** 
+	 */
+	public boolean containsKey(int paraKey) {
+		return keys[findSlot(paraKey)] != EMPTY_KEY;
+	}// Of containsKey
+
+	/**
+	 ****************** 
+	 * Set the value of the key.
+	 * 
+	 * @param paraKey
+	 *            The key, non-negative.
+	 * @param paraValue
+	 *            The value.
+	 ****************** 
+	 */
+	public void put(int paraKey, double paraValue) {
+		int tempSlot = findSlot(paraKey);
+		if (keys[tempSlot] == EMPTY_KEY) {
+			if ((size + 1) * 2 > keys.length) {
+				rehash();
+				tempSlot = findSlot(paraKey);
+			} // Of if
+			keys[tempSlot] = paraKey;
+			size++;
+		} // Of if
+
+		values[tempSlot] = paraValue;
+	}// Of put
+
+	/**
+	 ****************** 
+	 * Double the number of slots.
+	 ****************** 
+	 */
+	private void rehash() {
+		int[] tempKeys = keys;
+		double[] tempValues = values;
+		int tempSize = size;
+
+		allocate(keys.length * 2);
+		int tempSlot;
+		for (int i = 0; i < tempKeys.length; i++) {
+			if (tempKeys[i] != EMPTY_KEY) {
+				tempSlot = findSlot(tempKeys[i]);
+				keys[tempSlot] = tempKeys[i];
+				values[tempSlot] = tempValues[i];
+			} // Of if
+		} // Of for i
+		size = tempSize;
+	}// Of rehash
+
+	/**
+	 ****************** 
+	 * Remove all entries. The slots are kept.
+	 ****************** 
+	 */
+	public void clear() {
+		Arrays.fill(keys, EMPTY_KEY);
+		size = 0;
+	}// Of clear
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of entries.
+	 ****************** 
+	 */
+	public int size() {
+		return size;
+	}// Of size
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of slots.
+	 ****************** 
+	 */
+	public int getCapacity() {
+		return keys.length;
+	}// Of getCapacity
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am an IntDoubleHashMap with " + size + " entries in " + keys.length
+				+ " slots.";
+	}// Of toString
+
+} // Of class IntDoubleHashMap
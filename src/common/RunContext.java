@@ -0,0 +1,256 @@
+package common;
+
+import java.util.Random;
+
+/**
+ * The mutable state of one run, including the random object, the counters and
+ * the tracking flag. An environment owns a context, and its agents and umpire
+ * share it. Since no static field is written while learning, runs with
+ * different contexts can be executed in the same JVM at the same time. A
+ * context should be confined to one thread. The random object is a
+ * SplitMixRandom by default, so that child contexts can be derived for
+ * workers, and the random stream can restart for each episode.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class RunContext {
+
+	/**
+	 * The random object of the run.
+	 */
+	Random random;
+
+	/**
+	 * Track the variables?
+	 */
+	boolean variableTracking;
+
+	/**
+	 * The number of times for reaching the wall in the current episode.
+	 */
+	int wallTimes;
+
+	/**
+	 * The number of steps of the run.
+	 */
+	long runSteps;
+
+	/**
+	 * Does each episode draw from its own child stream?
+	 */
+	boolean episodeStreams;
+
+	/**
+	 ****************** 
+	 * The first constructor. The random object is not seeded.
+	 ****************** 
+	 */
+	public RunContext() {
+		this(new SplitMixRandom());
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraSeed
+	 *            The seed of the random object.
+	 ****************** 
+	 */
+	public RunContext(long paraSeed) {
+		this(new SplitMixRandom(paraSeed));
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * The third constructor.
+	 * 
+	 * @param paraRandom
+	 *            The random object owned by the run.
+	 ****************** 
+	 */
+	public RunContext(Random paraRandom) {
+		random = paraRandom;
+		variableTracking = false;
+		wallTimes = 0;
+		runSteps = 0;
+		episodeStreams = false;
+	}// Of the third constructor
+
+	/**
+	 ****************** 
+	 * Create a child context, e.g., for a worker. The child has its own random
+	 * object and counters, and the same tracking flag. If the random object is
+	 * not a SplitMixRandom, the child is seeded by the next long value, hence
+	 * it depends on the numbers drawn before.
+	 * 
+	 * @param paraIndex
+	 *            The index of the child.
+	 * @return The child context.
+	 ****************** 
+	 */
+	public RunContext split(long paraIndex) {
+		SplitMixRandom tempRandom;
+		if (random instanceof SplitMixRandom) {
+			tempRandom = ((SplitMixRandom) random).split(paraIndex);
+		} else {
+			tempRandom = new SplitMixRandom(random.nextLong());
+		} // Of if
+
+		RunContext resultContext = new RunContext(tempRandom);
+		resultContext.variableTracking = variableTracking;
+		return resultContext;
+	}// Of split
+
+	/**
+	 ****************** 
+	 * Setter. With episode streams, the random stream restarts at the child of
+	 * the episode index for each episode. Hence an episode draws the same
+	 * numbers no matter which worker runs it.
+	 * 
+	 * @param paraEpisodeStreams
+	 *            Use episode streams or not.
+	 * @throws IllegalStateException
+	 *             if the random object is not a SplitMixRandom.
+	 ****************** 
+	 */
+	public void setEpisodeStreams(boolean paraEpisodeStreams) {
+		if (paraEpisodeStreams && !(random instanceof SplitMixRandom)) {
+			throw new IllegalStateException(
+					"RunContext: episode streams require a SplitMixRandom.");
+		} // Of if
+		episodeStreams = paraEpisodeStreams;
+	}// Of setEpisodeStreams
+
+	/**
+	 ****************** 
+	 * Start an episode. With episode streams, the random object jumps to the
+	 * child stream of the episode.
+	 * 
+	 * @param paraEpisode
+	 *            The index of the episode.
+	 ****************** 
+	 */
+	public void startEpisode(long paraEpisode) {
+		if (episodeStreams) {
+			((SplitMixRandom) random).jumpToChild(paraEpisode);
+		} // Of if
+	}// Of startEpisode
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The random object.
+	 ****************** 
+	 */
+	public Random getRandom() {
+		return random;
+	}// Of getRandom
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return True if the variables are tracked.
+	 ****************** 
+	 */
+	public boolean isVariableTracking() {
+		return variableTracking;
+	}// Of isVariableTracking
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraVariableTracking
+	 *            Track the variables or not.
+	 ****************** 
+	 */
+	public void setVariableTracking(boolean paraVariableTracking) {
+		variableTracking = paraVariableTracking;
+	}// Of setVariableTracking
+
+	/**
+	 ****************** 
+	 * Output for variable tracking. The caller should check
+	 * isVariableTracking() first if the string is expensive to build.
+	 * 
+	 * @param paraString
+	 *            The string for display.
+	 ****************** 
+	 */
+	public void variableTrackingOutput(String paraString) {
+		if (variableTracking) {
+			System.out.print(paraString);
+		} // Of if
+	}// Of variableTrackingOutput
+
+	/**
+	 ****************** 
+	 * Count one more time for reaching the wall.
+	 ****************** 
+	 */
+	public void addWallTime() {
+		wallTimes++;
+	}// Of addWallTime
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of times for reaching the wall.
+	 ****************** 
+	 */
+	public int getWallTimes() {
+		return wallTimes;
+	}// Of getWallTimes
+
+	/**
+	 ****************** 
+	 * Reset the number of times for reaching the wall, e.g., for a new
+	 * episode.
+	 ****************** 
+	 */
+	public void resetWallTimes() {
+		wallTimes = 0;
+	}// Of resetWallTimes
+
+	/**
+	 ****************** 
+	 * Count one more step.
+	 ****************** 
+	 */
+	public void addRunStep() {
+		runSteps++;
+	}// Of addRunStep
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of steps of the run.
+	 ****************** 
+	 */
+	public long getRunSteps() {
+		return runSteps;
+	}// Of getRunSteps
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am a RunContext with " + runSteps + " steps, tracking: " + variableTracking
+				+ ".";
+	}// Of toString
+
+} // Of class RunContext
@@ -0,0 +1,173 @@
+package common;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free ring buffer of fixed-length int records, written by one thread
+ * and read by another, e.g., metrics sampled by a training thread and drawn
+ * by the GUI. The writer never waits: when the buffer is full, the oldest
+ * records are overwritten, and a reader falling behind skips them. Records
+ * are numbered by sequence from 0. The slots are atomic, hence a reader
+ * detects a record overwritten while it is being copied by checking the
+ * number of published records afterwards.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class SampleRingBuffer {
+
+	/**
+	 * The length of each record.
+	 */
+	int recordLength;
+
+	/**
+	 * The number of records kept, a power of 2.
+	 */
+	int capacity;
+
+	/**
+	 * capacity - 1.
+	 */
+	int mask;
+
+	/**
+	 * The records, one after another.
+	 */
+	AtomicIntegerArray slots;
+
+	/**
+	 * The number of records published. Records of smaller sequences are
+	 * complete.
+	 */
+	volatile long published;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraCapacity
+	 *            The number of records kept, rounded up to a power of 2.
+	 * @param paraRecordLength
+	 *            The length of each record.
+	 ****************** 
+	 */
+	public SampleRingBuffer(int paraCapacity, int paraRecordLength) {
+		capacity = 1;
+		while (capacity < paraCapacity) {
+			capacity <<= 1;
+		} // Of while
+		mask = capacity - 1;
+		recordLength = paraRecordLength;
+		slots = new AtomicIntegerArray(capacity * recordLength);
+		published = 0;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Write a record. Only one thread may write.
+	 * 
+	 * @param paraRecord
+	 *            The record, with at least recordLength values.
+	 ****************** 
+	 */
+	public void add(int[] paraRecord) {
+		long tempSequence = published;
+		int tempStart = (int) (tempSequence & mask) * recordLength;
+		// A reader seeing any of these values also sees the last publish,
+		// hence it knows the slot is being overwritten.
+		for (int i = 0; i < recordLength; i++) {
+			slots.set(tempStart + i, paraRecord[i]);
+		} // Of for i
+		published = tempSequence + 1;
+	}// Of add
+
+	/**
+	 ****************** 
+	 * Getter. It may be called from any thread.
+	 * 
+	 * @return The number of records published.
+	 ****************** 
+	 */
+	public long getPublished() {
+		return published;
+	}// Of getPublished
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of records kept.
+	 ****************** 
+	 */
+	public int getCapacity() {
+		return capacity;
+	}// Of getCapacity
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The length of each record.
+	 ****************** 
+	 */
+	public int getRecordLength() {
+		return recordLength;
+	}// Of getRecordLength
+
+	/**
+	 ****************** 
+	 * Get the oldest sequence still kept.
+	 * 
+	 * @return The sequence.
+	 ****************** 
+	 */
+	public long getOldestSequence() {
+		long tempPublished = published;
+		return tempPublished > capacity ? tempPublished - capacity : 0;
+	}// Of getOldestSequence
+
+	/**
+	 ****************** 
+	 * Copy a published record. It may be called from any thread.
+	 * 
+	 * @param paraSequence
+	 *            The sequence of the record.
+	 * @param paraRecord
+	 *            The array to store the record.
+	 * @return True if copied, false if the record is not published yet, or
+	 *         it has been overwritten.
+	 ****************** 
+	 */
+	public boolean get(long paraSequence, int[] paraRecord) {
+		if (paraSequence >= published || paraSequence < getOldestSequence()) {
+			return false;
+		} // Of if
+
+		int tempStart = (int) (paraSequence & mask) * recordLength;
+		for (int i = 0; i < recordLength; i++) {
+			paraRecord[i] = slots.get(tempStart + i);
+		} // Of for i
+
+		// The writer may be filling the slot of sequence published, so the
+		// copy is valid only if that is not the slot just read.
+		return published - paraSequence < capacity;
+	}// Of get
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "SampleRingBuffer with " + published + " records published, capacity "
+				+ capacity;
+	}// Of toString
+
+} // Of class SampleRingBuffer
@@ -2560,6 +2560,21 @@ public class SimpleTools extends Object {
 	 ********************************** 
 	 */
 	public static int[] getRandomOrder(int paraLength) {
+		return getRandomOrder(paraLength, random);
+	}// Of getRandomOrder
+
+	/**
+	 ********************************** 
+	 * Get a random order index array with the given random object.
+	 * 
+	 * @param paraLength
+	 *            The length of the array.
+	 * @param paraRandom
+	 *            The random object, e.g., one owned by a single run.
+	 * @return A random order.
+	 ********************************** 
+	 */
+	public static int[] getRandomOrder(int paraLength, Random paraRandom) {
 		// Step 1. Initialize
 		int[] resultArray = new int[paraLength];
 		for (int i = 0; i < paraLength; i++) {
@@ -2570,8 +2585,8 @@ public class SimpleTools extends Object {
 		int tempFirst, tempSecond;
 		int tempValue;
 		for (int i = 0; i < paraLength * 10; i++) {
-			tempFirst = random.nextInt(paraLength);
-			tempSecond = random.nextInt(paraLength);
+			tempFirst = paraRandom.nextInt(paraLength);
+			tempSecond = paraRandom.nextInt(paraLength);
 
 			tempValue = resultArray[tempFirst];
 			resultArray[tempFirst] = resultArray[tempSecond];
@@ -0,0 +1,226 @@
+package common;
+
+import java.util.Random;
+
+/**
+ * A splittable random generator with the SplitMix64 algorithm, the same as
+ * that of java.util.SplittableRandom. It extends Random, so that it can be used
+ * wherever a Random is required. Unlike Random, the state is a plain long
+ * without atomic operations, hence an object should be confined to one
+ * thread. Child streams are derived by index from the seed of the stream, e.g.,
+ * one for each worker and one for each episode. A child does not depend on how
+ * many numbers have been drawn, hence parallel runs are reproducible no matter
+ * how the work is scheduled.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class SplitMixRandom extends Random {
+	/**
+	 * A number required by Java.
+	 */
+	private static final long serialVersionUID = 6208727693802187537L;
+
+	/**
+	 * The increment of the state, an odd number close to 2^64 / golden ratio.
+	 */
+	static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The multiplier of a double with 53 bits.
+	 */
+	static final double DOUBLE_UNIT = 1.0 / (1L << 53);
+
+	/**
+	 * The seeds of unseeded objects.
+	 */
+	static long defaultSeed = mix64(System.nanoTime());
+
+	/**
+	 * The current state.
+	 */
+	long state;
+
+	/**
+	 * The seed of the stream. Child streams are derived from it.
+	 */
+	long streamSeed;
+
+	/**
+	 ****************** 
+	 * The first constructor. The seed is different for each object.
+	 ****************** 
+	 */
+	public SplitMixRandom() {
+		this(nextDefaultSeed());
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraSeed
+	 *            The seed.
+	 ****************** 
+	 */
+	public SplitMixRandom(long paraSeed) {
+		// The super constructor calls setSeed().
+		super(paraSeed);
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * Get a seed for an unseeded object.
+	 * 
+	 * @return The seed.
+	 ****************** 
+	 */
+	private static synchronized long nextDefaultSeed() {
+		defaultSeed += GOLDEN_GAMMA;
+		return mix64(defaultSeed);
+	}// Of nextDefaultSeed
+
+	/**
+	 ****************** 
+	 * The mixing function of SplitMix64 (variant 13 of Stafford).
+	 * 
+	 * @param paraValue
+	 *            The given value.
+	 * @return The mixed value.
+	 ****************** 
+	 */
+	static long mix64(long paraValue) {
+		long resultValue = (paraValue ^ (paraValue >>> 30)) * 0xbf58476d1ce4e5b9L;
+		resultValue = (resultValue ^ (resultValue >>> 27)) * 0x94d049bb133111ebL;
+		return resultValue ^ (resultValue >>> 31);
+	}// Of mix64
+
+	/**
+	 ****************** 
+	 * Restart the stream with the given seed.
+	 * 
+	 * @param paraSeed
+	 *            The seed.
+	 ****************** 
+	 */
+	public void setSeed(long paraSeed) {
+		state = paraSeed;
+		streamSeed = paraSeed;
+	}// Of setSeed
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The seed of the stream.
+	 ****************** 
+	 */
+	public long getStreamSeed() {
+		return streamSeed;
+	}// Of getStreamSeed
+
+	/**
+	 ****************** 
+	 * Compute the seed of the child stream with the given index.
+	 * 
+	 * @param paraIndex
+	 *            The index of the child, e.g., the worker or the episode.
+	 * @return The seed of the child.
+	 ****************** 
+	 */
+	public long getChildSeed(long paraIndex) {
+		return mix64(streamSeed + GOLDEN_GAMMA * (paraIndex + 1));
+	}// Of getChildSeed
+
+	/**
+	 ****************** 
+	 * Create the child stream with the given index. This stream is unchanged.
+	 * 
+	 * @param paraIndex
+	 *            The index of the child, e.g., the worker.
+	 * @return The child stream.
+	 ****************** 
+	 */
+	public SplitMixRandom split(long paraIndex) {
+		return new SplitMixRandom(getChildSeed(paraIndex));
+	}// Of split
+
+	/**
+	 ****************** 
+	 * Move the state to the start of the child stream with the given index,
+	 * while the seed of the stream is kept. Hence all holders of this object
+	 * switch to the child, and the next child can still be derived, e.g., one
+	 * for each episode.
+	 * 
+	 * @param paraIndex
+	 *            The index of the child.
+	 ****************** 
+	 */
+	public void jumpToChild(long paraIndex) {
+		state = getChildSeed(paraIndex);
+	}// Of jumpToChild
+
+	/**
+	 ****************** 
+	 * Generate the next long value.
+	 * 
+	 * @return The value.
+	 ****************** 
+	 */
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix64(state);
+	}// Of nextLong
+
+	/**
+	 ****************** 
+	 * Generate the given number of random bits. All other methods of Random
+	 * depend on it.
+	 * 
+	 * @param paraBits
+	 *            The number of bits, at most 32.
+	 * @return The value with the given random bits.
+	 ****************** 
+	 */
+	protected int next(int paraBits) {
+		return (int) (nextLong() >>> (64 - paraBits));
+	}// Of next
+
+	/**
+	 ****************** 
+	 * Generate the next int value.
+	 * 
+	 * @return The value.
+	 ****************** 
+	 */
+	public int nextInt() {
+		return (int) (nextLong() >>> 32);
+	}// Of nextInt
+
+	/**
+	 ****************** 
+	 * Generate the next double value in [0, 1) from one long value.
+	 * 
+	 * @return The value.
+	 ****************** 
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}// Of nextDouble
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am a SplitMixRandom with stream seed " + streamSeed + ".";
+	}// Of toString
+
+} // Of class SplitMixRandom
@@ -0,0 +1,102 @@
+package experimenter;
+
+import java.util.Random;
+
+import common.SplitMixRandom;
+
+/**
+ * One independent run of an experiment. A run builds its own environment and
+ * agents, and draws all random numbers from the given random object, hence
+ * runs can be executed in parallel and the result is determined by the
+ * seed.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public abstract class ExperimentRun {
+	/**
+	 * The name of the configuration. Runs with the same name are aggregated
+	 * together.
+	 */
+	String configurationName;
+
+	/**
+	 * The seed of the random object.
+	 */
+	long seed;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraConfigurationName
+	 *            The name of the configuration.
+	 * @param paraSeed
+	 *            The seed.
+	 ****************** 
+	 */
+	public ExperimentRun(String paraConfigurationName, long paraSeed) {
+		configurationName = paraConfigurationName;
+		seed = paraSeed;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The name of the configuration.
+	 ****************** 
+	 */
+	public String getConfigurationName() {
+		return configurationName;
+	}// Of getConfigurationName
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The seed.
+	 ****************** 
+	 */
+	public long getSeed() {
+		return seed;
+	}// Of getSeed
+
+	/**
+	 ****************** 
+	 * Run with a new splittable random object created from the seed.
+	 * 
+	 * @return The measures.
+	 ****************** 
+	 */
+	public double[] run() {
+		return run(new SplitMixRandom(seed));
+	}// Of run
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The names of the measures returned by run().
+	 ****************** 
+	 */
+	public abstract String[] getMeasureNames();
+
+	/**
+	 ****************** 
+	 * Run the experiment. Static random objects should not be used.
+	 * 
+	 * @param paraRandom
+	 *            The random object owned by this run.
+	 * @return The measures.
+	 ****************** 
+	 */
+	public abstract double[] run(Random paraRandom);
+
+} // Of class ExperimentRun
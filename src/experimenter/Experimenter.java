@@ -1,12 +1,14 @@
 package experimenter;
 
-import common.SimpleTools;
 import qlearning.environment.*;
 import qlearning.umpire.Umpire;
 import vlearning.umpire.VUmpire;
 import vlearning.umpire.VUmpireDynamicProgramming;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Map;
 
 import qlearning.agent.*;
 
@@ -18,8 +20,8 @@ import qlearning.agent.*;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 20, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.2
  */
 
 public class Experimenter {
@@ -39,13 +41,13 @@ public class Experimenter {
 		// Learner tempAgent = new SimpleQLearner(tempEnvironment);
 		int tempEpisodes = 10000;
 		Agent tempAgent = new WeightedRandomQAgent(tempEnvironment);
-		SimpleTools.variableTracking = false;
+		tempEnvironment.getContext().setVariableTracking(false);
 		tempAgent.learn(tempEpisodes);
 
 		System.out.println("Episodes = " + tempEpisodes + ", average reward = "
 				+ tempAgent.getAverageReward());
 		System.out.println(
-				"The last episode reward: " + tempAgent.getRewardArray()[tempEpisodes - 1]);
+				"The last episode reward: " + tempAgent.getMetrics().getLastReward());
 
 		int[] tempRoute = {};
 		try {
@@ -62,6 +64,43 @@ public class Experimenter {
 				"\r\nThe route length is (not including the start): " + (tempRoute.length - 1));
 	}// Of mazeTest
 
+	/**
+	 ****************** 
+	 * Learn the complex maze, save a checkpoint, and let a new agent loaded
+	 * from it route greedily without learning.
+	 ****************** 
+	 */
+	public static void mazeCheckpointTest() {
+		String tempFilename = System.getProperty("java.io.tmpdir") + "/maze-checkpoint-test.ckpt";
+		// The file stays mapped by the loaded agent, so it is removed when
+		// the JVM exits.
+		new File(tempFilename).deleteOnExit();
+		int[][] tempMaze = Maze.generateComplexMaze();
+		int tempStartState = 31;
+		Environment tempEnvironment = new Maze(tempMaze);
+		tempEnvironment.setStartState(tempStartState);
+		QAgent tempAgent = new WeightedRandomQAgent(tempEnvironment);
+		tempAgent.learn(2000);
+
+		Environment tempNewEnvironment = new Maze(tempMaze);
+		tempNewEnvironment.setStartState(tempStartState);
+		QAgent tempLoadedAgent = new WeightedRandomQAgent(tempNewEnvironment);
+		try {
+			tempAgent.saveCheckpoint(tempFilename);
+			long tempStartTime = System.nanoTime();
+			tempLoadedAgent.loadCheckpoint(tempFilename);
+			System.out.println("Loaded " + tempLoadedAgent.getLearnedEpisodes() + " episodes in "
+					+ (System.nanoTime() - tempStartTime) / 1000 + " us.");
+			System.out.println("Identical greedy routes: "
+					+ Arrays.equals(tempAgent.greedyRouting(tempStartState),
+							tempLoadedAgent.greedyRouting(tempStartState)));
+		} catch (IOException ee) {
+			System.out.println("Experimenter.mazeCheckpointTest: " + ee);
+		} catch (Exception ee) {
+			System.out.println(ee);
+		} // Of try
+	}// Of mazeCheckpointTest
+
 	/**
 	 ****************** 
 	 * Test maze.
@@ -81,7 +120,7 @@ public class Experimenter {
 
 		Umpire tempUmpire = new Umpire(tempEnvironment, tempAgentArray);
 
-		SimpleTools.variableTracking = false;
+		tempUmpire.getContext().setVariableTracking(false);
 		tempUmpire.train(paraEpisodes);
 
 		System.out.println("Episodes = " + paraEpisodes + ", winTimesArray = "
@@ -96,13 +135,13 @@ public class Experimenter {
 	public static void ticTacToeVTest(int paraEpisodes) {
 		VUmpire tempUmpire = new VUmpire();
 
-		SimpleTools.variableTracking = false;
+		tempUmpire.getContext().setVariableTracking(false);
 		tempUmpire.train(paraEpisodes, 0.05, 0.1);
 
 		System.out.println("\r\nEpisodes = " + paraEpisodes + ", winTimesArray = "
 				+ Arrays.toString(tempUmpire.getWinTimesArray()));
 
-		SimpleTools.variableTracking = true;
+		tempUmpire.getContext().setVariableTracking(true);
 		tempUmpire.play(1);
 	}// Of ticTacToeVTest
 
@@ -114,16 +153,95 @@ public class Experimenter {
 	public static void ticTacToeVDynamicProgrammingTest(int paraEpisodes, int paraStrategy) {
 		VUmpireDynamicProgramming tempUmpire = new VUmpireDynamicProgramming(paraStrategy);
 
-		SimpleTools.variableTracking = false;
+		tempUmpire.getContext().setVariableTracking(false);
 		tempUmpire.train(paraEpisodes, 0.05, 0.1);
+		System.out.println("\r\n" + tempUmpire.getTrainingInformation());
 
-		System.out.println("\r\nEpisodes = " + paraEpisodes + ", winTimesArray = "
-				+ Arrays.toString(tempUmpire.getWinTimesArray()));
-
-		SimpleTools.variableTracking = true;
+		tempUmpire.getContext().setVariableTracking(true);
 		tempUmpire.play(1);
 	}// Of ticTacToeVDynamicProgrammingTest
 
+	/**
+	 ****************** 
+	 * Run the given scheduler both in parallel and sequentially, and compare
+	 * the statistics.
+	 * 
+	 * @param paraScheduler
+	 *            The given scheduler.
+	 ****************** 
+	 */
+	public static void compareParallelSequential(RunScheduler paraScheduler) {
+		long tempStartTime = System.currentTimeMillis();
+		Map<String, RunStatistics> tempParallelMap = paraScheduler.runAll();
+		long tempParallelTime = System.currentTimeMillis() - tempStartTime;
+
+		tempStartTime = System.currentTimeMillis();
+		Map<String, RunStatistics> tempSequentialMap = paraScheduler.runSequentially();
+		long tempSequentialTime = System.currentTimeMillis() - tempStartTime;
+		paraScheduler.shutdown();
+
+		boolean tempSame = true;
+		for (String tempName : tempParallelMap.keySet()) {
+			System.out.println(tempParallelMap.get(tempName));
+			tempSame &= tempParallelMap.get(tempName).sameAs(tempSequentialMap.get(tempName));
+		} // Of for tempName
+
+		System.out.println("" + paraScheduler.getNumRuns() + " runs, parallel: "
+				+ tempParallelTime + "ms, sequential: " + tempSequentialTime
+				+ "ms, identical statistics: " + tempSame);
+	}// Of compareParallelSequential
+
+	/**
+	 ****************** 
+	 * Sweep seeds and agents on the complex maze in parallel.
+	 * 
+	 * @param paraNumSeeds
+	 *            The number of seeds for each configuration.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 ****************** 
+	 */
+	public static void parallelMazeTest(int paraNumSeeds, int paraEpisodes) {
+		int[][] tempMaze = Maze.generateComplexMaze();
+		int tempStartState = 31;
+		double[] tempGammaArray = { 0.9, 0.99 };
+
+		RunScheduler tempScheduler = new RunScheduler();
+		for (int i = 0; i < tempGammaArray.length; i++) {
+			for (int j = 0; j < paraNumSeeds; j++) {
+				tempScheduler.addRun(new MazeRun("WeightedRandomQAgent, gamma = "
+						+ tempGammaArray[i], j, tempMaze, tempStartState, paraEpisodes,
+						MazeRun.WEIGHTED_RANDOM_AGENT, tempGammaArray[i]));
+			} // Of for j
+		} // Of for i
+
+		compareParallelSequential(tempScheduler);
+	}// Of parallelMazeTest
+
+	/**
+	 ****************** 
+	 * Sweep seeds and learning schemes on tic-tac-toe in parallel.
+	 * 
+	 * @param paraNumSeeds
+	 *            The number of seeds for each configuration.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 ****************** 
+	 */
+	public static void parallelTicTacToeTest(int paraNumSeeds, int paraEpisodes) {
+		RunScheduler tempScheduler = new RunScheduler();
+		for (int i = 0; i < paraNumSeeds; i++) {
+			tempScheduler.addRun(new TicTacToeRun("Q-learning", i, TicTacToeRun.Q_LEARNING,
+					paraEpisodes, 0.05, 0.1));
+		} // Of for i
+		for (int i = 0; i < paraNumSeeds; i++) {
+			tempScheduler.addRun(new TicTacToeRun("V-learning", i, TicTacToeRun.V_LEARNING,
+					paraEpisodes, 0.05, 0.1));
+		} // Of for i
+
+		compareParallelSequential(tempScheduler);
+	}// Of parallelTicTacToeTest
+
 	/**
 	 ****************** 
 	 * For unit test.
@@ -134,8 +252,11 @@ public class Experimenter {
 	 */
 	public static void main(String args[]) {
 		// mazeTest();
+		// mazeCheckpointTest();
 		// ticTacToeTest(1000);
 		//ticTacToeVTest(10000);
-		ticTacToeVDynamicProgrammingTest(20, 0);
+		// parallelMazeTest(16, 1000);
+		// parallelTicTacToeTest(16, 2000);
+		ticTacToeVDynamicProgrammingTest(1000, 0);
 	}// Of main
 } // Of class Experimenter
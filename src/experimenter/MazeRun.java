@@ -0,0 +1,141 @@
+package experimenter;
+
+import java.util.Random;
+
+import common.RunContext;
+import qlearning.agent.*;
+import qlearning.environment.*;
+
+/**
+ * One run of Q-learning on a maze.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class MazeRun extends ExperimentRun {
+	/**
+	 * Agent type: SimpleQAgent.
+	 */
+	public static final int SIMPLE_AGENT = 0;
+
+	/**
+	 * Agent type: WeightedRandomQAgent.
+	 */
+	public static final int WEIGHTED_RANDOM_AGENT = 1;
+
+	/**
+	 * The names of the measures.
+	 */
+	public static final String[] MEASURE_NAMES = { "average reward", "last reward",
+			"route length" };
+
+	/**
+	 * The maze. It is only read, hence can be shared among runs.
+	 */
+	int[][] maze;
+
+	/**
+	 * The start state.
+	 */
+	int startState;
+
+	/**
+	 * The number of episodes.
+	 */
+	int episodes;
+
+	/**
+	 * The agent type.
+	 */
+	int agentType;
+
+	/**
+	 * The gamma value.
+	 */
+	double gamma;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraConfigurationName
+	 *            The name of the configuration.
+	 * @param paraSeed
+	 *            The seed.
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraStartState
+	 *            The start state.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @param paraAgentType
+	 *            The agent type.
+	 * @param paraGamma
+	 *            The gamma value.
+	 ****************** 
+	 */
+	public MazeRun(String paraConfigurationName, long paraSeed, int[][] paraMaze,
+			int paraStartState, int paraEpisodes, int paraAgentType, double paraGamma) {
+		super(paraConfigurationName, paraSeed);
+		maze = paraMaze;
+		startState = paraStartState;
+		episodes = paraEpisodes;
+		agentType = paraAgentType;
+		gamma = paraGamma;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The names of the measures.
+	 ****************** 
+	 */
+	public String[] getMeasureNames() {
+		return MEASURE_NAMES;
+	}// Of getMeasureNames
+
+	/**
+	 ****************** 
+	 * Learn and route once.
+	 * 
+	 * @param paraRandom
+	 *            The random object owned by this run.
+	 * @return The average reward, the last reward, and the length of the
+	 *         greedy route (-1 if the route is not found).
+	 ****************** 
+	 */
+	public double[] run(Random paraRandom) {
+		Environment tempEnvironment = new Maze(maze);
+		tempEnvironment.setStartState(startState);
+		// The agent shares the context of the environment.
+		tempEnvironment.setContext(new RunContext(paraRandom));
+
+		QAgent tempAgent;
+		if (agentType == SIMPLE_AGENT) {
+			tempAgent = new SimpleQAgent(tempEnvironment);
+		} else {
+			tempAgent = new WeightedRandomQAgent(tempEnvironment);
+		} // Of if
+		tempAgent.setGamma(gamma);
+		tempAgent.learn(episodes);
+
+		double[] resultMeasures = new double[MEASURE_NAMES.length];
+		resultMeasures[0] = tempAgent.getAverageReward();
+		resultMeasures[1] = tempAgent.getMetrics().getLastReward();
+		try {
+			resultMeasures[2] = tempAgent.greedyRouting(startState).length - 1;
+		} catch (Exception ee) {
+			resultMeasures[2] = -1;
+		} // Of try
+
+		return resultMeasures;
+	}// Of run
+
+} // Of class MazeRun
@@ -0,0 +1,190 @@
+package experimenter;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Schedule independent runs on a fork-join pool. The measures of each run are
+ * collected in the order of addition, hence the statistics are identical to
+ * those of sequential running.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class RunScheduler {
+	/**
+	 * The pool.
+	 */
+	ForkJoinPool pool;
+
+	/**
+	 * The runs to execute.
+	 */
+	List<ExperimentRun> runList;
+
+	/**
+	 ****************** 
+	 * The first constructor. Use all processors.
+	 ****************** 
+	 */
+	public RunScheduler() {
+		this(Runtime.getRuntime().availableProcessors());
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraParallelism
+	 *            The number of threads.
+	 ****************** 
+	 */
+	public RunScheduler(int paraParallelism) {
+		pool = new ForkJoinPool(paraParallelism);
+		runList = new ArrayList<ExperimentRun>();
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * Add a run.
+	 * 
+	 * @param paraRun
+	 *            The given run.
+	 ****************** 
+	 */
+	public void addRun(ExperimentRun paraRun) {
+		runList.add(paraRun);
+	}// Of addRun
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of runs.
+	 ****************** 
+	 */
+	public int getNumRuns() {
+		return runList.size();
+	}// Of getNumRuns
+
+	/**
+	 ****************** 
+	 * Execute all runs in parallel.
+	 * 
+	 * @return The statistics for each configuration, in the order of addition.
+	 ****************** 
+	 */
+	public Map<String, RunStatistics> runAll() {
+		// Step 1. Fork all.
+		List<RunTask> tempTaskList = new ArrayList<RunTask>(runList.size());
+		for (ExperimentRun tempRun : runList) {
+			RunTask tempTask = new RunTask(tempRun);
+			pool.execute(tempTask);
+			tempTaskList.add(tempTask);
+		} // Of for tempRun
+
+		// Step 2. Join in the order of addition.
+		double[][] tempMeasuresMatrix = new double[runList.size()][];
+		for (int i = 0; i < tempMeasuresMatrix.length; i++) {
+			tempMeasuresMatrix[i] = tempTaskList.get(i).join();
+		} // Of for i
+
+		return aggregate(tempMeasuresMatrix);
+	}// Of runAll
+
+	/**
+	 ****************** 
+	 * Execute all runs one by one in the current thread. For comparison.
+	 * 
+	 * @return The statistics for each configuration, in the order of addition.
+	 ****************** 
+	 */
+	public Map<String, RunStatistics> runSequentially() {
+		double[][] tempMeasuresMatrix = new double[runList.size()][];
+		for (int i = 0; i < tempMeasuresMatrix.length; i++) {
+			tempMeasuresMatrix[i] = runList.get(i).run();
+		} // Of for i
+
+		return aggregate(tempMeasuresMatrix);
+	}// Of runSequentially
+
+	/**
+	 ****************** 
+	 * Aggregate the measures into statistics.
+	 * 
+	 * @param paraMeasuresMatrix
+	 *            The measures, one row for each run.
+	 * @return The statistics for each configuration.
+	 ****************** 
+	 */
+	private Map<String, RunStatistics> aggregate(double[][] paraMeasuresMatrix) {
+		Map<String, RunStatistics> resultMap = new LinkedHashMap<String, RunStatistics>();
+		for (int i = 0; i < paraMeasuresMatrix.length; i++) {
+			ExperimentRun tempRun = runList.get(i);
+			RunStatistics tempStatistics = resultMap.get(tempRun.getConfigurationName());
+			if (tempStatistics == null) {
+				tempStatistics = new RunStatistics(tempRun.getConfigurationName(),
+						tempRun.getMeasureNames());
+				resultMap.put(tempRun.getConfigurationName(), tempStatistics);
+			} // Of if
+			tempStatistics.add(paraMeasuresMatrix[i]);
+		} // Of for i
+
+		return resultMap;
+	}// Of aggregate
+
+	/**
+	 ****************** 
+	 * Shut down the pool. The scheduler cannot be used any more.
+	 ****************** 
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}// Of shutdown
+
+	/**
+	 *************************** 
+	 * Wrap a run as a fork-join task. A task can be executed only once, while
+	 * the run can be reused.
+	 *************************** 
+	 */
+	private static class RunTask extends RecursiveTask<double[]> {
+		/**
+		 * A number required by Java.
+		 */
+		private static final long serialVersionUID = 4417362270394158826L;
+
+		/**
+		 * The run.
+		 */
+		ExperimentRun run;
+
+		/**
+		 *************************** 
+		 * The constructor.
+		 * 
+		 * @param paraRun
+		 *            The given run.
+		 *************************** 
+		 */
+		RunTask(ExperimentRun paraRun) {
+			run = paraRun;
+		}// Of the constructor
+
+		/**
+		 *************************** 
+		 * Execute the run.
+		 *************************** 
+		 */
+		protected double[] compute() {
+			return run.run();
+		}// Of compute
+	}// Of class RunTask
+
+} // Of class RunScheduler
@@ -0,0 +1,211 @@
+package experimenter;
+
+/**
+ * The statistics of the runs with the same configuration. Results should be
+ * added in a fixed order, such that the floating point sums do not depend on
+ * the order that runs are finished.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class RunStatistics {
+	/**
+	 * The name of the configuration.
+	 */
+	String configurationName;
+
+	/**
+	 * The names of the measures.
+	 */
+	String[] measureNames;
+
+	/**
+	 * The number of runs.
+	 */
+	int numRuns;
+
+	/**
+	 * The sum of each measure.
+	 */
+	double[] sumArray;
+
+	/**
+	 * The sum of squares of each measure.
+	 */
+	double[] squareSumArray;
+
+	/**
+	 * The minimal value of each measure.
+	 */
+	double[] minArray;
+
+	/**
+	 * The maximal value of each measure.
+	 */
+	double[] maxArray;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraConfigurationName
+	 *            The name of the configuration.
+	 * @param paraMeasureNames
+	 *            The names of the measures.
+	 ****************** 
+	 */
+	public RunStatistics(String paraConfigurationName, String[] paraMeasureNames) {
+		configurationName = paraConfigurationName;
+		measureNames = paraMeasureNames;
+		numRuns = 0;
+
+		sumArray = new double[measureNames.length];
+		squareSumArray = new double[measureNames.length];
+		minArray = new double[measureNames.length];
+		maxArray = new double[measureNames.length];
+		for (int i = 0; i < measureNames.length; i++) {
+			minArray[i] = Double.MAX_VALUE;
+			maxArray[i] = -Double.MAX_VALUE;
+		} // Of for i
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Add the measures of one run.
+	 * 
+	 * @param paraMeasures
+	 *            The measures.
+	 ****************** 
+	 */
+	public void add(double[] paraMeasures) {
+		numRuns++;
+		for (int i = 0; i < paraMeasures.length; i++) {
+			sumArray[i] += paraMeasures[i];
+			squareSumArray[i] += paraMeasures[i] * paraMeasures[i];
+			if (minArray[i] > paraMeasures[i]) {
+				minArray[i] = paraMeasures[i];
+			} // Of if
+			if (maxArray[i] < paraMeasures[i]) {
+				maxArray[i] = paraMeasures[i];
+			} // Of if
+		} // Of for i
+	}// Of add
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of runs.
+	 ****************** 
+	 */
+	public int getNumRuns() {
+		return numRuns;
+	}// Of getNumRuns
+
+	/**
+	 ****************** 
+	 * Get the mean value of the given measure.
+	 * 
+	 * @param paraIndex
+	 *            The index of the measure.
+	 * @return The mean value.
+	 ****************** 
+	 */
+	public double getMean(int paraIndex) {
+		return sumArray[paraIndex] / numRuns;
+	}// Of getMean
+
+	/**
+	 ****************** 
+	 * Get the standard deviation of the given measure.
+	 * 
+	 * @param paraIndex
+	 *            The index of the measure.
+	 * @return The standard deviation.
+	 ****************** 
+	 */
+	public double getStandardDeviation(int paraIndex) {
+		double tempMean = getMean(paraIndex);
+		double tempVariance = squareSumArray[paraIndex] / numRuns - tempMean * tempMean;
+		if (tempVariance < 0) {
+			tempVariance = 0;
+		} // Of if
+
+		return Math.sqrt(tempVariance);
+	}// Of getStandardDeviation
+
+	/**
+	 ****************** 
+	 * Get the minimal value of the given measure.
+	 * 
+	 * @param paraIndex
+	 *            The index of the measure.
+	 * @return The minimal value.
+	 ****************** 
+	 */
+	public double getMin(int paraIndex) {
+		return minArray[paraIndex];
+	}// Of getMin
+
+	/**
+	 ****************** 
+	 * Get the maximal value of the given measure.
+	 * 
+	 * @param paraIndex
+	 *            The index of the measure.
+	 * @return The maximal value.
+	 ****************** 
+	 */
+	public double getMax(int paraIndex) {
+		return maxArray[paraIndex];
+	}// Of getMax
+
+	/**
+	 ****************** 
+	 * Is it the same as the given one? Exact comparison is used since the
+	 * same seeds should produce the same results.
+	 * 
+	 * @param paraStatistics
+	 *            The given statistics.
+	 * @return True if all values are the same.
+	 ****************** 
+	 */
+	public boolean sameAs(RunStatistics paraStatistics) {
+		if (numRuns != paraStatistics.numRuns) {
+			return false;
+		} // Of if
+
+		for (int i = 0; i < sumArray.length; i++) {
+			if ((sumArray[i] != paraStatistics.sumArray[i])
+					|| (squareSumArray[i] != paraStatistics.squareSumArray[i])
+					|| (minArray[i] != paraStatistics.minArray[i])
+					|| (maxArray[i] != paraStatistics.maxArray[i])) {
+				return false;
+			} // Of if
+		} // Of for i
+
+		return true;
+	}// Of sameAs
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = configurationName + " (" + numRuns + " runs)";
+		for (int i = 0; i < measureNames.length; i++) {
+			resultString += "\r\n  " + measureNames[i] + ": mean = " + getMean(i) + ", std = "
+					+ getStandardDeviation(i) + ", min = " + getMin(i) + ", max = " + getMax(i);
+		} // Of for i
+
+		return resultString;
+	}// Of toString
+
+} // Of class RunStatistics
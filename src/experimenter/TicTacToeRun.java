@@ -0,0 +1,136 @@
+package experimenter;
+
+import java.util.Random;
+
+import common.RunContext;
+import qlearning.agent.CompetitionQAgent;
+import qlearning.environment.*;
+import qlearning.umpire.Umpire;
+import vlearning.umpire.VUmpire;
+
+/**
+ * One run of tic-tac-toe training, either with Q-agents or with V-agents.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class TicTacToeRun extends ExperimentRun {
+	/**
+	 * Learning scheme: Q-learning through Umpire.
+	 */
+	public static final int Q_LEARNING = 0;
+
+	/**
+	 * Learning scheme: V-learning through VUmpire.
+	 */
+	public static final int V_LEARNING = 1;
+
+	/**
+	 * The names of the measures. They are the win times of each side.
+	 */
+	public static final String[] MEASURE_NAMES = { "tie", "first win", "second win" };
+
+	/**
+	 * The learning scheme.
+	 */
+	int scheme;
+
+	/**
+	 * The number of episodes.
+	 */
+	int episodes;
+
+	/**
+	 * The epsilon value, only for V-learning.
+	 */
+	double epsilon;
+
+	/**
+	 * The alpha value, only for V-learning.
+	 */
+	double alpha;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraConfigurationName
+	 *            The name of the configuration.
+	 * @param paraSeed
+	 *            The seed.
+	 * @param paraScheme
+	 *            The learning scheme.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @param paraEpsilon
+	 *            The epsilon value, only for V-learning.
+	 * @param paraAlpha
+	 *            The alpha value, only for V-learning.
+	 ****************** 
+	 */
+	public TicTacToeRun(String paraConfigurationName, long paraSeed, int paraScheme,
+			int paraEpisodes, double paraEpsilon, double paraAlpha) {
+		super(paraConfigurationName, paraSeed);
+		scheme = paraScheme;
+		episodes = paraEpisodes;
+		epsilon = paraEpsilon;
+		alpha = paraAlpha;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The names of the measures.
+	 ****************** 
+	 */
+	public String[] getMeasureNames() {
+		return MEASURE_NAMES;
+	}// Of getMeasureNames
+
+	/**
+	 ****************** 
+	 * Train once.
+	 * 
+	 * @param paraRandom
+	 *            The random object owned by this run.
+	 * @return The win times of each side, 0 stands for TIE.
+	 ****************** 
+	 */
+	public double[] run(Random paraRandom) {
+		int[] tempWinTimesArray;
+		if (scheme == Q_LEARNING) {
+			CompetitionEnvironment tempEnvironment = new TicTacToe();
+			tempEnvironment.reset();
+
+			CompetitionQAgent[] tempAgentArray = new CompetitionQAgent[2];
+			for (int i = 0; i < tempAgentArray.length; i++) {
+				tempAgentArray[i] = new CompetitionQAgent(tempEnvironment, i + 1);
+			} // Of for i
+
+			Umpire tempUmpire = new Umpire(tempEnvironment, tempAgentArray);
+			tempUmpire.setContext(new RunContext(paraRandom));
+			tempUmpire.train(episodes);
+			tempWinTimesArray = tempUmpire.getWinTimesArray();
+		} else {
+			VUmpire tempUmpire = new VUmpire();
+			tempUmpire.setContext(new RunContext(paraRandom));
+			tempUmpire.train(episodes, epsilon, alpha);
+			tempWinTimesArray = tempUmpire.getWinTimesArray();
+		} // Of if
+
+		double[] resultMeasures = new double[MEASURE_NAMES.length];
+		for (int i = 0; i < resultMeasures.length; i++) {
+			resultMeasures[i] = tempWinTimesArray[i];
+		} // Of for i
+
+		return resultMeasures;
+	}// Of run
+
+} // Of class TicTacToeRun
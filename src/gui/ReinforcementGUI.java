@@ -4,16 +4,19 @@ import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import javax.swing.JComboBox;
+import javax.swing.Timer;
 
-import vlearning.*;
 import vlearning.environment.VTicTacToe;
 import vlearning.umpire.VUmpire;
 import vlearning.umpire.VUmpireDynamicProgramming;
 import common.*;
 import gui.guicommon.*;
 import gui.guidialog.common.HelpDialog;
+import gui.guidialog.common.ProgressDialog;
 import gui.others.*;
 
 /**
@@ -24,8 +27,8 @@ import gui.others.*;
  *         www.fansmale.com, github.com/fansmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 30, 2020.<br>
- *         Last modified: August 30, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.4
  */
 
 public class ReinforcementGUI implements ActionListener, ItemListener {
@@ -35,6 +38,24 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 	 */
 	public static final int NUM_ROWS = 3;
 
+	/**
+	 * The directory of checkpoints. Training with the same setting is loaded
+	 * rather than repeated.
+	 */
+	public static final String CHECKPOINT_DIRECTORY = "checkpoints";
+
+	/**
+	 * The interval of progress updates in milliseconds. The event dispatch
+	 * thread is not flooded however fast the episodes are.
+	 */
+	public static final int PROGRESS_INTERVAL = 200;
+
+	/**
+	 * The number of samples of the training chart, also the capacity of the
+	 * sample buffer.
+	 */
+	public static final int CHART_SAMPLES = 1024;
+
 	/**
 	 * The properties for setting.
 	 */
@@ -71,10 +92,31 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 	private TextArea messageTextArea;
 
 	/**
-	 * The umpire.
+	 * The train button. It is disabled while training.
+	 */
+	private Button trainButton;
+
+	/**
+	 * The umpire ready to play, null before training finishes.
 	 */
 	VUmpire vUmpire;
 
+	/**
+	 * Training runs here rather than in the event dispatch thread, hence the
+	 * window stays responsive.
+	 */
+	ExecutorService trainingExecutor;
+
+	/**
+	 * Update the progress dialog while training.
+	 */
+	Timer progressTimer;
+
+	/**
+	 * The live chart of win rates while training.
+	 */
+	TrainingChart trainingChart;
+
 	/**
 	 *************************** 
 	 * The only constructor.
@@ -82,6 +124,7 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 	 */
 	public ReinforcementGUI() {
 		vUmpire = null;
+		trainingExecutor = Executors.newSingleThreadExecutor();
 
 		// A simple frame to contain dialogs.
 		Frame mainFrame = new Frame();
@@ -135,9 +178,12 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 
 		Panel centralPanel = new Panel();
 		messageTextArea = new TextArea(30, 30);
-		centralPanel.add(messageTextArea);
+		trainingChart = new TrainingChart(280, 160);
+		centralPanel.setLayout(new BorderLayout());
+		centralPanel.add(BorderLayout.CENTER, messageTextArea);
+		centralPanel.add(BorderLayout.SOUTH, trainingChart);
 
-		Button trainButton = new Button(" Train ");
+		trainButton = new Button(" Train ");
 		trainButton.addActionListener(this);
 
 		Button resetButton = new Button(" Reset ");
@@ -163,7 +209,7 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 		mainFrame.add(BorderLayout.CENTER, centralPanel);
 		mainFrame.add(BorderLayout.SOUTH, okPanel);
 
-		mainFrame.setSize(300, 400);
+		mainFrame.setSize(300, 560);
 		mainFrame.setLocation(200, 200);
 		mainFrame.addWindowListener(ApplicationShutdown.applicationShutdown);
 		mainFrame.setBackground(GUICommon.MY_COLOR);
@@ -172,48 +218,101 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 
 	/**
 	 *************************** 
-	 * Read the arff file.
+	 * Train in the background. The progress is shown by ProgressDialog, and
+	 * the training can be cancelled there. The checkerboard is enabled when
+	 * the training finishes.
 	 *************************** 
 	 */
 	public void actionPerformed(ActionEvent ae) {
 		Common.startTime = new Date().getTime();
-		Common.runSteps = 0;
 		messageTextArea.setText("Processing ... Please wait.\r\n");
 
 		int tempScheme = trainingSchemeComboBox.getSelectedIndex();
 		int tempEpisodes = trainingEpisodesField.getValue();
 
 		SimpleTools.processTracking = processTrackingCheckbox.getState();
-		SimpleTools.variableTracking = variableTrackingCheckbox.getState();
 
 		String tempParametersInformation = "Training information: training scheme: " + tempScheme
 				+ "\r\n  " + "Training episodes = " + tempEpisodes;
 		messageTextArea.append(tempParametersInformation);
 
 		// Now train
+		final VUmpire tempUmpire;
 		switch (tempScheme) {
 		case 0:
-			vUmpire = new VUmpire();
+			tempUmpire = new VUmpire();
 			break;
 		case 1:
-			vUmpire = new VUmpireDynamicProgramming(0);
+			tempUmpire = new VUmpireDynamicProgramming(0);
 			break;
 		default:
 			System.out.println("Unsupported learner.");
 			System.exit(0);
+			return;
 		}// Of switch
 
-		vUmpire.train(tempEpisodes, 0.05, 0.1);
+		tempUmpire.getContext().setVariableTracking(variableTrackingCheckbox.getState());
 
-		for (int i = 0; i < selectionCheckboxArray.length; i++) {
-			selectionCheckboxArray[i].setEnabled(true);
-		} // Of for i
+		// The checkpoint of the same setting is reused, if any.
+		String tempCheckpointPrefix = CHECKPOINT_DIRECTORY + "/scheme" + tempScheme + "-"
+				+ tempEpisodes;
+
+		// No training or playing until this training finishes.
+		vUmpire = null;
+		trainButton.setEnabled(false);
+		lockCheckerboard();
+
+		ProgressDialog.progressDialog.setCancelAction(new ActionListener() {
+			public void actionPerformed(ActionEvent paraEvent) {
+				tempUmpire.cancel();
+			}// Of actionPerformed
+		});
+		// The training thread samples the win times of about CHART_SAMPLES
+		// points, and the timer draws them, hence the frame rate is capped.
+		SampleRingBuffer tempSampleBuffer = new SampleRingBuffer(CHART_SAMPLES,
+				VUmpire.SAMPLE_LENGTH);
+		tempUmpire.setSampleBuffer(tempSampleBuffer, Math.max(1, tempEpisodes / CHART_SAMPLES));
+		trainingChart.setBuffer(tempSampleBuffer);
+
+		ProgressDialog.progressDialog.setMessageAndShow("Training ...");
+		progressTimer = new Timer(PROGRESS_INTERVAL, new ProgressUpdater(tempUmpire, tempEpisodes));
+		progressTimer.start();
+		trainingExecutor.execute(new TrainingTask(tempUmpire, tempEpisodes, tempCheckpointPrefix));
+	} // Of actionPerformed
+
+	/**
+	 *************************** 
+	 * Called in the event dispatch thread when the training finishes.
+	 * 
+	 * @param paraUmpire
+	 *            The umpire trained.
+	 * @param paraFinished
+	 *            Are all episodes trained or loaded?
+	 * @param paraMessage
+	 *            The message of the training, e.g., checkpoint information.
+	 *************************** 
+	 */
+	void trainingFinished(VUmpire paraUmpire, boolean paraFinished, String paraMessage) {
+		progressTimer.stop();
+		trainingChart.update();
+		ProgressDialog.progressDialog.setCancelAction(null);
+		ProgressDialog.progressDialog.setVisible(false);
+		trainButton.setEnabled(true);
+		messageTextArea.append(paraMessage);
+
+		if (!paraFinished) {
+			messageTextArea.append("\r\nTraining cancelled after "
+					+ paraUmpire.getCompletedEpisodes() + " episodes.\r\n");
+			return;
+		} // Of if
+
+		vUmpire = paraUmpire;
 		messageTextArea.append("\r\nReady to play!");
 		messageTextArea.append("\r\nPlese select a position at the 3 * 3 checkerboard.\r\n");
-		
+
 		resetForGame();
 		//vUmpire.resetForGame();
-	} // Of actionPerformed
+	}// Of trainingFinished
 
 	/**
 	 *************************** 
@@ -221,6 +320,10 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 	 *************************** 
 	 */
 	public void resetForGame() {
+		if (vUmpire == null) {
+			return;
+		} // Of if
+
 		for (int i = 0; i < selectionCheckboxArray.length; i++) {
 			selectionCheckboxArray[i].setEnabled(true);
 			selectionCheckboxArray[i].setLabel("?");
@@ -322,4 +425,136 @@ public class ReinforcementGUI implements ActionListener, ItemListener {
 		}// Of actionPerformed
 	}// Of class Resetter
 
+	/**
+	 *************************** 
+	 * Train or load in the background, and then report to the event dispatch
+	 * thread.
+	 *************************** 
+	 */
+	private class TrainingTask implements Runnable {
+		/**
+		 * The umpire to train.
+		 */
+		VUmpire umpire;
+
+		/**
+		 * The number of episodes.
+		 */
+		int episodes;
+
+		/**
+		 * The prefix of the checkpoint files.
+		 */
+		String checkpointPrefix;
+
+		/**
+		 *************************** 
+		 * The first constructor.
+		 * 
+		 * @param paraUmpire
+		 *            The umpire to train.
+		 * @param paraEpisodes
+		 *            The number of episodes.
+		 * @param paraCheckpointPrefix
+		 *            The prefix of the checkpoint files.
+		 *************************** 
+		 */
+		TrainingTask(VUmpire paraUmpire, int paraEpisodes, String paraCheckpointPrefix) {
+			umpire = paraUmpire;
+			episodes = paraEpisodes;
+			checkpointPrefix = paraCheckpointPrefix;
+		}// Of the first constructor
+
+		/**
+		 *************************** 
+		 * Train, or load the checkpoint of the same setting.
+		 *************************** 
+		 */
+		public void run() {
+			String tempMessage = "";
+			boolean tempFinished = false;
+			try {
+				if (umpire.hasCheckpoint(checkpointPrefix)) {
+					try {
+						umpire.loadCheckpoint(checkpointPrefix);
+						tempFinished = true;
+						tempMessage += "\r\nLoaded from " + checkpointPrefix;
+					} catch (Exception ee) {
+						tempMessage += "\r\nCannot load the checkpoint: " + ee;
+					} // Of try
+				} // Of if
+
+				if (!tempFinished) {
+					tempFinished = umpire.train(episodes, 0.05, 0.1);
+					if (tempFinished) {
+						tempMessage += "\r\n" + umpire.getTrainingInformation();
+						try {
+							umpire.saveCheckpoint(checkpointPrefix);
+						} catch (IOException ee) {
+							tempMessage += "\r\nCannot save the checkpoint: " + ee;
+						} // Of try
+					} // Of if
+				} // Of if
+			} catch (RuntimeException ee) {
+				tempFinished = false;
+				tempMessage += "\r\nTraining failed: " + ee;
+			} // Of try
+
+			final boolean tempResultFinished = tempFinished;
+			final String tempResultMessage = tempMessage;
+			EventQueue.invokeLater(new Runnable() {
+				public void run() {
+					trainingFinished(umpire, tempResultFinished, tempResultMessage);
+				}// Of run
+			});
+		}// Of run
+	}// Of class TrainingTask
+
+	/**
+	 *************************** 
+	 * Show the progress of training, called by the timer in the event dispatch
+	 * thread.
+	 *************************** 
+	 */
+	private class ProgressUpdater implements ActionListener {
+		/**
+		 * The umpire under training.
+		 */
+		VUmpire umpire;
+
+		/**
+		 * The number of episodes.
+		 */
+		int episodes;
+
+		/**
+		 *************************** 
+		 * The first constructor.
+		 * 
+		 * @param paraUmpire
+		 *            The umpire under training.
+		 * @param paraEpisodes
+		 *            The number of episodes.
+		 *************************** 
+		 */
+		ProgressUpdater(VUmpire paraUmpire, int paraEpisodes) {
+			umpire = paraUmpire;
+			episodes = paraEpisodes;
+		}// Of the first constructor
+
+		/**
+		 *************************** 
+		 * Show the progress.
+		 *************************** 
+		 */
+		public void actionPerformed(ActionEvent ae) {
+			trainingChart.update();
+			int tempCompleted = umpire.getCompletedEpisodes();
+			ProgressDialog.progressDialog.setMessage("Trained " + tempCompleted + " of "
+					+ episodes + " episodes ("
+					+ (episodes == 0 ? 100 : (int) (100L * tempCompleted / episodes)) + "%) in "
+					+ (new Date().getTime() - Common.startTime) / 1000 + " s.");
+		}// Of actionPerformed
+	}// Of class ProgressUpdater
+
 } // Of class ReinforcementGUI
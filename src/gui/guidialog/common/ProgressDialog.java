@@ -6,6 +6,7 @@
 package gui.guidialog.common;
 
 import java.awt.*;
+import java.awt.event.*;
 
 import gui.guicommon.*;
 
@@ -21,7 +22,7 @@ import gui.guicommon.*;
  * Zhangzhou Normal University, Fujian 363000, China.<br>
  * Progress: OK. Copied from Hydrosimu.<br>
  * Written time: March 10, 2011. <br>
- * Last modify time: March 10, 2011.
+ * Last modify time: October 18, 2026.
  */
 public class ProgressDialog extends Dialog {
 
@@ -40,6 +41,17 @@ public class ProgressDialog extends Dialog {
 	 */
 	private TextArea messageTextArea;
 
+	/**
+	 * The button to cancel the running task. It is enabled only when a cancel
+	 * action is set.
+	 */
+	private Button cancelButton;
+
+	/**
+	 * The current cancel action, null if none.
+	 */
+	private ActionListener cancelListener;
+
 	/**
 	 *************************** 
 	 * Display an error dialog and respective error message. Like other dialogs,
@@ -55,9 +67,15 @@ public class ProgressDialog extends Dialog {
 		// Prepare for the dialog.
 		messageTextArea = new TextArea();
 
+		cancelButton = new Button(" Cancel ");
+		cancelButton.setEnabled(false);
+		Panel tempButtonPanel = new Panel();
+		tempButtonPanel.add(cancelButton);
+
 		// Add TextArea and Button
 		setLayout(new BorderLayout());
 		add(BorderLayout.CENTER, messageTextArea);
+		add(BorderLayout.SOUTH, tempButtonPanel);
 
 		setLocation(200, 200);
 		setSize(500, 200);
@@ -79,6 +97,38 @@ public class ProgressDialog extends Dialog {
 		setVisible(true);
 	}// Of setMessageAndShow
 
+	/**
+	 *************************** 
+	 * Replace the message without showing the dialog, e.g., to update the
+	 * progress.
+	 * 
+	 * @param paramMessage
+	 *            the new message
+	 *************************** 
+	 */
+	public void setMessage(String paramMessage) {
+		messageTextArea.setText(paramMessage);
+	}// Of setMessage
+
+	/**
+	 *************************** 
+	 * Set the action of the cancel button, replacing the previous one.
+	 * 
+	 * @param paramListener
+	 *            the action, null to disable the button
+	 *************************** 
+	 */
+	public void setCancelAction(ActionListener paramListener) {
+		if (cancelListener != null) {
+			cancelButton.removeActionListener(cancelListener);
+		} // Of if
+		cancelListener = paramListener;
+		if (cancelListener != null) {
+			cancelButton.addActionListener(cancelListener);
+		} // Of if
+		cancelButton.setEnabled(cancelListener != null);
+	}// Of setCancelAction
+
 	/**
 	 *************************** 
 	 * Append message.
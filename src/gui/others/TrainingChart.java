@@ -0,0 +1,265 @@
+package gui.others;
+
+import java.awt.*;
+
+import common.SampleRingBuffer;
+
+/**
+ * A live chart of the rates of TIE, WHITE and BLACK while training. The
+ * samples are the cumulative win times written by VUmpire into a
+ * SampleRingBuffer, and the rates are those between consecutive samples,
+ * hence the convergence can be observed. The chart only reads the buffer in
+ * update(), which should be called by a timer, so the frame rate is capped by
+ * the timer rather than by the speed of training.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class TrainingChart extends Canvas {
+
+	/**
+	 * Serial UID.
+	 */
+	private static final long serialVersionUID = 4260781946530915521L;
+
+	/**
+	 * The maximal number of points. When exceeded, every other point is
+	 * dropped.
+	 */
+	public static final int MAX_POINTS = 1024;
+
+	/**
+	 * The names of the curves.
+	 */
+	public static final String[] CURVE_NAMES = { "tie", "white", "black" };
+
+	/**
+	 * The colors of the curves.
+	 */
+	public static final Color[] CURVE_COLORS = { Color.blue, new Color(0, 128, 0), Color.red };
+
+	/**
+	 * The margin around the plot.
+	 */
+	static final int MARGIN = 20;
+
+	/**
+	 * The buffer to read, null if none.
+	 */
+	SampleRingBuffer buffer;
+
+	/**
+	 * The sequence of the next sample to read.
+	 */
+	long nextSequence;
+
+	/**
+	 * The last sample read.
+	 */
+	int[] lastSample;
+
+	/**
+	 * The sample being read.
+	 */
+	int[] currentSample;
+
+	/**
+	 * The number of episodes of each point.
+	 */
+	int[] episodes;
+
+	/**
+	 * The rates of each curve of each point, i.e., rates[curve][point].
+	 */
+	double[][] rates;
+
+	/**
+	 * The number of points.
+	 */
+	int numPoints;
+
+	/**
+	 * The image for double buffering.
+	 */
+	Image offscreenImage;
+
+	/**
+	 *************************** 
+	 * The first constructor.
+	 * 
+	 * @param paraWidth
+	 *            The preferred width.
+	 * @param paraHeight
+	 *            The preferred height.
+	 *************************** 
+	 */
+	public TrainingChart(int paraWidth, int paraHeight) {
+		setPreferredSize(new Dimension(paraWidth, paraHeight));
+		episodes = new int[MAX_POINTS];
+		rates = new double[CURVE_NAMES.length][MAX_POINTS];
+		setBuffer(null);
+	}// Of the first constructor
+
+	/**
+	 *************************** 
+	 * Start a new chart reading the given buffer.
+	 * 
+	 * @param paraBuffer
+	 *            The buffer, with records of VUmpire.SAMPLE_LENGTH. Null for
+	 *            an empty chart.
+	 *************************** 
+	 */
+	public void setBuffer(SampleRingBuffer paraBuffer) {
+		buffer = paraBuffer;
+		nextSequence = 0;
+		numPoints = 0;
+		lastSample = new int[CURVE_NAMES.length + 1];
+		currentSample = new int[CURVE_NAMES.length + 1];
+		repaint();
+	}// Of setBuffer
+
+	/**
+	 *************************** 
+	 * Read the new samples, and repaint if any. It should be called in the
+	 * event dispatch thread.
+	 * 
+	 * @return The number of new samples.
+	 *************************** 
+	 */
+	public int update() {
+		if (buffer == null) {
+			return 0;
+		} // Of if
+
+		int resultNumSamples = 0;
+		long tempPublished = buffer.getPublished();
+		// Samples overwritten are skipped.
+		if (nextSequence < buffer.getOldestSequence()) {
+			nextSequence = buffer.getOldestSequence();
+		} // Of if
+		for (; nextSequence < tempPublished; nextSequence++) {
+			if (!buffer.get(nextSequence, currentSample)) {
+				continue;
+			} // Of if
+
+			addPoint();
+			int[] tempSample = lastSample;
+			lastSample = currentSample;
+			currentSample = tempSample;
+			resultNumSamples++;
+		} // Of for
+
+		if (resultNumSamples > 0) {
+			repaint();
+		} // Of if
+		return resultNumSamples;
+	}// Of update
+
+	/**
+	 *************************** 
+	 * Add the point between lastSample and currentSample.
+	 *************************** 
+	 */
+	void addPoint() {
+		int tempEpisodes = currentSample[0] - lastSample[0];
+		if (tempEpisodes <= 0) {
+			return;
+		} // Of if
+
+		if (numPoints == MAX_POINTS) {
+			// Keep every other point.
+			for (int i = 0; i < MAX_POINTS / 2; i++) {
+				episodes[i] = episodes[2 * i + 1];
+				for (int j = 0; j < rates.length; j++) {
+					rates[j][i] = rates[j][2 * i + 1];
+				} // Of for j
+			} // Of for i
+			numPoints = MAX_POINTS / 2;
+		} // Of if
+
+		episodes[numPoints] = currentSample[0];
+		for (int i = 0; i < rates.length; i++) {
+			rates[i][numPoints] = (currentSample[i + 1] - lastSample[i + 1])
+					/ (double) tempEpisodes;
+		} // Of for i
+		numPoints++;
+	}// Of addPoint
+
+	/**
+	 *************************** 
+	 * Paint without clearing first, since the whole area is painted.
+	 * 
+	 * @param paraGraphics
+	 *            The graphics.
+	 *************************** 
+	 */
+	public void update(Graphics paraGraphics) {
+		paint(paraGraphics);
+	}// Of update
+
+	/**
+	 *************************** 
+	 * Paint the chart to the offscreen image, and then copy it.
+	 * 
+	 * @param paraGraphics
+	 *            The graphics.
+	 *************************** 
+	 */
+	public void paint(Graphics paraGraphics) {
+		int tempWidth = getWidth();
+		int tempHeight = getHeight();
+		if (tempWidth <= 2 * MARGIN || tempHeight <= 2 * MARGIN) {
+			return;
+		} // Of if
+		if (offscreenImage == null || offscreenImage.getWidth(null) != tempWidth
+				|| offscreenImage.getHeight(null) != tempHeight) {
+			offscreenImage = createImage(tempWidth, tempHeight);
+		} // Of if
+
+		Graphics tempGraphics = offscreenImage.getGraphics();
+		tempGraphics.setColor(Color.white);
+		tempGraphics.fillRect(0, 0, tempWidth, tempHeight);
+
+		// Step 1. The axes. Rates are in [0, 1].
+		int tempPlotWidth = tempWidth - 2 * MARGIN;
+		int tempPlotHeight = tempHeight - 2 * MARGIN;
+		tempGraphics.setColor(Color.black);
+		tempGraphics.drawRect(MARGIN, MARGIN, tempPlotWidth, tempPlotHeight);
+		tempGraphics.drawString("1", 4, MARGIN + 4);
+		tempGraphics.drawString("0", 4, MARGIN + tempPlotHeight + 4);
+		if (numPoints > 0) {
+			tempGraphics.drawString("" + episodes[numPoints - 1] + " episodes",
+					tempWidth - MARGIN - 100, tempHeight - 5);
+		} // Of if
+
+		// Step 2. The curves and the legend.
+		int tempX, tempY, tempLastX, tempLastY;
+		int tempMaxEpisodes = numPoints > 0 ? episodes[numPoints - 1] : 1;
+		for (int i = 0; i < rates.length; i++) {
+			tempGraphics.setColor(CURVE_COLORS[i]);
+			tempGraphics.drawString(CURVE_NAMES[i], MARGIN + 5 + 45 * i, MARGIN - 5);
+
+			tempLastX = -1;
+			tempLastY = -1;
+			for (int j = 0; j < numPoints; j++) {
+				tempX = MARGIN + (int) ((long) tempPlotWidth * episodes[j] / tempMaxEpisodes);
+				tempY = MARGIN + tempPlotHeight - (int) (tempPlotHeight * rates[i][j]);
+				if (tempLastX >= 0) {
+					tempGraphics.drawLine(tempLastX, tempLastY, tempX, tempY);
+				} // Of if
+				tempLastX = tempX;
+				tempLastY = tempY;
+			} // Of for j
+		} // Of for i
+		tempGraphics.dispose();
+
+		paraGraphics.drawImage(offscreenImage, 0, 0, null);
+	}// Of paint
+
+}// Of class TrainingChart
@@ -0,0 +1,572 @@
+package independent.maze;
+
+import java.util.Arrays;
+
+import qlearning.environment.MazeActionSpace;
+
+/**
+ * Shortest paths from every cell of a grid to the nearest of a set of target
+ * cells. The cost of a move is the cost of the cell entered, and blocked cells
+ * cannot be entered. Grids with costs 0 and 1 only are solved by 0-1 BFS with
+ * a deque, in O(V); other grids are solved by Dijkstra with a binary heap, in
+ * O(V log V). Only primitive arrays are used, so that grids with millions of
+ * cells can be solved.<br>
+ * The search starts from the targets and goes backward. Afterwards, the action
+ * of each cell leads to the neighbor on a shortest path. Ties are broken
+ * towards the neighbor with the smallest index, i.e., UP, LEFT, RIGHT, DOWN,
+ * hence the actions do not depend on the order of the search.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class ShortestPathEngine {
+
+	/**
+	 * The cost of a blocked cell.
+	 */
+	public static final int BLOCKED = -1;
+
+	/**
+	 * The distance of a cell from which no target is reachable.
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	/**
+	 * The action of a target, a blocked or an unreachable cell.
+	 */
+	public static final int NO_ACTION = -1;
+
+	/**
+	 * The initial capacity of the deque of 0-1 BFS.
+	 */
+	static final int INITIAL_DEQUE_CAPACITY = 1024;
+
+	/**
+	 * The number of rows.
+	 */
+	int numRows;
+
+	/**
+	 * The number of columns.
+	 */
+	int numColumns;
+
+	/**
+	 * The number of cells.
+	 */
+	int numCells;
+
+	/**
+	 * The cost of entering each cell, BLOCKED for walls and traps.
+	 */
+	int[] cellCosts;
+
+	/**
+	 * The maximal cost of cells.
+	 */
+	int maxCost;
+
+	/**
+	 * The distance from each cell to the nearest target.
+	 */
+	int[] distances;
+
+	/**
+	 * The action of each cell on a shortest path.
+	 */
+	int[] actions;
+
+	/**
+	 * The number of cells expanded by the last search.
+	 */
+	int numExpanded;
+
+	/**
+	 * The deque of 0-1 BFS, as a ring buffer whose capacity is a power of 2.
+	 */
+	int[] deque;
+
+	/**
+	 * The index of the first element of the deque.
+	 */
+	int dequeHead;
+
+	/**
+	 * The number of elements of the deque.
+	 */
+	int dequeSize;
+
+	/**
+	 * The binary heap of Dijkstra, keyed by distances.
+	 */
+	int[] heap;
+
+	/**
+	 * The position of each cell in the heap, -1 if not in the heap.
+	 */
+	int[] heapPositions;
+
+	/**
+	 * The number of elements of the heap.
+	 */
+	int heapSize;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumRows
+	 *            The number of rows.
+	 * @param paraNumColumns
+	 *            The number of columns.
+	 * @param paraCellCosts
+	 *            The cost of entering each cell, stored row by row. BLOCKED
+	 *            for cells that cannot be entered. The array is not copied.
+	 ****************** 
+	 */
+	public ShortestPathEngine(int paraNumRows, int paraNumColumns, int[] paraCellCosts) {
+		numRows = paraNumRows;
+		numColumns = paraNumColumns;
+		numCells = numRows * numColumns;
+		if (paraCellCosts.length != numCells) {
+			throw new IllegalArgumentException("ShortestPathEngine: " + paraCellCosts.length
+					+ " costs for " + numCells + " cells.");
+		} // Of if
+
+		cellCosts = paraCellCosts;
+		maxCost = 0;
+		for (int i = 0; i < numCells; i++) {
+			if (cellCosts[i] < BLOCKED) {
+				throw new IllegalArgumentException(
+						"ShortestPathEngine: negative cost " + cellCosts[i] + " of cell " + i);
+			} // Of if
+			if (maxCost < cellCosts[i]) {
+				maxCost = cellCosts[i];
+			} // Of if
+		} // Of for i
+
+		distances = new int[numCells];
+		actions = new int[numCells];
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Compute the shortest paths to the given targets, with 0-1 BFS if the
+	 * costs allow, otherwise with Dijkstra.
+	 * 
+	 * @param paraTargets
+	 *            The target cells.
+	 ****************** 
+	 */
+	public void solve(int[] paraTargets) {
+		if (maxCost <= 1) {
+			solveZeroOneBfs(paraTargets);
+		} else {
+			solveDijkstra(paraTargets);
+		} // Of if
+	}// Of solve
+
+	/**
+	 ****************** 
+	 * Set the distances of the targets to 0, and the others to UNREACHABLE.
+	 * 
+	 * @param paraTargets
+	 *            The target cells.
+	 ****************** 
+	 */
+	void initialize(int[] paraTargets) {
+		Arrays.fill(distances, UNREACHABLE);
+		for (int i = 0; i < paraTargets.length; i++) {
+			if (paraTargets[i] < 0 || paraTargets[i] >= numCells) {
+				throw new IllegalArgumentException(
+						"ShortestPathEngine: the target " + paraTargets[i] + " is out of the grid.");
+			} // Of if
+			distances[paraTargets[i]] = 0;
+		} // Of for i
+		numExpanded = 0;
+	}// Of initialize
+
+	/**
+	 ****************** 
+	 * Compute the shortest paths with 0-1 BFS. A cell entered with cost 0 is
+	 * pushed to the front of the deque, and with cost 1 to the back.
+	 * 
+	 * @param paraTargets
+	 *            The target cells.
+	 * @throws IllegalStateException
+	 *             if some cost is greater than 1.
+	 ****************** 
+	 */
+	public void solveZeroOneBfs(int[] paraTargets) {
+		if (maxCost > 1) {
+			throw new IllegalStateException(
+					"ShortestPathEngine: 0-1 BFS does not support the cost " + maxCost);
+		} // Of if
+
+		initialize(paraTargets);
+		if (deque == null) {
+			deque = new int[INITIAL_DEQUE_CAPACITY];
+		} // Of if
+		dequeHead = 0;
+		dequeSize = 0;
+		for (int i = 0; i < paraTargets.length; i++) {
+			pushBack(paraTargets[i]);
+		} // Of for i
+
+		int tempCell, tempRow, tempColumn, tempNewDistance;
+		int[] tempNeighbors = new int[4];
+		int tempNumNeighbors;
+		while (dequeSize > 0) {
+			tempCell = deque[dequeHead];
+			dequeHead = (dequeHead + 1) & (deque.length - 1);
+			dequeSize--;
+			numExpanded++;
+
+			// A move from a neighbor into this cell costs the cost of the
+			// cell.
+			if (cellCosts[tempCell] == BLOCKED) {
+				continue;
+			} // Of if
+			tempNewDistance = distances[tempCell] + cellCosts[tempCell];
+			tempRow = tempCell / numColumns;
+			tempColumn = tempCell % numColumns;
+			tempNumNeighbors = getNeighbors(tempCell, tempRow, tempColumn, tempNeighbors);
+			for (int i = 0; i < tempNumNeighbors; i++) {
+				if (cellCosts[tempNeighbors[i]] == BLOCKED
+						|| distances[tempNeighbors[i]] <= tempNewDistance) {
+					continue;
+				} // Of if
+
+				distances[tempNeighbors[i]] = tempNewDistance;
+				if (cellCosts[tempCell] == 0) {
+					pushFront(tempNeighbors[i]);
+				} else {
+					pushBack(tempNeighbors[i]);
+				} // Of if
+			} // Of for i
+		} // Of while
+
+		computeActions();
+	}// Of solveZeroOneBfs
+
+	/**
+	 ****************** 
+	 * Compute the shortest paths with Dijkstra. The heap supports decreasing
+	 * keys, so each cell is in the heap at most once.
+	 * 
+	 * @param paraTargets
+	 *            The target cells.
+	 ****************** 
+	 */
+	public void solveDijkstra(int[] paraTargets) {
+		initialize(paraTargets);
+		if (heap == null) {
+			heap = new int[numCells];
+			heapPositions = new int[numCells];
+		} // Of if
+		Arrays.fill(heapPositions, -1);
+		heapSize = 0;
+		for (int i = 0; i < paraTargets.length; i++) {
+			if (heapPositions[paraTargets[i]] == -1) {
+				heapPositions[paraTargets[i]] = heapSize;
+				heap[heapSize] = paraTargets[i];
+				heapSize++;
+			} // Of if
+		} // Of for i
+
+		int tempCell, tempNeighbor, tempNewDistance;
+		int[] tempNeighbors = new int[4];
+		int tempNumNeighbors;
+		while (heapSize > 0) {
+			tempCell = popMin();
+			numExpanded++;
+			if (cellCosts[tempCell] == BLOCKED) {
+				continue;
+			} // Of if
+
+			tempNewDistance = distances[tempCell] + cellCosts[tempCell];
+			tempNumNeighbors = getNeighbors(tempCell, tempCell / numColumns,
+					tempCell % numColumns, tempNeighbors);
+			for (int i = 0; i < tempNumNeighbors; i++) {
+				tempNeighbor = tempNeighbors[i];
+				if (cellCosts[tempNeighbor] == BLOCKED
+						|| distances[tempNeighbor] <= tempNewDistance) {
+					continue;
+				} // Of if
+
+				distances[tempNeighbor] = tempNewDistance;
+				if (heapPositions[tempNeighbor] == -1) {
+					heapPositions[tempNeighbor] = heapSize;
+					heap[heapSize] = tempNeighbor;
+					heapSize++;
+				} // Of if
+				siftUp(heapPositions[tempNeighbor]);
+			} // Of for i
+		} // Of while
+
+		computeActions();
+	}// Of solveDijkstra
+
+	/**
+	 ****************** 
+	 * Get the neighbors of a cell in the order of UP, DOWN, LEFT, RIGHT.
+	 * 
+	 * @param paraCell
+	 *            The cell.
+	 * @param paraRow
+	 *            The row of the cell.
+	 * @param paraColumn
+	 *            The column of the cell.
+	 * @param paraNeighbors
+	 *            The array to store the neighbors, with length 4.
+	 * @return The number of neighbors.
+	 ****************** 
+	 */
+	int getNeighbors(int paraCell, int paraRow, int paraColumn, int[] paraNeighbors) {
+		int resultNumNeighbors = 0;
+		if (paraRow > 0) {
+			paraNeighbors[resultNumNeighbors++] = paraCell - numColumns;
+		} // Of if
+		if (paraRow < numRows - 1) {
+			paraNeighbors[resultNumNeighbors++] = paraCell + numColumns;
+		} // Of if
+		if (paraColumn > 0) {
+			paraNeighbors[resultNumNeighbors++] = paraCell - 1;
+		} // Of if
+		if (paraColumn < numColumns - 1) {
+			paraNeighbors[resultNumNeighbors++] = paraCell + 1;
+		} // Of if
+
+		return resultNumNeighbors;
+	}// Of getNeighbors
+
+	/**
+	 ****************** 
+	 * Compute the action of each cell from the distances. Among the neighbors
+	 * on shortest paths, the one with the smallest index is preferred.
+	 ****************** 
+	 */
+	void computeActions() {
+		Arrays.fill(actions, NO_ACTION);
+		int tempRow, tempColumn, tempNeighbor;
+		// The neighbors in the order of their indices.
+		int[] tempCandidates = new int[4];
+		int[] tempCandidateActions = new int[4];
+		int tempNumCandidates;
+		for (int i = 0; i < numCells; i++) {
+			if (distances[i] == 0 || distances[i] == UNREACHABLE
+					|| cellCosts[i] == BLOCKED) {
+				continue;
+			} // Of if
+
+			tempRow = i / numColumns;
+			tempColumn = i % numColumns;
+			tempNumCandidates = 0;
+			if (tempRow > 0) {
+				tempCandidates[tempNumCandidates] = i - numColumns;
+				tempCandidateActions[tempNumCandidates++] = MazeActionSpace.UP;
+			} // Of if
+			if (tempColumn > 0) {
+				tempCandidates[tempNumCandidates] = i - 1;
+				tempCandidateActions[tempNumCandidates++] = MazeActionSpace.LEFT;
+			} // Of if
+			if (tempColumn < numColumns - 1) {
+				tempCandidates[tempNumCandidates] = i + 1;
+				tempCandidateActions[tempNumCandidates++] = MazeActionSpace.RIGHT;
+			} // Of if
+			if (tempRow < numRows - 1) {
+				tempCandidates[tempNumCandidates] = i + numColumns;
+				tempCandidateActions[tempNumCandidates++] = MazeActionSpace.DOWN;
+			} // Of if
+
+			for (int j = 0; j < tempNumCandidates; j++) {
+				tempNeighbor = tempCandidates[j];
+				if (cellCosts[tempNeighbor] != BLOCKED && distances[tempNeighbor] != UNREACHABLE
+						&& distances[tempNeighbor] + cellCosts[tempNeighbor] == distances[i]) {
+					actions[i] = tempCandidateActions[j];
+					break;
+				} // Of if
+			} // Of for j
+		} // Of for i
+	}// Of computeActions
+
+	/**
+	 ****************** 
+	 * Push a cell to the front of the deque.
+	 * 
+	 * @param paraCell
+	 *            The cell.
+	 ****************** 
+	 */
+	void pushFront(int paraCell) {
+		if (dequeSize == deque.length) {
+			growDeque();
+		} // Of if
+		dequeHead = (dequeHead - 1) & (deque.length - 1);
+		deque[dequeHead] = paraCell;
+		dequeSize++;
+	}// Of pushFront
+
+	/**
+	 ****************** 
+	 * Push a cell to the back of the deque.
+	 * 
+	 * @param paraCell
+	 *            The cell.
+	 ****************** 
+	 */
+	void pushBack(int paraCell) {
+		if (dequeSize == deque.length) {
+			growDeque();
+		} // Of if
+		deque[(dequeHead + dequeSize) & (deque.length - 1)] = paraCell;
+		dequeSize++;
+	}// Of pushBack
+
+	/**
+	 ****************** 
+	 * Double the capacity of the deque, keeping the order of elements.
+	 ****************** 
+	 */
+	void growDeque() {
+		int[] tempDeque = new int[deque.length * 2];
+		for (int i = 0; i < dequeSize; i++) {
+			tempDeque[i] = deque[(dequeHead + i) & (deque.length - 1)];
+		} // Of for i
+		deque = tempDeque;
+		dequeHead = 0;
+	}// Of growDeque
+
+	/**
+	 ****************** 
+	 * Remove the cell with the minimal distance from the heap.
+	 * 
+	 * @return The cell.
+	 ****************** 
+	 */
+	int popMin() {
+		int resultCell = heap[0];
+		heapPositions[resultCell] = -1;
+		heapSize--;
+		if (heapSize > 0) {
+			heap[0] = heap[heapSize];
+			heapPositions[heap[0]] = 0;
+			siftDown(0);
+		} // Of if
+
+		return resultCell;
+	}// Of popMin
+
+	/**
+	 ****************** 
+	 * Move the element at the given position up until the heap is valid.
+	 * 
+	 * @param paraPosition
+	 *            The position.
+	 ****************** 
+	 */
+	void siftUp(int paraPosition) {
+		int tempCell = heap[paraPosition];
+		int tempDistance = distances[tempCell];
+		int tempParent;
+		while (paraPosition > 0) {
+			tempParent = (paraPosition - 1) >> 1;
+			if (distances[heap[tempParent]] <= tempDistance) {
+				break;
+			} // Of if
+			heap[paraPosition] = heap[tempParent];
+			heapPositions[heap[paraPosition]] = paraPosition;
+			paraPosition = tempParent;
+		} // Of while
+		heap[paraPosition] = tempCell;
+		heapPositions[tempCell] = paraPosition;
+	}// Of siftUp
+
+	/**
+	 ****************** 
+	 * Move the element at the given position down until the heap is valid.
+	 * 
+	 * @param paraPosition
+	 *            The position.
+	 ****************** 
+	 */
+	void siftDown(int paraPosition) {
+		int tempCell = heap[paraPosition];
+		int tempDistance = distances[tempCell];
+		int tempChild;
+		while (true) {
+			tempChild = 2 * paraPosition + 1;
+			if (tempChild >= heapSize) {
+				break;
+			} // Of if
+			if (tempChild + 1 < heapSize
+					&& distances[heap[tempChild + 1]] < distances[heap[tempChild]]) {
+				tempChild++;
+			} // Of if
+			if (distances[heap[tempChild]] >= tempDistance) {
+				break;
+			} // Of if
+			heap[paraPosition] = heap[tempChild];
+			heapPositions[heap[paraPosition]] = paraPosition;
+			paraPosition = tempChild;
+		} // Of while
+		heap[paraPosition] = tempCell;
+		heapPositions[tempCell] = paraPosition;
+	}// Of siftDown
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraCell
+	 *            The cell.
+	 * @return The distance to the nearest target, UNREACHABLE if none.
+	 ****************** 
+	 */
+	public int getDistance(int paraCell) {
+		return distances[paraCell];
+	}// Of getDistance
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return The distances of all cells.
+	 ****************** 
+	 */
+	public int[] getDistances() {
+		return distances;
+	}// Of getDistances
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraCell
+	 *            The cell.
+	 * @return The action on a shortest path, NO_ACTION for targets, blocked
+	 *         and unreachable cells.
+	 ****************** 
+	 */
+	public int getAction(int paraCell) {
+		return actions[paraCell];
+	}// Of getAction
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of cells expanded by the last search.
+	 ****************** 
+	 */
+	public int getNumExpanded() {
+		return numExpanded;
+	}// Of getNumExpanded
+
+} // Of class ShortestPathEngine
@@ -1,19 +1,18 @@
 package independent.maze;
 
-import java.util.Arrays;
 import qlearning.environment.Maze;
 
 /**
- * The shortest path learner. It is deterministic. Currently, only one final
- * state is supported.<br>
+ * The shortest path learner. It is deterministic. The route from each state
+ * leads to the nearest final state.<br>
  * Project: Reinforce learning.<br>
  * 
  * @author Fan Min<br>
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 16, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.1
  */
 
 public class ShortestPathLearning extends DeprecatedMaze {
@@ -23,6 +22,11 @@ public class ShortestPathLearning extends DeprecatedMaze {
 	 */
 	int[] distanceArray;
 
+	/**
+	 * The cost of entering each cell. Null for unit costs.
+	 */
+	int[][] cellCosts;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -37,7 +41,23 @@ public class ShortestPathLearning extends DeprecatedMaze {
 
 	/**
 	 ****************** 
-	 * The training method that should be overwritten.
+	 * Setter. Cells with larger costs are avoided by the shortest paths.
+	 * 
+	 * @param paraCellCosts
+	 *            The cost of entering each cell, with the same size as the
+	 *            maze. Traps are blocked whatever the cost is. Null for unit
+	 *            costs.
+	 ****************** 
+	 */
+	public void setCellCosts(int[][] paraCellCosts) {
+		cellCosts = paraCellCosts;
+	}// Of setCellCosts
+
+	/**
+	 ****************** 
+	 * The training method that should be overwritten. The shortest paths to
+	 * the nearest final state are computed by ShortestPathEngine, with 0-1 BFS
+	 * for unit costs and Dijkstra otherwise.
 	 * 
 	 * @param paraRounds
 	 *            The number of rounds for learning. It is unuseful in this
@@ -45,131 +65,44 @@ public class ShortestPathLearning extends DeprecatedMaze {
 	 ****************** 
 	 */
 	public double train(int paraRounds) {
-		// Step 1. Initialize.
+		// Step 1. Initialize. Trap states are unavailable.
 		int tempNumStates = numRows * numColumns;
 		qualityMatrix = new double[tempNumStates][5];
-
-		// Only one final state supported.
-		int tempFinalState = getFinalStates()[0];
-		distanceArray = new int[tempNumStates];
-		Arrays.fill(distanceArray, Integer.MAX_VALUE);
-		distanceArray[tempFinalState] = 0;
-		
-		// The visited array.
-		boolean[] tempVisitedArray = new boolean[tempNumStates];
-		Arrays.fill(tempVisitedArray, false);
-		tempVisitedArray[tempFinalState] = true;
-
-		// The parent state of each state.
-		int[] tempParentArray = new int[tempNumStates];
-		Arrays.fill(tempParentArray, -1);
-
-		// Trap states are unavailable.
-		boolean[] tempAvailableArray = new boolean[tempNumStates];
+		int[] tempCosts = new int[tempNumStates];
 		for (int i = 0; i < numRows; i++) {
 			for (int j = 0; j < numColumns; j++) {
 				if (maze[i][j] == TRAP_STATE_VALUE) {
-					tempAvailableArray[i * numColumns + j] = false;
+					tempCosts[i * numColumns + j] = ShortestPathEngine.BLOCKED;
+				} else if (cellCosts == null) {
+					tempCosts[i * numColumns + j] = 1;
 				} else {
-					tempAvailableArray[i * numColumns + j] = true;
+					tempCosts[i * numColumns + j] = cellCosts[i][j];
 				} // Of if
 			} // Of for j
 		} // Of for i
 
-		// Step 2. Start from the final state.
-		int tempExpandedState = tempFinalState;
-
-		expandState(tempExpandedState);
+		// Step 2. Search from all final states together.
+		ShortestPathEngine tempEngine = new ShortestPathEngine(numRows, numColumns, tempCosts);
+		tempEngine.solve(getFinalStates());
+		distanceArray = tempEngine.getDistances();
 
-		// Step 3. Standard double loop to find shortest path.
-		int tempMinDistance;
+		// Step 3. Only the action on the shortest path is encouraged.
+		int tempAction;
 		for (int i = 0; i < tempNumStates; i++) {
-			// Step 3.1. Select a state to expand.
-			tempExpandedState = -1;
-			tempMinDistance = Integer.MAX_VALUE;
-			for (int j = 0; j < tempNumStates; j++) {
-				if (tempVisitedArray[j]) {
-					continue;
-				} // Of if
-
-				if (!tempAvailableArray[j]) {
-					continue;
-				} // Of if
-
-				if (tempMinDistance > distanceArray[j]) {
-					tempMinDistance = distanceArray[j];
-					tempExpandedState = j;
-				}//Of if
-			} // Of for j
-
-			if (tempExpandedState == -1) {
-				// No state to expand.
-				break;
+			tempAction = tempEngine.getAction(i);
+			if (tempAction == ShortestPathEngine.NO_ACTION) {
+				continue;
 			} // Of if
-			
-			tempVisitedArray[tempExpandedState] = true;
 
-			// Step 3.2. Prepare for the next round.
-			expandState(tempExpandedState);
+			for (int j = 0; j < 5; j++) {
+				qualityMatrix[i][j] = -1;
+			} // Of for j
+			qualityMatrix[i][tempAction] = 1;
 		} // Of for i
 
 		return 0;
 	}// Of train
 
-	/**
-	 ****************** 
-	 * Expand the node to update distance and quality information.
-	 * 
-	 * @param paraCurrentState
-	 *            The current state.
-	 ****************** 
-	 */
-	private void expandState(int paraCurrentState) {
-		expandState(paraCurrentState, UP, DOWN);
-		expandState(paraCurrentState, DOWN, UP);
-		expandState(paraCurrentState, LEFT, RIGHT);
-		expandState(paraCurrentState, RIGHT, LEFT);
-	}//Of expandState
-	
-	/**
-	 ****************** 
-	 * Expand the node to update distance and quality information.
-	 * 
-	 * @param paraCurrentState
-	 *            The current state.
-	 * @param paraDirection
-	 *            The direction.
-	 * @param paraReverseDirection
-	 *            The reverse direction.
-	 ****************** 
-	 */
-	private void expandState(int paraCurrentState, int paraDirection,
-			int paraReverseDirection) {
-		int tempNextState = transitionMatrix[paraCurrentState][paraDirection];
-
-		if (tempNextState == INVALID_STATE) {
-			return;
-		} // Of if
-
-		// Do not consider trap state.
-		if (maze[tempNextState / numColumns][tempNextState % numColumns] == -10) {
-			return;
-		} // Of if
-
-		//System.out.println("paraCurrentState: " + paraCurrentState + ", tempNextState: " + tempNextState
-		//		+ ", paraDirection = " + paraDirection);
-		//System.out.println("distanceArray[tempNextState]: " + distanceArray[tempNextState] + ", distanceArray[paraCurrentState]: " + distanceArray[paraCurrentState]
-		//		+ ", paraDirection = " + paraDirection);
-		if (distanceArray[tempNextState] > distanceArray[paraCurrentState] + 1) {
-			distanceArray[tempNextState] = distanceArray[paraCurrentState] + 1;
-			for (int i = 0; i < 5; i++) {
-				qualityMatrix[tempNextState][i] = -1;
-			} // Of for i
-			qualityMatrix[tempNextState][paraReverseDirection] = 1;
-			//System.out.println("Change qualityMatrix: " + tempNextState + ", " + paraReverseDirection + " to 1.");
-		} // Of if
-	}// Of expandState
-
 	/**
 	 ****************** 
 	 * For unit test.
@@ -1,5 +1,9 @@
 package qlearning.agent;
 
+import java.util.Random;
+
+import common.EpisodeMetrics;
+import common.RunContext;
 import qlearning.environment.Environment;
 
 /**
@@ -10,8 +14,8 @@ import qlearning.environment.Environment;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 20, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.1
  */
 
 public abstract class Agent {
@@ -31,15 +35,22 @@ public abstract class Agent {
 	int numActions;
 
 	/**
-	 * The reward for each episode. For statistics and output.
+	 * The statistics of episodes. For output. The memory does not grow with
+	 * the number of episodes unless the history is kept.
 	 */
-	double[] rewardArray;
+	EpisodeMetrics metrics;
 
 	/**
-	 * The steps for each episode. For statistics and output.
+	 * The context of the current run, the same as that of the environment by
+	 * default.
 	 */
-	int[] stepsArray;
-	
+	RunContext context;
+
+	/**
+	 * The random object, the one of the context by default.
+	 */
+	Random random;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -53,29 +64,70 @@ public abstract class Agent {
 		numStates = environment.getNumStates();
 		numActions = environment.getNumActions();
 		// numActions = environment.getActionSpace().getNumActions();
-		rewardArray = null;
+		metrics = new EpisodeMetrics();
+		context = environment.getContext();
+		random = context.getRandom();
 	}// Of the first constructor
 
+	/**
+	 ****************** 
+	 * Setter. The random object is also replaced by the one of the context.
+	 * 
+	 * @param paraContext
+	 *            The context of the current run.
+	 ****************** 
+	 */
+	public void setContext(RunContext paraContext) {
+		context = paraContext;
+		random = context.getRandom();
+	}// Of setContext
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraRandom
+	 *            The random object owned by the current run. It overrides the
+	 *            one of the context.
+	 ****************** 
+	 */
+	public void setRandom(Random paraRandom) {
+		random = paraRandom;
+	}// Of setRandom
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The statistics of episodes.
+	 ****************** 
+	 */
+	public EpisodeMetrics getMetrics() {
+		return metrics;
+	}// Of getMetrics
+
 	/**
 	 ****************** 
 	 * Getter.
 	 * 
-	 * @return The rewards for episodes.
+	 * @return The rewards for episodes, null unless the metrics keep the
+	 *         history.
 	 ****************** 
 	 */
 	public double[] getRewardArray() {
-		return rewardArray;
+		return metrics.getRewardHistory();
 	}// Of getRewardArray
 
 	/**
 	 ****************** 
 	 * Getter.
 	 * 
-	 * @return The steps for episodes.
+	 * @return The steps for episodes, null unless the metrics keep the
+	 *         history.
 	 ****************** 
 	 */
 	public int[] getStepsArray() {
-		return stepsArray;
+		return metrics.getStepsHistory();
 	}// Of getStepsArray
 
 	/**
@@ -86,13 +138,7 @@ public abstract class Agent {
 	 ****************** 
 	 */
 	public double getAverageReward() {
-		double tempTotalReward = 0;
-		for (int i = 0; i < rewardArray.length; i++) {
-			tempTotalReward += rewardArray[i];
-		} // Of for i
-
-		double resultAverageReward = tempTotalReward / rewardArray.length;
-		return resultAverageReward;
+		return metrics.getMeanReward();
 	}// Of getAverageReward
 
 	/**
@@ -16,8 +16,8 @@ import qlearning.environment.*;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 24, 2020.<br>
- *         Last modified: August 24, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.1
  */
 
 public class CompetitionQAgent extends QAgent {
@@ -27,7 +27,7 @@ public class CompetitionQAgent extends QAgent {
 	int player;
 
 	/**
-	 * The number of updates for each state.
+	 * The number of updates for each state. Null for sparse states.
 	 */
 	int[] stateNumUpdatesArray;
 
@@ -36,6 +36,12 @@ public class CompetitionQAgent extends QAgent {
 	 */
 	CompetitionQAgent competitor;
 
+	/**
+	 * Scratch buffer for the indices of maximal values. Reused for each
+	 * selection to avoid allocation.
+	 */
+	int[] indexBuffer;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -47,7 +53,10 @@ public class CompetitionQAgent extends QAgent {
 	public CompetitionQAgent(CompetitionEnvironment paraEnvironment, int paraPlayer) {
 		super(paraEnvironment);
 		player = paraPlayer;
-		stateNumUpdatesArray = new int[numStates];
+		if (!paraEnvironment.hasSparseStates()) {
+			stateNumUpdatesArray = new int[numStates];
+		} // Of if
+		indexBuffer = new int[numActions];
 	}// Of the first constructor
 
 	/**
@@ -64,43 +73,49 @@ public class CompetitionQAgent extends QAgent {
 
 	/**
 	 ****************** 
-	 * Select an action according to the given reward array. Actions
-	 * corresponding to trap states (which can be observed by the reward value)
-	 * will not be selected.
+	 * Choose an action with the maximal reward. Ties are broken randomly.
 	 * 
 	 * @param paraRewardArray
 	 *            The given reward array.
 	 * @param paraValidActions
 	 *            The valid actions.
-	 * @return The selected action.
-	 * @throws NoValidActionException
-	 *             Since some times the other blank will win regardless the
-	 *             choice.
+	 * @return The chosen action, or NO_VALID_ACTION if there is no valid
+	 *         action.
 	 ****************** 
 	 */
-	public int selectAction(double[] paraRewardArray, int[] paraValidActions)
-			throws NoValidActionException {
-		// System.out.println("Selecting from " +
-		// Arrays.toString(paraRewardArray) + " and "
-		// + Arrays.toString(paraValidActions));
-		// Step 1. Compress reward array.
-		double[] tempCompressedRewardArray = new double[paraValidActions.length];
-		for (int i = 0; i < tempCompressedRewardArray.length; i++) {
-			tempCompressedRewardArray[i] = paraRewardArray[paraValidActions[i]];
-		} // Of for i
+	public int chooseAction(double[] paraRewardArray, int[] paraValidActions) {
+		if (paraValidActions.length == 0) {
+			return NO_VALID_ACTION;
+		} // Of if
 
-		// Step 4. Compute an random index according to the valid reward array.
-		// int tempIndex =
-		// WeightedRandomQAgent.getWeightedRandomIndex(tempCompressedRewardArray,
-		// WeightedRandomQAgent.PROBABILITY_MIN_VALUE);
+		// Step 1. Find the indices of the maximal rewards among the valid
+		// actions. The scratch buffer is used instead of a compressed array.
+		double tempMaxValue = -Double.MAX_VALUE;
+		double tempReward;
+		int tempNumMax = 0;
+		for (int i = 0; i < paraValidActions.length; i++) {
+			tempReward = paraRewardArray[paraValidActions[i]];
+			if (tempMaxValue < tempReward) {
+				tempMaxValue = tempReward;
+				indexBuffer[0] = i;
+				tempNumMax = 1;
+			} else if (tempMaxValue == tempReward) {
+				indexBuffer[tempNumMax] = i;
+				tempNumMax++;
+			} // Of if
+		} // Of for i
 
-		int tempIndex = getRandomMaxIndex(tempCompressedRewardArray);
+		// Step 2. Randomly choose one if there are more than one.
+		int tempIndex = indexBuffer[0];
+		if (tempNumMax > 1) {
+			tempIndex = indexBuffer[random.nextInt(tempNumMax)];
+		} // Of if
 
-		// Step 5. The action corresponds to the index.
+		// Step 3. The action corresponds to the index.
 		int resultBestAction = paraValidActions[tempIndex];
 
 		return resultBestAction;
-	}// Of selectAction
+	}// Of chooseAction
 
 	/**
 	 ****************** 
@@ -115,7 +130,10 @@ public class CompetitionQAgent extends QAgent {
 		double tempMaxValue = -Double.MAX_VALUE;
 		int resultIndex = -1;
 		int tempNumMax = 0;
-		int[] tempIndexArray = new int[paraArray.length];
+		int[] tempIndexArray = indexBuffer;
+		if (tempIndexArray.length < paraArray.length) {
+			tempIndexArray = new int[paraArray.length];
+		} // Of if
 		for (int i = 0; i < paraArray.length; i++) {
 			if (tempMaxValue < paraArray[i]) {
 				tempMaxValue = paraArray[i];
@@ -136,7 +154,7 @@ public class CompetitionQAgent extends QAgent {
 		} // Of if
 
 		// Randomly choose one.
-		int tempIndex = Environment.random.nextInt(tempNumMax);
+		int tempIndex = random.nextInt(tempNumMax);
 		resultIndex = tempIndexArray[tempIndex];
 
 		return resultIndex;
@@ -151,47 +169,41 @@ public class CompetitionQAgent extends QAgent {
 	 ****************** 
 	 */
 	public void step(int paraCurrentState) {
-		stateNumUpdatesArray[paraCurrentState]++;
+		if (stateNumUpdatesArray != null) {
+			stateNumUpdatesArray[paraCurrentState]++;
+		} // Of if
 		int tempAction = 0;
 		int tempNextState = 0;
 
 		// Step 1. Randomly select an action to take.
 		// The implementation depends on the quality value of actions.
 		int[] tempValidActions = environment.getValidActions();
-		try {
-			tempAction = selectAction(qualityMatrix[paraCurrentState], tempValidActions);
+		qualityTable.copyRow(paraCurrentState, qualityRow);
+		tempAction = chooseAction(qualityRow, tempValidActions);
+		if (tempAction == NO_VALID_ACTION) {
+			throw new IllegalStateException(
+					"CompetitionQAgent: no valid action in state " + paraCurrentState);
+		} // Of if
+		if (context.isVariableTracking()) {
 			if (paraCurrentState == 0) {
-				System.out.print(" \t " + tempAction);
+				context.variableTrackingOutput(" \t " + tempAction);
 			} else {
-				System.out.print(", " + tempAction);
+				context.variableTrackingOutput(", " + tempAction);
 			} // Of if
-		} catch (NoValidActionException ee) {
-			System.out.println("In QAgent.step: " + ee);
-			System.exit(0);
-		} // Of try
+		} // Of if
 
 		// Step 2. The environment also take this action to update.
-		try {
-			environment.step(tempAction);
-		} catch (IllegalActionException ee) {
-			System.out.println("QAgent for environment.step: " + ee);
-			System.exit(0);
-		} // Of try
+		if (environment.tryStep(tempAction) != Environment.STEP_OK) {
+			throw new IllegalStateException("CompetitionQAgent: the action " + tempAction
+					+ " is illegal in state " + paraCurrentState);
+		} // Of if
 		tempNextState = environment.getCurrentState();
 
 		// Step 3. The competitor's reward is my penalty.
 		// Important code that might be rewritten.
-		double tempMaxFuturePenaly = 0;
-		double tempFuturePenaly;
 		tempValidActions = environment.getValidActions(tempNextState);
-
-		double[] tempCompetitorQualityArray = competitor.qualityMatrix[tempNextState];
-		for (int j = 0; j < tempValidActions.length; j++) {
-			tempFuturePenaly = tempCompetitorQualityArray[tempValidActions[j]];
-			if (tempMaxFuturePenaly < tempFuturePenaly) {
-				tempMaxFuturePenaly = tempFuturePenaly;
-			} // Of if
-		} // Of for j
+		double tempMaxFuturePenaly = competitor.qualityTable.getMaxValue(tempNextState,
+				tempValidActions, 0);
 
 		// Step 4. The state reward/penalty of player 1 is the penalty/reward of player 2.
 		// The use of gamma and alpha might not be correct.
@@ -205,11 +217,10 @@ public class CompetitionQAgent extends QAgent {
 		// qualityMatrix[paraCurrentState][tempAction] = tempReward;
 		// } else {
 		double tempDelta = tempReward - gamma * tempMaxFuturePenaly;
-		double tempOldQuality = qualityMatrix[paraCurrentState][tempAction];
+		double tempOldQuality = qualityTable.getValue(paraCurrentState, tempAction);
 		// Attention: it should be updated even if tempDelta <
 		// tempOldQuality
-		qualityMatrix[paraCurrentState][tempAction] = tempOldQuality
-				+ alpha * (tempDelta - tempOldQuality);
+		qualityTable.addValue(paraCurrentState, tempAction, alpha * (tempDelta - tempOldQuality));
 	}// Of step
 
 	/**
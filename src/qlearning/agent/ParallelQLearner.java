@@ -0,0 +1,340 @@
+package qlearning.agent;
+
+import common.EpisodeMetrics;
+import common.RunContext;
+import common.SplitMixRandom;
+import qlearning.table.HashQTable;
+import qlearning.table.QTable;
+
+/**
+ * Run Q-learning with more than one thread on a shared quality table. Each
+ * thread owns an agent with its own environment instance, random object and
+ * buffers, while the quality table of the first agent is shared by all. Two
+ * update modes are supported. With HOGWILD, updates are not synchronized at
+ * all, and an update may occasionally overwrite a concurrent one of the same
+ * state. Since the table is sparsely touched, such collisions are rare and
+ * learning is hardly affected. With STRIPED_LOCKS, the row of the updated
+ * state is locked, where the rows share a fixed number of locks. Episodes of
+ * the maze are independent, hence they are distributed evenly to the
+ * threads. The table should be a dense one, since a HashQTable allocates rows
+ * while learning. With a seed, the episodes are numbered globally, and each
+ * one draws from its own random stream, no matter which thread runs it.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class ParallelQLearner {
+
+	/**
+	 * Update mode. No synchronization.
+	 */
+	public static final int HOGWILD = 0;
+
+	/**
+	 * Update mode. Lock the row of the updated state.
+	 */
+	public static final int STRIPED_LOCKS = 1;
+
+	/**
+	 * The default number of locks for STRIPED_LOCKS.
+	 */
+	public static final int DEFAULT_NUM_STRIPES = 64;
+
+	/**
+	 * The agents, one for each thread.
+	 */
+	QAgent[] agents;
+
+	/**
+	 * The shared quality table.
+	 */
+	QTable sharedTable;
+
+	/**
+	 * The update mode.
+	 */
+	int updateMode;
+
+	/**
+	 * The time of the last learning in nanoseconds.
+	 */
+	long lastLearningTime;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraAgents
+	 *            The agents, one for each thread. They should not share
+	 *            environment instances.
+	 * @param paraUpdateMode
+	 *            HOGWILD or STRIPED_LOCKS.
+	 ****************** 
+	 */
+	public ParallelQLearner(QAgent[] paraAgents, int paraUpdateMode) {
+		this(paraAgents, paraUpdateMode, DEFAULT_NUM_STRIPES);
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraAgents
+	 *            The agents, one for each thread. They should not share
+	 *            environment instances.
+	 * @param paraUpdateMode
+	 *            HOGWILD or STRIPED_LOCKS.
+	 * @param paraNumStripes
+	 *            The number of locks for STRIPED_LOCKS.
+	 * @throws IllegalArgumentException
+	 *             if the table of the first agent is a HashQTable.
+	 ****************** 
+	 */
+	public ParallelQLearner(QAgent[] paraAgents, int paraUpdateMode, int paraNumStripes) {
+		agents = paraAgents;
+		updateMode = paraUpdateMode;
+		sharedTable = agents[0].getQualityTable();
+		if (sharedTable instanceof HashQTable) {
+			throw new IllegalArgumentException(
+					"ParallelQLearner: a HashQTable cannot be shared by threads.");
+		} // Of if
+
+		Object[] tempRowLocks = null;
+		if (updateMode == STRIPED_LOCKS) {
+			tempRowLocks = new Object[paraNumStripes];
+			for (int i = 0; i < tempRowLocks.length; i++) {
+				tempRowLocks[i] = new Object();
+			} // Of for i
+		} // Of if
+
+		for (int i = 0; i < agents.length; i++) {
+			agents[i].setQualityTable(sharedTable);
+			agents[i].setRowLocks(tempRowLocks);
+		} // Of for i
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * Give each agent and its environment a new context with episode streams
+	 * derived from the seed. The random numbers of each episode are
+	 * reproducible. With one thread the result is reproducible, while with
+	 * more threads the interleaving of updates is not.
+	 * 
+	 * @param paraSeed
+	 *            The seed.
+	 ****************** 
+	 */
+	public void setSeed(long paraSeed) {
+		RunContext tempContext;
+		for (int i = 0; i < agents.length; i++) {
+			// The same root stream, hence episode e always uses its child e.
+			tempContext = new RunContext(new SplitMixRandom(paraSeed));
+			tempContext.setEpisodeStreams(true);
+			agents[i].environment.setContext(tempContext);
+			agents[i].setContext(tempContext);
+		} // Of for i
+	}// Of setSeed
+
+	/**
+	 ****************** 
+	 * Learn from scratch. The episodes are distributed to the threads, and the
+	 * first ones take one more episode if they cannot be evenly distributed.
+	 * 
+	 * @param paraEpisodes
+	 *            The total number of episodes.
+	 * @return True if all threads finished, false if the current thread was
+	 *         interrupted while waiting.
+	 * @throws RuntimeException
+	 *             the first failure of a worker, e.g., an
+	 *             IllegalStateException for an illegal action, after all
+	 *             threads finished.
+	 ****************** 
+	 */
+	public boolean learn(int paraEpisodes) {
+		sharedTable.reset();
+		for (int i = 0; i < agents.length; i++) {
+			agents[i].getMetrics().reset();
+		} // Of for i
+
+		long tempStartTime = System.nanoTime();
+		Thread[] tempThreads = new Thread[agents.length];
+		LearningTask[] tempTasks = new LearningTask[agents.length];
+		int tempFirstEpisode = 0;
+		for (int i = 0; i < agents.length; i++) {
+			int tempEpisodes = paraEpisodes / agents.length;
+			if (i < paraEpisodes % agents.length) {
+				tempEpisodes++;
+			} // Of if
+			tempTasks[i] = new LearningTask(agents[i], tempFirstEpisode, tempEpisodes);
+			tempThreads[i] = new Thread(tempTasks[i], "ParallelQLearner-" + i);
+			tempThreads[i].start();
+			tempFirstEpisode += tempEpisodes;
+		} // Of for i
+
+		boolean resultFinished = true;
+		try {
+			for (int i = 0; i < tempThreads.length; i++) {
+				tempThreads[i].join();
+			} // Of for i
+		} catch (InterruptedException ee) {
+			Thread.currentThread().interrupt();
+			resultFinished = false;
+		} // Of try
+		lastLearningTime = System.nanoTime() - tempStartTime;
+		if (!resultFinished) {
+			return false;
+		} // Of if
+
+		// A worker that failed lost its remaining episodes. Joining
+		// makes its failure visible here.
+		for (int i = 0; i < tempTasks.length; i++) {
+			if (tempTasks[i].failure instanceof RuntimeException) {
+				throw (RuntimeException) tempTasks[i].failure;
+			} else if (tempTasks[i].failure instanceof Error) {
+				throw (Error) tempTasks[i].failure;
+			} // Of if
+		} // Of for i
+
+		return true;
+	}// Of learn
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The shared quality table.
+	 ****************** 
+	 */
+	public QTable getQualityTable() {
+		return sharedTable;
+	}// Of getQualityTable
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The agents.
+	 ****************** 
+	 */
+	public QAgent[] getAgents() {
+		return agents;
+	}// Of getAgents
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The time of the last learning in nanoseconds.
+	 ****************** 
+	 */
+	public long getLastLearningTime() {
+		return lastLearningTime;
+	}// Of getLastLearningTime
+
+	/**
+	 ****************** 
+	 * Get the average number of steps of the last episodes of all agents.
+	 * 
+	 * @param paraNumLastEpisodes
+	 *            The number of last episodes of each agent, bounded by the
+	 *            window of its metrics.
+	 * @return The average number of steps.
+	 ****************** 
+	 */
+	public double getAverageLastSteps(int paraNumLastEpisodes) {
+		double tempTotalSteps = 0;
+		int tempCount = 0;
+		EpisodeMetrics tempMetrics;
+		int tempNum;
+		for (int i = 0; i < agents.length; i++) {
+			tempMetrics = agents[i].getMetrics();
+			tempNum = tempMetrics.getNumRecentEpisodes(paraNumLastEpisodes);
+			if (tempNum > 0) {
+				tempTotalSteps += tempMetrics.getRecentAverageSteps(tempNum) * tempNum;
+				tempCount += tempNum;
+			} // Of if
+		} // Of for i
+
+		return tempTotalSteps / tempCount;
+	}// Of getAverageLastSteps
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = "I am a ParallelQLearner with " + agents.length + " threads in "
+				+ (updateMode == HOGWILD ? "Hogwild" : "striped locks") + " mode.";
+
+		return resultString;
+	}// Of toString
+
+	/**
+	 *************************** 
+	 * The episodes of one agent, run in its own thread.
+	 *************************** 
+	 */
+	private static class LearningTask implements Runnable {
+		/**
+		 * The agent.
+		 */
+		QAgent agent;
+
+		/**
+		 * The index of the first episode.
+		 */
+		int firstEpisode;
+
+		/**
+		 * The number of episodes.
+		 */
+		int numEpisodes;
+
+		/**
+		 * The exception or error stopping the worker, null if none.
+		 */
+		Throwable failure;
+
+		/**
+		 *************************** 
+		 * The constructor.
+		 * 
+		 * @param paraAgent
+		 *            The agent.
+		 * @param paraFirstEpisode
+		 *            The index of the first episode.
+		 * @param paraNumEpisodes
+		 *            The number of episodes.
+		 *************************** 
+		 */
+		LearningTask(QAgent paraAgent, int paraFirstEpisode, int paraNumEpisodes) {
+			agent = paraAgent;
+			firstEpisode = paraFirstEpisode;
+			numEpisodes = paraNumEpisodes;
+		}// Of the constructor
+
+		/**
+		 *************************** 
+		 * Learn without resetting the shared table. A failure is kept for
+		 * the learner to rethrow.
+		 *************************** 
+		 */
+		public void run() {
+			try {
+				agent.continueLearning(firstEpisode, numEpisodes);
+			} catch (RuntimeException ee) {
+				failure = ee;
+			} catch (Error ee) {
+				failure = ee;
+			} // Of try
+		}// Of run
+	}// Of class LearningTask
+
+} // Of class ParallelQLearner
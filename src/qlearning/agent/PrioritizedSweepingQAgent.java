@@ -0,0 +1,323 @@
+package qlearning.agent;
+
+import qlearning.environment.*;
+import qlearning.table.PairPriorityQueue;
+
+/**
+ * A Q-agent planning with the known model of a maze, i.e., prioritized
+ * sweeping, a variant of Dyna-Q. Each real step pushes its pair into a queue
+ * keyed by the TD error, and then up to planningSteps pairs with the largest
+ * errors are backed up with the model. Since the model is deterministic, a
+ * planning backup sets the value to its target, i.e., alpha is 1 for
+ * planning. After backing up a pair, the pairs leading to its state are
+ * pushed, found through a predecessor index built once from the transitions.
+ * Hence the reward of the final state flows back along the corridors without
+ * walking them. Actions of real steps are chosen with the weighted random
+ * approach.<br>
+ * Planning touches rows other than that of the current state, hence row locks
+ * are not supported.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class PrioritizedSweepingQAgent extends WeightedRandomQAgent {
+
+	/**
+	 * The default number of planning backups for each real step.
+	 */
+	public static final int DEFAULT_PLANNING_STEPS = 10;
+
+	/**
+	 * The default threshold of the TD error to push a pair.
+	 */
+	public static final double DEFAULT_THRESHOLD = 1e-4;
+
+	/**
+	 * The maze, serving as the model.
+	 */
+	Maze maze;
+
+	/**
+	 * The cells of the maze.
+	 */
+	byte[] cells;
+
+	/**
+	 * The number of planning backups for each real step.
+	 */
+	int planningSteps;
+
+	/**
+	 * Pairs with TD errors not larger than this are not pushed.
+	 */
+	double threshold;
+
+	/**
+	 * The predecessors of state s are stored at [predecessorStarts[s],
+	 * predecessorStarts[s + 1]) of predecessorStates and predecessorActions.
+	 */
+	int[] predecessorStarts;
+
+	/**
+	 * The states of the predecessor pairs.
+	 */
+	int[] predecessorStates;
+
+	/**
+	 * The actions of the predecessor pairs.
+	 */
+	int[] predecessorActions;
+
+	/**
+	 * The pairs to be backed up.
+	 */
+	PairPriorityQueue queue;
+
+	/**
+	 * The number of planning backups since the last reset.
+	 */
+	long numPlanningBackups;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraMaze
+	 *            The given maze.
+	 ****************** 
+	 */
+	public PrioritizedSweepingQAgent(Maze paraMaze) {
+		super(paraMaze);
+		maze = paraMaze;
+		cells = maze.getCells();
+		planningSteps = DEFAULT_PLANNING_STEPS;
+		threshold = DEFAULT_THRESHOLD;
+		buildPredecessors();
+		queue = new PairPriorityQueue(numStates, numActions);
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Build the predecessor index from the transitions. Pairs from traps or
+	 * final states, and those into traps, are not included, since their
+	 * values are never backed up with the future.
+	 ****************** 
+	 */
+	void buildPredecessors() {
+		// Step 1. Count the predecessors of each state.
+		predecessorStarts = new int[numStates + 1];
+		int[] tempValidActions;
+		int tempNextState;
+		for (int i = 0; i < numStates; i++) {
+			if (cells[i] != Maze.NULL_STATE_VALUE) {
+				continue;
+			} // Of if
+
+			tempValidActions = maze.getValidActions(i);
+			for (int j = 0; j < tempValidActions.length; j++) {
+				tempNextState = maze.getNextState(i, tempValidActions[j]);
+				if (tempNextState >= 0 && cells[tempNextState] != Maze.TRAP_STATE_VALUE) {
+					predecessorStarts[tempNextState + 1]++;
+				} // Of if
+			} // Of for j
+		} // Of for i
+
+		for (int i = 0; i < numStates; i++) {
+			predecessorStarts[i + 1] += predecessorStarts[i];
+		} // Of for i
+
+		// Step 2. Fill the pairs.
+		predecessorStates = new int[predecessorStarts[numStates]];
+		predecessorActions = new int[predecessorStarts[numStates]];
+		int[] tempFilled = new int[numStates];
+		int tempIndex;
+		for (int i = 0; i < numStates; i++) {
+			if (cells[i] != Maze.NULL_STATE_VALUE) {
+				continue;
+			} // Of if
+
+			tempValidActions = maze.getValidActions(i);
+			for (int j = 0; j < tempValidActions.length; j++) {
+				tempNextState = maze.getNextState(i, tempValidActions[j]);
+				if (tempNextState >= 0 && cells[tempNextState] != Maze.TRAP_STATE_VALUE) {
+					tempIndex = predecessorStarts[tempNextState] + tempFilled[tempNextState];
+					predecessorStates[tempIndex] = i;
+					predecessorActions[tempIndex] = tempValidActions[j];
+					tempFilled[tempNextState]++;
+				} // Of if
+			} // Of for j
+		} // Of for i
+	}// Of buildPredecessors
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraPlanningSteps
+	 *            The number of planning backups for each real step. 0 is
+	 *            one-step Q-learning without the threshold.
+	 ****************** 
+	 */
+	public void setPlanningSteps(int paraPlanningSteps) {
+		planningSteps = paraPlanningSteps;
+	}// Of setPlanningSteps
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraThreshold
+	 *            Pairs with TD errors not larger than this are not pushed.
+	 ****************** 
+	 */
+	public void setThreshold(double paraThreshold) {
+		threshold = paraThreshold;
+	}// Of setThreshold
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of planning backups since the last reset.
+	 ****************** 
+	 */
+	public long getNumPlanningBackups() {
+		return numPlanningBackups;
+	}// Of getNumPlanningBackups
+
+	/**
+	 ****************** 
+	 * Row locks are not supported, since planning touches other rows.
+	 * 
+	 * @param paraRowLocks
+	 *            The locks. Only null is accepted.
+	 ****************** 
+	 */
+	public void setRowLocks(Object[] paraRowLocks) {
+		if (paraRowLocks != null) {
+			throw new UnsupportedOperationException(
+					"PrioritizedSweepingQAgent: row locks are not supported.");
+		} // Of if
+	}// Of setRowLocks
+
+	/**
+	 ****************** 
+	 * Reset for the next run.
+	 ****************** 
+	 */
+	public void reset() {
+		super.reset();
+		queue.clear();
+		numPlanningBackups = 0;
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Update after a real step. The pair is pushed with its TD error, and
+	 * then the queue is swept with the model.
+	 * 
+	 * @param paraState
+	 *            The state before the step.
+	 * @param paraAction
+	 *            The action.
+	 * @param paraReward
+	 *            The reward of the step.
+	 * @param paraNextState
+	 *            The state after the step.
+	 * @param paraNextValidActions
+	 *            The valid actions of the next state.
+	 ****************** 
+	 */
+	void updateQuality(int paraState, int paraAction, double paraReward, int paraNextState,
+			int[] paraNextValidActions) {
+		if (planningSteps == 0 || paraReward == Environment.PENALTY_VALUE) {
+			super.updateQuality(paraState, paraAction, paraReward, paraNextState,
+					paraNextValidActions);
+		} else {
+			double tempError = paraReward
+					+ gamma * qualityTable.getMaxValue(paraNextState, paraNextValidActions, 0)
+					- qualityTable.getValue(paraState, paraAction);
+			if (Math.abs(tempError) > threshold) {
+				queue.push(paraState, paraAction, Math.abs(tempError));
+			} // Of if
+		} // Of if
+
+		sweep();
+	}// Of updateQuality
+
+	/**
+	 ****************** 
+	 * Back up at most planningSteps pairs with the largest TD errors, pushing
+	 * the predecessors of each backed up state.
+	 ****************** 
+	 */
+	void sweep() {
+		int tempPair, tempState, tempAction, tempNextState, tempPredecessor;
+		double tempReward, tempStateValue, tempError;
+		int[] tempValidActions;
+		for (int i = 0; i < planningSteps && !queue.isEmpty(); i++) {
+			// Step 1. Back up the pair with the model. The model is
+			// deterministic, hence the value is set to the target directly.
+			tempPair = queue.popMax();
+			tempState = tempPair / numActions;
+			tempAction = tempPair % numActions;
+			tempNextState = maze.getNextState(tempState, tempAction);
+			qualityTable.setValue(tempState, tempAction, maze.getStateRewardValue(tempNextState)
+					+ gamma * qualityTable.getMaxValue(tempNextState,
+							maze.getValidActions(tempNextState), 0));
+			numPlanningBackups++;
+
+			// Step 2. The pairs leading to this state are affected.
+			tempValidActions = maze.getValidActions(tempState);
+			tempStateValue = qualityTable.getMaxValue(tempState, tempValidActions, 0);
+			tempReward = maze.getStateRewardValue(tempState);
+			for (int j = predecessorStarts[tempState]; j < predecessorStarts[tempState
+					+ 1]; j++) {
+				tempPredecessor = predecessorStates[j];
+				tempError = Math.abs(tempReward + gamma * tempStateValue
+						- qualityTable.getValue(tempPredecessor, predecessorActions[j]));
+				if (tempError > threshold) {
+					queue.push(tempPredecessor, predecessorActions[j], tempError);
+				} // Of if
+			} // Of for j
+		} // Of for i
+	}// Of sweep
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "Prioritized sweeping agent with " + planningSteps + " planning steps, "
+				+ numPlanningBackups + " planning backups, " + queue.toString();
+	}// Of toString
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		Maze tempMaze = new Maze(Maze.generateComplexMaze());
+		tempMaze.setStartState(32);
+		PrioritizedSweepingQAgent tempAgent = new PrioritizedSweepingQAgent(tempMaze);
+		tempAgent.learn(100);
+		System.out.println(tempAgent + ", average reward: " + tempAgent.getAverageReward());
+		try {
+			System.out.println("Route length: " + (tempAgent.greedyRouting(32).length - 1));
+		} catch (Exception ee) {
+			System.out.println(ee);
+		} // Of try
+	}// Of main
+
+} // Of class PrioritizedSweepingQAgent
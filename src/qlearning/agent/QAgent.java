@@ -1,10 +1,13 @@
 package qlearning.agent;
 
+import java.io.IOException;
 import java.util.Arrays;
 
 import qlearning.action.*;
 import common.*;
 import qlearning.environment.Environment;
+import qlearning.environment.VectorEnvironment;
+import qlearning.table.*;
 
 /**
  * The super-class of any quality agent.<br>
@@ -14,16 +17,27 @@ import qlearning.environment.Environment;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 20, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.1
  */
 
 public abstract class QAgent extends Agent {
 
 	/**
-	 * The quality matrix.
+	 * Returned by chooseAction() if no action can be chosen.
 	 */
-	double[][] qualityMatrix;
+	public static final int NO_VALID_ACTION = -1;
+
+	/**
+	 * The quality table. A flat one is used by default for cache locality.
+	 */
+	QTable qualityTable;
+
+	/**
+	 * The qualities of all actions of the current state. It is reused for each
+	 * step to avoid allocation.
+	 */
+	double[] qualityRow;
 
 	/**
 	 * The gamma value
@@ -35,6 +49,19 @@ public abstract class QAgent extends Agent {
 	 */
 	double alpha;
 
+	/**
+	 * The locks of the rows of the quality table. The row of a state is
+	 * guarded by rowLocks[state % rowLocks.length]. It is null if the table is
+	 * not shared with other threads.
+	 */
+	Object[] rowLocks;
+
+	/**
+	 * The number of episodes learned since the last reset, including those of
+	 * a loaded checkpoint.
+	 */
+	long learnedEpisodes;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -47,9 +74,38 @@ public abstract class QAgent extends Agent {
 		super(paraEnvironment);
 		gamma = 0.99;
 		alpha = 0.1;
-		qualityMatrix = new double[numStates][numActions];
+		if (environment.hasSparseStates()) {
+			qualityTable = new HashQTable(numActions);
+		} else {
+			qualityTable = new DoubleQTable(numStates, numActions);
+		} // Of if
+		qualityRow = new double[numActions];
 	}// Of the first constructor
 
+	/**
+	 ****************** 
+	 * Setter. Replace the default quality table, e.g., with a FloatQTable.
+	 * 
+	 * @param paraQualityTable
+	 *            The given quality table. Its size should match the
+	 *            environment.
+	 ****************** 
+	 */
+	public void setQualityTable(QTable paraQualityTable) {
+		qualityTable = paraQualityTable;
+	}// Of setQualityTable
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The quality table.
+	 ****************** 
+	 */
+	public QTable getQualityTable() {
+		return qualityTable;
+	}// Of getQualityTable
+
 	/**
 	 ****************** 
 	 * Setter.
@@ -62,19 +118,107 @@ public abstract class QAgent extends Agent {
 		gamma = paraGamma;
 	}// Of setGamma
 
+	/**
+	 ****************** 
+	 * Setter. Lock the row of the state for each update, so that agents of
+	 * different threads sharing the quality table never lose updates of the
+	 * same state.
+	 * 
+	 * @param paraRowLocks
+	 *            The locks shared by the agents, or null for no locking.
+	 ****************** 
+	 */
+	public void setRowLocks(Object[] paraRowLocks) {
+		rowLocks = paraRowLocks;
+	}// Of setRowLocks
+
 	/**
 	 ****************** 
 	 * Reset for the next run.
 	 ****************** 
 	 */
 	public void reset() {
-		for (int i = 0; i < qualityMatrix.length; i++) {
-			for (int j = 0; j < qualityMatrix[i].length; j++) {
-				qualityMatrix[i][j] = 0;
-			} // Of for j
-		} // Of for i
+		qualityTable.reset();
+		metrics.reset();
+		learnedEpisodes = 0;
 	}// Of reset
 
+	/**
+	 ****************** 
+	 * Save the quality table as a binary checkpoint. Only dense tables are
+	 * supported.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 * @throws IllegalStateException
+	 *             if the environment has sparse states, e.g., KInARow backed
+	 *             by HashQTable, or there are too many values.
+	 ****************** 
+	 */
+	public void saveCheckpoint(String paraFilename) throws IOException {
+		if (environment.hasSparseStates()) {
+			throw new IllegalStateException("QAgent: no checkpoint for the sparse states of "
+					+ environment.getClass().getSimpleName());
+		} // Of if
+		long tempNumValues = (long) numStates * numActions;
+		if (tempNumValues > Integer.MAX_VALUE) {
+			throw new IllegalStateException("QAgent: too many values for a checkpoint, "
+					+ numStates + " * " + numActions);
+		} // Of if
+		double[] tempValues = new double[(int) tempNumValues];
+		qualityTable.copyValues(tempValues);
+
+		Checkpoint tempCheckpoint = new Checkpoint(Checkpoint.QUALITY_TABLE,
+				environment.getClass().getSimpleName(), numStates, numActions);
+		tempCheckpoint.setHyperParameters(gamma, alpha, Double.NaN);
+		tempCheckpoint.setLayoutHash(environment.getLayoutHash());
+		tempCheckpoint.setNumEpisodes(learnedEpisodes);
+		tempCheckpoint.write(paraFilename, tempValues);
+	}// Of saveCheckpoint
+
+	/**
+	 ****************** 
+	 * Load a checkpoint saved by saveCheckpoint(). The file is mapped rather
+	 * than read, hence greedy routing can start at once without learning. The
+	 * mapping is private, so that learning may go on without changing the
+	 * file. A file without write permission is mapped read-only, and the
+	 * values are copied on the first change. The hyper-parameters of the
+	 * checkpoint are restored.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 * @throws IllegalArgumentException
+	 *             if the checkpoint does not match the environment, including
+	 *             its layout.
+	 ****************** 
+	 */
+	public void loadCheckpoint(String paraFilename) throws IOException {
+		Checkpoint tempCheckpoint = Checkpoint.map(paraFilename, true);
+		tempCheckpoint.checkCompatible(Checkpoint.QUALITY_TABLE,
+				environment.getClass().getSimpleName(), numStates, numActions,
+				environment.getLayoutHash());
+
+		qualityTable = new MappedQTable(tempCheckpoint);
+		gamma = tempCheckpoint.getGamma();
+		alpha = tempCheckpoint.getAlpha();
+		learnedEpisodes = tempCheckpoint.getNumEpisodes();
+	}// Of loadCheckpoint
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of episodes learned since the last reset.
+	 ****************** 
+	 */
+	public long getLearnedEpisodes() {
+		return learnedEpisodes;
+	}// Of getLearnedEpisodes
+
 	/**
 	 ****************** 
 	 * Learn.
@@ -85,27 +229,55 @@ public abstract class QAgent extends Agent {
 	 */
 	public void learn(int paraEpisodes) {
 		reset();
-		// SimpleTools.variableTracking = true;
+		continueLearning(paraEpisodes);
+	} // Of learn
 
-		rewardArray = new double[paraEpisodes];
-		stepsArray = new int[paraEpisodes];
+	/**
+	 ****************** 
+	 * Learn without resetting the quality table. Hence more than one agent can
+	 * learn on a shared table.
+	 * 
+	 * @param paraEpisodes
+	 *            The number of rounds.
+	 ****************** 
+	 */
+	public void continueLearning(int paraEpisodes) {
+		continueLearning(0, paraEpisodes);
+	} // Of continueLearning
+
+	/**
+	 ****************** 
+	 * Learn without resetting the quality table, where the episodes are
+	 * numbered from the given index. The index selects the random stream of
+	 * each episode if the context uses episode streams.
+	 * 
+	 * @param paraFirstEpisode
+	 *            The index of the first episode.
+	 * @param paraEpisodes
+	 *            The number of rounds.
+	 ****************** 
+	 */
+	public void continueLearning(int paraFirstEpisode, int paraEpisodes) {
+		// context.setVariableTracking(true);
 
 		// Step 1. Randomly pick a state as the start state.
 		int tempStartState = environment.getStartState();
 		int tempAction = 0, tempNextState;
+		double tempReward;
+		int tempSteps;
 
 		// Step 2. Run the given rounds.
-		int[] wallTimesArray = new int[paraEpisodes];
 		for (int i = 0; i < paraEpisodes; i++) {
-			SimpleTools.variableTrackingOutput("Episode " + i);
-			environment.reset();
-			Common.wallTimes = 0;
-			if (i == paraEpisodes - 1) {
-				SimpleTools.variableTracking = true;
+			if (context.isVariableTracking()) {
+				context.variableTrackingOutput("Episode " + i);
 			} // Of if
+			context.startEpisode(paraFirstEpisode + i);
+			environment.reset();
+			context.resetWallTimes();
 
 			// Step 2.1. Initialize. Each time start from the same state.
-			rewardArray[i] = 0;
+			tempReward = 0;
+			tempSteps = 0;
 			int tempCurrentState = tempStartState;
 
 			// System.out.print("\r\nStart: " + tempCurrentState);
@@ -114,86 +286,263 @@ public abstract class QAgent extends Agent {
 
 			// Step 2.2. Each time a final state should be reached.
 			while (!tempFinished) {
-				stepsArray[i]++;
+				tempSteps++;
+				context.addRunStep();
 				// State 2.2.1. Randomly go one valid step.
 				// The implementation depends on the quality value of actions.
 				int[] tempValidActions = environment.getValidActions();
-				try {
-					tempAction = selectAction(qualityMatrix[tempCurrentState], tempValidActions);
-				} catch (NoValidActionException ee) {
-					rewardArray[i] = Environment.PENALTY_VALUE;
+				qualityTable.copyRow(tempCurrentState, qualityRow);
+				tempAction = chooseAction(qualityRow, tempValidActions);
+				if (tempAction == NO_VALID_ACTION) {
+					tempReward = Environment.PENALTY_VALUE;
 					break;
-				} // Of try
-
-				try {
-					environment.step(tempAction);
-				} catch (IllegalActionException ee) {
-					System.out.println("QAgent: " + ee);
-					System.exit(0);
-				} // Of try
+				} // Of if
+
+				if (environment.tryStep(tempAction) != Environment.STEP_OK) {
+					throw new IllegalStateException("QAgent: the action " + tempAction
+							+ " is illegal in state " + tempCurrentState);
+				} // Of if
 				tempNextState = environment.getCurrentState();
-				rewardArray[i] += environment.getCurrentReward();
+				tempReward += environment.getCurrentReward();
 				tempFinished = environment.isFinished();
 
-				// SimpleTools.variableTrackingOutput("Finished? " +
+				// context.variableTrackingOutput("Finished? " +
 				// tempFinished);
 
-				// Step 2.2.2. Calculate the best future reward according to the
-				// quality matrix.
-				double tempMaxFutureReward = 0;
-				double tempFutureReward;
-				tempValidActions = environment.getValidActions(tempNextState);
-
-				for (int j = 0; j < tempValidActions.length; j++) {
-					tempFutureReward = qualityMatrix[tempNextState][tempValidActions[j]];
-					if (tempMaxFutureReward < tempFutureReward) {
-						tempMaxFutureReward = tempFutureReward;
-					} // Of if
-				} // Of for j
-
-				// Step 2.2.3. Update the quality matrix.
-				// The use of gamma and alpha might not be correct.
-				double tempReward = environment.getCurrentReward();
-				if (tempReward == Environment.PENALTY_VALUE) {
-					// Do not go to this trap next time
-					qualityMatrix[tempCurrentState][tempAction] = tempReward;
+				// Step 2.2.2. Update the quality matrix.
+				if (rowLocks == null) {
+					updateQuality(tempCurrentState, tempAction, tempNextState);
 				} else {
-					//Core code.
-					double tempChange = tempReward + gamma * tempMaxFutureReward - qualityMatrix[tempCurrentState][tempAction];
-					//double tempDelta = tempReward + gamma * tempMaxFutureReward;
-					double tempOldQuality = qualityMatrix[tempCurrentState][tempAction];
-					//qualityMatrix[tempCurrentState][tempAction] = tempOldQuality
-					//		+ alpha * (tempDelta - tempOldQuality);
-					qualityMatrix[tempCurrentState][tempAction] += alpha * tempChange;
+					synchronized (rowLocks[tempCurrentState % rowLocks.length]) {
+						updateQuality(tempCurrentState, tempAction, tempNextState);
+					} // Of synchronized
 				} // Of if
 
-				// Step 2.2.4. Prepare for the next step.
+				// Step 2.2.3. Prepare for the next step.
 				tempCurrentState = tempNextState;
 			} // Of while
 
-			wallTimesArray[i] = Common.wallTimes;
-			SimpleTools.variableTrackingOutput("The environment is: " + environment.toString());
+			metrics.addEpisode(tempReward, tempSteps, context.getWallTimes());
+			if (context.isVariableTracking()) {
+				context.variableTrackingOutput("The environment is: " + environment.toString());
+			} // Of if
 		} // Of for i
+		learnedEpisodes += paraEpisodes;
 
-		//System.out.println("Wall times: " + Arrays.toString(wallTimesArray));
 		//System.out.println("\r\nFinally, Q = " + Arrays.deepToString(qualityMatrix));
-	} // Of learn
+	} // Of continueLearning
+
+	/**
+	 ****************** 
+	 * Learn in batches, i.e., advance the given number of copies of the
+	 * environment together.
+	 * 
+	 * @param paraNumLanes
+	 *            The number of copies.
+	 * @param paraEpisodes
+	 *            The number of rounds.
+	 ****************** 
+	 */
+	public void learnBatched(int paraNumLanes, int paraEpisodes) {
+		reset();
+		continueLearningBatched(environment.createVectorEnvironment(paraNumLanes), paraEpisodes);
+	} // Of learnBatched
+
+	/**
+	 ****************** 
+	 * Learn in batches without resetting the quality table. In each round,
+	 * an action is chosen for every lane, all lanes are advanced by one call,
+	 * and then the qualities are updated lane by lane. Episodes are
+	 * interleaved, hence the random stream of the context is consumed in turn
+	 * rather than restarted for each episode. Exactly the given number of
+	 * episodes are finished: lanes are left idle once enough episodes have
+	 * started.
+	 * 
+	 * @param paraEnvironment
+	 *            The batched environment. Its states and actions should be
+	 *            those of the environment of the agent.
+	 * @param paraEpisodes
+	 *            The number of rounds.
+	 ****************** 
+	 */
+	public void continueLearningBatched(VectorEnvironment paraEnvironment, int paraEpisodes) {
+		if (paraEnvironment.getNumStates() != numStates
+				|| paraEnvironment.getNumActions() != numActions) {
+			throw new IllegalArgumentException("QAgent: the batched environment has "
+					+ paraEnvironment.getNumStates() + " states and "
+					+ paraEnvironment.getNumActions() + " actions, while " + numStates
+					+ " and " + numActions + " are expected.");
+		} // Of if
+
+		// Step 1. Start as many episodes as possible.
+		paraEnvironment.reset();
+		int tempNumLanes = paraEnvironment.getNumLanes();
+		int[] tempStates = paraEnvironment.getStates();
+		int[] tempPreviousStates = paraEnvironment.getPreviousStates();
+		int[] tempNextStates = paraEnvironment.getNextStates();
+		int[] tempRewards = paraEnvironment.getRewards();
+		boolean[] tempDone = paraEnvironment.getDone();
+		int[] tempActions = new int[tempNumLanes];
+		boolean[] tempActive = new boolean[tempNumLanes];
+		int tempStarted = 0;
+		for (int i = 0; i < tempNumLanes && tempStarted < paraEpisodes; i++) {
+			tempActive[i] = true;
+			tempStarted++;
+		} // Of for i
+
+		// Step 2. Advance all lanes until enough episodes are finished.
+		int tempFinished = 0;
+		int tempState, tempAction;
+		while (tempFinished < paraEpisodes) {
+			// Step 2.1. Choose actions.
+			for (int i = 0; i < tempNumLanes; i++) {
+				if (!tempActive[i]) {
+					tempActions[i] = VectorEnvironment.SKIP_LANE;
+					continue;
+				} // Of if
+
+				context.addRunStep();
+				tempState = tempStates[i];
+				qualityTable.copyRow(tempState, qualityRow);
+				tempAction = chooseAction(qualityRow, paraEnvironment.getValidActions(tempState));
+				if (tempAction == NO_VALID_ACTION) {
+					// The penalty replaces the reward of the episode, as above.
+					tempAction = VectorEnvironment.NO_ACTION;
+				} // Of if
+				tempActions[i] = tempAction;
+			} // Of for i
+
+			// Step 2.2. Advance.
+			paraEnvironment.step(tempActions);
+
+			// Step 2.3. Update the quality matrix and finish episodes.
+			for (int i = 0; i < tempNumLanes; i++) {
+				if (!tempActive[i]) {
+					continue;
+				} // Of if
+
+				tempAction = tempActions[i];
+				if (tempAction >= 0) {
+					tempState = tempPreviousStates[i];
+					if (rowLocks == null) {
+						updateQuality(tempState, tempAction, tempRewards[i], tempNextStates[i],
+								paraEnvironment.getValidActions(tempNextStates[i]));
+					} else {
+						synchronized (rowLocks[tempState % rowLocks.length]) {
+							updateQuality(tempState, tempAction, tempRewards[i],
+									tempNextStates[i],
+									paraEnvironment.getValidActions(tempNextStates[i]));
+						} // Of synchronized
+					} // Of if
+				} // Of if
+
+				if (tempDone[i]) {
+					metrics.addEpisode(paraEnvironment.getEpisodeReward(i),
+							paraEnvironment.getEpisodeSteps(i), paraEnvironment.getWallTimes(i));
+					tempFinished++;
+					if (tempStarted < paraEpisodes) {
+						tempStarted++;
+					} else {
+						tempActive[i] = false;
+					} // Of if
+				} // Of if
+			} // Of for i
+		} // Of while
+		learnedEpisodes += paraEpisodes;
+	} // Of continueLearningBatched
 
 	/**
 	 ****************** 
-	 * Select an action according to the given rewards. Random selection.
+	 * Update the quality of the given pair after the step.
+	 * 
+	 * @param paraState
+	 *            The state before the step.
+	 * @param paraAction
+	 *            The action.
+	 * @param paraNextState
+	 *            The state after the step.
+	 ****************** 
+	 */
+	void updateQuality(int paraState, int paraAction, int paraNextState) {
+		updateQuality(paraState, paraAction, environment.getCurrentReward(), paraNextState,
+				environment.getValidActions(paraNextState));
+	}// Of updateQuality
+
+	/**
+	 ****************** 
+	 * Update the quality of the given pair with the given reward, which is
+	 * not read from the environment. Hence it also serves batched learning.
+	 * 
+	 * @param paraState
+	 *            The state before the step.
+	 * @param paraAction
+	 *            The action.
+	 * @param paraReward
+	 *            The reward of the step.
+	 * @param paraNextState
+	 *            The state after the step.
+	 * @param paraNextValidActions
+	 *            The valid actions of the next state.
+	 ****************** 
+	 */
+	void updateQuality(int paraState, int paraAction, double paraReward, int paraNextState,
+			int[] paraNextValidActions) {
+		// Step 1. Calculate the best future reward according to the quality
+		// matrix.
+		double tempMaxFutureReward = qualityTable.getMaxValue(paraNextState,
+				paraNextValidActions, 0);
+
+		// Step 2. Update.
+		// The use of gamma and alpha might not be correct.
+		double tempReward = paraReward;
+		if (tempReward == Environment.PENALTY_VALUE) {
+			// Do not go to this trap next time
+			qualityTable.setValue(paraState, paraAction, tempReward);
+		} else {
+			//Core code.
+			double tempChange = tempReward + gamma * tempMaxFutureReward
+					- qualityTable.getValue(paraState, paraAction);
+			qualityTable.addValue(paraState, paraAction, alpha * tempChange);
+		} // Of if
+	}// Of updateQuality
+
+	/**
+	 ****************** 
+	 * Choose an action according to the given rewards. No exception is thrown,
+	 * hence it is appropriate for the learning loop.
+	 * 
+	 * @param paraRewardArray
+	 *            The given reward array.
+	 * @param paraValidActions
+	 *            The valid actions.
+	 * @return The chosen action, or NO_VALID_ACTION if no action can be chosen.
+	 ****************** 
+	 */
+	public abstract int chooseAction(double[] paraRewardArray, int[] paraValidActions);
+
+	/**
+	 ****************** 
+	 * Select an action according to the given rewards.
 	 * 
 	 * @param paraRewardArray
 	 *            The given reward array.
 	 * @param paraValidActions
 	 *            The valid actions.
 	 * @return The selected action.
-	 * @throws Exception
+	 * @throws NoValidActionException
 	 *             if no valid action exists.
+	 * @see #chooseAction(double[], int[])
 	 ****************** 
 	 */
-	public abstract int selectAction(double[] paraRewardArray, int[] paraValidActions)
-			throws NoValidActionException;
+	public int selectAction(double[] paraRewardArray, int[] paraValidActions)
+			throws NoValidActionException {
+		int resultAction = chooseAction(paraRewardArray, paraValidActions);
+		if (resultAction == NO_VALID_ACTION) {
+			throw new NoValidActionException("No action to choose at all.");
+		} // Of if
+
+		return resultAction;
+	}// Of selectAction
 
 	/**
 	 ****************** 
@@ -203,11 +552,12 @@ public abstract class QAgent extends Agent {
 	 *            The start state.
 	 * @return The route information.
 	 * @throws Exception
-	 *             if any.
+	 *             if the route does not finish within numStates states.
 	 ****************** 
 	 */
 	public int[] greedyRouting(int paraStartState) throws Exception {
-		int[] tempCurrentRoute = new int[qualityMatrix.length];
+		// The route grows as needed, since the number of states may be huge.
+		int[] tempCurrentRoute = new int[16];
 		// if (environment.isTrapState(paraStartState)) {
 		// throw new Exception("State " + paraStartState + " is a trap state.");
 		// } // Of if
@@ -231,10 +581,10 @@ public abstract class QAgent extends Agent {
 			// Choose the current best move.
 			for (int i = 0; i < environment.getValidActions(tempCurrentState).length; i++) {
 				tempAction = environment.getValidActions(tempCurrentState)[i];
-				if (tempMax < qualityMatrix[tempCurrentState][tempAction]) {
-					tempMax = qualityMatrix[tempCurrentState][tempAction];
+				if (tempMax < qualityTable.getValue(tempCurrentState, tempAction)) {
+					tempMax = qualityTable.getValue(tempCurrentState, tempAction);
 					tempBestAction = tempAction;
-					tempNextState = environment.transitionMatrix[tempCurrentState][tempAction];
+					tempNextState = environment.getNextState(tempCurrentState, tempAction);
 				} // Of if
 			} // Of for i
 
@@ -243,6 +593,13 @@ public abstract class QAgent extends Agent {
 
 			// Prepare for the next state.
 			tempCurrentState = tempNextState;
+			if (tempCurrentRouteLength == numStates) {
+				throw new Exception("QAgent: the greedy route from " + paraStartState
+						+ " does not finish within " + numStates + " states.");
+			} // Of if
+			if (tempCurrentRouteLength == tempCurrentRoute.length) {
+				tempCurrentRoute = Arrays.copyOf(tempCurrentRoute, tempCurrentRouteLength * 2);
+			} // Of if
 			tempCurrentRoute[tempCurrentRouteLength] = tempCurrentState;
 			tempCurrentRouteLength++;
 		} // Of while
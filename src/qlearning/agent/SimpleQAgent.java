@@ -2,7 +2,6 @@ package qlearning.agent;
 
 import qlearning.environment.Maze;
 
-import qlearning.action.NoValidActionException;
 import qlearning.environment.Environment;
 
 /**
@@ -35,24 +34,25 @@ public class SimpleQAgent extends QAgent {
 
 	/**
 	 ****************** 
-	 * Select an action according to the given rewards. Random selection.
+	 * Choose an action according to the given rewards. Random selection.
 	 * 
 	 * @param paraRewardArray
 	 *            The given reward array.
 	 * @param paraValidActions
 	 *            The valid actions.
-	 * @return The selected action.
+	 * @return The chosen action, or NO_VALID_ACTION if there is no valid
+	 *         action.
 	 ****************** 
 	 */
-	public int selectAction(double[] paraRewardArray, int[] paraValidActions) throws NoValidActionException{
+	public int chooseAction(double[] paraRewardArray, int[] paraValidActions) {
 		if (paraValidActions.length == 0) {
-			throw new NoValidActionException("No action to choose at all.");
+			return NO_VALID_ACTION;
 		}//Of if
 		
-		int tempActionIndex = Environment.random.nextInt(paraValidActions.length);
+		int tempActionIndex = random.nextInt(paraValidActions.length);
 
 		return paraValidActions[tempActionIndex];
-	}// Of selectActionIndex
+	}// Of chooseAction
 
 	/**
 	 ****************** 
@@ -0,0 +1,264 @@
+package qlearning.agent;
+
+import qlearning.environment.*;
+import qlearning.table.EligibilityTraces;
+
+/**
+ * A Q-agent with eligibility traces, i.e., Watkins Q(lambda) or
+ * SARSA(lambda). The TD error of each step is propagated back to all recently
+ * visited pairs, hence the reward of a final state travels along a long
+ * corridor in one episode instead of one cell per episode. Actions are chosen
+ * with the weighted random approach. The traces are replacing ones, and kept
+ * sparse by EligibilityTraces.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class TraceQAgent extends WeightedRandomQAgent {
+
+	/**
+	 * Mode: Watkins Q(lambda). The target uses the best next action, and the
+	 * traces are cut after an exploratory action.
+	 */
+	public static final int WATKINS = 0;
+
+	/**
+	 * Mode: SARSA(lambda). The target uses the next action actually chosen.
+	 */
+	public static final int SARSA = 1;
+
+	/**
+	 * The default lambda value.
+	 */
+	public static final double DEFAULT_LAMBDA = 0.9;
+
+	/**
+	 * The mode, WATKINS or SARSA.
+	 */
+	int mode;
+
+	/**
+	 * The lambda value.
+	 */
+	double lambda;
+
+	/**
+	 * The eligibility traces of the current episode.
+	 */
+	EligibilityTraces traces;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraEnvironment
+	 *            The given environment.
+	 * @param paraMode
+	 *            The mode, WATKINS or SARSA.
+	 ****************** 
+	 */
+	public TraceQAgent(Environment paraEnvironment, int paraMode) {
+		super(paraEnvironment);
+		if (paraMode != WATKINS && paraMode != SARSA) {
+			throw new IllegalArgumentException("TraceQAgent: unsupported mode " + paraMode);
+		} // Of if
+		mode = paraMode;
+		lambda = DEFAULT_LAMBDA;
+		traces = new EligibilityTraces(EligibilityTraces.DEFAULT_THRESHOLD);
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraLambda
+	 *            The given lambda value in [0, 1]. 0 is one-step learning.
+	 ****************** 
+	 */
+	public void setLambda(double paraLambda) {
+		lambda = paraLambda;
+	}// Of setLambda
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The mode.
+	 ****************** 
+	 */
+	public int getMode() {
+		return mode;
+	}// Of getMode
+
+	/**
+	 ****************** 
+	 * Learn without resetting the quality table. The same as that of QAgent,
+	 * except that the next action is chosen before the update, and the update
+	 * goes through the traces.
+	 * 
+	 * @param paraFirstEpisode
+	 *            The index of the first episode.
+	 * @param paraEpisodes
+	 *            The number of rounds.
+	 ****************** 
+	 */
+	public void continueLearning(int paraFirstEpisode, int paraEpisodes) {
+		int tempStartState = environment.getStartState();
+		int tempCurrentState, tempAction, tempNextState, tempNextAction;
+		int[] tempNextValidActions;
+		double tempReward, tempStepReward, tempFuture, tempDecay;
+		int tempSteps;
+		boolean tempFinished;
+
+		for (int i = 0; i < paraEpisodes; i++) {
+			if (context.isVariableTracking()) {
+				context.variableTrackingOutput("Episode " + i);
+			} // Of if
+			context.startEpisode(paraFirstEpisode + i);
+			environment.reset();
+			context.resetWallTimes();
+			traces.clear();
+
+			// Step 1. Initialize, and choose the first action.
+			tempReward = 0;
+			tempSteps = 0;
+			tempCurrentState = tempStartState;
+			environment.setCurrentState(tempCurrentState);
+			qualityTable.copyRow(tempCurrentState, qualityRow);
+			tempAction = chooseAction(qualityRow, environment.getValidActions());
+			tempFinished = false;
+
+			// Step 2. Each time a final state should be reached.
+			while (!tempFinished) {
+				tempSteps++;
+				context.addRunStep();
+				if (tempAction == NO_VALID_ACTION) {
+					tempReward = Environment.PENALTY_VALUE;
+					break;
+				} // Of if
+
+				if (environment.tryStep(tempAction) != Environment.STEP_OK) {
+					throw new IllegalStateException("TraceQAgent: the action " + tempAction
+							+ " is illegal in state " + tempCurrentState);
+				} // Of if
+				tempNextState = environment.getCurrentState();
+				tempStepReward = environment.getCurrentReward();
+				tempReward += tempStepReward;
+				tempFinished = environment.isFinished();
+
+				// Step 2.1. A trap is marked directly as in QAgent, and the
+				// traces are left unchanged.
+				if (tempStepReward == Environment.PENALTY_VALUE) {
+					setValue(tempCurrentState, tempAction, Environment.PENALTY_VALUE);
+					tempCurrentState = tempNextState;
+					if (!tempFinished) {
+						qualityTable.copyRow(tempCurrentState, qualityRow);
+						tempAction = chooseAction(qualityRow, environment.getValidActions());
+					} // Of if
+					continue;
+				} // Of if
+
+				// Step 2.2. Choose the next action, and compute the target.
+				tempNextAction = NO_VALID_ACTION;
+				tempFuture = 0;
+				tempDecay = gamma * lambda;
+				if (!tempFinished) {
+					tempNextValidActions = environment.getValidActions();
+					qualityTable.copyRow(tempNextState, qualityRow);
+					tempNextAction = chooseAction(qualityRow, tempNextValidActions);
+					if (tempNextAction != NO_VALID_ACTION) {
+						if (mode == SARSA) {
+							tempFuture = qualityRow[tempNextAction];
+						} else {
+							// Unlike QAgent, the maximum is not floored at 0,
+							// neither for the target nor for the test of
+							// greedy actions. With a floored target, the
+							// values along the traces all reach -1 at once,
+							// and the walk before the first arrival is blind.
+							tempFuture = qualityTable.getMaxValue(tempNextState,
+									tempNextValidActions, -Double.MAX_VALUE);
+							if (qualityRow[tempNextAction] < tempFuture) {
+								// An exploratory action cuts the traces.
+								tempDecay = 0;
+							} // Of if
+						} // Of if
+					} // Of if
+				} // Of if
+
+				// Step 2.3. Update all pairs in the traces.
+				traces.update(qualityTable, tempCurrentState, tempAction,
+						alpha * (tempStepReward + gamma * tempFuture
+								- qualityTable.getValue(tempCurrentState, tempAction)),
+						tempDecay, rowLocks);
+
+				tempCurrentState = tempNextState;
+				tempAction = tempNextAction;
+			} // Of while
+
+			metrics.addEpisode(tempReward, tempSteps, context.getWallTimes());
+		} // Of for i
+		learnedEpisodes += paraEpisodes;
+	} // Of continueLearning
+
+	/**
+	 ****************** 
+	 * Set the value of a pair, locking the row if the table is shared.
+	 * 
+	 * @param paraState
+	 *            The state.
+	 * @param paraAction
+	 *            The action.
+	 * @param paraValue
+	 *            The value.
+	 ****************** 
+	 */
+	void setValue(int paraState, int paraAction, double paraValue) {
+		if (rowLocks == null) {
+			qualityTable.setValue(paraState, paraAction, paraValue);
+		} else {
+			synchronized (rowLocks[paraState % rowLocks.length]) {
+				qualityTable.setValue(paraState, paraAction, paraValue);
+			} // Of synchronized
+		} // Of if
+	}// Of setValue
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return (mode == WATKINS ? "Watkins Q(" : "SARSA(") + lambda + ") agent, "
+				+ traces.toString();
+	}// Of toString
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		Environment tempMaze = new Maze(Maze.generateComplexMaze());
+		tempMaze.setStartState(32);
+		for (int i = WATKINS; i <= SARSA; i++) {
+			TraceQAgent tempAgent = new TraceQAgent(tempMaze, i);
+			tempAgent.learn(500);
+			System.out.println(tempAgent + ", average reward: " + tempAgent.getAverageReward());
+			try {
+				System.out.println("Route length: " + (tempAgent.greedyRouting(32).length - 1));
+			} catch (Exception ee) {
+				System.out.println(ee);
+			} // Of try
+		} // Of for i
+	}// Of main
+
+} // Of class TraceQAgent
@@ -1,6 +1,7 @@
 package qlearning.agent;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import qlearning.action.NoValidActionException;
 import qlearning.environment.*;
@@ -24,6 +25,22 @@ public class WeightedRandomQAgent extends QAgent {
 	 */
 	public static final double PROBABILITY_MIN_VALUE = 0.02;
 
+	/**
+	 * Scratch buffer for the rewards of non-trap actions. Reused for each
+	 * selection to avoid allocation.
+	 */
+	double[] valueBuffer;
+
+	/**
+	 * Scratch buffer for the non-trap actions.
+	 */
+	int[] actionBuffer;
+
+	/**
+	 * Scratch buffer for the accumulated probabilities.
+	 */
+	double[] scaleBuffer;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -34,8 +51,30 @@ public class WeightedRandomQAgent extends QAgent {
 	 */
 	public WeightedRandomQAgent(Environment paraEnvironment) {
 		super(paraEnvironment);
+		valueBuffer = new double[numActions];
+		actionBuffer = new int[numActions];
+		scaleBuffer = new double[numActions];
 	}// Of the first constructor
 
+	/**
+	 ****************** 
+	 * Choose an action according to the given reward array. Actions
+	 * corresponding to trap states (which can be observed by the reward value)
+	 * will not be chosen.
+	 * 
+	 * @param paraRewardArray
+	 *            The given reward array.
+	 * @param paraValidActions
+	 *            The valid actions.
+	 * @return The chosen action, or NO_VALID_ACTION if all actions lead to
+	 *         traps.
+	 ****************** 
+	 */
+	public int chooseAction(double[] paraRewardArray, int[] paraValidActions) {
+		return chooseActionWeightedRandom(paraRewardArray, paraValidActions, random, valueBuffer,
+				actionBuffer, scaleBuffer);
+	}// Of chooseAction
+
 	/**
 	 ****************** 
 	 * Select an action according to the given reward array. Actions
@@ -52,72 +91,112 @@ public class WeightedRandomQAgent extends QAgent {
 	 *             choice.
 	 ****************** 
 	 */
-	public int selectAction(double[] paraRewardArray, int[] paraValidActions)
+	public static int selectActionWeightedRandom(double[] paraRewardArray, int[] paraValidActions)
 			throws NoValidActionException {
-		return selectActionWeightedRandom(paraRewardArray, paraValidActions);
-	}// Of selectAction
+		return selectActionWeightedRandom(paraRewardArray, paraValidActions, Environment.random);
+	}// Of selectActionWeightedRandom
 
 	/**
 	 ****************** 
-	 * Select an action according to the given reward array. Actions
-	 * corresponding to trap states (which can be observed by the reward value)
-	 * will not be selected.
+	 * Select an action according to the given reward array with the given
+	 * random object.
 	 * 
 	 * @param paraRewardArray
 	 *            The given reward array.
 	 * @param paraValidActions
 	 *            The valid actions.
+	 * @param paraRandom
+	 *            The random object.
 	 * @return The selected action.
 	 * @throws NoValidActionException
 	 *             Since some times the other blank will win regardless the
 	 *             choice.
 	 ****************** 
 	 */
-	public static int selectActionWeightedRandom(double[] paraRewardArray, int[] paraValidActions)
-			throws NoValidActionException {
-		// Step 1. Compress reward array.
-		double[] tempCompressedRewardArray = new double[paraValidActions.length];
-		for (int i = 0; i < tempCompressedRewardArray.length; i++) {
-			tempCompressedRewardArray[i] = paraRewardArray[paraValidActions[i]];
-		} // Of for i
+	public static int selectActionWeightedRandom(double[] paraRewardArray, int[] paraValidActions,
+			Random paraRandom) throws NoValidActionException {
+		int resultAction = chooseActionWeightedRandom(paraRewardArray, paraValidActions,
+				paraRandom);
+		if (resultAction == NO_VALID_ACTION) {
+			throw new NoValidActionException("No action to choose at all.");
+		} // Of if
+
+		return resultAction;
+	}// Of selectActionWeightedRandom
+
+	/**
+	 ****************** 
+	 * Choose an action according to the given reward array with the given
+	 * random object. No exception is thrown.
+	 * 
+	 * @param paraRewardArray
+	 *            The given reward array.
+	 * @param paraValidActions
+	 *            The valid actions.
+	 * @param paraRandom
+	 *            The random object.
+	 * @return The chosen action, or NO_VALID_ACTION if all actions lead to
+	 *         traps.
+	 ****************** 
+	 */
+	public static int chooseActionWeightedRandom(double[] paraRewardArray, int[] paraValidActions,
+			Random paraRandom) {
+		int tempLength = paraValidActions.length;
+		return chooseActionWeightedRandom(paraRewardArray, paraValidActions, paraRandom,
+				new double[tempLength], new int[tempLength], new double[tempLength]);
+	}// Of chooseActionWeightedRandom
 
-		// Step 2. Trap states are also invalid.
-		int tempNumInvalidActions = 0;
-		for (int i = 0; i < tempCompressedRewardArray.length; i++) {
-			if (tempCompressedRewardArray[i] < Environment.PENALTY_VALUE + 1e-6) {
-				tempNumInvalidActions++;
+	/**
+	 ****************** 
+	 * Choose an action according to the given reward array with the given
+	 * random object and scratch buffers. No array is allocated.
+	 * 
+	 * @param paraRewardArray
+	 *            The given reward array.
+	 * @param paraValidActions
+	 *            The valid actions.
+	 * @param paraRandom
+	 *            The random object.
+	 * @param paraValueBuffer
+	 *            Buffer for the rewards of non-trap actions, with length at
+	 *            least paraValidActions.length.
+	 * @param paraActionBuffer
+	 *            Buffer for the non-trap actions, with the same length.
+	 * @param paraScaleBuffer
+	 *            Buffer for the accumulated probabilities, with the same
+	 *            length.
+	 * @return The chosen action, or NO_VALID_ACTION if all actions lead to
+	 *         traps.
+	 ****************** 
+	 */
+	public static int chooseActionWeightedRandom(double[] paraRewardArray, int[] paraValidActions,
+			Random paraRandom, double[] paraValueBuffer, int[] paraActionBuffer,
+			double[] paraScaleBuffer) {
+		// Step 1. Compress reward array. Trap states are also invalid.
+		int tempNumValidActions = 0;
+		double tempReward;
+		for (int i = 0; i < paraValidActions.length; i++) {
+			tempReward = paraRewardArray[paraValidActions[i]];
+			if (tempReward >= Environment.PENALTY_VALUE + 1e-6) {
+				paraValueBuffer[tempNumValidActions] = tempReward;
+				paraActionBuffer[tempNumValidActions] = paraValidActions[i];
+				tempNumValidActions++;
 			} // Of if
 		} // Of for i
 
-		// Step 3. Construct new arrays if necessary.
-		double[] tempValidRewardArray = tempCompressedRewardArray;
-		int[] tempValidActions = paraValidActions;
-		if (tempNumInvalidActions > 0) {
-			int tempNewLength = tempCompressedRewardArray.length - tempNumInvalidActions;
-			if (tempNewLength == 0) {
-				throw new NoValidActionException("No action to choose at all.");
-			} // Of if
-			tempValidRewardArray = new double[tempNewLength];
-			tempValidActions = new int[tempNewLength];
-
-			int tempCounter = 0;
-			for (int i = 0; i < tempCompressedRewardArray.length; i++) {
-				if (tempCompressedRewardArray[i] >= Environment.PENALTY_VALUE + 1e-6) {
-					tempValidRewardArray[tempCounter] = tempCompressedRewardArray[i];
-					tempValidActions[tempCounter] = paraValidActions[i];
-					tempCounter++;
-				} // Of if
-			} // Of for i
+		if (tempNumValidActions == 0) {
+			return NO_VALID_ACTION;
 		} // Of if
 
-		// Step 4. Compute an random index according to the valid reward array.
-		int tempIndex = getWeightedRandomIndex(tempValidRewardArray, PROBABILITY_MIN_VALUE);
+		// Step 2. Compute an random index according to the valid reward array.
+		int tempIndex = getWeightedRandomIndex(paraValueBuffer, tempNumValidActions,
+				PROBABILITY_MIN_VALUE, paraRandom, paraScaleBuffer);
 
-		// Step 5. The action corresponds to the index.
-		int resultBestAction = tempValidActions[tempIndex];
+		// Step 3. The action corresponds to the index.
+		int resultBestAction = paraActionBuffer[tempIndex];
 
 		return resultBestAction;
-	}// Of selectActionWeightedRandom
+	}// Of chooseActionWeightedRandom
 
 	/**
 	 ****************** 
@@ -157,11 +236,56 @@ public class WeightedRandomQAgent extends QAgent {
 	 ****************** 
 	 */
 	public static int getWeightedRandomIndex(double[] paraArray, double paraMinValue) {
+		return getWeightedRandomIndex(paraArray, paraMinValue, Environment.random);
+	}// Of getWeightedRandomIndex
+
+	/**
+	 ****************** 
+	 * Get an index of the array with the given random object.
+	 * 
+	 * @param paraArray
+	 *            The given array.
+	 * @param paraMinValue
+	 *            The minimal possible value to avoid probability 0 of the
+	 *            samllest one.
+	 * @param paraRandom
+	 *            The random object.
+	 * @return An index of the array.
+	 ****************** 
+	 */
+	public static int getWeightedRandomIndex(double[] paraArray, double paraMinValue,
+			Random paraRandom) {
+		return getWeightedRandomIndex(paraArray, paraArray.length, paraMinValue, paraRandom,
+				new double[paraArray.length]);
+	}// Of getWeightedRandomIndex
+
+	/**
+	 ****************** 
+	 * Get an index among the first elements of the array with the given
+	 * random object and scratch buffer. No array is allocated.
+	 * 
+	 * @param paraArray
+	 *            The given array.
+	 * @param paraLength
+	 *            Only the first paraLength elements are considered.
+	 * @param paraMinValue
+	 *            The minimal possible value to avoid probability 0 of the
+	 *            samllest one.
+	 * @param paraRandom
+	 *            The random object.
+	 * @param paraScaleBuffer
+	 *            Buffer for the accumulated probabilities, with length at least
+	 *            paraLength.
+	 * @return An index of the array.
+	 ****************** 
+	 */
+	public static int getWeightedRandomIndex(double[] paraArray, int paraLength,
+			double paraMinValue, Random paraRandom, double[] paraScaleBuffer) {
 		// Step 1. Scan the first time to obtain max/min/total values.
 		double tempMax = -Double.MAX_VALUE;
 		double tempMin = Double.MAX_VALUE;
 		double tempTotal = 0;
-		for (int i = 0; i < paraArray.length; i++) {
+		for (int i = 0; i < paraLength; i++) {
 			if (tempMax < paraArray[i]) {
 				tempMax = paraArray[i];
 			} // Of if
@@ -177,27 +301,25 @@ public class WeightedRandomQAgent extends QAgent {
 		} // Of if
 
 		// Step 2. Calculate their probabilities.
-		double[] tempArray = new double[paraArray.length];
-		for (int i = 0; i < paraArray.length; i++) {
-			tempArray[i] = paraMinValue + (paraArray[i] - tempMin) / (tempMax - tempMin);
+		for (int i = 0; i < paraLength; i++) {
+			paraScaleBuffer[i] = paraMinValue + (paraArray[i] - tempMin) / (tempMax - tempMin);
 
-			tempTotal += tempArray[i];
+			tempTotal += paraScaleBuffer[i];
 		} // Of for i
 
-		// Step 3. Divide [0, 1] into a number of sections.
-		double[] tempScaleTotal = new double[tempArray.length];
+		// Step 3. Divide [0, 1] into a number of sections, in place.
 		double tempSum = 0;
-		for (int i = 0; i < tempArray.length; i++) {
-			tempSum += tempArray[i] / tempTotal;
-			tempScaleTotal[i] = tempSum;
+		for (int i = 0; i < paraLength; i++) {
+			tempSum += paraScaleBuffer[i] / tempTotal;
+			paraScaleBuffer[i] = tempSum;
 		} // Of for i
 
-		// Step 3. Choose one.
-		double tempRandom = Environment.random.nextDouble();
+		// Step 4. Choose one.
+		double tempRandom = paraRandom.nextDouble();
 		// Important: Initialize as 0 instead of -1.
 		int resultIndex = 0;
-		for (int i = 0; i < tempScaleTotal.length; i++) {
-			if (tempRandom <= tempScaleTotal[i]) {
+		for (int i = 0; i < paraLength; i++) {
+			if (tempRandom <= paraScaleBuffer[i]) {
 				resultIndex = i;
 				break;
 			} // Of if
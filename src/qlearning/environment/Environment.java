@@ -2,6 +2,7 @@ package qlearning.environment;
 
 import java.util.Random;
 
+import common.RunContext;
 //import action.ActionSpace;
 import qlearning.action.IllegalActionException;
 
@@ -13,8 +14,8 @@ import qlearning.action.IllegalActionException;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 16, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.2
  */
 
 public abstract class Environment {
@@ -23,6 +24,11 @@ public abstract class Environment {
 	 */
 	public static Random random = new Random();
 
+	/**
+	 * The context of the current run. It is shared by the agents.
+	 */
+	RunContext context = new RunContext();
+
 	/**
 	 * Number of states.
 	 */
@@ -64,7 +70,17 @@ public abstract class Environment {
 	 * The penalty for lose, reaching the trap state, etc.
 	 */
 	public static final int PENALTY_VALUE = -100;
-	
+
+	/**
+	 * Step status: the action is taken.
+	 */
+	public static final int STEP_OK = 0;
+
+	/**
+	 * Step status: the action is illegal and nothing is changed.
+	 */
+	public static final int STEP_ILLEGAL_ACTION = 1;
+
 	/**
 	 * The current reward with the action just taken.
 	 */
@@ -92,6 +108,55 @@ public abstract class Environment {
 		return numStates;
 	}// Of getNumStates
 
+	/**
+	 ****************** 
+	 * Are the states sparse? If so, states are assigned when visited, the
+	 * number of states only counts the visited ones, and the agents should not
+	 * allocate arrays indexed by states.
+	 * 
+	 * @return False for environments with a fixed number of states.
+	 ****************** 
+	 */
+	public boolean hasSparseStates() {
+		return false;
+	}// Of hasSparseStates
+
+	/**
+	 ****************** 
+	 * Get a hash of the layout, so that checkpoints of environments of the
+	 * same size but different layouts are told apart.
+	 * 
+	 * @return 0 for environments with a fixed layout.
+	 ****************** 
+	 */
+	public int getLayoutHash() {
+		return 0;
+	}// Of getLayoutHash
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The context of the current run.
+	 ****************** 
+	 */
+	public RunContext getContext() {
+		return context;
+	}// Of getContext
+
+	/**
+	 ****************** 
+	 * Setter. It should be called before the agents are created, or the
+	 * agents should be given the same context.
+	 * 
+	 * @param paraContext
+	 *            The context of the current run.
+	 ****************** 
+	 */
+	public void setContext(RunContext paraContext) {
+		context = paraContext;
+	}// Of setContext
+
 	/**
 	 ****************** 
 	 * Getter.
@@ -184,6 +249,22 @@ public abstract class Environment {
 		return validActions[paraState];
 	}// Of getValidActions
 
+	/**
+	 ****************** 
+	 * Get the next state of the given state and action without stepping. It
+	 * is looked up in the transition matrix by default.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The next state, or -1 if the action is invalid.
+	 ****************** 
+	 */
+	public int getNextState(int paraState, int paraAction) {
+		return transitionMatrix[paraState][paraAction];
+	}// Of getNextState
+
 	/**
 	 ****************** 
 	 * Getter.
@@ -222,6 +303,21 @@ public abstract class Environment {
 	 */
 	public abstract int getStateRewardValue(int paraState);
 
+	/**
+	 ****************** 
+	 * Go one step with the given action. The new state and the reward should be
+	 * retrieved using other methods. No exception is thrown, hence it is
+	 * appropriate for the learning loop.
+	 * 
+	 * @param paraAction
+	 *            The given action.
+	 * @return STEP_OK, or STEP_ILLEGAL_ACTION if the action is illegal.
+	 * @see #getCurrentState()
+	 * @see #getCurrentReward()
+	 ****************** 
+	 */
+	public abstract int tryStep(int paraAction);
+
 	/**
 	 ****************** 
 	 * Go one step with the given action. The new state and the reward should be
@@ -229,13 +325,32 @@ public abstract class Environment {
 	 * 
 	 * @param paraAction
 	 *            The given action.
-	 * @return Whether or not the process comes an end.
 	 * @throws IllegalActionException
 	 *             if the action is illegal.
-	 * @see #getCurrentState()
-	 * @see #getCurrentReward()
+	 * @see #tryStep(int)
+	 ****************** 
+	 */
+	public void step(int paraAction) throws IllegalActionException {
+		if (tryStep(paraAction) == STEP_ILLEGAL_ACTION) {
+			throw new IllegalActionException(
+					"The action " + paraAction + " is illegal in state " + currentState);
+		} // Of if
+	}// Of step
+
+	/**
+	 ****************** 
+	 * Create a batch of copies of this environment advanced in one call.
+	 * 
+	 * @param paraNumLanes
+	 *            The number of copies.
+	 * @return The batch.
+	 * @throws UnsupportedOperationException
+	 *             if the environment has no batched version.
 	 ****************** 
 	 */
-	public abstract void step(int paraAction) throws IllegalActionException;
+	public VectorEnvironment createVectorEnvironment(int paraNumLanes) {
+		throw new UnsupportedOperationException(
+				getClass().getSimpleName() + " has no batched version.");
+	}// Of createVectorEnvironment
 
 } // Of class Environment
@@ -0,0 +1,480 @@
+package qlearning.environment;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The environment of k-in-a-row games on an NxN checkerboard, e.g.,
+ * tic-tac-toe (3, 3) and Gomoku (15, 5). Each cell takes 2 bits of a packed
+ * long array, and the Zobrist hash of the packed state is updated
+ * incrementally. States are assigned dense IDs when visited, hence the memory
+ * grows with the visited states rather than 3^(N*N).<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class KInARow extends CompetitionEnvironment {
+
+	/**
+	 * The seed of the Zobrist table. It is fixed so that hashes are
+	 * reproducible.
+	 */
+	public static final long ZOBRIST_SEED = 20200820L;
+
+	/**
+	 * The directions to check: horizontal, vertical, and two slopes.
+	 */
+	static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+	/**
+	 * The number of pieces in a row to win.
+	 */
+	int winLength;
+
+	/**
+	 * The number of cells, N*N.
+	 */
+	int numCells;
+
+	/**
+	 * The number of pieces on the checkerboard.
+	 */
+	int numPieces;
+
+	/**
+	 * The packed current state, 2 bits per cell.
+	 */
+	long[] currentKey;
+
+	/**
+	 * The Zobrist hash of the current state.
+	 */
+	long currentHash;
+
+	/**
+	 * The random value of each (cell, player) pair. The value of (i, player) is
+	 * stored at i * 2 + player - 1.
+	 */
+	long[] zobristTable;
+
+	/**
+	 * The IDs of visited states.
+	 */
+	PackedStateDictionary dictionary;
+
+	/**
+	 * The game situation of each visited state.
+	 */
+	byte[] situationArray;
+
+	/**
+	 * The valid actions of the current state. Null if not computed yet.
+	 */
+	int[] currentValidActions;
+
+	/**
+	 * For decoding states other than the current one.
+	 */
+	long[] keyBuffer;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraSize
+	 *            The checkerboard size N.
+	 * @param paraWinLength
+	 *            The number of pieces in a row to win.
+	 ****************** 
+	 */
+	public KInARow(int paraSize, int paraWinLength) {
+		if (paraWinLength > paraSize || paraWinLength < 1) {
+			throw new IllegalArgumentException(
+					"Illegal win length " + paraWinLength + " for size " + paraSize);
+		} // Of if
+
+		checkerboardSize = paraSize;
+		winLength = paraWinLength;
+		numCells = paraSize * paraSize;
+		checkerboard = new int[checkerboardSize][checkerboardSize];
+		numActions = numCells;
+
+		// 2 bits per cell, 32 cells per word.
+		int tempNumWords = (numCells + 31) / 32;
+		currentKey = new long[tempNumWords];
+		keyBuffer = new long[tempNumWords];
+		dictionary = new PackedStateDictionary(tempNumWords);
+		situationArray = new byte[1024];
+
+		Random tempRandom = new Random(ZOBRIST_SEED);
+		zobristTable = new long[numCells * 2];
+		for (int i = 0; i < zobristTable.length; i++) {
+			zobristTable[i] = tempRandom.nextLong();
+		} // Of for i
+
+		reset();
+		// The empty checkerboard always has ID 0.
+		startState = currentState;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * States are assigned when visited.
+	 * 
+	 * @return True.
+	 ****************** 
+	 */
+	public boolean hasSparseStates() {
+		return true;
+	}// Of hasSparseStates
+
+	/**
+	 ****************** 
+	 * Reset the game.
+	 ****************** 
+	 */
+	public void reset() {
+		for (int i = 0; i < checkerboardSize; i++) {
+			Arrays.fill(checkerboard[i], EMPTY);
+		} // Of for i
+		Arrays.fill(currentKey, 0);
+		currentHash = 0;
+		numPieces = 0;
+		gameSituation = UNFINISHED;
+		currentReward = 0;
+		currentState = getOrAddState();
+
+		// White first
+		currentPlayer = FIRST;
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Get the ID of the current state. A new ID is assigned if it is not
+	 * visited before.
+	 * 
+	 * @return The ID.
+	 ****************** 
+	 */
+	private int getOrAddState() {
+		int resultId = dictionary.getOrAddId(currentKey, currentHash);
+		if (resultId == numStates) {
+			if (resultId == situationArray.length) {
+				situationArray = Arrays.copyOf(situationArray, situationArray.length * 2);
+			} // Of if
+			situationArray[resultId] = (byte) gameSituation;
+			numStates++;
+		} // Of if
+		currentValidActions = null;
+
+		return resultId;
+	}// Of getOrAddState
+
+	/**
+	 ****************** 
+	 * Get the game situation.
+	 * 
+	 * @return The game situation.
+	 ****************** 
+	 */
+	public int getGameSituation() {
+		return gameSituation;
+	}// Of getGameSituation
+
+	/**
+	 ****************** 
+	 * Is the current state a final state?
+	 * 
+	 * @return True if it is.
+	 ****************** 
+	 */
+	public boolean isFinished() {
+		return gameSituation != UNFINISHED;
+	}// Of isFinished
+
+	/**
+	 ****************** 
+	 * Get the winner.
+	 * 
+	 * @return The game situation.
+	 * @throws Exception
+	 *             if the game is unfinished.
+	 ****************** 
+	 */
+	public int getWinner() throws Exception {
+		if (gameSituation == UNFINISHED) {
+			throw new Exception("Game unfinished yet, cannot get winner.");
+		} // Of if
+
+		winner = gameSituation;
+		return winner;
+	}// Of getWinner
+
+	/**
+	 ****************** 
+	 * Get the player of the given cell in a packed state.
+	 * 
+	 * @param paraKey
+	 *            The packed state.
+	 * @param paraCell
+	 *            The cell.
+	 * @return EMPTY, FIRST, or SECOND.
+	 ****************** 
+	 */
+	static int getCell(long[] paraKey, int paraCell) {
+		return (int) (paraKey[paraCell >>> 5] >>> ((paraCell & 31) << 1)) & 3;
+	}// Of getCell
+
+	/**
+	 ****************** 
+	 * Get valid actions of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state, which should be visited.
+	 * @return The actions. The array of the current state is shared, so the
+	 *         users should not change it.
+	 ****************** 
+	 */
+	public int[] getValidActions(int paraState) {
+		if (paraState == currentState) {
+			if (currentValidActions == null) {
+				currentValidActions = computeValidActions(currentKey);
+			} // Of if
+			return currentValidActions;
+		} // Of if
+
+		dictionary.copyKey(paraState, keyBuffer);
+		return computeValidActions(keyBuffer);
+	}// Of getValidActions
+
+	/**
+	 ****************** 
+	 * Compute valid actions of the given packed state.
+	 * 
+	 * @param paraKey
+	 *            The packed state.
+	 * @return The empty cells.
+	 ****************** 
+	 */
+	private int[] computeValidActions(long[] paraKey) {
+		int tempNumPieces = 0;
+		for (int i = 0; i < paraKey.length; i++) {
+			tempNumPieces += Long.bitCount(paraKey[i]);
+		} // Of for i
+
+		int[] resultActions = new int[numCells - tempNumPieces];
+		int tempLength = 0;
+		for (int i = 0; i < numCells; i++) {
+			if (getCell(paraKey, i) == EMPTY) {
+				resultActions[tempLength] = i;
+				tempLength++;
+			} // Of if
+		} // Of for i
+
+		return resultActions;
+	}// Of computeValidActions
+
+	/**
+	 ****************** 
+	 * Get state reward value.
+	 * 
+	 * @param paraState
+	 *            The given state, which should be visited.
+	 * @return The reward value for the state.
+	 ****************** 
+	 */
+	public int getStateRewardValue(int paraState) {
+		switch (situationArray[paraState]) {
+		case WIN:
+			return 1;
+		case LOSE:
+			return -1;
+		default:
+			return 0;
+		}// Of switch
+	}// Of getStateRewardValue
+
+	/**
+	 ****************** 
+	 * Go one step with the given action. No exception is thrown.
+	 * 
+	 * @param paraAction
+	 *            The given action. It is the cell chosen by the player.
+	 * @return STEP_OK, or STEP_ILLEGAL_ACTION if the cell is already occupied.
+	 ****************** 
+	 */
+	public int tryStep(int paraAction) {
+		// Step 1. Is this action legal?
+		int tempRow = paraAction / checkerboardSize;
+		int tempColumn = paraAction % checkerboardSize;
+		if (checkerboard[tempRow][tempColumn] != EMPTY) {
+			return STEP_ILLEGAL_ACTION;
+		} // Of if
+
+		// Step 2. Change the checkerboard, the packed state and the hash.
+		if (context.isVariableTracking()) {
+			context.variableTrackingOutput("Assign " + currentPlayer + " to (" + tempRow
+					+ ", " + tempColumn + ").");
+		} // Of if
+		checkerboard[tempRow][tempColumn] = currentPlayer;
+		currentKey[paraAction >>> 5] |= (long) currentPlayer << ((paraAction & 31) << 1);
+		currentHash ^= zobristTable[paraAction * 2 + currentPlayer - 1];
+		numPieces++;
+
+		// Step 3. Only the lines through this cell are checked.
+		if (gameSituation == UNFINISHED) {
+			if (isWinningMove(tempRow, tempColumn)) {
+				gameSituation = currentPlayer;
+			} else if (numPieces == numCells) {
+				gameSituation = TIE;
+			} // Of if
+		} // Of if
+		currentState = getOrAddState();
+
+		switch (gameSituation) {
+		case WIN:
+			currentReward = REWARD_VALUE;
+			break;
+		case LOSE:
+			currentReward = PENALTY_VALUE;
+			break;
+		default:
+			currentReward = 0;
+		}// Of switch
+
+		// Step 4. Now it's the turn of the other player.
+		if (currentPlayer == FIRST) {
+			currentPlayer = SECOND;
+		} else {
+			currentPlayer = FIRST;
+		} // Of if
+
+		return STEP_OK;
+	}// Of tryStep
+
+	/**
+	 ****************** 
+	 * Does the piece just placed make k in a row?
+	 * 
+	 * @param paraRow
+	 *            The row of the piece.
+	 * @param paraColumn
+	 *            The column of the piece.
+	 * @return True if it does.
+	 ****************** 
+	 */
+	private boolean isWinningMove(int paraRow, int paraColumn) {
+		int tempPlayer = checkerboard[paraRow][paraColumn];
+		int tempCount;
+		int tempRow;
+		int tempColumn;
+		for (int i = 0; i < DIRECTIONS.length; i++) {
+			tempCount = 1;
+			// Forward.
+			tempRow = paraRow + DIRECTIONS[i][0];
+			tempColumn = paraColumn + DIRECTIONS[i][1];
+			while (tempRow >= 0 && tempRow < checkerboardSize && tempColumn >= 0
+					&& tempColumn < checkerboardSize
+					&& checkerboard[tempRow][tempColumn] == tempPlayer) {
+				tempCount++;
+				tempRow += DIRECTIONS[i][0];
+				tempColumn += DIRECTIONS[i][1];
+			} // Of while
+
+			// Backward.
+			tempRow = paraRow - DIRECTIONS[i][0];
+			tempColumn = paraColumn - DIRECTIONS[i][1];
+			while (tempRow >= 0 && tempRow < checkerboardSize && tempColumn >= 0
+					&& tempColumn < checkerboardSize
+					&& checkerboard[tempRow][tempColumn] == tempPlayer) {
+				tempCount++;
+				tempRow -= DIRECTIONS[i][0];
+				tempColumn -= DIRECTIONS[i][1];
+			} // Of while
+
+			if (tempCount >= winLength) {
+				return true;
+			} // Of if
+		} // Of for i
+
+		return false;
+	}// Of isWinningMove
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The Zobrist hash of the current state.
+	 ****************** 
+	 */
+	public long getCurrentHash() {
+		return currentHash;
+	}// Of getCurrentHash
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The win length.
+	 ****************** 
+	 */
+	public int getWinLength() {
+		return winLength;
+	}// Of getWinLength
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = "\r\nCheckerboard state: " + Arrays.deepToString(checkerboard);
+		resultString += "\r\nThe current situation is: " + gameSituation;
+		resultString += "\r\nVisited states: " + numStates;
+		return resultString;
+	} // Of toString
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		// The same moves in different orders lead to the same state.
+		KInARow tempEnvironment = new KInARow(5, 4);
+		int[] tempFirstOrder = { 0, 6, 12, 7 };
+		int[] tempSecondOrder = { 12, 7, 0, 6 };
+		for (int i = 0; i < tempFirstOrder.length; i++) {
+			tempEnvironment.tryStep(tempFirstOrder[i]);
+		} // Of for i
+		int tempFirstState = tempEnvironment.getCurrentState();
+		long tempFirstHash = tempEnvironment.getCurrentHash();
+
+		tempEnvironment.reset();
+		for (int i = 0; i < tempSecondOrder.length; i++) {
+			tempEnvironment.tryStep(tempSecondOrder[i]);
+		} // Of for i
+		System.out.println("States: " + tempFirstState + " vs. "
+				+ tempEnvironment.getCurrentState() + ", hashes: " + tempFirstHash + " vs. "
+				+ tempEnvironment.getCurrentHash());
+		System.out.println("Valid actions: "
+				+ Arrays.toString(tempEnvironment.getValidActions()));
+
+		// A slope of four wins.
+		int[] tempMoves = { 3, 0, 7, 1, 11, 2, 15 };
+		tempEnvironment.reset();
+		for (int i = 0; i < tempMoves.length; i++) {
+			tempEnvironment.tryStep(tempMoves[i]);
+		} // Of for i
+		System.out.println(tempEnvironment);
+	}// Of main
+} // Of class KInARow
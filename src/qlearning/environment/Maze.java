@@ -2,10 +2,6 @@ package qlearning.environment;
 
 import java.util.Arrays;
 
-import qlearning.action.IllegalActionException;
-import common.Common;
-import common.SimpleTools;
-
 /**
  * The learning algorithm for maze.<br>
  * Project: Reinforce learning.<br>
@@ -14,8 +10,8 @@ import common.SimpleTools;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 16, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.4
  */
 
 public class Maze extends Environment {
@@ -62,9 +58,17 @@ public class Maze extends Environment {
 	public static final int INVALID_STATE = -1;
 
 	/**
-	 * The maze.
+	 * The cells of the maze stored row by row, one byte for each cell. The
+	 * values are FINAL_STATE_VALUE, NULL_STATE_VALUE and TRAP_STATE_VALUE.
 	 */
-	int[][] maze;
+	byte[] cells;
+
+	/**
+	 * The valid actions of cells in the first rows, middle rows and the last
+	 * rows (the first index), and in the first columns, middle columns and the
+	 * last columns (the second index). They are shared by all cells.
+	 */
+	int[][][] validActionPatterns;
 
 	/**
 	 * The set of final states.
@@ -95,22 +99,125 @@ public class Maze extends Environment {
 	 ****************** 
 	 */
 	public Maze(int[][] paraMaze) {
-		maze = paraMaze;
+		this(paraMaze.length, paraMaze[0].length, toCells(paraMaze));
+	}// Of the first constructor
 
+	/**
+	 ****************** 
+	 * The second constructor. The transition, reward and valid action tables
+	 * are not built, since the steps are computed from the coordinates. Hence
+	 * the memory is one byte for each cell.
+	 * 
+	 * @param paraNumRows
+	 *            The number of rows.
+	 * @param paraNumColumns
+	 *            The number of columns.
+	 * @param paraCells
+	 *            The cells stored row by row. The array is not copied.
+	 ****************** 
+	 */
+	public Maze(int paraNumRows, int paraNumColumns, byte[] paraCells) {
 		//actionSpace = new MazeActionSpace();
 
-		numRows = maze.length;
-		numColumns = maze[0].length;
+		numRows = paraNumRows;
+		numColumns = paraNumColumns;
+		if ((long) numRows * numColumns != paraCells.length) {
+			throw new IllegalArgumentException("Maze: " + paraCells.length + " cells for "
+					+ numRows + " * " + numColumns);
+		} // Of if
+		cells = paraCells;
 
 		numStates = numRows * numColumns;
 		numActions = 4;
 
 		computeFinalStates();
-		generateTransitionMatrix();
-		generateValidActions();
+		buildValidActionPatterns();
+	}// Of the second constructor
 
-		generateRewardMatrix();
-	}// Of the first constructor
+	/**
+	 ****************** 
+	 * Convert the maze matrix to cells stored row by row.
+	 * 
+	 * @param paraMaze
+	 *            The maze matrix.
+	 * @return The cells.
+	 ****************** 
+	 */
+	static byte[] toCells(int[][] paraMaze) {
+		int tempNumColumns = paraMaze[0].length;
+		byte[] resultCells = new byte[paraMaze.length * tempNumColumns];
+		for (int i = 0; i < paraMaze.length; i++) {
+			for (int j = 0; j < tempNumColumns; j++) {
+				resultCells[i * tempNumColumns + j] = (byte) paraMaze[i][j];
+			} // Of for j
+		} // Of for i
+
+		return resultCells;
+	}// Of toCells
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of rows.
+	 ****************** 
+	 */
+	public int getNumRows() {
+		return numRows;
+	}// Of getNumRows
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of columns.
+	 ****************** 
+	 */
+	public int getNumColumns() {
+		return numColumns;
+	}// Of getNumColumns
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return The cells stored row by row.
+	 ****************** 
+	 */
+	public byte[] getCells() {
+		return cells;
+	}// Of getCells
+
+	/**
+	 ****************** 
+	 * Get a hash of the shape and the cells, so that a checkpoint of another
+	 * maze of the same size is not loaded. The start state is not included,
+	 * since the values do not depend on it.
+	 * 
+	 * @return The hash.
+	 ****************** 
+	 */
+	public int getLayoutHash() {
+		return 31 * numColumns + Arrays.hashCode(cells);
+	}// Of getLayoutHash
+
+	/**
+	 ****************** 
+	 * Get the maze matrix. It is a copy of the cells.
+	 * 
+	 * @return The maze matrix.
+	 ****************** 
+	 */
+	public int[][] getMaze() {
+		int[][] resultMaze = new int[numRows][numColumns];
+		for (int i = 0; i < numRows; i++) {
+			for (int j = 0; j < numColumns; j++) {
+				resultMaze[i][j] = cells[i * numColumns + j];
+			} // Of for j
+		} // Of for i
+
+		return resultMaze;
+	}// Of getMaze
 
 	/**
 	 ****************** 
@@ -122,10 +229,8 @@ public class Maze extends Environment {
 	 ****************** 
 	 */
 	public int getStateRewardValue(int paraState) {
-		int tempRow = paraState / numColumns;
-		int tempColumn = paraState % numColumns;
 		int resultValue = 0;
-		switch (maze[tempRow][tempColumn]) {
+		switch (cells[paraState]) {
 		case FINAL_STATE_VALUE:
 			resultValue = Environment.REWARD_VALUE;;
 			break;
@@ -137,7 +242,7 @@ public class Maze extends Environment {
 			break;
 		default:
 			System.out.println("Internal error in getStateRewardValue():\r\n"
-					+ "Unsupported state: " + maze[tempRow][tempColumn]);
+					+ "Unsupported state: " + cells[paraState]);
 			System.exit(0);
 		}// Of switch
 
@@ -146,12 +251,17 @@ public class Maze extends Environment {
 
 	/**
 	 ****************** 
-	 * Generate the reward matrix from the maze.
+	 * Generate the reward matrix from the maze. It is built at the first call
+	 * only, for those requiring the table. Steps do not use it.
 	 * 
-	 * @return The transition matrix.
+	 * @return The reward matrix.
 	 ****************** 
 	 */
 	public int[][] generateRewardMatrix() {
+		if (rewardMatrix != null) {
+			return rewardMatrix;
+		} // Of if
+
 		rewardMatrix = new int[numRows * numColumns][4];
 		int tempState, tempNextState;
 		for (int i = 0; i < numRows; i++) {
@@ -201,12 +311,17 @@ public class Maze extends Environment {
 
 	/**
 	 ****************** 
-	 * Generate the transition matrix.
+	 * Generate the transition matrix. It is built at the first call only, for
+	 * those requiring the table. Steps do not use it.
 	 * 
 	 * @return The transition matrix.
 	 ****************** 
 	 */
 	public int[][] generateTransitionMatrix() {
+		if (transitionMatrix != null) {
+			return transitionMatrix;
+		} // Of if
+
 		transitionMatrix = new int[numRows * numColumns][5];
 
 		int tempState;
@@ -249,73 +364,107 @@ public class Maze extends Environment {
 
 	/**
 	 ****************** 
-	 * Generate the transition matrix.
+	 * Generate the valid actions of all states. It is built at the first call
+	 * only, for those requiring the table. The arrays are shared by states
+	 * with the same pattern.
 	 * 
-	 * @return The transition matrix.
+	 * @return The valid actions of all states.
 	 ****************** 
 	 */
 	public int[][] generateValidActions() {
-		validActions = new int[numRows * numColumns][5];
-
-		int tempState;
-		for (int i = 0; i < numRows; i++) {
-			for (int j = 0; j < numColumns; j++) {
-				tempState = i * numColumns + j;
+		if (validActions != null) {
+			return validActions;
+		} // Of if
 
-				// 8 special cases.
-				if (i == 0) {
-					if (j == 0) {
-						validActions[tempState] = new int[2];
-						validActions[tempState][0] = MazeActionSpace.DOWN;
-						validActions[tempState][1] = MazeActionSpace.RIGHT;
-					} else if (j == numColumns - 1) {
-						validActions[tempState] = new int[2];
-						validActions[tempState][0] = MazeActionSpace.DOWN;
-						validActions[tempState][1] = MazeActionSpace.LEFT;
-					} else {
-						validActions[tempState] = new int[3];
-						validActions[tempState][0] = MazeActionSpace.DOWN;
-						validActions[tempState][1] = MazeActionSpace.LEFT;
-						validActions[tempState][2] = MazeActionSpace.RIGHT;
-					} // Of if
-				} else if (i == numRows - 1) {
-					if (j == 0) {
-						validActions[tempState] = new int[2];
-						validActions[tempState][0] = MazeActionSpace.UP;
-						validActions[tempState][1] = MazeActionSpace.RIGHT;
-					} else if (j == numColumns - 1) {
-						validActions[tempState] = new int[2];
-						validActions[tempState][0] = MazeActionSpace.UP;
-						validActions[tempState][1] = MazeActionSpace.LEFT;
-					} else {
-						validActions[tempState] = new int[3];
-						validActions[tempState][0] = MazeActionSpace.UP;
-						validActions[tempState][1] = MazeActionSpace.LEFT;
-						validActions[tempState][2] = MazeActionSpace.RIGHT;
-					} // Of if
-				} else if (j == 0) {
-					validActions[tempState] = new int[3];
-					validActions[tempState][0] = MazeActionSpace.UP;
-					validActions[tempState][1] = MazeActionSpace.DOWN;
-					validActions[tempState][2] = MazeActionSpace.RIGHT;
-				} else if (j == numColumns - 1) {
-					validActions[tempState] = new int[3];
-					validActions[tempState][0] = MazeActionSpace.UP;
-					validActions[tempState][1] = MazeActionSpace.DOWN;
-					validActions[tempState][2] = MazeActionSpace.LEFT;
-				} else {
-					validActions[tempState] = new int[4];
-					validActions[tempState][0] = MazeActionSpace.UP;
-					validActions[tempState][1] = MazeActionSpace.DOWN;
-					validActions[tempState][2] = MazeActionSpace.LEFT;
-					validActions[tempState][3] = MazeActionSpace.RIGHT;
-				} // Of if
-			} // Of for j
+		validActions = new int[numStates][];
+		for (int i = 0; i < numStates; i++) {
+			validActions[i] = getValidActions(i);
 		} // Of for i
 
 		return validActions;
 	}// Of generateValidActions
 
+	/**
+	 ****************** 
+	 * Build the valid actions of the 9 kinds of cells: 4 corners, 4 borders
+	 * and the inner cells. A single row counts as the first row, and a single
+	 * column counts as the first column.
+	 ****************** 
+	 */
+	void buildValidActionPatterns() {
+		int[][][] tempPatterns = {
+				{ { MazeActionSpace.DOWN, MazeActionSpace.RIGHT },
+						{ MazeActionSpace.DOWN, MazeActionSpace.LEFT, MazeActionSpace.RIGHT },
+						{ MazeActionSpace.DOWN, MazeActionSpace.LEFT } },
+				{ { MazeActionSpace.UP, MazeActionSpace.DOWN, MazeActionSpace.RIGHT },
+						{ MazeActionSpace.UP, MazeActionSpace.DOWN, MazeActionSpace.LEFT,
+								MazeActionSpace.RIGHT },
+						{ MazeActionSpace.UP, MazeActionSpace.DOWN, MazeActionSpace.LEFT } },
+				{ { MazeActionSpace.UP, MazeActionSpace.RIGHT },
+						{ MazeActionSpace.UP, MazeActionSpace.LEFT, MazeActionSpace.RIGHT },
+						{ MazeActionSpace.UP, MazeActionSpace.LEFT } } };
+		validActionPatterns = tempPatterns;
+	}// Of buildValidActionPatterns
+
+	/**
+	 ****************** 
+	 * Get valid actions of the given state. They are computed from the
+	 * coordinates, and the returned array is shared and should not be changed.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The actions.
+	 ****************** 
+	 */
+	public int[] getValidActions(int paraState) {
+		int tempRow = paraState / numColumns;
+		int tempColumn = paraState - tempRow * numColumns;
+		int tempRowKind = 1;
+		if (tempRow == 0) {
+			tempRowKind = 0;
+		} else if (tempRow == numRows - 1) {
+			tempRowKind = 2;
+		} // Of if
+
+		int tempColumnKind = 1;
+		if (tempColumn == 0) {
+			tempColumnKind = 0;
+		} else if (tempColumn == numColumns - 1) {
+			tempColumnKind = 2;
+		} // Of if
+
+		return validActionPatterns[tempRowKind][tempColumnKind];
+	}// Of getValidActions
+
+	/**
+	 ****************** 
+	 * Get the next state from the coordinates, ignoring traps.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The next state, or INVALID_STATE if the action leads out of the
+	 *         maze.
+	 ****************** 
+	 */
+	public int getNextState(int paraState, int paraAction) {
+		int tempRow = paraState / numColumns;
+		int tempColumn = paraState - tempRow * numColumns;
+		switch (paraAction) {
+		case MazeActionSpace.UP:
+			return tempRow == 0 ? INVALID_STATE : paraState - numColumns;
+		case MazeActionSpace.DOWN:
+			return tempRow == numRows - 1 ? INVALID_STATE : paraState + numColumns;
+		case MazeActionSpace.LEFT:
+			return tempColumn == 0 ? INVALID_STATE : paraState - 1;
+		case MazeActionSpace.RIGHT:
+			return tempColumn == numColumns - 1 ? INVALID_STATE : paraState + 1;
+		default:
+			return INVALID_STATE;
+		}// Of switch
+	}// Of getNextState
+
 	/**
 	 ****************** 
 	 * Compute the set of final states.
@@ -325,24 +474,19 @@ public class Maze extends Environment {
 	 */
 	public int[] computeFinalStates() {
 		int tempNumFinalStates = 0;
-		int[] tempFinalStates = new int[numRows * numColumns];
-
-		int tempState;
-		for (int i = 0; i < numRows; i++) {
-			for (int j = 0; j < numColumns; j++) {
-				tempState = i * numColumns + j;
-
-				if (maze[i][j] == FINAL_STATE_VALUE) {
-					tempFinalStates[tempNumFinalStates] = tempState;
-					tempNumFinalStates++;
-				} // Of if
-			} // Of for j
-		} // Of j
+		for (int i = 0; i < numStates; i++) {
+			if (cells[i] == FINAL_STATE_VALUE) {
+				tempNumFinalStates++;
+			} // Of if
+		} // Of for i
 
-		// Now copy.
 		finalStates = new int[tempNumFinalStates];
-		for (int i = 0; i < tempNumFinalStates; i++) {
-			finalStates[i] = tempFinalStates[i];
+		tempNumFinalStates = 0;
+		for (int i = 0; i < numStates; i++) {
+			if (cells[i] == FINAL_STATE_VALUE) {
+				finalStates[tempNumFinalStates] = i;
+				tempNumFinalStates++;
+			} // Of if
 		} // Of for i
 
 		return finalStates;
@@ -365,13 +509,7 @@ public class Maze extends Environment {
 	 ****************** 
 	 */
 	public boolean isFinished() {
-		for (int i = 0; i < finalStates.length; i++) {
-			if (currentState == finalStates[i]) {
-				return true;
-			} // Of if
-		} // Of for i
-
-		return false;
+		return cells[currentState] == FINAL_STATE_VALUE;
 	}// Of isFinished
 	
 	/**
@@ -384,11 +522,7 @@ public class Maze extends Environment {
 	 ****************** 
 	 */
 	public boolean isTrapState(int paraState) {
-		if (maze[paraState / numColumns][paraState % numRows] == TRAP_STATE_VALUE) {
-			return true;
-		} // Of if
-
-		return false;
+		return cells[paraState] == TRAP_STATE_VALUE;
 	}// Of isTrapState
 
 	/**
@@ -402,6 +536,19 @@ public class Maze extends Environment {
 		return finalStates;
 	}// Of getFinalStates
 
+	/**
+	 ****************** 
+	 * Create a batch of copies of this maze sharing its tables.
+	 * 
+	 * @param paraNumLanes
+	 *            The number of copies.
+	 * @return The batch.
+	 ****************** 
+	 */
+	public VectorEnvironment createVectorEnvironment(int paraNumLanes) {
+		return new VectorMaze(this, paraNumLanes);
+	}// Of createVectorEnvironment
+
 	/**
 	 ****************** 
 	 * Select an action to take.
@@ -420,29 +567,36 @@ public class Maze extends Environment {
 	 * 
 	 * @param paraAction
 	 *            The given action.
-	 * @return Whether or not the process comes an end.
+	 * @return STEP_OK, or STEP_ILLEGAL_ACTION if the action leads out of the
+	 *         maze.
 	 ****************** 
 	 */
-	public void step(int paraAction) throws IllegalActionException{
+	public int tryStep(int paraAction) {
+		// Change the state if the new one is not a trap.
+		int tempState = getNextState(currentState, paraAction);
+		if (tempState == INVALID_STATE) {
+			return STEP_ILLEGAL_ACTION;
+		} // Of if
+
 		// Store the reward.
-		currentReward = rewardMatrix[currentState][paraAction];
+		currentReward = getStateRewardValue(tempState);
 		// System.out.println("State: " + currentState + ", action: " +
 		// paraAction);
 
-		// Change the state if the new one is not a trap.
-		int tempState = transitionMatrix[currentState][paraAction];
-		
 		if (!isTrapState(tempState)) {
 			currentState = tempState;
 		} else {
-			SimpleTools.variableTrackingOutput("Trying to get into (" + (tempState / numColumns)+
-					", " + (tempState % numColumns) + ") from (" + (currentState / numColumns)+
-					", " + (currentState % numColumns) + ") but fail.");
-			Common.wallTimes ++;
+			if (context.isVariableTracking()) {
+				context.variableTrackingOutput("Trying to get into (" + (tempState / numColumns)
+						+ ", " + (tempState % numColumns) + ") from ("
+						+ (currentState / numColumns) + ", " + (currentState % numColumns)
+						+ ") but fail.");
+			} // Of if
+			context.addWallTime();
 		}//Of if
-				
-		//return isFinished();
-	}// Of step
+
+		return STEP_OK;
+	}// Of tryStep
 
 	/**
 	 ****************** 
@@ -543,16 +697,28 @@ public class Maze extends Environment {
 
 	/**
 	 ****************** 
-	 * For display.
+	 * For display. The cells are read directly, and the lazy tables are shown
+	 * only if built, hence the maze is not changed.
 	 ****************** 
 	 */
 	public String toString() {
-		String resultString = "\r\n*****I am a maze*****";
-		resultString += "\r\nMy data matrix is:\r\n" + Arrays.deepToString(maze);
-		resultString += "\r\nThe final states include:\r\n" + Arrays.toString(finalStates);
-		resultString += "\r\nThe reward matrix is:\r\n" + Arrays.deepToString(rewardMatrix);
-		resultString += "\r\nThe valid actions matrix is:\r\n" + Arrays.deepToString(validActions);
-		return resultString;
+		StringBuilder tempBuilder = new StringBuilder("\r\n*****I am a maze*****");
+		tempBuilder.append("\r\nMy data matrix is:\r\n[");
+		for (int i = 0; i < numRows; i++) {
+			tempBuilder.append(i == 0 ? "[" : ", [");
+			for (int j = 0; j < numColumns; j++) {
+				tempBuilder.append(j == 0 ? "" : ", ").append(cells[i * numColumns + j]);
+			} // Of for j
+			tempBuilder.append("]");
+		} // Of for i
+		tempBuilder.append("]");
+		tempBuilder.append("\r\nThe final states include:\r\n")
+				.append(Arrays.toString(finalStates));
+		tempBuilder.append("\r\nThe reward matrix is:\r\n").append(
+				rewardMatrix == null ? "not built yet" : Arrays.deepToString(rewardMatrix));
+		tempBuilder.append("\r\nThe valid actions matrix is:\r\n").append(
+				validActions == null ? "not built yet" : Arrays.deepToString(validActions));
+		return tempBuilder.toString();
 	} // Of toString
 
 } // Of class Maze
@@ -0,0 +1,181 @@
+package qlearning.environment;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import common.SplitMixRandom;
+
+/**
+ * Generate large mazes procedurally. Corridors are carved by the recursive
+ * backtracker, i.e., a depth-first search with an explicit stack, hence each
+ * pair of open cells is connected by exactly one path. The same seed always
+ * generates the same maze. Only the cells of the maze and the stack are
+ * allocated, so mazes of 4096 * 4096 and larger can be generated.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class MazeGenerator {
+
+	/**
+	 ****************** 
+	 * Generate a maze with the recursive backtracker. Rooms are the cells with
+	 * odd coordinates, and the others are traps unless carved as corridors.
+	 * The start state is (1, 1), and the final state is the room at the
+	 * bottom right. Some dead ends become traps with the given probability.
+	 * 
+	 * @param paraNumRows
+	 *            The number of rows, at least 3.
+	 * @param paraNumColumns
+	 *            The number of columns, at least 3.
+	 * @param paraTrapProbability
+	 *            The probability for a dead end to become a trap.
+	 * @param paraSeed
+	 *            The seed of the random generator.
+	 * @return The maze.
+	 ****************** 
+	 */
+	public static Maze generateRecursiveBacktracker(int paraNumRows, int paraNumColumns,
+			double paraTrapProbability, long paraSeed) {
+		if (paraNumRows < 3 || paraNumColumns < 3) {
+			throw new IllegalArgumentException("MazeGenerator: the maze " + paraNumRows + " * "
+					+ paraNumColumns + " is too small.");
+		} // Of if
+
+		Random tempRandom = new SplitMixRandom(paraSeed);
+		byte[] tempCells = new byte[paraNumRows * paraNumColumns];
+		Arrays.fill(tempCells, (byte) Maze.TRAP_STATE_VALUE);
+
+		// Step 1. Carve with a depth-first search from (1, 1).
+		int tempLastRoomRow = (paraNumRows - 2) | 1;
+		if (tempLastRoomRow > paraNumRows - 2) {
+			tempLastRoomRow -= 2;
+		} // Of if
+		int tempLastRoomColumn = (paraNumColumns - 2) | 1;
+		if (tempLastRoomColumn > paraNumColumns - 2) {
+			tempLastRoomColumn -= 2;
+		} // Of if
+		int tempNumRooms = ((tempLastRoomRow + 1) / 2) * ((tempLastRoomColumn + 1) / 2);
+		int[] tempStack = new int[tempNumRooms];
+		int tempStackSize = 0;
+		int tempStartState = paraNumColumns + 1;
+		tempCells[tempStartState] = Maze.NULL_STATE_VALUE;
+		tempStack[tempStackSize++] = tempStartState;
+
+		// The offsets of the four neighbors two cells away.
+		int[] tempRowOffsets = { -2, 2, 0, 0 };
+		int[] tempColumnOffsets = { 0, 0, -2, 2 };
+		int[] tempCandidates = new int[4];
+		int tempNumCandidates, tempRoom, tempRow, tempColumn, tempNeighborRow,
+				tempNeighborColumn, tempNeighbor;
+		while (tempStackSize > 0) {
+			tempRoom = tempStack[tempStackSize - 1];
+			tempRow = tempRoom / paraNumColumns;
+			tempColumn = tempRoom % paraNumColumns;
+
+			// Step 1.1. Find rooms not visited yet.
+			tempNumCandidates = 0;
+			for (int i = 0; i < 4; i++) {
+				tempNeighborRow = tempRow + tempRowOffsets[i];
+				tempNeighborColumn = tempColumn + tempColumnOffsets[i];
+				if (tempNeighborRow < 1 || tempNeighborRow > tempLastRoomRow
+						|| tempNeighborColumn < 1 || tempNeighborColumn > tempLastRoomColumn) {
+					continue;
+				} // Of if
+
+				tempNeighbor = tempNeighborRow * paraNumColumns + tempNeighborColumn;
+				if (tempCells[tempNeighbor] == Maze.TRAP_STATE_VALUE) {
+					tempCandidates[tempNumCandidates++] = tempNeighbor;
+				} // Of if
+			} // Of for i
+
+			if (tempNumCandidates == 0) {
+				tempStackSize--;
+				continue;
+			} // Of if
+
+			// Step 1.2. Knock down the wall between and go on.
+			tempNeighbor = tempCandidates[tempRandom.nextInt(tempNumCandidates)];
+			tempCells[(tempRoom + tempNeighbor) / 2] = Maze.NULL_STATE_VALUE;
+			tempCells[tempNeighbor] = Maze.NULL_STATE_VALUE;
+			tempStack[tempStackSize++] = tempNeighbor;
+		} // Of while
+
+		// Step 2. Set the final state.
+		int tempFinalState = tempLastRoomRow * paraNumColumns + tempLastRoomColumn;
+		tempCells[tempFinalState] = Maze.FINAL_STATE_VALUE;
+
+		// Step 3. Turn some dead ends into traps.
+		if (paraTrapProbability > 0) {
+			for (int i = 1; i <= tempLastRoomRow; i += 2) {
+				for (int j = 1; j <= tempLastRoomColumn; j += 2) {
+					tempRoom = i * paraNumColumns + j;
+					if (tempRoom == tempStartState || tempRoom == tempFinalState) {
+						continue;
+					} // Of if
+
+					if (countOpenNeighbors(tempCells, paraNumColumns, tempRoom) == 1
+							&& tempRandom.nextDouble() < paraTrapProbability) {
+						tempCells[tempRoom] = Maze.TRAP_STATE_VALUE;
+					} // Of if
+				} // Of for j
+			} // Of for i
+		} // Of if
+
+		Maze resultMaze = new Maze(paraNumRows, paraNumColumns, tempCells);
+		resultMaze.setStartState(tempStartState);
+		return resultMaze;
+	}// Of generateRecursiveBacktracker
+
+	/**
+	 ****************** 
+	 * Count the neighbors that are not traps. The cell should not be on the
+	 * border.
+	 * 
+	 * @param paraCells
+	 *            The cells.
+	 * @param paraNumColumns
+	 *            The number of columns.
+	 * @param paraCell
+	 *            The cell.
+	 * @return The number of open neighbors.
+	 ****************** 
+	 */
+	static int countOpenNeighbors(byte[] paraCells, int paraNumColumns, int paraCell) {
+		int resultCount = 0;
+		if (paraCells[paraCell - paraNumColumns] != Maze.TRAP_STATE_VALUE) {
+			resultCount++;
+		} // Of if
+		if (paraCells[paraCell + paraNumColumns] != Maze.TRAP_STATE_VALUE) {
+			resultCount++;
+		} // Of if
+		if (paraCells[paraCell - 1] != Maze.TRAP_STATE_VALUE) {
+			resultCount++;
+		} // Of if
+		if (paraCells[paraCell + 1] != Maze.TRAP_STATE_VALUE) {
+			resultCount++;
+		} // Of if
+
+		return resultCount;
+	}// Of countOpenNeighbors
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		Maze tempMaze = generateRecursiveBacktracker(11, 21, 0.3, 1);
+		System.out.println(MazeLoader.toText(tempMaze));
+	}// Of main
+
+} // Of class MazeGenerator
@@ -0,0 +1,320 @@
+package qlearning.environment;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Load and save mazes as text or binary files. In text, each line is a row,
+ * where '#' is a trap, '.' is an empty cell, 'F' is a final state, and 'S' is
+ * the empty cell to start. The binary file has a header of 5 big-endian ints,
+ * i.e., MAGIC, VERSION, the number of rows, the number of columns and the
+ * start state, followed by the cells with one byte each, as stored in Maze.
+ * <br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class MazeLoader {
+
+	/**
+	 * The magic number of binary files, "MAZE" in ASCII.
+	 */
+	public static final int MAGIC = 0x4D415A45;
+
+	/**
+	 * The version of the binary format.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The size of the buffers of files.
+	 */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 ****************** 
+	 * Convert a cell to a character.
+	 * 
+	 * @param paraCell
+	 *            The cell.
+	 * @return The character.
+	 ****************** 
+	 */
+	static char cellToChar(byte paraCell) {
+		switch (paraCell) {
+		case Maze.TRAP_STATE_VALUE:
+			return '#';
+		case Maze.FINAL_STATE_VALUE:
+			return 'F';
+		default:
+			return '.';
+		}// Of switch
+	}// Of cellToChar
+
+	/**
+	 ****************** 
+	 * Convert a character to a cell.
+	 * 
+	 * @param paraChar
+	 *            The character.
+	 * @return The cell.
+	 * @throws IllegalArgumentException
+	 *             if the character is not supported.
+	 ****************** 
+	 */
+	static byte charToCell(char paraChar) {
+		switch (paraChar) {
+		case '#':
+			return Maze.TRAP_STATE_VALUE;
+		case 'F':
+			return Maze.FINAL_STATE_VALUE;
+		case '.':
+		case 'S':
+			return Maze.NULL_STATE_VALUE;
+		default:
+			throw new IllegalArgumentException(
+					"MazeLoader: unsupported character '" + paraChar + "'");
+		}// Of switch
+	}// Of charToCell
+
+	/**
+	 ****************** 
+	 * Write the maze as text.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraWriter
+	 *            The writer.
+	 * @throws IOException
+	 *             if the writer fails.
+	 ****************** 
+	 */
+	public static void writeText(Maze paraMaze, Writer paraWriter) throws IOException {
+		int tempNumColumns = paraMaze.getNumColumns();
+		byte[] tempCells = paraMaze.getCells();
+		int tempStartState = paraMaze.getStartState();
+		char[] tempLine = new char[tempNumColumns];
+		for (int i = 0; i < paraMaze.getNumRows(); i++) {
+			for (int j = 0; j < tempNumColumns; j++) {
+				tempLine[j] = cellToChar(tempCells[i * tempNumColumns + j]);
+			} // Of for j
+			if (tempStartState / tempNumColumns == i) {
+				tempLine[tempStartState % tempNumColumns] = 'S';
+			} // Of if
+			paraWriter.write(tempLine);
+			paraWriter.write('\n');
+		} // Of for i
+	}// Of writeText
+
+	/**
+	 ****************** 
+	 * Convert the maze to text. It is for small mazes.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @return The text.
+	 ****************** 
+	 */
+	public static String toText(Maze paraMaze) {
+		StringWriter tempWriter = new StringWriter();
+		try {
+			writeText(paraMaze, tempWriter);
+		} catch (IOException ee) {
+			// Impossible for a string writer.
+			throw new IllegalStateException(ee);
+		} // Of try
+
+		return tempWriter.toString();
+	}// Of toText
+
+	/**
+	 ****************** 
+	 * Save the maze as text.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 ****************** 
+	 */
+	public static void saveText(Maze paraMaze, String paraFilename) throws IOException {
+		Writer tempWriter = new BufferedWriter(new FileWriter(paraFilename), BUFFER_SIZE);
+		try {
+			writeText(paraMaze, tempWriter);
+		} finally {
+			tempWriter.close();
+		} // Of try
+	}// Of saveText
+
+	/**
+	 ****************** 
+	 * Load a maze from text. Empty lines at the end are ignored.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @return The maze.
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 * @throws IllegalArgumentException
+	 *             if the rows are of different lengths or some character is
+	 *             not supported.
+	 ****************** 
+	 */
+	public static Maze loadText(String paraFilename) throws IOException {
+		// Step 1. Scan for the size.
+		int tempNumRows = 0;
+		int tempNumColumns = -1;
+		BufferedReader tempReader = new BufferedReader(new FileReader(paraFilename),
+				BUFFER_SIZE);
+		String tempLine;
+		try {
+			while ((tempLine = tempReader.readLine()) != null) {
+				if (tempLine.isEmpty()) {
+					continue;
+				} // Of if
+				if (tempNumColumns == -1) {
+					tempNumColumns = tempLine.length();
+				} else if (tempLine.length() != tempNumColumns) {
+					throw new IllegalArgumentException("MazeLoader: row " + tempNumRows
+							+ " has " + tempLine.length() + " cells, while " + tempNumColumns
+							+ " are expected.");
+				} // Of if
+				tempNumRows++;
+			} // Of while
+		} finally {
+			tempReader.close();
+		} // Of try
+		if (tempNumRows == 0) {
+			throw new IllegalArgumentException("MazeLoader: " + paraFilename + " is empty.");
+		} // Of if
+
+		// Step 2. Read the cells.
+		byte[] tempCells = new byte[tempNumRows * tempNumColumns];
+		int tempStartState = 0;
+		int tempRow = 0;
+		tempReader = new BufferedReader(new FileReader(paraFilename), BUFFER_SIZE);
+		try {
+			while ((tempLine = tempReader.readLine()) != null && tempRow < tempNumRows) {
+				if (tempLine.isEmpty()) {
+					continue;
+				} // Of if
+				for (int j = 0; j < tempNumColumns; j++) {
+					tempCells[tempRow * tempNumColumns + j] = charToCell(tempLine.charAt(j));
+					if (tempLine.charAt(j) == 'S') {
+						tempStartState = tempRow * tempNumColumns + j;
+					} // Of if
+				} // Of for j
+				tempRow++;
+			} // Of while
+		} finally {
+			tempReader.close();
+		} // Of try
+
+		Maze resultMaze = new Maze(tempNumRows, tempNumColumns, tempCells);
+		resultMaze.setStartState(tempStartState);
+		return resultMaze;
+	}// Of loadText
+
+	/**
+	 ****************** 
+	 * Save the maze as a binary file.
+	 * 
+	 * @param paraMaze
+	 *            The maze.
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 ****************** 
+	 */
+	public static void saveBinary(Maze paraMaze, String paraFilename) throws IOException {
+		DataOutputStream tempOutput = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(paraFilename), BUFFER_SIZE));
+		try {
+			tempOutput.writeInt(MAGIC);
+			tempOutput.writeInt(VERSION);
+			tempOutput.writeInt(paraMaze.getNumRows());
+			tempOutput.writeInt(paraMaze.getNumColumns());
+			tempOutput.writeInt(paraMaze.getStartState());
+			tempOutput.write(paraMaze.getCells());
+		} finally {
+			tempOutput.close();
+		} // Of try
+	}// Of saveBinary
+
+	/**
+	 ****************** 
+	 * Load a maze from a binary file.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @return The maze.
+	 * @throws IOException
+	 *             if the file cannot be read, it is not a maze file, or its
+	 *             start state or cells are illegal.
+	 ****************** 
+	 */
+	public static Maze loadBinary(String paraFilename) throws IOException {
+		DataInputStream tempInput = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(paraFilename), BUFFER_SIZE));
+		try {
+			if (tempInput.readInt() != MAGIC) {
+				throw new IOException("MazeLoader: " + paraFilename + " is not a maze file.");
+			} // Of if
+			int tempVersion = tempInput.readInt();
+			if (tempVersion != VERSION) {
+				throw new IOException(
+						"MazeLoader: unsupported version " + tempVersion + " of " + paraFilename);
+			} // Of if
+
+			int tempNumRows = tempInput.readInt();
+			int tempNumColumns = tempInput.readInt();
+			int tempStartState = tempInput.readInt();
+			long tempNumCells = (long) tempNumRows * tempNumColumns;
+			if (tempNumRows <= 0 || tempNumColumns <= 0 || tempNumCells > Integer.MAX_VALUE) {
+				throw new IOException("MazeLoader: illegal size " + tempNumRows + " * "
+						+ tempNumColumns + " of " + paraFilename);
+			} // Of if
+
+			if (tempStartState < 0 || tempStartState >= tempNumCells) {
+				throw new IOException("MazeLoader: illegal start state " + tempStartState
+						+ " of " + paraFilename);
+			} // Of if
+
+			byte[] tempCells = new byte[(int) tempNumCells];
+			tempInput.readFully(tempCells);
+			for (int i = 0; i < tempCells.length; i++) {
+				if (tempCells[i] != Maze.TRAP_STATE_VALUE && tempCells[i] != Maze.NULL_STATE_VALUE
+						&& tempCells[i] != Maze.FINAL_STATE_VALUE) {
+					throw new IOException("MazeLoader: illegal value " + tempCells[i]
+							+ " of cell " + i + " of " + paraFilename);
+				} // Of if
+			} // Of for i
+			Maze resultMaze = new Maze(tempNumRows, tempNumColumns, tempCells);
+			resultMaze.setStartState(tempStartState);
+			return resultMaze;
+		} finally {
+			tempInput.close();
+		} // Of try
+	}// Of loadBinary
+
+} // Of class MazeLoader
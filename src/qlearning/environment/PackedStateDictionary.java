@@ -0,0 +1,234 @@
+package qlearning.environment;
+
+import java.util.Arrays;
+
+/**
+ * Assign dense integer IDs to packed states. A packed state is a long array
+ * with a fixed number of words, and its 64-bit hash is provided by the user,
+ * e.g., Zobrist hashing. The keys are compared word by word, so hash
+ * collisions never merge two states.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class PackedStateDictionary {
+
+	/**
+	 * Indicate an empty slot.
+	 */
+	static final int EMPTY_SLOT = -1;
+
+	/**
+	 * The number of words of each key.
+	 */
+	int numWords;
+
+	/**
+	 * The number of states.
+	 */
+	int numStates;
+
+	/**
+	 * The ID stored in each slot.
+	 */
+	int[] slotIds;
+
+	/**
+	 * The keys, ID by ID.
+	 */
+	long[] keys;
+
+	/**
+	 * The hash of each ID.
+	 */
+	long[] hashes;
+
+	/**
+	 * slotIds.length - 1.
+	 */
+	int mask;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumWords
+	 *            The number of words of each key.
+	 ****************** 
+	 */
+	public PackedStateDictionary(int paraNumWords) {
+		numWords = paraNumWords;
+		numStates = 0;
+		slotIds = new int[1024];
+		Arrays.fill(slotIds, EMPTY_SLOT);
+		mask = slotIds.length - 1;
+		keys = new long[(slotIds.length / 2) * numWords];
+		hashes = new long[slotIds.length / 2];
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of states.
+	 ****************** 
+	 */
+	public int size() {
+		return numStates;
+	}// Of size
+
+	/**
+	 ****************** 
+	 * Is the key of the ID the same as the given key?
+	 * 
+	 * @param paraId
+	 *            The ID.
+	 * @param paraKey
+	 *            The key.
+	 * @return True if they are the same.
+	 ****************** 
+	 */
+	private boolean keyEquals(int paraId, long[] paraKey) {
+		int tempStart = paraId * numWords;
+		for (int i = 0; i < numWords; i++) {
+			if (keys[tempStart + i] != paraKey[i]) {
+				return false;
+			} // Of if
+		} // Of for i
+
+		return true;
+	}// Of keyEquals
+
+	/**
+	 ****************** 
+	 * Find the slot of the key.
+	 * 
+	 * @param paraKey
+	 *            The key.
+	 * @param paraHash
+	 *            The hash of the key.
+	 * @return The slot index, with either the ID of the key or EMPTY_SLOT.
+	 ****************** 
+	 */
+	private int findSlot(long[] paraKey, long paraHash) {
+		int tempSlot = (int) (paraHash ^ (paraHash >>> 32)) & mask;
+		int tempId;
+		while ((tempId = slotIds[tempSlot]) != EMPTY_SLOT) {
+			if (hashes[tempId] == paraHash && keyEquals(tempId, paraKey)) {
+				break;
+			} // Of if
+			tempSlot = (tempSlot + 1) & mask;
+		} // Of while
+
+		return tempSlot;
+	}// Of findSlot
+
+	/**
+	 ****************** 
+	 * Get the ID of the key.
+	 * 
+	 * @param paraKey
+	 *            The key.
+	 * @param paraHash
+	 *            The hash of the key.
+	 * @return The ID, or -1 if the key is not stored.
+	 ****************** 
+	 */
+	public int getId(long[] paraKey, long paraHash) {
+		return slotIds[findSlot(paraKey, paraHash)];
+	}// Of getId
+
+	/**
+	 ****************** 
+	 * Get the ID of the key. A new ID is assigned if the key is not stored.
+	 * 
+	 * @param paraKey
+	 *            The key. It is copied.
+	 * @param paraHash
+	 *            The hash of the key.
+	 * @return The ID.
+	 ****************** 
+	 */
+	public int getOrAddId(long[] paraKey, long paraHash) {
+		int tempSlot = findSlot(paraKey, paraHash);
+		if (slotIds[tempSlot] != EMPTY_SLOT) {
+			return slotIds[tempSlot];
+		} // Of if
+
+		if ((numStates + 1) * 2 > slotIds.length) {
+			rehash();
+			tempSlot = findSlot(paraKey, paraHash);
+		} // Of if
+
+		int resultId = numStates;
+		System.arraycopy(paraKey, 0, keys, resultId * numWords, numWords);
+		hashes[resultId] = paraHash;
+		slotIds[tempSlot] = resultId;
+		numStates++;
+
+		return resultId;
+	}// Of getOrAddId
+
+	/**
+	 ****************** 
+	 * Double the number of slots. The IDs are unchanged.
+	 ****************** 
+	 */
+	private void rehash() {
+		slotIds = new int[slotIds.length * 2];
+		Arrays.fill(slotIds, EMPTY_SLOT);
+		mask = slotIds.length - 1;
+		keys = Arrays.copyOf(keys, (slotIds.length / 2) * numWords);
+		hashes = Arrays.copyOf(hashes, slotIds.length / 2);
+
+		int tempSlot;
+		for (int i = 0; i < numStates; i++) {
+			tempSlot = (int) (hashes[i] ^ (hashes[i] >>> 32)) & mask;
+			while (slotIds[tempSlot] != EMPTY_SLOT) {
+				tempSlot = (tempSlot + 1) & mask;
+			} // Of while
+			slotIds[tempSlot] = i;
+		} // Of for i
+	}// Of rehash
+
+	/**
+	 ****************** 
+	 * Copy the key of the ID.
+	 * 
+	 * @param paraId
+	 *            The ID.
+	 * @param paraKey
+	 *            The array to store the key.
+	 ****************** 
+	 */
+	public void copyKey(int paraId, long[] paraKey) {
+		System.arraycopy(keys, paraId * numWords, paraKey, 0, numWords);
+	}// Of copyKey
+
+	/**
+	 ****************** 
+	 * Remove all states.
+	 ****************** 
+	 */
+	public void clear() {
+		Arrays.fill(slotIds, EMPTY_SLOT);
+		numStates = 0;
+	}// Of clear
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am a PackedStateDictionary with " + numStates + " states of " + numWords
+				+ " words.";
+	}// Of toString
+
+} // Of class PackedStateDictionary
@@ -3,7 +3,6 @@ package qlearning.environment;
 import java.util.Arrays;
 
 import qlearning.action.IllegalActionException;
-import common.SimpleTools;
 
 /**
  * The environment of tic-tac-toe.<br>
@@ -13,12 +12,57 @@ import common.SimpleTools;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 20, 2020.<br>
- *         Last modified: August 21, 2020.
- * @version 1.1
+ *         Last modified: October 18, 2026.
+ * @version 1.2
  */
 
 public class TicTacToe extends CompetitionEnvironment {
 
+	/**
+	 * The number of positions of the checkerboard.
+	 */
+	static final int NUM_POSITIONS = 9;
+
+	/**
+	 * The number of encoded states, 3^9.
+	 */
+	static final int NUM_ENCODED_STATES = 19683;
+
+	/**
+	 * Indicate an unreachable state or an occupied position in the tables.
+	 */
+	static final int UNAVAILABLE = -1;
+
+	/**
+	 * The index of each encoded state in the compact tables, UNAVAILABLE for
+	 * unreachable states. The tables are shared by all instances since the
+	 * game is always the same.
+	 */
+	static int[] reachableIndices;
+
+	/**
+	 * The valid actions of each reachable state. The arrays are shared, so the
+	 * users should not change them.
+	 */
+	static int[][] validActionsTable;
+
+	/**
+	 * The next state of each reachable state and action, stored row by row
+	 * with NUM_POSITIONS columns. UNAVAILABLE for occupied positions and for
+	 * actions after the game is over.
+	 */
+	static int[] transitionTable;
+
+	/**
+	 * The game situation of each reachable state.
+	 */
+	static byte[] situationTable;
+
+	/**
+	 * The incremental state and game situation of the current checkerboard.
+	 */
+	TicTacToeLineCounter lineCounter;
+
 
 	/**
 	 * Number of pieces. If it reaches the size of the checkerboard, the game
@@ -44,10 +88,172 @@ public class TicTacToe extends CompetitionEnvironment {
 		numStates = 27 * 27 * 27;
 		
 		numActions = 9;
+		lineCounter = new TicTacToeLineCounter();
 
+		buildTables(this);
 		reset();
 	}// Of the first constructor
 
+	/**
+	 ****************** 
+	 * Build the tables of reachable states only once. The reachable states
+	 * are obtained by playing from the empty checkerboard.
+	 * 
+	 * @param paraEnvironment
+	 *            The environment to compute the game situations.
+	 ****************** 
+	 */
+	private static synchronized void buildTables(TicTacToe paraEnvironment) {
+		if (reachableIndices != null) {
+			return;
+		} // Of if
+
+		// Step 1. Mark reachable states.
+		boolean[] tempReachableArray = new boolean[NUM_ENCODED_STATES];
+		stepInReachableStates(paraEnvironment, 0, FIRST, tempReachableArray);
+
+		// Step 2. Compress.
+		int[] tempIndices = new int[NUM_ENCODED_STATES];
+		int tempNumReachable = 0;
+		for (int i = 0; i < NUM_ENCODED_STATES; i++) {
+			if (tempReachableArray[i]) {
+				tempIndices[i] = tempNumReachable;
+				tempNumReachable++;
+			} else {
+				tempIndices[i] = UNAVAILABLE;
+			} // Of if
+		} // Of for i
+
+		// Step 3. Fill the tables using the original computation.
+		int[][] tempValidActionsTable = new int[tempNumReachable][];
+		int[] tempTransitionTable = new int[tempNumReachable * NUM_POSITIONS];
+		byte[] tempSituationTable = new byte[tempNumReachable];
+		Arrays.fill(tempTransitionTable, UNAVAILABLE);
+		int tempIndex;
+		int tempPlayer;
+		int tempPositionBase;
+		for (int i = 0; i < NUM_ENCODED_STATES; i++) {
+			tempIndex = tempIndices[i];
+			if (tempIndex == UNAVAILABLE) {
+				continue;
+			} // Of if
+
+			tempValidActionsTable[tempIndex] = paraEnvironment.computeValidActions(i);
+			tempSituationTable[tempIndex] = (byte) paraEnvironment.currentGameSituation(i);
+			if (tempSituationTable[tempIndex] != UNFINISHED) {
+				continue;
+			} // Of if
+
+			// The first player moves when the number of pieces is even.
+			tempPlayer = FIRST;
+			if ((NUM_POSITIONS - tempValidActionsTable[tempIndex].length) % 2 == 1) {
+				tempPlayer = SECOND;
+			} // Of if
+
+			tempPositionBase = 1;
+			for (int j = 0; j < NUM_POSITIONS; j++) {
+				if (i % (tempPositionBase * 3) / tempPositionBase == EMPTY) {
+					tempTransitionTable[tempIndex * NUM_POSITIONS + j] = i
+							+ tempPlayer * tempPositionBase;
+				} // Of if
+				tempPositionBase *= 3;
+			} // Of for j
+		} // Of for i
+
+		validActionsTable = tempValidActionsTable;
+		transitionTable = tempTransitionTable;
+		situationTable = tempSituationTable;
+		reachableIndices = tempIndices;
+	}// Of buildTables
+
+	/**
+	 ****************** 
+	 * Step in more reachable states. It is recursive. The same as
+	 * VTicTacToeDynamicProgramming.stepInAvailableStates() except that
+	 * visited states are not expanded again.
+	 * 
+	 * @param paraEnvironment
+	 *            The environment to compute the game situations.
+	 * @param paraState
+	 *            The given state.
+	 * @param paraPlayer
+	 *            The current player, FIRST or SECOND.
+	 * @param paraReachableArray
+	 *            Which states are reachable.
+	 ****************** 
+	 */
+	private static void stepInReachableStates(TicTacToe paraEnvironment, int paraState,
+			int paraPlayer, boolean[] paraReachableArray) {
+		if (paraReachableArray[paraState]) {
+			return;
+		} // Of if
+		paraReachableArray[paraState] = true;
+
+		if (paraEnvironment.currentGameSituation(paraState) != UNFINISHED) {
+			return;
+		} // Of if
+
+		int tempNextPlayer = FIRST;
+		if (paraPlayer == FIRST) {
+			tempNextPlayer = SECOND;
+		} // Of if
+
+		// 3^0, 3^1, ..., 3^8
+		int tempPositionBase = 1;
+		for (int i = 0; i < NUM_POSITIONS; i++) {
+			if (paraState % (tempPositionBase * 3) / tempPositionBase == EMPTY) {
+				stepInReachableStates(paraEnvironment, paraState + paraPlayer * tempPositionBase,
+						tempNextPlayer, paraReachableArray);
+			} // Of if
+			tempPositionBase *= 3;
+		} // Of for i
+	}// Of stepInReachableStates
+
+	/**
+	 ****************** 
+	 * Get the next state of a reachable state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The next state, or -1 if the state is unreachable or final, or
+	 *         the position is occupied.
+	 ****************** 
+	 */
+	public int getNextState(int paraState, int paraAction) {
+		int tempIndex = reachableIndices[paraState];
+		if (tempIndex == UNAVAILABLE) {
+			return UNAVAILABLE;
+		} // Of if
+
+		return transitionTable[tempIndex * NUM_POSITIONS + paraAction];
+	}// Of getNextState
+
+	/**
+	 ****************** 
+	 * Get the number of reachable states.
+	 * 
+	 * @return The number.
+	 ****************** 
+	 */
+	public int getNumReachableStates() {
+		return validActionsTable.length;
+	}// Of getNumReachableStates
+
+	/**
+	 ****************** 
+	 * Create a batch of games sharing the tables of reachable states.
+	 * 
+	 * @param paraNumLanes
+	 *            The number of games.
+	 * @return The batch.
+	 ****************** 
+	 */
+	public VectorEnvironment createVectorEnvironment(int paraNumLanes) {
+		return new VectorTicTacToe(paraNumLanes);
+	}// Of createVectorEnvironment
+
 	/**
 	 ****************** 
 	 * Reset the game.
@@ -60,6 +266,7 @@ public class TicTacToe extends CompetitionEnvironment {
 				checkerboard[i][j] = EMPTY;
 			} // Of for j
 		} // Of for i
+		lineCounter.reset();
 
 		// White first
 		currentPlayer = FIRST;
@@ -76,6 +283,25 @@ public class TicTacToe extends CompetitionEnvironment {
 		return gameSituation;
 	}// Of getGameSituation
 
+	/**
+	 ****************** 
+	 * Get the game situation of the given state. Reachable states are looked
+	 * up in the table.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The game situation.
+	 ****************** 
+	 */
+	public int getGameSituation(int paraState) {
+		int tempIndex = reachableIndices[paraState];
+		if (tempIndex == UNAVAILABLE) {
+			return currentGameSituation(paraState);
+		} // Of if
+
+		return situationTable[tempIndex];
+	}// Of getGameSituation
+
 	/**
 	 ****************** 
 	 * Is the current state a final state?
@@ -110,7 +336,8 @@ public class TicTacToe extends CompetitionEnvironment {
 	
 	/**
 	 ****************** 
-	 * Get valid actions of the given state.
+	 * Get valid actions of the given state. Reachable states are looked up in
+	 * the table, and the returned array should not be changed.
 	 * 
 	 * @param paraState
 	 *            The given state.
@@ -118,6 +345,24 @@ public class TicTacToe extends CompetitionEnvironment {
 	 ****************** 
 	 */
 	public int[] getValidActions(int paraState) {
+		int tempIndex = reachableIndices[paraState];
+		if (tempIndex == UNAVAILABLE) {
+			return computeValidActions(paraState);
+		} // Of if
+
+		return validActionsTable[tempIndex];
+	}// Of getValidActions
+
+	/**
+	 ****************** 
+	 * Compute valid actions of the given state from the checkerboard.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The actions.
+	 ****************** 
+	 */
+	int[] computeValidActions(int paraState) {
 		//Step 1. Construct the checkerboard.
 		int[][] tempCheckerboard = stateToCheckerboard(paraState);
 		int[] tempValidActions = new int[checkerboardSize * checkerboardSize];
@@ -142,7 +387,7 @@ public class TicTacToe extends CompetitionEnvironment {
 		//SimpleTools.variableTrackingOutput("Valid actions: " + Arrays.toString(resultActions));
 
 		return resultActions;
-	}// Of getValidActions
+	}// Of computeValidActions
 	
 	/**
 	 ****************** 
@@ -154,7 +399,7 @@ public class TicTacToe extends CompetitionEnvironment {
 	 ****************** 
 	 */
 	public int getStateRewardValue(int paraState) {
-		int tempSituation = currentGameSituation(paraState);
+		int tempSituation = getGameSituation(paraState);
 		int tempValue = -1;
 		switch (tempSituation) {
 		case WIN:
@@ -183,26 +428,47 @@ public class TicTacToe extends CompetitionEnvironment {
 	 * 
 	 * @param paraAction
 	 *            The given action. It is the position chosen by the player.
-	 * @return Whether or not the process comes an end.
+	 * @throws IllegalActionException
+	 *             if the position is already occupied.
 	 ****************** 
 	 */
 	public void step(int paraAction) throws IllegalActionException {
+		if (tryStep(paraAction) == STEP_ILLEGAL_ACTION) {
+			int tempRow = paraAction / checkerboardSize;
+			int tempColumn = paraAction % checkerboardSize;
+			System.out.println("The checkerboard state is: " + Arrays.deepToString(checkerboard));
+			throw new IllegalActionException("The position (" + tempRow + ", " + tempColumn
+					+ " is already occupied " + checkerboard[tempRow][tempColumn]);
+		} // Of if
+	}// Of step
+
+	/**
+	 ****************** 
+	 * Go one step with the given action.
+	 * 
+	 * @param paraAction
+	 *            The given action. It is the position chosen by the player.
+	 * @return STEP_OK, or STEP_ILLEGAL_ACTION if the position is already
+	 *         occupied.
+	 ****************** 
+	 */
+	public int tryStep(int paraAction) {
 		// Step 1. Is this action legal?
 		int tempRow = paraAction / checkerboardSize;
 		int tempColumn = paraAction % checkerboardSize;
 		if (checkerboard[tempRow][tempColumn] != EMPTY) {
-			System.out.println("The checkerboard state is: " + Arrays.deepToString(checkerboard));
-			throw new IllegalActionException("The position (" + tempRow + ", " + tempColumn
-					+ " is already occupied " + checkerboard[tempRow][tempColumn]);
+			return STEP_ILLEGAL_ACTION;
 		} // Of if
 
 		// Step 2. Change the state of the checkerboard.
-		SimpleTools.variableTrackingOutput("Assign " + currentPlayer + " to (" + tempRow
-				+ ", " + tempColumn + ").");
+		if (context.isVariableTracking()) {
+			context.variableTrackingOutput("Assign " + currentPlayer + " to (" + tempRow
+					+ ", " + tempColumn + ").");
+		} // Of if
 		checkerboard[tempRow][tempColumn] = currentPlayer;
-		currentState = checkerboardToState(checkerboard);
-		
-		gameSituation = currentGameSituation();
+		// Only the lines through this position are checked.
+		gameSituation = lineCounter.place(paraAction, currentPlayer);
+		currentState = lineCounter.getState();
 		//SimpleTools.variableTrackingOutput("Game situation " + gameSituation);
 		switch(gameSituation) {
 		case WIN:
@@ -223,7 +489,8 @@ public class TicTacToe extends CompetitionEnvironment {
 		} // Of if
 		
 		//SimpleTools.variableTrackingOutput("Now it is the turn of player " + currentPlayer);
-	}// Of step
+		return STEP_OK;
+	}// Of tryStep
 
 	/**
 	 ****************** 
@@ -0,0 +1,289 @@
+package qlearning.environment;
+
+/**
+ * Incremental state and game situation of tic-tac-toe. The base-3 state is
+ * updated by adding player * 3^position, and only the lines through the
+ * position just played are checked with per-line counters.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class TicTacToeLineCounter {
+
+	/**
+	 * The size of the checkerboard.
+	 */
+	public static final int SIZE = 3;
+
+	/**
+	 * The number of positions.
+	 */
+	public static final int NUM_POSITIONS = SIZE * SIZE;
+
+	/**
+	 * The lines in the same order as the full scan: rows, columns, the slope
+	 * from left-top, and the slope from right-top.
+	 */
+	static final int[][] LINES = { { 0, 1, 2 }, { 3, 4, 5 }, { 6, 7, 8 }, { 0, 3, 6 },
+			{ 1, 4, 7 }, { 2, 5, 8 }, { 0, 4, 8 }, { 2, 4, 6 } };
+
+	/**
+	 * The lines through each position.
+	 */
+	static final int[][] POSITION_LINES = computePositionLines();
+
+	/**
+	 * 3^0, 3^1, ..., 3^8.
+	 */
+	static final int[] POWERS = { 1, 3, 9, 27, 81, 243, 729, 2187, 6561 };
+
+	/**
+	 * The number of pieces of each player on each line. The first index is
+	 * the player.
+	 */
+	int[][] lineCounts;
+
+	/**
+	 * The number of pieces on the checkerboard.
+	 */
+	int numPieces;
+
+	/**
+	 * The base-3 state.
+	 */
+	int state;
+
+	/**
+	 * The game situation: the winner (FIRST/SECOND), TIE, or UNFINISHED.
+	 */
+	int situation;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 ****************** 
+	 */
+	public TicTacToeLineCounter() {
+		lineCounts = new int[3][LINES.length];
+		reset();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Compute the lines through each position.
+	 * 
+	 * @return The line indices of each position.
+	 ****************** 
+	 */
+	private static int[][] computePositionLines() {
+		int[][] resultLines = new int[NUM_POSITIONS][];
+		int[] tempLines = new int[LINES.length];
+		int tempNumLines;
+		for (int i = 0; i < NUM_POSITIONS; i++) {
+			tempNumLines = 0;
+			for (int j = 0; j < LINES.length; j++) {
+				for (int k = 0; k < LINES[j].length; k++) {
+					if (LINES[j][k] == i) {
+						tempLines[tempNumLines] = j;
+						tempNumLines++;
+						break;
+					} // Of if
+				} // Of for k
+			} // Of for j
+
+			resultLines[i] = new int[tempNumLines];
+			for (int j = 0; j < tempNumLines; j++) {
+				resultLines[i][j] = tempLines[j];
+			} // Of for j
+		} // Of for i
+
+		return resultLines;
+	}// Of computePositionLines
+
+	/**
+	 ****************** 
+	 * Reset to the empty checkerboard.
+	 ****************** 
+	 */
+	public void reset() {
+		for (int i = 0; i < lineCounts.length; i++) {
+			for (int j = 0; j < lineCounts[i].length; j++) {
+				lineCounts[i][j] = 0;
+			} // Of for j
+		} // Of for i
+		numPieces = 0;
+		state = 0;
+		situation = CompetitionEnvironment.UNFINISHED;
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Place a piece. The position should be empty.
+	 * 
+	 * @param paraPosition
+	 *            The position.
+	 * @param paraPlayer
+	 *            The player, FIRST or SECOND.
+	 * @return The new game situation.
+	 ****************** 
+	 */
+	public int place(int paraPosition, int paraPlayer) {
+		state += paraPlayer * POWERS[paraPosition];
+		numPieces++;
+
+		int[] tempLines = POSITION_LINES[paraPosition];
+		int[] tempCounts = lineCounts[paraPlayer];
+		if (situation != CompetitionEnvironment.UNFINISHED) {
+			// Already over, the full scan decides which line is reported.
+			for (int i = 0; i < tempLines.length; i++) {
+				tempCounts[tempLines[i]]++;
+			} // Of for i
+			situation = scanSituation();
+			return situation;
+		} // Of if
+
+		boolean tempWin = false;
+		for (int i = 0; i < tempLines.length; i++) {
+			tempCounts[tempLines[i]]++;
+			if (tempCounts[tempLines[i]] == SIZE) {
+				tempWin = true;
+			} // Of if
+		} // Of for i
+
+		if (tempWin) {
+			situation = paraPlayer;
+		} else if (numPieces == NUM_POSITIONS) {
+			situation = CompetitionEnvironment.TIE;
+		} // Of if
+
+		return situation;
+	}// Of place
+
+	/**
+	 ****************** 
+	 * Remove a piece. It is the reverse of place().
+	 * 
+	 * @param paraPosition
+	 *            The position.
+	 * @param paraPlayer
+	 *            The player of the piece.
+	 * @return The new game situation.
+	 ****************** 
+	 */
+	public int remove(int paraPosition, int paraPlayer) {
+		state -= paraPlayer * POWERS[paraPosition];
+		numPieces--;
+
+		int[] tempLines = POSITION_LINES[paraPosition];
+		for (int i = 0; i < tempLines.length; i++) {
+			lineCounts[paraPlayer][tempLines[i]]--;
+		} // Of for i
+		situation = scanSituation();
+
+		return situation;
+	}// Of remove
+
+	/**
+	 ****************** 
+	 * Determine the game situation from all line counters, in the order of
+	 * the full checkerboard scan.
+	 * 
+	 * @return The situation.
+	 ****************** 
+	 */
+	int scanSituation() {
+		for (int i = 0; i < LINES.length; i++) {
+			if (lineCounts[CompetitionEnvironment.FIRST][i] == SIZE) {
+				return CompetitionEnvironment.FIRST;
+			} else if (lineCounts[CompetitionEnvironment.SECOND][i] == SIZE) {
+				return CompetitionEnvironment.SECOND;
+			} // Of if
+		} // Of for i
+
+		if (numPieces == NUM_POSITIONS) {
+			return CompetitionEnvironment.TIE;
+		} // Of if
+
+		return CompetitionEnvironment.UNFINISHED;
+	}// Of scanSituation
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The base-3 state.
+	 ****************** 
+	 */
+	public int getState() {
+		return state;
+	}// Of getState
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The game situation.
+	 ****************** 
+	 */
+	public int getSituation() {
+		return situation;
+	}// Of getSituation
+
+	/**
+	 ****************** 
+	 * Compare with the full scan of TicTacToe for all games. It is recursive.
+	 * 
+	 * @param paraEnvironment
+	 *            The environment providing the full scan.
+	 * @param paraPlayer
+	 *            The player to move.
+	 * @return The number of mismatches.
+	 ****************** 
+	 */
+	int compareAllGames(TicTacToe paraEnvironment, int paraPlayer) {
+		int resultMismatches = 0;
+		if (situation != paraEnvironment.currentGameSituation(state)) {
+			resultMismatches++;
+		} // Of if
+		if (situation != CompetitionEnvironment.UNFINISHED) {
+			return resultMismatches;
+		} // Of if
+
+		int tempNextPlayer = CompetitionEnvironment.FIRST;
+		if (paraPlayer == CompetitionEnvironment.FIRST) {
+			tempNextPlayer = CompetitionEnvironment.SECOND;
+		} // Of if
+		for (int i = 0; i < NUM_POSITIONS; i++) {
+			if (state / POWERS[i] % 3 != CompetitionEnvironment.EMPTY) {
+				continue;
+			} // Of if
+
+			place(i, paraPlayer);
+			resultMismatches += compareAllGames(paraEnvironment, tempNextPlayer);
+			remove(i, paraPlayer);
+		} // Of for i
+
+		return resultMismatches;
+	}// Of compareAllGames
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		TicTacToeLineCounter tempCounter = new TicTacToeLineCounter();
+		int tempMismatches = tempCounter.compareAllGames(new TicTacToe(),
+				CompetitionEnvironment.FIRST);
+		System.out.println("Mismatches with the full scan over all games: " + tempMismatches);
+	}// Of main
+} // Of class TicTacToeLineCounter
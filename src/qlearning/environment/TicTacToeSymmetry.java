@@ -0,0 +1,245 @@
+package qlearning.environment;
+
+/**
+ * The 8 symmetries (rotations and reflections) of the tic-tac-toe
+ * checkerboard. Every state is mapped to a canonical representative, i.e., the
+ * minimal state among its 8 images, and every action to the corresponding
+ * canonical action. Both are looked up in tables computed once for all 3^9
+ * states. States are encoded as in TicTacToe and VTicTacToe.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class TicTacToeSymmetry {
+
+	/**
+	 * The size of the checkerboard.
+	 */
+	public static final int SIZE = 3;
+
+	/**
+	 * The number of positions.
+	 */
+	public static final int NUM_POSITIONS = SIZE * SIZE;
+
+	/**
+	 * The number of encoded states, 3^9.
+	 */
+	public static final int NUM_STATES = 19683;
+
+	/**
+	 * The number of symmetries.
+	 */
+	public static final int NUM_SYMMETRIES = 8;
+
+	/**
+	 * The position of each position under each symmetry. The first one is the
+	 * identity.
+	 */
+	static final int[][] PERMUTATIONS = computePermutations();
+
+	/**
+	 * The canonical state of each state.
+	 */
+	static final int[] CANONICAL_STATES = new int[NUM_STATES];
+
+	/**
+	 * The canonical action of each (state, action) pair, stored at state * 9 +
+	 * action.
+	 */
+	static final byte[] CANONICAL_ACTIONS = new byte[NUM_STATES * NUM_POSITIONS];
+
+	static {
+		computeCanonicalTables();
+	}// Of static
+
+	/**
+	 ****************** 
+	 * Compute the permutations of positions. The first four are rotations, and
+	 * the others are reflections.
+	 * 
+	 * @return The permutations.
+	 ****************** 
+	 */
+	private static int[][] computePermutations() {
+		int[][] resultPermutations = new int[NUM_SYMMETRIES][NUM_POSITIONS];
+		int tempRow;
+		int tempColumn;
+		int tempNewRow;
+		int tempNewColumn;
+		for (int i = 0; i < NUM_SYMMETRIES; i++) {
+			for (int j = 0; j < NUM_POSITIONS; j++) {
+				tempRow = j / SIZE;
+				tempColumn = j % SIZE;
+				// Reflect by columns first for the last four.
+				if (i >= 4) {
+					tempColumn = SIZE - 1 - tempColumn;
+				} // Of if
+				// Rotate 90 degrees clockwise i % 4 times.
+				for (int k = 0; k < i % 4; k++) {
+					tempNewRow = tempColumn;
+					tempNewColumn = SIZE - 1 - tempRow;
+					tempRow = tempNewRow;
+					tempColumn = tempNewColumn;
+				} // Of for k
+				resultPermutations[i][j] = tempRow * SIZE + tempColumn;
+			} // Of for j
+		} // Of for i
+
+		return resultPermutations;
+	}// Of computePermutations
+
+	/**
+	 ****************** 
+	 * Compute the canonical state of each state, and the canonical action of
+	 * each (state, action) pair. If more than one symmetry leads to the
+	 * canonical state, the minimal image of the action is taken, hence
+	 * equivalent actions of a symmetric state share the same canonical action.
+	 ****************** 
+	 */
+	private static void computeCanonicalTables() {
+		int[] tempPowers = new int[NUM_POSITIONS];
+		tempPowers[0] = 1;
+		for (int i = 1; i < NUM_POSITIONS; i++) {
+			tempPowers[i] = tempPowers[i - 1] * 3;
+		} // Of for i
+
+		int[] tempImages = new int[NUM_SYMMETRIES];
+		int tempDigit;
+		int tempCanonicalState;
+		int tempCanonicalAction;
+		for (int i = 0; i < NUM_STATES; i++) {
+			// Step 1. The images of the state.
+			tempCanonicalState = i;
+			for (int k = 0; k < NUM_SYMMETRIES; k++) {
+				tempImages[k] = 0;
+				for (int j = 0; j < NUM_POSITIONS; j++) {
+					tempDigit = i / tempPowers[j] % 3;
+					tempImages[k] += tempDigit * tempPowers[PERMUTATIONS[k][j]];
+				} // Of for j
+				if (tempCanonicalState > tempImages[k]) {
+					tempCanonicalState = tempImages[k];
+				} // Of if
+			} // Of for k
+			CANONICAL_STATES[i] = tempCanonicalState;
+
+			// Step 2. The actions under the symmetries leading to the
+			// canonical state.
+			for (int j = 0; j < NUM_POSITIONS; j++) {
+				tempCanonicalAction = NUM_POSITIONS;
+				for (int k = 0; k < NUM_SYMMETRIES; k++) {
+					if (tempImages[k] == tempCanonicalState
+							&& tempCanonicalAction > PERMUTATIONS[k][j]) {
+						tempCanonicalAction = PERMUTATIONS[k][j];
+					} // Of if
+				} // Of for k
+				CANONICAL_ACTIONS[i * NUM_POSITIONS + j] = (byte) tempCanonicalAction;
+			} // Of for j
+		} // Of for i
+	}// Of computeCanonicalTables
+
+	/**
+	 ****************** 
+	 * Get the canonical state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The canonical state.
+	 ****************** 
+	 */
+	public static int getCanonicalState(int paraState) {
+		return CANONICAL_STATES[paraState];
+	}// Of getCanonicalState
+
+	/**
+	 ****************** 
+	 * Get the canonical action, i.e., the action in the canonical state
+	 * corresponding to the given one.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The canonical action.
+	 ****************** 
+	 */
+	public static int getCanonicalAction(int paraState, int paraAction) {
+		return CANONICAL_ACTIONS[paraState * NUM_POSITIONS + paraAction];
+	}// Of getCanonicalAction
+
+	/**
+	 ****************** 
+	 * Is the given state canonical?
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return True if it is.
+	 ****************** 
+	 */
+	public static boolean isCanonical(int paraState) {
+		return CANONICAL_STATES[paraState] == paraState;
+	}// Of isCanonical
+
+	/**
+	 ****************** 
+	 * Count the canonical states among the given ones.
+	 * 
+	 * @param paraStates
+	 *            The given states.
+	 * @return The number of canonical states.
+	 ****************** 
+	 */
+	public static int countCanonical(int[] paraStates) {
+		int resultCount = 0;
+		for (int i = 0; i < paraStates.length; i++) {
+			if (isCanonical(paraStates[i])) {
+				resultCount++;
+			} // Of if
+		} // Of for i
+
+		return resultCount;
+	}// Of countCanonical
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		// The four corners of the empty checkerboard are the same.
+		System.out.print("Canonical actions of the empty checkerboard:");
+		for (int i = 0; i < NUM_POSITIONS; i++) {
+			System.out.print(" " + getCanonicalAction(0, i));
+		} // Of for i
+		System.out.println();
+
+		// A piece at each corner leads to the same state.
+		System.out.println("Canonical states of a corner piece: " + getCanonicalState(1) + ", "
+				+ getCanonicalState(9) + ", " + getCanonicalState(729) + ", "
+				+ getCanonicalState(6561));
+
+		// The tables of reachable states are built by the constructor.
+		new TicTacToe();
+		int tempNumReachable = 0;
+		int tempNumCanonical = 0;
+		for (int i = 0; i < NUM_STATES; i++) {
+			if (TicTacToe.reachableIndices[i] != TicTacToe.UNAVAILABLE) {
+				tempNumReachable++;
+				if (isCanonical(i)) {
+					tempNumCanonical++;
+				} // Of if
+			} // Of if
+		} // Of for i
+		System.out.println("Reachable states: " + tempNumReachable + ", canonical: "
+				+ tempNumCanonical);
+	}// Of main
+} // Of class TicTacToeSymmetry
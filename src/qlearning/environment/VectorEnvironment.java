@@ -0,0 +1,427 @@
+package qlearning.environment;
+
+import java.util.Arrays;
+
+/**
+ * A batch of independent copies of an environment advanced in one call. The
+ * state of the copies, called lanes, is stored as parallel arrays instead of
+ * objects, and the tables of the source environment are shared by all lanes.
+ * A lane reaching a final state is reset to the start state in the same call,
+ * so the learners may keep all lanes busy without checking them one by one.
+ * <br>
+ * After step(), for lane i, previousStates[i] is the state where the action
+ * was taken, nextStates[i] is the state reached, rewards[i] is the reward of
+ * the action, and done[i] tells whether the episode is over. states[i] is
+ * the state for the next action, i.e., the start state if done[i], otherwise
+ * nextStates[i].<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public abstract class VectorEnvironment {
+
+	/**
+	 * The action for a lane without valid actions. The episode of the lane is
+	 * over with the penalty, as in the learning loop of QAgent.
+	 */
+	public static final int NO_ACTION = -1;
+
+	/**
+	 * The action for a lane to stay idle in this step. Nothing of the lane is
+	 * changed, and done is false.
+	 */
+	public static final int SKIP_LANE = -2;
+
+	/**
+	 * The number of lanes.
+	 */
+	int numLanes;
+
+	/**
+	 * The number of states of the source environment.
+	 */
+	int numStates;
+
+	/**
+	 * The number of actions of the source environment.
+	 */
+	int numActions;
+
+	/**
+	 * The start state of each episode.
+	 */
+	int startState;
+
+	/**
+	 * The current state of each lane.
+	 */
+	int[] states;
+
+	/**
+	 * The state of each lane before the last step.
+	 */
+	int[] previousStates;
+
+	/**
+	 * The state reached by each lane in the last step, before resetting.
+	 */
+	int[] nextStates;
+
+	/**
+	 * The reward of each lane in the last step.
+	 */
+	int[] rewards;
+
+	/**
+	 * Is the episode of each lane over in the last step?
+	 */
+	boolean[] done;
+
+	/**
+	 * The sum of rewards of the current episode of each lane. If done, it is
+	 * the sum of the finished episode until the next step.
+	 */
+	double[] episodeRewards;
+
+	/**
+	 * The number of steps of the current episode of each lane, kept in the
+	 * same way as episodeRewards.
+	 */
+	int[] episodeSteps;
+
+	/**
+	 * The number of times hitting the wall in the current episode of each
+	 * lane, kept in the same way as episodeRewards.
+	 */
+	int[] wallTimes;
+
+	/**
+	 * The number of episodes finished by all lanes.
+	 */
+	long numFinishedEpisodes;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumLanes
+	 *            The number of lanes.
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 * @param paraStartState
+	 *            The start state of each episode.
+	 ****************** 
+	 */
+	VectorEnvironment(int paraNumLanes, int paraNumStates, int paraNumActions,
+			int paraStartState) {
+		if (paraNumLanes < 1) {
+			throw new IllegalArgumentException(
+					"VectorEnvironment: the number of lanes should be positive, not "
+							+ paraNumLanes);
+		} // Of if
+
+		numLanes = paraNumLanes;
+		numStates = paraNumStates;
+		numActions = paraNumActions;
+		startState = paraStartState;
+
+		states = new int[numLanes];
+		previousStates = new int[numLanes];
+		nextStates = new int[numLanes];
+		rewards = new int[numLanes];
+		done = new boolean[numLanes];
+		episodeRewards = new double[numLanes];
+		episodeSteps = new int[numLanes];
+		wallTimes = new int[numLanes];
+		reset();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Reset all lanes to the start state.
+	 ****************** 
+	 */
+	public void reset() {
+		Arrays.fill(states, startState);
+		Arrays.fill(previousStates, startState);
+		Arrays.fill(nextStates, startState);
+		Arrays.fill(rewards, 0);
+		Arrays.fill(done, false);
+		Arrays.fill(episodeRewards, 0);
+		Arrays.fill(episodeSteps, 0);
+		Arrays.fill(wallTimes, 0);
+		numFinishedEpisodes = 0;
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Advance all lanes with the given actions, one for each lane. Finished
+	 * lanes are reset to the start state.
+	 * 
+	 * @param paraActions
+	 *            The actions. NO_ACTION ends the episode of the lane with the
+	 *            penalty, which replaces its reward as in
+	 *            QAgent.continueLearning, and SKIP_LANE leaves the lane
+	 *            unchanged.
+	 * @throws IllegalArgumentException
+	 *             if the number of actions does not match, or an action is
+	 *             illegal in the state of its lane.
+	 ****************** 
+	 */
+	public void step(int[] paraActions) {
+		if (paraActions.length != numLanes) {
+			throw new IllegalArgumentException("VectorEnvironment: " + paraActions.length
+					+ " actions for " + numLanes + " lanes.");
+		} // Of if
+
+		int tempAction;
+		for (int i = 0; i < numLanes; i++) {
+			// The statistics of a finished episode are kept for one step only.
+			if (done[i]) {
+				episodeRewards[i] = 0;
+				episodeSteps[i] = 0;
+				wallTimes[i] = 0;
+				done[i] = false;
+			} // Of if
+
+			tempAction = paraActions[i];
+			previousStates[i] = states[i];
+			if (tempAction == SKIP_LANE) {
+				nextStates[i] = states[i];
+				rewards[i] = 0;
+				continue;
+			} // Of if
+
+			episodeSteps[i]++;
+			if (tempAction == NO_ACTION) {
+				nextStates[i] = states[i];
+				rewards[i] = Environment.PENALTY_VALUE;
+				done[i] = true;
+				episodeRewards[i] = rewards[i];
+			} else {
+				stepLane(i, tempAction);
+				episodeRewards[i] += rewards[i];
+			} // Of if
+
+			if (done[i]) {
+				numFinishedEpisodes++;
+				resetLane(i);
+			} else {
+				states[i] = nextStates[i];
+			} // Of if
+		} // Of for i
+	}// Of step
+
+	/**
+	 ****************** 
+	 * Reset a lane whose episode is over.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 ****************** 
+	 */
+	void resetLane(int paraLane) {
+		states[paraLane] = startState;
+	}// Of resetLane
+
+	/**
+	 ****************** 
+	 * Advance one lane with the given action. It should set nextStates, rewards
+	 * and done of the lane, and count the wall times, but should not change
+	 * states.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @param paraAction
+	 *            The action, which is not negative.
+	 * @throws IllegalArgumentException
+	 *             if the action is illegal in the state of the lane.
+	 ****************** 
+	 */
+	abstract void stepLane(int paraLane, int paraAction);
+
+	/**
+	 ****************** 
+	 * Get the valid actions of the given state. The returned array is shared
+	 * and should not be changed.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The actions.
+	 ****************** 
+	 */
+	public abstract int[] getValidActions(int paraState);
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of lanes.
+	 ****************** 
+	 */
+	public int getNumLanes() {
+		return numLanes;
+	}// Of getNumLanes
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of states.
+	 ****************** 
+	 */
+	public int getNumStates() {
+		return numStates;
+	}// Of getNumStates
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of actions.
+	 ****************** 
+	 */
+	public int getNumActions() {
+		return numActions;
+	}// Of getNumActions
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The start state.
+	 ****************** 
+	 */
+	public int getStartState() {
+		return startState;
+	}// Of getStartState
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return The current state of each lane.
+	 ****************** 
+	 */
+	public int[] getStates() {
+		return states;
+	}// Of getStates
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return The state of each lane before the last step.
+	 ****************** 
+	 */
+	public int[] getPreviousStates() {
+		return previousStates;
+	}// Of getPreviousStates
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return The state reached by each lane in the last step.
+	 ****************** 
+	 */
+	public int[] getNextStates() {
+		return nextStates;
+	}// Of getNextStates
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return The reward of each lane in the last step.
+	 ****************** 
+	 */
+	public int[] getRewards() {
+		return rewards;
+	}// Of getRewards
+
+	/**
+	 ****************** 
+	 * Getter. The array is shared and should not be changed.
+	 * 
+	 * @return Whether the episode of each lane is over in the last step.
+	 ****************** 
+	 */
+	public boolean[] getDone() {
+		return done;
+	}// Of getDone
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @return The sum of rewards of the current episode, or of the episode
+	 *         just finished. An episode ended by NO_ACTION has the penalty
+	 *         only.
+	 ****************** 
+	 */
+	public double getEpisodeReward(int paraLane) {
+		return episodeRewards[paraLane];
+	}// Of getEpisodeReward
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @return The number of steps of the current episode, or of the episode
+	 *         just finished.
+	 ****************** 
+	 */
+	public int getEpisodeSteps(int paraLane) {
+		return episodeSteps[paraLane];
+	}// Of getEpisodeSteps
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @return The wall times of the current episode, or of the episode just
+	 *         finished.
+	 ****************** 
+	 */
+	public int getWallTimes(int paraLane) {
+		return wallTimes[paraLane];
+	}// Of getWallTimes
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of episodes finished by all lanes since the last
+	 *         reset.
+	 ****************** 
+	 */
+	public long getNumFinishedEpisodes() {
+		return numFinishedEpisodes;
+	}// Of getNumFinishedEpisodes
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return getClass().getSimpleName() + " with " + numLanes + " lanes, states: "
+				+ Arrays.toString(states) + ", finished episodes: " + numFinishedEpisodes;
+	}// Of toString
+
+} // Of class VectorEnvironment
@@ -0,0 +1,88 @@
+package qlearning.environment;
+
+/**
+ * A batch of copies of a maze. The cells of the source maze are shared, and no
+ * table is built, so that the memory of lanes does not depend on the size of
+ * the maze.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class VectorMaze extends VectorEnvironment {
+
+	/**
+	 * The source maze. Its cells are shared, and the steps are computed from
+	 * the coordinates as it does.
+	 */
+	Maze maze;
+
+	/**
+	 * The cells of the source maze.
+	 */
+	byte[] cells;
+
+	/**
+	 ****************** 
+	 * The first constructor. All lanes start from the start state of the
+	 * given maze.
+	 * 
+	 * @param paraMaze
+	 *            The source maze.
+	 * @param paraNumLanes
+	 *            The number of lanes.
+	 ****************** 
+	 */
+	public VectorMaze(Maze paraMaze, int paraNumLanes) {
+		super(paraNumLanes, paraMaze.getNumStates(), paraMaze.getNumActions(),
+				paraMaze.getStartState());
+		maze = paraMaze;
+		cells = paraMaze.getCells();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Advance one lane as Maze.tryStep() does.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @param paraAction
+	 *            The action.
+	 ****************** 
+	 */
+	void stepLane(int paraLane, int paraAction) {
+		int tempState = states[paraLane];
+		int tempNextState = maze.getNextState(tempState, paraAction);
+		if (tempNextState == Maze.INVALID_STATE) {
+			throw new IllegalArgumentException("VectorMaze: the action " + paraAction
+					+ " is illegal in state " + tempState + " of lane " + paraLane);
+		} // Of if
+
+		rewards[paraLane] = maze.getStateRewardValue(tempNextState);
+		if (cells[tempNextState] == Maze.TRAP_STATE_VALUE) {
+			tempNextState = tempState;
+			wallTimes[paraLane]++;
+		} // Of if
+		nextStates[paraLane] = tempNextState;
+		done[paraLane] = cells[tempNextState] == Maze.FINAL_STATE_VALUE;
+	}// Of stepLane
+
+	/**
+	 ****************** 
+	 * Get the valid actions of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The actions.
+	 ****************** 
+	 */
+	public int[] getValidActions(int paraState) {
+		return maze.getValidActions(paraState);
+	}// Of getValidActions
+
+} // Of class VectorMaze
@@ -0,0 +1,142 @@
+package qlearning.environment;
+
+import java.util.Arrays;
+
+/**
+ * A batch of tic-tac-toe games. The tables of reachable states built by
+ * TicTacToe are shared, so a step is a few array lookups. The players take
+ * turns in each lane, and the reward is given as TicTacToe.tryStep() does,
+ * i.e., REWARD_VALUE if the first player wins and PENALTY_VALUE if the
+ * second player wins.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class VectorTicTacToe extends VectorEnvironment {
+
+	/**
+	 * The number of pieces of each lane, so that the player to move is known.
+	 */
+	int[] numPieces;
+
+	/**
+	 ****************** 
+	 * The first constructor. All lanes start from the empty checkerboard.
+	 * 
+	 * @param paraNumLanes
+	 *            The number of lanes.
+	 ****************** 
+	 */
+	public VectorTicTacToe(int paraNumLanes) {
+		super(paraNumLanes, TicTacToe.NUM_ENCODED_STATES, TicTacToe.NUM_POSITIONS, 0);
+		// Build the shared tables if not yet.
+		new TicTacToe();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Reset all lanes to the empty checkerboard.
+	 ****************** 
+	 */
+	public void reset() {
+		super.reset();
+		// The super-constructor resets before the array is allocated.
+		if (numPieces == null) {
+			numPieces = new int[numLanes];
+		} // Of if
+		Arrays.fill(numPieces, 0);
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Advance one lane as TicTacToe.tryStep() does.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @param paraAction
+	 *            The position.
+	 ****************** 
+	 */
+	void stepLane(int paraLane, int paraAction) {
+		int tempState = states[paraLane];
+		int tempIndex = TicTacToe.reachableIndices[tempState];
+		int tempNextState = TicTacToe.UNAVAILABLE;
+		if (tempIndex != TicTacToe.UNAVAILABLE) {
+			tempNextState = TicTacToe.transitionTable[tempIndex * TicTacToe.NUM_POSITIONS
+					+ paraAction];
+		} // Of if
+		if (tempNextState == TicTacToe.UNAVAILABLE) {
+			throw new IllegalArgumentException("VectorTicTacToe: the position " + paraAction
+					+ " is not available in state " + tempState + " of lane " + paraLane);
+		} // Of if
+
+		nextStates[paraLane] = tempNextState;
+		switch (TicTacToe.situationTable[TicTacToe.reachableIndices[tempNextState]]) {
+		case CompetitionEnvironment.WIN:
+			rewards[paraLane] = Environment.REWARD_VALUE;
+			done[paraLane] = true;
+			break;
+		case CompetitionEnvironment.LOSE:
+			rewards[paraLane] = Environment.PENALTY_VALUE;
+			done[paraLane] = true;
+			break;
+		case CompetitionEnvironment.TIE:
+			rewards[paraLane] = 0;
+			done[paraLane] = true;
+			break;
+		default:
+			rewards[paraLane] = 0;
+		}// Of switch
+		numPieces[paraLane]++;
+	}// Of stepLane
+
+	/**
+	 ****************** 
+	 * Reset a lane to the empty checkerboard.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 ****************** 
+	 */
+	void resetLane(int paraLane) {
+		super.resetLane(paraLane);
+		numPieces[paraLane] = 0;
+	}// Of resetLane
+
+	/**
+	 ****************** 
+	 * Get the player to move in the given lane.
+	 * 
+	 * @param paraLane
+	 *            The lane.
+	 * @return FIRST or SECOND.
+	 ****************** 
+	 */
+	public int getCurrentPlayer(int paraLane) {
+		if (numPieces[paraLane] % 2 == 0) {
+			return CompetitionEnvironment.FIRST;
+		} // Of if
+
+		return CompetitionEnvironment.SECOND;
+	}// Of getCurrentPlayer
+
+	/**
+	 ****************** 
+	 * Get the valid actions of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The positions.
+	 ****************** 
+	 */
+	public int[] getValidActions(int paraState) {
+		return TicTacToe.validActionsTable[TicTacToe.reachableIndices[paraState]];
+	}// Of getValidActions
+
+} // Of class VectorTicTacToe
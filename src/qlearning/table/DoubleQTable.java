@@ -0,0 +1,159 @@
+package qlearning.table;
+
+import java.util.Arrays;
+
+/**
+ * A quality table stored in one flat double array in row-major order. The
+ * quality of (state, action) is stored at state * numActions + action, hence
+ * all actions of one state are adjacent in the memory.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class DoubleQTable extends QTable {
+
+	/**
+	 * The quality values.
+	 */
+	double[] values;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 ****************** 
+	 */
+	public DoubleQTable(int paraNumStates, int paraNumActions) {
+		super(paraNumStates, paraNumActions);
+		values = new double[paraNumStates * paraNumActions];
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Get the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The quality value.
+	 ****************** 
+	 */
+	public double getValue(int paraState, int paraAction) {
+		return values[paraState * numActions + paraAction];
+	}// Of getValue
+
+	/**
+	 ****************** 
+	 * Set the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraValue
+	 *            The new quality value.
+	 ****************** 
+	 */
+	public void setValue(int paraState, int paraAction, double paraValue) {
+		values[paraState * numActions + paraAction] = paraValue;
+	}// Of setValue
+
+	/**
+	 ****************** 
+	 * Add to the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraIncrement
+	 *            The increment, may be negative.
+	 ****************** 
+	 */
+	public void addValue(int paraState, int paraAction, double paraIncrement) {
+		values[paraState * numActions + paraAction] += paraIncrement;
+	}// Of addValue
+
+	/**
+	 ****************** 
+	 * Reset all quality values to 0.
+	 ****************** 
+	 */
+	public void reset() {
+		Arrays.fill(values, 0);
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Copy the qualities of all actions of the given state to the given row.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraRow
+	 *            The row to fill, with length at least numActions.
+	 ****************** 
+	 */
+	public void copyRow(int paraState, double[] paraRow) {
+		System.arraycopy(values, paraState * numActions, paraRow, 0, numActions);
+	}// Of copyRow
+
+	/**
+	 ****************** 
+	 * Copy all qualities to the given array, row by row.
+	 * 
+	 * @param paraValues
+	 *            The array to fill, with length at least numStates * numActions.
+	 ****************** 
+	 */
+	public void copyValues(double[] paraValues) {
+		System.arraycopy(values, 0, paraValues, 0, values.length);
+	}// Of copyValues
+
+	/**
+	 ****************** 
+	 * Get the maximal quality among the given actions of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraActions
+	 *            The given actions.
+	 * @param paraLowerBound
+	 *            The returned value is no less than this one.
+	 * @return The maximal quality value.
+	 ****************** 
+	 */
+	public double getMaxValue(int paraState, int[] paraActions, double paraLowerBound) {
+		int tempBase = paraState * numActions;
+		double resultMax = paraLowerBound;
+		for (int i = 0; i < paraActions.length; i++) {
+			if (resultMax < values[tempBase + paraActions[i]]) {
+				resultMax = values[tempBase + paraActions[i]];
+			} // Of if
+		} // Of for i
+
+		return resultMax;
+	}// Of getMaxValue
+
+	/**
+	 ****************** 
+	 * Getter. The underlying array is shared, not copied.
+	 * 
+	 * @return The quality values.
+	 ****************** 
+	 */
+	public double[] getValues() {
+		return values;
+	}// Of getValues
+
+} // Of class DoubleQTable
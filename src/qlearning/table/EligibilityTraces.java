@@ -0,0 +1,180 @@
+package qlearning.table;
+
+/**
+ * The eligibility traces of state-action pairs, kept as a list of active
+ * pairs rather than a matrix of all pairs. A trace is replaced by 1 when the
+ * pair is visited, decays after each step, and is removed once it falls below
+ * the threshold. Hence a step costs O(active traces), which is bounded by the
+ * threshold and the decay rather than by the number of states.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class EligibilityTraces {
+
+	/**
+	 * Traces below this value are removed.
+	 */
+	public static final double DEFAULT_THRESHOLD = 1e-3;
+
+	/**
+	 * The states of active pairs.
+	 */
+	int[] states;
+
+	/**
+	 * The actions of active pairs.
+	 */
+	int[] actions;
+
+	/**
+	 * The traces of active pairs.
+	 */
+	double[] traces;
+
+	/**
+	 * The number of active pairs.
+	 */
+	int size;
+
+	/**
+	 * Traces below this value are removed.
+	 */
+	double threshold;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraThreshold
+	 *            Traces below this value are removed.
+	 ****************** 
+	 */
+	public EligibilityTraces(double paraThreshold) {
+		threshold = paraThreshold;
+		states = new int[16];
+		actions = new int[16];
+		traces = new double[16];
+		size = 0;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Remove all traces, e.g., at the end of an episode.
+	 ****************** 
+	 */
+	public void clear() {
+		size = 0;
+	}// Of clear
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of active traces.
+	 ****************** 
+	 */
+	public int size() {
+		return size;
+	}// Of size
+
+	/**
+	 ****************** 
+	 * Visit a pair and update the table in one pass. The trace of the pair is
+	 * replaced by 1, the value of each active pair grows by paraStep times its
+	 * trace, and then every trace is multiplied by paraDecay. With zero decay,
+	 * all traces are removed after the update, as Watkins Q(lambda) requires
+	 * after an exploratory action.
+	 * 
+	 * @param paraTable
+	 *            The quality table.
+	 * @param paraState
+	 *            The visited state.
+	 * @param paraAction
+	 *            The visited action.
+	 * @param paraStep
+	 *            The step, i.e., alpha times the TD error.
+	 * @param paraDecay
+	 *            The decay, i.e., gamma times lambda, or 0.
+	 * @param paraRowLocks
+	 *            The locks of rows of a shared table, null if not shared.
+	 ****************** 
+	 */
+	public void update(QTable paraTable, int paraState, int paraAction, double paraStep,
+			double paraDecay, Object[] paraRowLocks) {
+		// Step 1. Replace the trace of the visited pair.
+		boolean tempFound = false;
+		for (int i = 0; i < size; i++) {
+			if (states[i] == paraState && actions[i] == paraAction) {
+				traces[i] = 1;
+				tempFound = true;
+				break;
+			} // Of if
+		} // Of for i
+		if (!tempFound) {
+			if (size == states.length) {
+				grow();
+			} // Of if
+			states[size] = paraState;
+			actions[size] = paraAction;
+			traces[size] = 1;
+			size++;
+		} // Of if
+
+		// Step 2. Update, decay and prune.
+		int tempKept = 0;
+		for (int i = 0; i < size; i++) {
+			if (paraRowLocks == null) {
+				paraTable.addValue(states[i], actions[i], paraStep * traces[i]);
+			} else {
+				synchronized (paraRowLocks[states[i] % paraRowLocks.length]) {
+					paraTable.addValue(states[i], actions[i], paraStep * traces[i]);
+				} // Of synchronized
+			} // Of if
+
+			traces[i] *= paraDecay;
+			if (traces[i] >= threshold) {
+				states[tempKept] = states[i];
+				actions[tempKept] = actions[i];
+				traces[tempKept] = traces[i];
+				tempKept++;
+			} // Of if
+		} // Of for i
+		size = tempKept;
+	}// Of update
+
+	/**
+	 ****************** 
+	 * Double the capacity.
+	 ****************** 
+	 */
+	void grow() {
+		int[] tempStates = new int[states.length * 2];
+		int[] tempActions = new int[states.length * 2];
+		double[] tempTraces = new double[states.length * 2];
+		for (int i = 0; i < size; i++) {
+			tempStates[i] = states[i];
+			tempActions[i] = actions[i];
+			tempTraces[i] = traces[i];
+		} // Of for i
+		states = tempStates;
+		actions = tempActions;
+		traces = tempTraces;
+	}// Of grow
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am EligibilityTraces with " + size + " active pairs.";
+	}// Of toString
+
+} // Of class EligibilityTraces
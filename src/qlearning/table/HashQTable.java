@@ -0,0 +1,339 @@
+package qlearning.table;
+
+import java.util.Arrays;
+
+/**
+ * A quality table backed by an open-addressing hash table from states to
+ * rows. A row is allocated only when a quality of the state is changed, hence
+ * the memory grows with the visited states rather than all possible states.
+ * Unvisited states have quality 0.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class HashQTable extends QTable {
+
+	/**
+	 * Indicate an empty slot. States are non-negative.
+	 */
+	static final int EMPTY_SLOT = -1;
+
+	/**
+	 * The default number of slots. It should be a power of 2.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	/**
+	 * The states stored in the slots.
+	 */
+	int[] slotStates;
+
+	/**
+	 * The row index of each slot.
+	 */
+	int[] slotRows;
+
+	/**
+	 * The quality values, row by row. Rows are appended in the order of
+	 * insertion.
+	 */
+	double[] values;
+
+	/**
+	 * slotStates.length - 1.
+	 */
+	int mask;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumActions
+	 *            The number of actions.
+	 ****************** 
+	 */
+	public HashQTable(int paraNumActions) {
+		this(paraNumActions, DEFAULT_CAPACITY);
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraNumActions
+	 *            The number of actions.
+	 * @param paraCapacity
+	 *            The initial number of slots, rounded up to a power of 2.
+	 ****************** 
+	 */
+	public HashQTable(int paraNumActions, int paraCapacity) {
+		// The number of states is the number of stored rows.
+		super(0, paraNumActions);
+		int tempCapacity = 16;
+		while (tempCapacity < paraCapacity) {
+			tempCapacity <<= 1;
+		} // Of while
+		allocate(tempCapacity);
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * Allocate empty slots and rows.
+	 * 
+	 * @param paraCapacity
+	 *            The number of slots, a power of 2.
+	 ****************** 
+	 */
+	private void allocate(int paraCapacity) {
+		slotStates = new int[paraCapacity];
+		Arrays.fill(slotStates, EMPTY_SLOT);
+		slotRows = new int[paraCapacity];
+		// The load factor is at most 1/2.
+		values = new double[(paraCapacity / 2) * numActions];
+		mask = paraCapacity - 1;
+	}// Of allocate
+
+	/**
+	 ****************** 
+	 * Find the slot of the state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The slot index, with either the state or EMPTY_SLOT.
+	 ****************** 
+	 */
+	private int findSlot(int paraState) {
+		int tempHash = paraState * 0x9E3779B9;
+		int tempSlot = (tempHash ^ (tempHash >>> 16)) & mask;
+		while (slotStates[tempSlot] != EMPTY_SLOT && slotStates[tempSlot] != paraState) {
+			tempSlot = (tempSlot + 1) & mask;
+		} // Of while
+
+		return tempSlot;
+	}// Of findSlot
+
+	/**
+	 ****************** 
+	 * Get the start of the row of the state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The start index in values, or -1 if the state is not stored.
+	 ****************** 
+	 */
+	int getRowStart(int paraState) {
+		int tempSlot = findSlot(paraState);
+		if (slotStates[tempSlot] == EMPTY_SLOT) {
+			return -1;
+		} // Of if
+
+		return slotRows[tempSlot] * numActions;
+	}// Of getRowStart
+
+	/**
+	 ****************** 
+	 * Get the start of the row of the state. The row is allocated if the state
+	 * is not stored.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The start index in values.
+	 ****************** 
+	 */
+	int getOrAllocateRowStart(int paraState) {
+		int tempSlot = findSlot(paraState);
+		if (slotStates[tempSlot] != EMPTY_SLOT) {
+			return slotRows[tempSlot] * numActions;
+		} // Of if
+
+		if ((numStates + 1) * 2 > slotStates.length) {
+			rehash();
+			tempSlot = findSlot(paraState);
+		} // Of if
+
+		slotStates[tempSlot] = paraState;
+		slotRows[tempSlot] = numStates;
+		numStates++;
+
+		return slotRows[tempSlot] * numActions;
+	}// Of getOrAllocateRowStart
+
+	/**
+	 ****************** 
+	 * Double the number of slots. The rows keep their indices.
+	 ****************** 
+	 */
+	private void rehash() {
+		int[] tempStates = slotStates;
+		int[] tempRows = slotRows;
+		double[] tempValues = values;
+
+		allocate(slotStates.length * 2);
+		System.arraycopy(tempValues, 0, values, 0, tempValues.length);
+
+		int tempSlot;
+		for (int i = 0; i < tempStates.length; i++) {
+			if (tempStates[i] != EMPTY_SLOT) {
+				tempSlot = findSlot(tempStates[i]);
+				slotStates[tempSlot] = tempStates[i];
+				slotRows[tempSlot] = tempRows[i];
+			} // Of if
+		} // Of for i
+	}// Of rehash
+
+	/**
+	 ****************** 
+	 * Get the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The quality value, 0 for unvisited states.
+	 ****************** 
+	 */
+	public double getValue(int paraState, int paraAction) {
+		int tempStart = getRowStart(paraState);
+		if (tempStart < 0) {
+			return 0;
+		} // Of if
+
+		return values[tempStart + paraAction];
+	}// Of getValue
+
+	/**
+	 ****************** 
+	 * Set the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraValue
+	 *            The new quality value.
+	 ****************** 
+	 */
+	public void setValue(int paraState, int paraAction, double paraValue) {
+		// The array may be replaced when allocating, so get the index first.
+		int tempIndex = getOrAllocateRowStart(paraState) + paraAction;
+		values[tempIndex] = paraValue;
+	}// Of setValue
+
+	/**
+	 ****************** 
+	 * Add to the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraIncrement
+	 *            The increment, may be negative.
+	 ****************** 
+	 */
+	public void addValue(int paraState, int paraAction, double paraIncrement) {
+		int tempIndex = getOrAllocateRowStart(paraState) + paraAction;
+		values[tempIndex] += paraIncrement;
+	}// Of addValue
+
+	/**
+	 ****************** 
+	 * Remove all states.
+	 ****************** 
+	 */
+	public void reset() {
+		Arrays.fill(slotStates, EMPTY_SLOT);
+		Arrays.fill(values, 0);
+		numStates = 0;
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Copy the qualities of all actions of the given state to the given row.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraRow
+	 *            The row to fill, with length at least numActions.
+	 ****************** 
+	 */
+	public void copyRow(int paraState, double[] paraRow) {
+		int tempStart = getRowStart(paraState);
+		if (tempStart < 0) {
+			Arrays.fill(paraRow, 0, numActions, 0);
+		} else {
+			System.arraycopy(values, tempStart, paraRow, 0, numActions);
+		} // Of if
+	}// Of copyRow
+
+	/**
+	 ****************** 
+	 * Not supported. numStates is the number of stored rows, while states may
+	 * be any non-negative integer, hence there is no dense layout of
+	 * numStates * numActions to fill. Callers such as QAgent.saveCheckpoint
+	 * reject sparse states first.
+	 * 
+	 * @param paraValues
+	 *            The array to fill.
+	 * @throws UnsupportedOperationException
+	 *             always.
+	 ****************** 
+	 */
+	public void copyValues(double[] paraValues) {
+		throw new UnsupportedOperationException(
+				"HashQTable: sparse states have no dense layout to copy.");
+	}// Of copyValues
+
+	/**
+	 ****************** 
+	 * Get the maximal quality among the given actions of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraActions
+	 *            The given actions.
+	 * @param paraLowerBound
+	 *            The returned value is no less than this one.
+	 * @return The maximal quality value.
+	 ****************** 
+	 */
+	public double getMaxValue(int paraState, int[] paraActions, double paraLowerBound) {
+		int tempStart = getRowStart(paraState);
+		double resultMax = paraLowerBound;
+		if (tempStart < 0) {
+			if (paraActions.length > 0 && resultMax < 0) {
+				resultMax = 0;
+			} // Of if
+			return resultMax;
+		} // Of if
+
+		double tempValue;
+		for (int i = 0; i < paraActions.length; i++) {
+			tempValue = values[tempStart + paraActions[i]];
+			if (resultMax < tempValue) {
+				resultMax = tempValue;
+			} // Of if
+		} // Of for i
+
+		return resultMax;
+	}// Of getMaxValue
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = "I am a HashQTable with " + numStates + " visited states, "
+				+ slotStates.length + " slots and " + numActions + " actions.\r\n";
+
+		return resultString;
+	}// Of toString
+
+} // Of class HashQTable
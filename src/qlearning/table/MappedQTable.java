@@ -0,0 +1,170 @@
+package qlearning.table;
+
+import java.nio.DoubleBuffer;
+
+import common.Checkpoint;
+
+/**
+ * A quality table backed by the mapped values of a checkpoint. Nothing is
+ * copied on loading, hence an agent can serve greedy moves as soon as the file
+ * is mapped, and only the pages of visited states are read from the disk.
+ * With a writable mapping, changed values are kept in memory only, and the
+ * agent may go on learning without changing the file. With a read-only one,
+ * e.g., of a file without write permission, the values are copied to the
+ * heap on the first change.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.1
+ */
+
+public class MappedQTable extends QTable {
+
+	/**
+	 * The mapped quality values, row by row.
+	 */
+	DoubleBuffer values;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraCheckpoint
+	 *            The loaded checkpoint of a quality table.
+	 * @throws IllegalArgumentException
+	 *             if the checkpoint is not a loaded quality table.
+	 ****************** 
+	 */
+	public MappedQTable(Checkpoint paraCheckpoint) {
+		super(paraCheckpoint.getNumStates(), paraCheckpoint.getNumActions());
+		// The mapped buffer is indexed by int.
+		long tempNumValues = (long) numStates * numActions;
+		if (tempNumValues > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("MappedQTable: too many values, " + numStates
+					+ " * " + numActions);
+		} // Of if
+		if (paraCheckpoint.getKind() != Checkpoint.QUALITY_TABLE
+				|| paraCheckpoint.getValues() == null) {
+			throw new IllegalArgumentException(
+					"MappedQTable: " + paraCheckpoint + " is not a loaded quality table.");
+		} // Of if
+		values = paraCheckpoint.getValues();
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Compute the index of a pair in long, so that it never wraps around.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The index.
+	 * @throws IndexOutOfBoundsException
+	 *             if the pair is out of the table.
+	 ****************** 
+	 */
+	int getIndex(int paraState, int paraAction) {
+		long tempIndex = (long) paraState * numActions + paraAction;
+		if (tempIndex < 0 || tempIndex >= values.capacity()) {
+			throw new IndexOutOfBoundsException("MappedQTable: (" + paraState + ", "
+					+ paraAction + ") is out of the table.");
+		} // Of if
+		return (int) tempIndex;
+	}// Of getIndex
+
+	/**
+	 ****************** 
+	 * Get the quality of the given (state, action) pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The quality value.
+	 ****************** 
+	 */
+	public double getValue(int paraState, int paraAction) {
+		return values.get(getIndex(paraState, paraAction));
+	}// Of getValue
+
+	/**
+	 ****************** 
+	 * Set the quality of the given (state, action) pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraValue
+	 *            The new value.
+	 ****************** 
+	 */
+	public void setValue(int paraState, int paraAction, double paraValue) {
+		ensureWritable();
+		values.put(getIndex(paraState, paraAction), paraValue);
+	}// Of setValue
+
+	/**
+	 ****************** 
+	 * Add the given increment to the quality of the given (state, action) pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraIncrement
+	 *            The increment, may be negative.
+	 ****************** 
+	 */
+	public void addValue(int paraState, int paraAction, double paraIncrement) {
+		ensureWritable();
+		int tempIndex = getIndex(paraState, paraAction);
+		values.put(tempIndex, values.get(tempIndex) + paraIncrement);
+	}// Of addValue
+
+	/**
+	 ****************** 
+	 * Reset all quality values to 0. The file is not changed.
+	 ****************** 
+	 */
+	public void reset() {
+		ensureWritable();
+		for (int i = 0; i < values.capacity(); i++) {
+			values.put(i, 0);
+		} // Of for i
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Copy the values to the heap if the mapping is read-only. It costs
+	 * nothing for a writable mapping.
+	 ****************** 
+	 */
+	void ensureWritable() {
+		if (!values.isReadOnly()) {
+			return;
+		} // Of if
+
+		DoubleBuffer tempValues = DoubleBuffer.allocate(values.capacity());
+		DoubleBuffer tempSource = values.duplicate();
+		tempSource.clear();
+		tempValues.put(tempSource);
+		values = tempValues;
+	}// Of ensureWritable
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am a MappedQTable with " + numStates + " states and " + numActions
+				+ " actions.";
+	}// Of toString
+
+} // Of class MappedQTable
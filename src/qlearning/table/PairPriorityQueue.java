@@ -0,0 +1,260 @@
+package qlearning.table;
+
+/**
+ * A max-heap of state-action pairs keyed by priority, e.g., the TD error in
+ * prioritized sweeping. Each pair is in the heap at most once, and pushing a
+ * pair already there only raises its priority, as the heap of
+ * ShortestPathEngine decreases keys. A pair is indexed by state * numActions
+ * + action, hence the positions take one int per pair, half the memory of a
+ * DoubleQTable of the same size.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class PairPriorityQueue {
+
+	/**
+	 * The number of actions.
+	 */
+	int numActions;
+
+	/**
+	 * The pairs in heap order.
+	 */
+	int[] heap;
+
+	/**
+	 * The priorities in heap order.
+	 */
+	double[] priorities;
+
+	/**
+	 * The position of each pair in the heap, -1 if absent.
+	 */
+	int[] positions;
+
+	/**
+	 * The number of pairs in the heap.
+	 */
+	int size;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 ****************** 
+	 */
+	public PairPriorityQueue(int paraNumStates, int paraNumActions) {
+		long tempNumPairs = (long) paraNumStates * paraNumActions;
+		if (tempNumPairs > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("PairPriorityQueue: too many pairs, "
+					+ paraNumStates + " * " + paraNumActions);
+		} // Of if
+
+		numActions = paraNumActions;
+		positions = new int[(int) tempNumPairs];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = -1;
+		} // Of for i
+		heap = new int[16];
+		priorities = new double[16];
+		size = 0;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Remove all pairs. It costs O(size) rather than O(pairs).
+	 ****************** 
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heap[i]] = -1;
+		} // Of for i
+		size = 0;
+	}// Of clear
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of pairs in the queue.
+	 ****************** 
+	 */
+	public int size() {
+		return size;
+	}// Of size
+
+	/**
+	 ****************** 
+	 * Is the queue empty?
+	 * 
+	 * @return True if empty.
+	 ****************** 
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}// Of isEmpty
+
+	/**
+	 ****************** 
+	 * Push a pair. If it is already in the queue, its priority becomes the
+	 * larger one.
+	 * 
+	 * @param paraState
+	 *            The state.
+	 * @param paraAction
+	 *            The action.
+	 * @param paraPriority
+	 *            The priority.
+	 ****************** 
+	 */
+	public void push(int paraState, int paraAction, double paraPriority) {
+		int tempPair = paraState * numActions + paraAction;
+		int tempPosition = positions[tempPair];
+		if (tempPosition == -1) {
+			if (size == heap.length) {
+				grow();
+			} // Of if
+			tempPosition = size;
+			size++;
+			heap[tempPosition] = tempPair;
+			priorities[tempPosition] = paraPriority;
+			positions[tempPair] = tempPosition;
+		} else if (priorities[tempPosition] < paraPriority) {
+			priorities[tempPosition] = paraPriority;
+		} else {
+			return;
+		} // Of if
+
+		siftUp(tempPosition);
+	}// Of push
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The largest priority. The queue should not be empty.
+	 ****************** 
+	 */
+	public double getMaxPriority() {
+		return priorities[0];
+	}// Of getMaxPriority
+
+	/**
+	 ****************** 
+	 * Remove the pair with the largest priority. The queue should not be
+	 * empty.
+	 * 
+	 * @return The pair, i.e., state * numActions + action.
+	 ****************** 
+	 */
+	public int popMax() {
+		int resultPair = heap[0];
+		positions[resultPair] = -1;
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			priorities[0] = priorities[size];
+			positions[heap[0]] = 0;
+			siftDown(0);
+		} // Of if
+
+		return resultPair;
+	}// Of popMax
+
+	/**
+	 ****************** 
+	 * Move the entry at the given position up to its place.
+	 * 
+	 * @param paraPosition
+	 *            The position.
+	 ****************** 
+	 */
+	void siftUp(int paraPosition) {
+		int tempPair = heap[paraPosition];
+		double tempPriority = priorities[paraPosition];
+		int tempParent;
+		while (paraPosition > 0) {
+			tempParent = (paraPosition - 1) >> 1;
+			if (priorities[tempParent] >= tempPriority) {
+				break;
+			} // Of if
+			heap[paraPosition] = heap[tempParent];
+			priorities[paraPosition] = priorities[tempParent];
+			positions[heap[paraPosition]] = paraPosition;
+			paraPosition = tempParent;
+		} // Of while
+		heap[paraPosition] = tempPair;
+		priorities[paraPosition] = tempPriority;
+		positions[tempPair] = paraPosition;
+	}// Of siftUp
+
+	/**
+	 ****************** 
+	 * Move the entry at the given position down to its place.
+	 * 
+	 * @param paraPosition
+	 *            The position.
+	 ****************** 
+	 */
+	void siftDown(int paraPosition) {
+		int tempPair = heap[paraPosition];
+		double tempPriority = priorities[paraPosition];
+		int tempChild;
+		while (true) {
+			tempChild = 2 * paraPosition + 1;
+			if (tempChild >= size) {
+				break;
+			} // Of if
+			if (tempChild + 1 < size && priorities[tempChild + 1] > priorities[tempChild]) {
+				tempChild++;
+			} // Of if
+			if (priorities[tempChild] <= tempPriority) {
+				break;
+			} // Of if
+			heap[paraPosition] = heap[tempChild];
+			priorities[paraPosition] = priorities[tempChild];
+			positions[heap[paraPosition]] = paraPosition;
+			paraPosition = tempChild;
+		} // Of while
+		heap[paraPosition] = tempPair;
+		priorities[paraPosition] = tempPriority;
+		positions[tempPair] = paraPosition;
+	}// Of siftDown
+
+	/**
+	 ****************** 
+	 * Double the capacity.
+	 ****************** 
+	 */
+	void grow() {
+		int[] tempHeap = new int[heap.length * 2];
+		double[] tempPriorities = new double[heap.length * 2];
+		for (int i = 0; i < size; i++) {
+			tempHeap[i] = heap[i];
+			tempPriorities[i] = priorities[i];
+		} // Of for i
+		heap = tempHeap;
+		priorities = tempPriorities;
+	}// Of grow
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "I am PairPriorityQueue with " + size + " pairs.";
+	}// Of toString
+
+} // Of class PairPriorityQueue
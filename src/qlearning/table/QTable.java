@@ -0,0 +1,185 @@
+package qlearning.table;
+
+/**
+ * The super-class of any quality table. It stores one quality value for each
+ * (state, action) pair.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public abstract class QTable {
+	/**
+	 * The number of states.
+	 */
+	int numStates;
+
+	/**
+	 * The number of actions.
+	 */
+	int numActions;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNumStates
+	 *            The number of states.
+	 * @param paraNumActions
+	 *            The number of actions.
+	 ****************** 
+	 */
+	public QTable(int paraNumStates, int paraNumActions) {
+		numStates = paraNumStates;
+		numActions = paraNumActions;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of states.
+	 ****************** 
+	 */
+	public int getNumStates() {
+		return numStates;
+	}// Of getNumStates
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of actions.
+	 ****************** 
+	 */
+	public int getNumActions() {
+		return numActions;
+	}// Of getNumActions
+
+	/**
+	 ****************** 
+	 * Get the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The quality value.
+	 ****************** 
+	 */
+	public abstract double getValue(int paraState, int paraAction);
+
+	/**
+	 ****************** 
+	 * Set the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraValue
+	 *            The new quality value.
+	 ****************** 
+	 */
+	public abstract void setValue(int paraState, int paraAction, double paraValue);
+
+	/**
+	 ****************** 
+	 * Add to the quality of the given pair. This is the TD update.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraIncrement
+	 *            The increment, may be negative.
+	 ****************** 
+	 */
+	public abstract void addValue(int paraState, int paraAction, double paraIncrement);
+
+	/**
+	 ****************** 
+	 * Reset all quality values to 0.
+	 ****************** 
+	 */
+	public abstract void reset();
+
+	/**
+	 ****************** 
+	 * Copy the qualities of all actions of the given state to the given row.
+	 * No array is allocated.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraRow
+	 *            The row to fill, with length at least numActions.
+	 ****************** 
+	 */
+	public void copyRow(int paraState, double[] paraRow) {
+		for (int i = 0; i < numActions; i++) {
+			paraRow[i] = getValue(paraState, i);
+		} // Of for i
+	}// Of copyRow
+
+	/**
+	 ****************** 
+	 * Copy all qualities to the given array, row by row, e.g., for a
+	 * checkpoint.
+	 * 
+	 * @param paraValues
+	 *            The array to fill, with length at least numStates * numActions.
+	 ****************** 
+	 */
+	public void copyValues(double[] paraValues) {
+		for (int i = 0; i < numStates; i++) {
+			for (int j = 0; j < numActions; j++) {
+				paraValues[i * numActions + j] = getValue(i, j);
+			} // Of for j
+		} // Of for i
+	}// Of copyValues
+
+	/**
+	 ****************** 
+	 * Get the maximal quality among the given actions of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraActions
+	 *            The given actions.
+	 * @param paraLowerBound
+	 *            The returned value is no less than this one. It is also the
+	 *            result when no action is given.
+	 * @return The maximal quality value.
+	 ****************** 
+	 */
+	public double getMaxValue(int paraState, int[] paraActions, double paraLowerBound) {
+		double resultMax = paraLowerBound;
+		double tempValue;
+		for (int i = 0; i < paraActions.length; i++) {
+			tempValue = getValue(paraState, paraActions[i]);
+			if (resultMax < tempValue) {
+				resultMax = tempValue;
+			} // Of if
+		} // Of for i
+
+		return resultMax;
+	}// Of getMaxValue
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = "I am a QTable with " + numStates + " states and " + numActions
+				+ " actions.\r\n";
+
+		return resultString;
+	}// Of toString
+
+} // Of class QTable
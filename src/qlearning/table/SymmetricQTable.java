@@ -0,0 +1,121 @@
+package qlearning.table;
+
+import qlearning.environment.TicTacToeSymmetry;
+
+/**
+ * A quality table for tic-tac-toe which stores only canonical (state, action)
+ * pairs in an inner table. The pairs of the 8 symmetric checkerboards share
+ * the same quality.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class SymmetricQTable extends QTable {
+
+	/**
+	 * The table storing canonical pairs.
+	 */
+	QTable innerTable;
+
+	/**
+	 ****************** 
+	 * The first constructor. Only canonical states are stored, so a
+	 * HashQTable is a good choice for the inner table.
+	 * 
+	 * @param paraInnerTable
+	 *            The table storing canonical pairs.
+	 ****************** 
+	 */
+	public SymmetricQTable(QTable paraInnerTable) {
+		super(TicTacToeSymmetry.NUM_STATES, paraInnerTable.getNumActions());
+		innerTable = paraInnerTable;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Get the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @return The quality value of the canonical pair.
+	 ****************** 
+	 */
+	public double getValue(int paraState, int paraAction) {
+		return innerTable.getValue(TicTacToeSymmetry.getCanonicalState(paraState),
+				TicTacToeSymmetry.getCanonicalAction(paraState, paraAction));
+	}// Of getValue
+
+	/**
+	 ****************** 
+	 * Set the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraValue
+	 *            The new quality value.
+	 ****************** 
+	 */
+	public void setValue(int paraState, int paraAction, double paraValue) {
+		innerTable.setValue(TicTacToeSymmetry.getCanonicalState(paraState),
+				TicTacToeSymmetry.getCanonicalAction(paraState, paraAction), paraValue);
+	}// Of setValue
+
+	/**
+	 ****************** 
+	 * Add to the quality of the given pair.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraAction
+	 *            The given action.
+	 * @param paraIncrement
+	 *            The increment, may be negative.
+	 ****************** 
+	 */
+	public void addValue(int paraState, int paraAction, double paraIncrement) {
+		innerTable.addValue(TicTacToeSymmetry.getCanonicalState(paraState),
+				TicTacToeSymmetry.getCanonicalAction(paraState, paraAction), paraIncrement);
+	}// Of addValue
+
+	/**
+	 ****************** 
+	 * Reset all quality values to 0.
+	 ****************** 
+	 */
+	public void reset() {
+		innerTable.reset();
+	}// Of reset
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The table storing canonical pairs.
+	 ****************** 
+	 */
+	public QTable getInnerTable() {
+		return innerTable;
+	}// Of getInnerTable
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = "I am a SymmetricQTable over:\r\n" + innerTable;
+
+		return resultString;
+	}// Of toString
+
+} // Of class SymmetricQTable
@@ -0,0 +1,111 @@
+package qlearning.umpire;
+
+import qlearning.environment.CompetitionEnvironment;
+import qlearning.table.*;
+
+/**
+ * A frozen competitor for tournaments, i.e., the quality tables of the first
+ * and the second player taken from an umpire, or loaded from checkpoints. A
+ * snapshot is only read during matches, hence it can be shared by matches of
+ * different threads without locking.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class AgentSnapshot {
+	/**
+	 * The name, e.g., the number of episodes trained.
+	 */
+	String name;
+
+	/**
+	 * The quality table when moving first.
+	 */
+	QTable firstTable;
+
+	/**
+	 * The quality table when moving second.
+	 */
+	QTable secondTable;
+
+	/**
+	 ****************** 
+	 * The first constructor. The tables are used, not copied, and they should
+	 * not be changed after.
+	 * 
+	 * @param paraName
+	 *            The name.
+	 * @param paraFirstTable
+	 *            The quality table when moving first.
+	 * @param paraSecondTable
+	 *            The quality table when moving second.
+	 ****************** 
+	 */
+	public AgentSnapshot(String paraName, QTable paraFirstTable, QTable paraSecondTable) {
+		if (paraFirstTable.getNumStates() != paraSecondTable.getNumStates()
+				|| paraFirstTable.getNumActions() != paraSecondTable.getNumActions()) {
+			throw new IllegalArgumentException(
+					"AgentSnapshot: the tables of " + paraName + " do not match.");
+		} // Of if
+
+		name = paraName;
+		firstTable = paraFirstTable;
+		secondTable = paraSecondTable;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Copy a quality table. Only dense tables are supported.
+	 * 
+	 * @param paraTable
+	 *            The given table.
+	 * @return The copy.
+	 ****************** 
+	 */
+	public static DoubleQTable copyTable(QTable paraTable) {
+		DoubleQTable resultTable = new DoubleQTable(paraTable.getNumStates(),
+				paraTable.getNumActions());
+		paraTable.copyValues(resultTable.getValues());
+		return resultTable;
+	}// Of copyTable
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The name.
+	 ****************** 
+	 */
+	public String getName() {
+		return name;
+	}// Of getName
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraPlayer
+	 *            CompetitionEnvironment.FIRST or CompetitionEnvironment.SECOND.
+	 * @return The quality table of the player.
+	 ****************** 
+	 */
+	public QTable getTable(int paraPlayer) {
+		return paraPlayer == CompetitionEnvironment.FIRST ? firstTable : secondTable;
+	}// Of getTable
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "Snapshot " + name + " with " + firstTable.getNumStates() + " states.";
+	}// Of toString
+
+} // Of class AgentSnapshot
@@ -0,0 +1,241 @@
+package qlearning.umpire;
+
+import java.util.Arrays;
+
+/**
+ * The results and Elo ratings of the competitors of a tournament. Ratings are
+ * updated once for each round from the ratings before the round, i.e., all
+ * matches of a round count as played simultaneously. Hence the ratings do not
+ * depend on the order in which parallel matches finish.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class RatingTable {
+	/**
+	 * The initial rating.
+	 */
+	public static final double DEFAULT_RATING = 1500;
+
+	/**
+	 * The default K factor, i.e., the largest change for each game.
+	 */
+	public static final double DEFAULT_K_FACTOR = 16;
+
+	/**
+	 * The names of the competitors.
+	 */
+	String[] names;
+
+	/**
+	 * The ratings.
+	 */
+	double[] ratings;
+
+	/**
+	 * The K factor.
+	 */
+	double kFactor;
+
+	/**
+	 * The number of wins of each competitor.
+	 */
+	int[] wins;
+
+	/**
+	 * The number of losses of each competitor.
+	 */
+	int[] losses;
+
+	/**
+	 * The number of ties of each competitor.
+	 */
+	int[] ties;
+
+	/**
+	 * The number of rounds.
+	 */
+	int numRounds;
+
+	/**
+	 ****************** 
+	 * The first constructor.
+	 * 
+	 * @param paraNames
+	 *            The names of the competitors.
+	 ****************** 
+	 */
+	public RatingTable(String[] paraNames) {
+		names = paraNames;
+		ratings = new double[names.length];
+		Arrays.fill(ratings, DEFAULT_RATING);
+		kFactor = DEFAULT_K_FACTOR;
+		wins = new int[names.length];
+		losses = new int[names.length];
+		ties = new int[names.length];
+		numRounds = 0;
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraKFactor
+	 *            The largest change of rating for each game.
+	 ****************** 
+	 */
+	public void setKFactor(double paraKFactor) {
+		kFactor = paraKFactor;
+	}// Of setKFactor
+
+	/**
+	 ****************** 
+	 * The expected score of a game, from 0 to 1.
+	 * 
+	 * @param paraRating
+	 *            The rating of the competitor.
+	 * @param paraOpponentRating
+	 *            The rating of the opponent.
+	 * @return The expected score of the competitor.
+	 ****************** 
+	 */
+	public static double expectedScore(double paraRating, double paraOpponentRating) {
+		return 1 / (1 + Math.pow(10, (paraOpponentRating - paraRating) / 400));
+	}// Of expectedScore
+
+	/**
+	 ****************** 
+	 * Add the matches of a round. Each match is a number of games between
+	 * two competitors.
+	 * 
+	 * @param paraPairs
+	 *            The competitors of each match, i.e., paraPairs[k][0] and
+	 *            paraPairs[k][1].
+	 * @param paraResults
+	 *            The results of each match, i.e., ties, wins of the former
+	 *            and wins of the latter.
+	 ****************** 
+	 */
+	public void addRound(int[][] paraPairs, int[][] paraResults) {
+		double[] tempDeltas = new double[ratings.length];
+		int tempFormer, tempLatter, tempGames;
+		double tempScore, tempExpected;
+		for (int i = 0; i < paraPairs.length; i++) {
+			tempFormer = paraPairs[i][0];
+			tempLatter = paraPairs[i][1];
+			tempGames = paraResults[i][0] + paraResults[i][1] + paraResults[i][2];
+
+			ties[tempFormer] += paraResults[i][0];
+			ties[tempLatter] += paraResults[i][0];
+			wins[tempFormer] += paraResults[i][1];
+			losses[tempLatter] += paraResults[i][1];
+			wins[tempLatter] += paraResults[i][2];
+			losses[tempFormer] += paraResults[i][2];
+
+			// A tie is half a win.
+			tempScore = paraResults[i][1] + 0.5 * paraResults[i][0];
+			tempExpected = tempGames * expectedScore(ratings[tempFormer], ratings[tempLatter]);
+			tempDeltas[tempFormer] += kFactor * (tempScore - tempExpected);
+			tempDeltas[tempLatter] -= kFactor * (tempScore - tempExpected);
+		} // Of for i
+
+		for (int i = 0; i < ratings.length; i++) {
+			ratings[i] += tempDeltas[i];
+		} // Of for i
+		numRounds++;
+	}// Of addRound
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of competitors.
+	 ****************** 
+	 */
+	public int getNumCompetitors() {
+		return names.length;
+	}// Of getNumCompetitors
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraIndex
+	 *            The index of the competitor.
+	 * @return The rating.
+	 ****************** 
+	 */
+	public double getRating(int paraIndex) {
+		return ratings[paraIndex];
+	}// Of getRating
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @param paraIndex
+	 *            The index of the competitor.
+	 * @return The score rate, from 0 to 1, with a tie as half a win.
+	 ****************** 
+	 */
+	public double getScoreRate(int paraIndex) {
+		int tempGames = wins[paraIndex] + losses[paraIndex] + ties[paraIndex];
+		if (tempGames == 0) {
+			return 0;
+		} // Of if
+		return (wins[paraIndex] + 0.5 * ties[paraIndex]) / tempGames;
+	}// Of getScoreRate
+
+	/**
+	 ****************** 
+	 * Get the indices of the competitors from the highest rating to the
+	 * lowest. Equal ratings keep the order of indices.
+	 * 
+	 * @return The indices.
+	 ****************** 
+	 */
+	public int[] getRanking() {
+		int[] resultIndices = new int[ratings.length];
+		for (int i = 0; i < resultIndices.length; i++) {
+			resultIndices[i] = i;
+		} // Of for i
+
+		// Insertion sort, since there are few competitors.
+		int tempIndex, j;
+		for (int i = 1; i < resultIndices.length; i++) {
+			tempIndex = resultIndices[i];
+			for (j = i - 1; j >= 0 && ratings[resultIndices[j]] < ratings[tempIndex]; j--) {
+				resultIndices[j + 1] = resultIndices[j];
+			} // Of for j
+			resultIndices[j + 1] = tempIndex;
+		} // Of for i
+
+		return resultIndices;
+	}// Of getRanking
+
+	/**
+	 ****************** 
+	 * For display, from the highest rating to the lowest.
+	 ****************** 
+	 */
+	public String toString() {
+		String resultString = "Ratings after " + numRounds + " round(s):";
+		int[] tempRanking = getRanking();
+		int tempIndex;
+		for (int i = 0; i < tempRanking.length; i++) {
+			tempIndex = tempRanking[i];
+			resultString += String.format("\r\n  %2d. %-16s %7.1f  W %d, L %d, T %d, score %.3f",
+					i + 1, names[tempIndex], ratings[tempIndex], wins[tempIndex],
+					losses[tempIndex], ties[tempIndex], getScoreRate(tempIndex));
+		} // Of for i
+
+		return resultString;
+	}// Of toString
+
+} // Of class RatingTable
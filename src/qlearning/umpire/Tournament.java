@@ -0,0 +1,537 @@
+package qlearning.umpire;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import common.*;
+import qlearning.agent.CompetitionQAgent;
+import qlearning.environment.*;
+import qlearning.table.QTable;
+
+/**
+ * A tournament among frozen snapshots, e.g., checkpoints of different
+ * training lengths. While Umpire.train plays one game at a time between two
+ * learning agents, here the matches of a round are independent, hence they
+ * run in parallel on a fork-join pool. Each thread plays on its own
+ * environment, and the snapshots are only read. Each match has its own random
+ * stream derived from the seed of the tournament, and the results are
+ * collected in the order of the pairs, hence the rating table does not depend
+ * on the number of threads.<br>
+ * Two schemes are supported: round-robin, where each round has all pairs, and
+ * Elo-rated rounds, where competitors of close ratings are paired.<br>
+ * Project: Reinforcement learning.<br>
+ * 
+ * @author Fan Min<br>
+ *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
+ *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
+ *         Date Created: October 18, 2026.<br>
+ *         Last modified: October 18, 2026.
+ * @version 1.0
+ */
+
+public class Tournament {
+	/**
+	 * The pool.
+	 */
+	ForkJoinPool pool;
+
+	/**
+	 * The competitors.
+	 */
+	List<AgentSnapshot> snapshotList;
+
+	/**
+	 * The environment of each thread.
+	 */
+	ThreadLocal<CompetitionEnvironment> environments;
+
+	/**
+	 * The probability of a random move, for more diverse games between
+	 * greedy snapshots.
+	 */
+	double explorationRate;
+
+	/**
+	 * The random streams of matches are split from this one.
+	 */
+	SplitMixRandom seedRandom;
+
+	/**
+	 * The number of matches played, also the index of the next random stream.
+	 */
+	long numMatches;
+
+	/**
+	 ****************** 
+	 * The first constructor. Use all processors.
+	 ****************** 
+	 */
+	public Tournament() {
+		this(Runtime.getRuntime().availableProcessors());
+	}// Of the first constructor
+
+	/**
+	 ****************** 
+	 * The second constructor.
+	 * 
+	 * @param paraParallelism
+	 *            The number of threads.
+	 ****************** 
+	 */
+	public Tournament(int paraParallelism) {
+		pool = new ForkJoinPool(paraParallelism);
+		snapshotList = new ArrayList<AgentSnapshot>();
+		environments = new ThreadLocal<CompetitionEnvironment>() {
+			protected CompetitionEnvironment initialValue() {
+				return createEnvironment();
+			}// Of initialValue
+		};
+		explorationRate = 0;
+		setSeed(0);
+	}// Of the second constructor
+
+	/**
+	 ****************** 
+	 * Create the environment of a thread. Override it for other games.
+	 * 
+	 * @return A new environment.
+	 ****************** 
+	 */
+	protected CompetitionEnvironment createEnvironment() {
+		return new TicTacToe();
+	}// Of createEnvironment
+
+	/**
+	 ****************** 
+	 * Setter. Restart the random streams of matches.
+	 * 
+	 * @param paraSeed
+	 *            The seed.
+	 ****************** 
+	 */
+	public void setSeed(long paraSeed) {
+		seedRandom = new SplitMixRandom(paraSeed);
+		numMatches = 0;
+	}// Of setSeed
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraExplorationRate
+	 *            The probability of a random move.
+	 ****************** 
+	 */
+	public void setExplorationRate(double paraExplorationRate) {
+		explorationRate = paraExplorationRate;
+	}// Of setExplorationRate
+
+	/**
+	 ****************** 
+	 * Add a competitor.
+	 * 
+	 * @param paraSnapshot
+	 *            The given snapshot. Its tables should match the environment.
+	 * @return The index of the competitor.
+	 ****************** 
+	 */
+	public int addSnapshot(AgentSnapshot paraSnapshot) {
+		CompetitionEnvironment tempEnvironment = environments.get();
+		QTable tempTable = paraSnapshot.getTable(CompetitionEnvironment.FIRST);
+		if (tempTable.getNumStates() != tempEnvironment.getNumStates()
+				|| tempTable.getNumActions() != tempEnvironment.getNumActions()) {
+			throw new IllegalArgumentException("Tournament: " + paraSnapshot
+					+ " does not match the environment "
+					+ tempEnvironment.getClass().getSimpleName());
+		} // Of if
+
+		snapshotList.add(paraSnapshot);
+		return snapshotList.size() - 1;
+	}// Of addSnapshot
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of competitors.
+	 ****************** 
+	 */
+	public int getNumSnapshots() {
+		return snapshotList.size();
+	}// Of getNumSnapshots
+
+	/**
+	 ****************** 
+	 * Create an empty rating table of the competitors.
+	 * 
+	 * @return The table.
+	 ****************** 
+	 */
+	public RatingTable createRatingTable() {
+		String[] tempNames = new String[snapshotList.size()];
+		for (int i = 0; i < tempNames.length; i++) {
+			tempNames[i] = snapshotList.get(i).getName();
+		} // Of for i
+		return new RatingTable(tempNames);
+	}// Of createRatingTable
+
+	/**
+	 ****************** 
+	 * Round-robin. Each round has a match for every pair of competitors.
+	 * 
+	 * @param paraRounds
+	 *            The number of rounds.
+	 * @param paraGamesPerMatch
+	 *            The number of games of each match. The competitors move
+	 *            first in turn.
+	 * @return The rating table.
+	 ****************** 
+	 */
+	public RatingTable roundRobin(int paraRounds, int paraGamesPerMatch) {
+		int tempNumSnapshots = snapshotList.size();
+		int[][] tempPairs = new int[tempNumSnapshots * (tempNumSnapshots - 1) / 2][2];
+		int tempIndex = 0;
+		for (int i = 0; i < tempNumSnapshots; i++) {
+			for (int j = i + 1; j < tempNumSnapshots; j++) {
+				tempPairs[tempIndex][0] = i;
+				tempPairs[tempIndex][1] = j;
+				tempIndex++;
+			} // Of for j
+		} // Of for i
+
+		RatingTable resultTable = createRatingTable();
+		for (int i = 0; i < paraRounds; i++) {
+			resultTable.addRound(tempPairs, playRound(tempPairs, paraGamesPerMatch));
+		} // Of for i
+
+		return resultTable;
+	}// Of roundRobin
+
+	/**
+	 ****************** 
+	 * Elo-rated rounds. In each round the competitors are sorted by rating,
+	 * and neighbors are paired. The pairing shifts by one in odd rounds, so
+	 * that each competitor meets both neighbors. With an odd number, one
+	 * competitor sits out each round.
+	 * 
+	 * @param paraRounds
+	 *            The number of rounds.
+	 * @param paraGamesPerMatch
+	 *            The number of games of each match.
+	 * @return The rating table.
+	 ****************** 
+	 */
+	public RatingTable ratedRounds(int paraRounds, int paraGamesPerMatch) {
+		RatingTable resultTable = createRatingTable();
+		int[] tempRanking;
+		int tempOffset;
+		int[][] tempPairs;
+		for (int i = 0; i < paraRounds; i++) {
+			tempRanking = resultTable.getRanking();
+			tempOffset = i % 2;
+			tempPairs = new int[(tempRanking.length - tempOffset) / 2][2];
+			for (int j = 0; j < tempPairs.length; j++) {
+				tempPairs[j][0] = tempRanking[tempOffset + 2 * j];
+				tempPairs[j][1] = tempRanking[tempOffset + 2 * j + 1];
+			} // Of for j
+
+			resultTable.addRound(tempPairs, playRound(tempPairs, paraGamesPerMatch));
+		} // Of for i
+
+		return resultTable;
+	}// Of ratedRounds
+
+	/**
+	 ****************** 
+	 * Play the matches of a round in parallel.
+	 * 
+	 * @param paraPairs
+	 *            The competitors of each match.
+	 * @param paraGamesPerMatch
+	 *            The number of games of each match.
+	 * @return The results of each match, i.e., ties, wins of the former and
+	 *         wins of the latter.
+	 ****************** 
+	 */
+	int[][] playRound(int[][] paraPairs, int paraGamesPerMatch) {
+		// Step 1. Fork all. Random streams are assigned in the order of pairs.
+		List<MatchTask> tempTaskList = new ArrayList<MatchTask>(paraPairs.length);
+		for (int i = 0; i < paraPairs.length; i++) {
+			MatchTask tempTask = new MatchTask(snapshotList.get(paraPairs[i][0]),
+					snapshotList.get(paraPairs[i][1]), paraGamesPerMatch,
+					seedRandom.split(numMatches));
+			numMatches++;
+			pool.execute(tempTask);
+			tempTaskList.add(tempTask);
+		} // Of for i
+
+		// Step 2. Join in the same order.
+		int[][] resultResults = new int[paraPairs.length][];
+		for (int i = 0; i < resultResults.length; i++) {
+			resultResults[i] = tempTaskList.get(i).join();
+		} // Of for i
+
+		return resultResults;
+	}// Of playRound
+
+	/**
+	 ****************** 
+	 * Play a match on the given environment.
+	 * 
+	 * @param paraFormer
+	 *            The competitor moving first in even games.
+	 * @param paraLatter
+	 *            The competitor moving first in odd games.
+	 * @param paraGames
+	 *            The number of games.
+	 * @param paraEnvironment
+	 *            The environment of the current thread.
+	 * @param paraRandom
+	 *            The random stream of the match.
+	 * @return Ties, wins of the former and wins of the latter.
+	 ****************** 
+	 */
+	int[] playMatch(AgentSnapshot paraFormer, AgentSnapshot paraLatter, int paraGames,
+			CompetitionEnvironment paraEnvironment, Random paraRandom) {
+		int[] resultResults = new int[3];
+		int tempStartState = paraEnvironment.getStartState();
+		int[] tempValidActions;
+		int tempState, tempAction, tempPlayer, tempWinner;
+		AgentSnapshot tempFirst, tempSecond;
+		for (int i = 0; i < paraGames; i++) {
+			tempFirst = i % 2 == 0 ? paraFormer : paraLatter;
+			tempSecond = i % 2 == 0 ? paraLatter : paraFormer;
+
+			paraEnvironment.reset();
+			paraEnvironment.setCurrentState(tempStartState);
+			tempState = tempStartState;
+			tempPlayer = CompetitionEnvironment.FIRST;
+			// As in Umpire.train, the game situation is known only after a
+			// step, since reset() does not update it.
+			do {
+				tempValidActions = paraEnvironment.getValidActions();
+				if (tempPlayer == CompetitionEnvironment.FIRST) {
+					tempAction = chooseAction(tempFirst.getTable(tempPlayer), tempState,
+							tempValidActions, paraRandom);
+				} else {
+					tempAction = chooseAction(tempSecond.getTable(tempPlayer), tempState,
+							tempValidActions, paraRandom);
+				} // Of if
+
+				if (paraEnvironment.tryStep(tempAction) != Environment.STEP_OK) {
+					throw new IllegalStateException("Tournament: the action " + tempAction
+							+ " is illegal in state " + tempState);
+				} // Of if
+				tempState = paraEnvironment.getCurrentState();
+				tempPlayer = tempPlayer == CompetitionEnvironment.FIRST
+						? CompetitionEnvironment.SECOND : CompetitionEnvironment.FIRST;
+			} while (!paraEnvironment.isFinished());
+
+			try {
+				tempWinner = paraEnvironment.getWinner();
+			} catch (Exception ee) {
+				throw new IllegalStateException("Tournament: " + ee);
+			} // Of try
+
+			if (tempWinner == CompetitionEnvironment.TIE) {
+				resultResults[0]++;
+			} else if ((tempWinner == CompetitionEnvironment.FIRST) == (i % 2 == 0)) {
+				resultResults[1]++;
+			} else {
+				resultResults[2]++;
+			} // Of if
+		} // Of for i
+
+		return resultResults;
+	}// Of playMatch
+
+	/**
+	 ****************** 
+	 * Choose the action of the maximal quality. Ties are broken randomly, and
+	 * with explorationRate the action is random.
+	 * 
+	 * @param paraTable
+	 *            The quality table of the player.
+	 * @param paraState
+	 *            The current state.
+	 * @param paraValidActions
+	 *            The valid actions, not empty.
+	 * @param paraRandom
+	 *            The random stream.
+	 * @return The action.
+	 ****************** 
+	 */
+	int chooseAction(QTable paraTable, int paraState, int[] paraValidActions,
+			Random paraRandom) {
+		if (explorationRate > 0 && paraRandom.nextDouble() < explorationRate) {
+			return paraValidActions[paraRandom.nextInt(paraValidActions.length)];
+		} // Of if
+
+		double tempMaxValue = -Double.MAX_VALUE;
+		double tempValue;
+		int resultAction = paraValidActions[0];
+		int tempNumMax = 0;
+		for (int i = 0; i < paraValidActions.length; i++) {
+			tempValue = paraTable.getValue(paraState, paraValidActions[i]);
+			if (tempMaxValue < tempValue) {
+				tempMaxValue = tempValue;
+				resultAction = paraValidActions[i];
+				tempNumMax = 1;
+			} else if (tempMaxValue == tempValue) {
+				// Reservoir sampling among the maximal ones.
+				tempNumMax++;
+				if (paraRandom.nextInt(tempNumMax) == 0) {
+					resultAction = paraValidActions[i];
+				} // Of if
+			} // Of if
+		} // Of for i
+
+		return resultAction;
+	}// Of chooseAction
+
+	/**
+	 ****************** 
+	 * Shut down the pool. The tournament cannot be used any more.
+	 ****************** 
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}// Of shutdown
+
+	/**
+	 ****************** 
+	 * For display.
+	 ****************** 
+	 */
+	public String toString() {
+		return "Tournament of " + snapshotList.size() + " snapshots on "
+				+ pool.getParallelism() + " threads, " + numMatches + " matches played.";
+	}// Of toString
+
+	/**
+	 *************************** 
+	 * A match as a fork-join task. It plays on the environment of the thread
+	 * executing it.
+	 *************************** 
+	 */
+	private class MatchTask extends RecursiveTask<int[]> {
+		/**
+		 * A number required by Java.
+		 */
+		private static final long serialVersionUID = 7153924181726904411L;
+
+		/**
+		 * The competitor moving first in even games.
+		 */
+		AgentSnapshot former;
+
+		/**
+		 * The competitor moving first in odd games.
+		 */
+		AgentSnapshot latter;
+
+		/**
+		 * The number of games.
+		 */
+		int games;
+
+		/**
+		 * The random stream of the match.
+		 */
+		Random random;
+
+		/**
+		 *************************** 
+		 * The constructor.
+		 * 
+		 * @param paraFormer
+		 *            The competitor moving first in even games.
+		 * @param paraLatter
+		 *            The competitor moving first in odd games.
+		 * @param paraGames
+		 *            The number of games.
+		 * @param paraRandom
+		 *            The random stream of the match.
+		 *************************** 
+		 */
+		MatchTask(AgentSnapshot paraFormer, AgentSnapshot paraLatter, int paraGames,
+				Random paraRandom) {
+			former = paraFormer;
+			latter = paraLatter;
+			games = paraGames;
+			random = paraRandom;
+		}// Of the constructor
+
+		/**
+		 *************************** 
+		 * Play the match.
+		 *************************** 
+		 */
+		protected int[] compute() {
+			return playMatch(former, latter, games, environments.get(), random);
+		}// Of compute
+	}// Of class MatchTask
+
+	/**
+	 ****************** 
+	 * Train an umpire and take the snapshot.
+	 * 
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 * @param paraSeed
+	 *            The seed of training.
+	 * @return The snapshot.
+	 ****************** 
+	 */
+	static AgentSnapshot trainSnapshot(int paraEpisodes, long paraSeed) {
+		CompetitionEnvironment tempEnvironment = new TicTacToe();
+		CompetitionQAgent[] tempAgentArray = new CompetitionQAgent[2];
+		for (int i = 0; i < tempAgentArray.length; i++) {
+			tempAgentArray[i] = new CompetitionQAgent(tempEnvironment, i + 1);
+		} // Of for i
+
+		Umpire tempUmpire = new Umpire(tempEnvironment, tempAgentArray);
+		tempUmpire.setContext(new RunContext(paraSeed));
+		tempUmpire.train(paraEpisodes);
+		return tempUmpire.takeSnapshot(paraEpisodes + "@" + paraSeed);
+	}// Of trainSnapshot
+
+	/**
+	 ****************** 
+	 * For unit test.
+	 * 
+	 * @param args
+	 *            Not provided.
+	 ****************** 
+	 */
+	public static void main(String args[]) {
+		int[] tempEpisodes = { 0, 100, 1000, 10000, 50000 };
+		List<AgentSnapshot> tempSnapshotList = new ArrayList<AgentSnapshot>();
+		for (int i = 0; i < tempEpisodes.length; i++) {
+			for (int j = 0; j < 2; j++) {
+				tempSnapshotList.add(trainSnapshot(tempEpisodes[i], j));
+			} // Of for j
+		} // Of for i
+
+		int[] tempParallelisms = { 1, Math.max(2, Runtime.getRuntime().availableProcessors()) };
+		for (int i = 0; i < tempParallelisms.length; i++) {
+			Tournament tempTournament = new Tournament(tempParallelisms[i]);
+			tempTournament.setExplorationRate(0.1);
+			for (AgentSnapshot tempSnapshot : tempSnapshotList) {
+				tempTournament.addSnapshot(tempSnapshot);
+			} // Of for tempSnapshot
+
+			long tempStartTime = System.nanoTime();
+			RatingTable tempTable = tempTournament.roundRobin(100, 2);
+			System.out.println("Round-robin on " + tempParallelisms[i] + " thread(s), "
+					+ (System.nanoTime() - tempStartTime) / 1000000 + " ms. " + tempTable);
+
+			tempStartTime = System.nanoTime();
+			tempTable = tempTournament.ratedRounds(500, 2);
+			System.out.println("Elo-rated rounds on " + tempParallelisms[i] + " thread(s), "
+					+ (System.nanoTime() - tempStartTime) / 1000000 + " ms. " + tempTable);
+			tempTournament.shutdown();
+		} // Of for i
+	}// Of main
+
+} // Of class Tournament
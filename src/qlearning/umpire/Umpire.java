@@ -1,6 +1,7 @@
 package qlearning.umpire;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import qlearning.agent.*;
 import common.*;
@@ -14,8 +15,8 @@ import qlearning.environment.*;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 20, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.2
  */
 
 public class Umpire {
@@ -60,6 +61,47 @@ public class Umpire {
 		winTimesArray = new int[numAgents + 1];
 	}// Of the constructor
 
+	/**
+	 ****************** 
+	 * Setter. Let all agents share the random object of the current run.
+	 * 
+	 * @param paraRandom
+	 *            The random object.
+	 ****************** 
+	 */
+	public void setRandom(Random paraRandom) {
+		for (int i = 0; i < agentArray.length; i++) {
+			agentArray[i].setRandom(paraRandom);
+		} // Of for i
+	}// Of setRandom
+
+	/**
+	 ****************** 
+	 * Setter. Let the environment and all agents share the context of the
+	 * current run.
+	 * 
+	 * @param paraContext
+	 *            The context.
+	 ****************** 
+	 */
+	public void setContext(RunContext paraContext) {
+		environment.setContext(paraContext);
+		for (int i = 0; i < agentArray.length; i++) {
+			agentArray[i].setContext(paraContext);
+		} // Of for i
+	}// Of setContext
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The context of the environment.
+	 ****************** 
+	 */
+	public RunContext getContext() {
+		return environment.getContext();
+	}// Of getContext
+
 	/**
 	 ****************** 
 	 * Train.
@@ -78,10 +120,14 @@ public class Umpire {
 
 		// Step 1. Get the start state.
 		int tempStartState = environment.getStartState();
+		RunContext tempContext = environment.getContext();
 
 		// Step 2. Run the given episodes.
 		for (int i = 0; i < paraEpisodes; i++) {
-			SimpleTools.variableTrackingOutput("\r\nEpisode " + i);
+			if (tempContext.isVariableTracking()) {
+				tempContext.variableTrackingOutput("\r\nEpisode " + i);
+			} // Of if
+			tempContext.startEpisode(i);
 			environment.reset();
 			environment.setCurrentState(tempStartState);
 
@@ -95,12 +141,7 @@ public class Umpire {
 
 			// Step 2.2. Each time a final state should be reached.
 			while (!tempFinished) {
-				try {
-					agentArray[tempCurrentPlayer].step(tempCurrentState);
-				} catch (Exception ee) {
-					System.out.println("QAgent for agent.step: " + ee);
-					System.exit(0);
-				} // Of try
+				agentArray[tempCurrentPlayer].step(tempCurrentState);
 
 				tempCurrentState = environment.getCurrentState();
 				tempFinished = environment.isFinished();
@@ -108,7 +149,10 @@ public class Umpire {
 				tempCurrentPlayer = (tempCurrentPlayer + 1) % numAgents;
 			} // Of while
 
-			SimpleTools.variableTrackingOutput("The environment is: " + environment.toString());
+			if (tempContext.isVariableTracking()) {
+				tempContext.variableTrackingOutput(
+						"The environment is: " + environment.toString());
+			} // Of if
 
 			try {
 				tempWinner = environment.getWinner();
@@ -117,7 +161,7 @@ public class Umpire {
 				System.exit(0);
 			} // Of try
 			winTimesArray[tempWinner]++;
-			System.out.println(" & " + tempWinner + "\\\\");
+			tempContext.variableTrackingOutput(" & " + tempWinner + "\\\\\r\n");
 		} // Of for i
 	} // Of train
 
@@ -130,6 +174,28 @@ public class Umpire {
 	public int[] getWinTimesArray() {
 		return winTimesArray;
 	}//Of getWinTimesArray
+
+	/**
+	 ****************** 
+	 * Take a frozen copy of the two agents, e.g., for a tournament. Learning
+	 * may go on without changing the snapshot. Only dense tables are
+	 * supported.
+	 * 
+	 * @param paraName
+	 *            The name of the snapshot.
+	 * @return The snapshot.
+	 ****************** 
+	 */
+	public AgentSnapshot takeSnapshot(String paraName) {
+		if (numAgents != 2) {
+			throw new IllegalStateException("Umpire: a snapshot needs two agents, not "
+					+ numAgents);
+		} // Of if
+
+		return new AgentSnapshot(paraName,
+				AgentSnapshot.copyTable(agentArray[0].getQualityTable()),
+				AgentSnapshot.copyTable(agentArray[1].getQualityTable()));
+	}// Of takeSnapshot
 	
 	/**
 	 ****************** 
@@ -148,13 +214,43 @@ public class Umpire {
 		Umpire tempUmpire = new Umpire(tempEnvironment, tempAgentArray);
 
 		int tempEpisodes = 10000;
-		SimpleTools.variableTracking = false;
+		tempUmpire.getContext().setVariableTracking(false);
 		tempUmpire.train(tempEpisodes);
 
 		System.out.println("Episodes = " + tempEpisodes + ", winTimesArray = "
 				+ Arrays.toString(tempUmpire.winTimesArray));
 	}// Of ticTacToeTest
 
+	/**
+	 ****************** 
+	 * Test k-in-a-row games. The memory grows with the visited states.
+	 * 
+	 * @param paraSize
+	 *            The checkerboard size.
+	 * @param paraWinLength
+	 *            The win length.
+	 * @param paraEpisodes
+	 *            The number of episodes.
+	 ****************** 
+	 */
+	public static void kInARowTest(int paraSize, int paraWinLength, int paraEpisodes) {
+		KInARow tempEnvironment = new KInARow(paraSize, paraWinLength);
+
+		CompetitionQAgent[] tempAgentArray = new CompetitionQAgent[2];
+		for (int i = 0; i < tempAgentArray.length; i++) {
+			tempAgentArray[i] = new CompetitionQAgent(tempEnvironment, i + 1);
+		} // Of for i
+
+		Umpire tempUmpire = new Umpire(tempEnvironment, tempAgentArray);
+		tempUmpire.getContext().setVariableTracking(false);
+		tempUmpire.train(paraEpisodes);
+
+		System.out.println("Size = " + paraSize + ", win length = " + paraWinLength
+				+ ", episodes = " + paraEpisodes + ", winTimesArray = "
+				+ Arrays.toString(tempUmpire.winTimesArray) + ", visited states = "
+				+ tempEnvironment.getNumStates() + ", " + tempAgentArray[0].getQualityTable());
+	}// Of kInARowTest
+
 	/**
 	 ****************** 
 	 * For unit test.
@@ -165,5 +261,8 @@ public class Umpire {
 	 */
 	public static void main(String args[]) {
 		ticTacToeTest();
+		kInARowTest(3, 3, 10000);
+		kInARowTest(5, 4, 10000);
+		kInARowTest(9, 5, 2000);
 	}// Of main
 }// Of class Umpire
\ No newline at end of file
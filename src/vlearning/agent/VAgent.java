@@ -1,6 +1,12 @@
 package vlearning.agent;
 
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+
 import common.*;
+import qlearning.environment.Environment;
+import qlearning.environment.TicTacToeSymmetry;
 import vlearning.environment.VTicTacToe;
 
 /**
@@ -11,8 +17,8 @@ import vlearning.environment.VTicTacToe;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 26, 2020.<br>
- *         Last modified: August 27, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.1
  */
 
 public class VAgent {
@@ -23,14 +29,22 @@ public class VAgent {
 	public static final double PROBABILITY_MIN_VALUE = 0.02;
 
 	/**
-	 * The initial value array, only compute once.
+	 * The expected number of touched states, e.g., the number of reachable
+	 * states of tic-tac-toe.
+	 */
+	public static final int EXPECTED_NUM_STATES = 5478;
+
+	/**
+	 * The values of touched states. The initial value of a state is computed
+	 * when it is touched for the first time.
 	 */
-	double[] initialValueArray;
+	IntDoubleHashMap valueTable;
 
 	/**
-	 * The value array.
+	 * Share the values of symmetric checkerboards? If so, only canonical
+	 * states are stored.
 	 */
-	double[] valueArray;
+	boolean symmetric;
 
 	/**
 	 * The environment.
@@ -62,6 +76,17 @@ public class VAgent {
 	 */
 	int recentAction;
 
+	/**
+	 * The context of the current run, the same as that of the environment by
+	 * default.
+	 */
+	RunContext context;
+
+	/**
+	 * The random object, the one of the context by default.
+	 */
+	Random random;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -74,8 +99,7 @@ public class VAgent {
 		environment = paraEnvironment;
 		symbol = paraSymbol;
 
-		computeInitialValueArray();
-		valueArray = new double[environment.getNumStates()];
+		valueTable = new IntDoubleHashMap(EXPECTED_NUM_STATES);
 		reset();
 
 		trainingStage = true;
@@ -83,29 +107,192 @@ public class VAgent {
 		epsilon = 0.3;
 		alpha = 0.1;
 		recentAction = 0;
+		context = environment.getContext();
+		random = context.getRandom();
 	}// Of the first constructor
 
 	/**
 	 ****************** 
-	 * Compute initial value array. It is time consuming.
+	 * Setter. The random object is also replaced by the one of the context.
+	 * 
+	 * @param paraContext
+	 *            The context of the current run.
+	 ****************** 
+	 */
+	public void setContext(RunContext paraContext) {
+		context = paraContext;
+		random = context.getRandom();
+	}// Of setContext
+
+	/**
+	 ****************** 
+	 * Setter.
+	 * 
+	 * @param paraRandom
+	 *            The random object owned by the current run. It overrides the
+	 *            one of the context.
+	 ****************** 
+	 */
+	public void setRandom(Random paraRandom) {
+		random = paraRandom;
+	}// Of setRandom
+
+	/**
+	 ****************** 
+	 * Setter. The values are reset.
+	 * 
+	 * @param paraSymmetric
+	 *            Share the values of symmetric checkerboards or not.
+	 ****************** 
+	 */
+	public void setSymmetric(boolean paraSymmetric) {
+		symmetric = paraSymmetric;
+		reset();
+	}// Of setSymmetric
+
+	/**
+	 ****************** 
+	 * Compute the initial value of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The initial value.
+	 ****************** 
+	 */
+	double computeInitialValue(int paraState) {
+		int tempSituation = environment.computeGameSituation(paraState);
+		if (tempSituation == VTicTacToe.UNFINISHED) {
+			return 0.5;
+		} else if (tempSituation == VTicTacToe.TIE) {
+			return 0.5;
+		} else if (tempSituation == symbol) {
+			return 1.0; // Winner
+		} else {
+			return 0.0; // Loser
+		} // Of if
+	}// Of computeInitialValue
+
+	/**
+	 ****************** 
+	 * Get the value of the given state. The state is touched.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @return The value.
+	 ****************** 
+	 */
+	public double getValue(int paraState) {
+		int tempState = paraState;
+		if (symmetric) {
+			tempState = TicTacToeSymmetry.getCanonicalState(paraState);
+		} // Of if
+
+		// Values are never NaN, so it indicates an untouched state.
+		double resultValue = valueTable.get(tempState, Double.NaN);
+		if (Double.isNaN(resultValue)) {
+			resultValue = computeInitialValue(tempState);
+			valueTable.put(tempState, resultValue);
+		} // Of if
+
+		return resultValue;
+	}// Of getValue
+
+	/**
+	 ****************** 
+	 * Set the value of the given state.
+	 * 
+	 * @param paraState
+	 *            The given state.
+	 * @param paraValue
+	 *            The new value.
+	 ****************** 
+	 */
+	public void setValue(int paraState, double paraValue) {
+		if (symmetric) {
+			valueTable.put(TicTacToeSymmetry.getCanonicalState(paraState), paraValue);
+		} else {
+			valueTable.put(paraState, paraValue);
+		} // Of if
+	}// Of setValue
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of touched states.
+	 ****************** 
+	 */
+	public int getNumTouchedStates() {
+		return valueTable.size();
+	}// Of getNumTouchedStates
+
+	/**
+	 ****************** 
+	 * Save the values as a binary checkpoint. All states are stored, where
+	 * untouched ones are NaN.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @param paraEpisodes
+	 *            The number of episodes learned.
+	 * @throws IOException
+	 *             if the file cannot be written.
+	 ****************** 
+	 */
+	public void saveCheckpoint(String paraFilename, long paraEpisodes) throws IOException {
+		double[] tempValues = new double[environment.getNumStates()];
+		for (int i = 0; i < tempValues.length; i++) {
+			tempValues[i] = valueTable.get(i, Double.NaN);
+		} // Of for i
+
+		Checkpoint tempCheckpoint = new Checkpoint(Checkpoint.VALUE_TABLE,
+				environment.getClass().getSimpleName(), environment.getNumStates(),
+				environment.getNumActions());
+		if (symmetric) {
+			tempCheckpoint.setFlags(Checkpoint.FLAG_SYMMETRIC);
+		} // Of if
+		tempCheckpoint.setHyperParameters(Double.NaN, alpha, epsilon);
+		tempCheckpoint.setNumEpisodes(paraEpisodes);
+		tempCheckpoint.write(paraFilename, tempValues);
+	}// Of saveCheckpoint
+
+	/**
+	 ****************** 
+	 * Load a checkpoint saved by saveCheckpoint(). The touched states are
+	 * read from the mapped file in one pass, and the symmetry setting and the
+	 * hyper-parameters are restored. The agent can play at once.
+	 * 
+	 * @param paraFilename
+	 *            The name of the file.
+	 * @return The number of episodes learned.
+	 * @throws IOException
+	 *             if the file cannot be read.
+	 * @throws IllegalArgumentException
+	 *             if the checkpoint does not match the environment.
 	 ****************** 
 	 */
-	private void computeInitialValueArray() {
-		int tempSituation;
-		initialValueArray = new double[environment.getNumStates()];
-		for (int i = 0; i < initialValueArray.length; i++) {
-			tempSituation = environment.computeGameSituation(i);
-			if (tempSituation == VTicTacToe.UNFINISHED) {
-				initialValueArray[i] = 0.5;
-			} else if (tempSituation == VTicTacToe.TIE) {
-				initialValueArray[i] = 0.5;
-			} else if (tempSituation == symbol) {
-				initialValueArray[i] = 1.0; // Winner
-			} else {
-				initialValueArray[i] = 0.0; // Loser
+	public long loadCheckpoint(String paraFilename) throws IOException {
+		Checkpoint tempCheckpoint = Checkpoint.map(paraFilename);
+		tempCheckpoint.checkCompatible(Checkpoint.VALUE_TABLE,
+				environment.getClass().getSimpleName(), environment.getNumStates(),
+				environment.getNumActions(), 0);
+
+		symmetric = (tempCheckpoint.getFlags() & Checkpoint.FLAG_SYMMETRIC) != 0;
+		valueTable.clear();
+		DoubleBuffer tempValues = tempCheckpoint.getValues();
+		double tempValue;
+		for (int i = 0; i < tempValues.capacity(); i++) {
+			tempValue = tempValues.get(i);
+			if (!Double.isNaN(tempValue)) {
+				valueTable.put(i, tempValue);
 			} // Of if
 		} // Of for i
-	}// Of computeInitialValueArray
+
+		alpha = tempCheckpoint.getAlpha();
+		epsilon = tempCheckpoint.getEpsilon();
+
+		return tempCheckpoint.getNumEpisodes();
+	}// Of loadCheckpoint
 
 	/**
 	 ****************** 
@@ -158,9 +345,8 @@ public class VAgent {
 	 ****************** 
 	 */
 	public void reset() {
-		for (int i = 0; i < valueArray.length; i++) {
-			valueArray[i] = initialValueArray[i];
-		} // Of for i
+		// All states go back to their initial values lazily.
+		valueTable.clear();
 	}// Of reset
 
 	/**
@@ -202,7 +388,7 @@ public class VAgent {
 
 		for (int i = 0; i < tempValueArray.length; i++) {
 			tempNextState = computeNextState(tempCurrentState, tempValidActionArray[i]);
-			tempValueArray[i] = valueArray[tempNextState];
+			tempValueArray[i] = getValue(tempNextState);
 		} // Of for i
 
 		// Step 2. Choose one action to take.
@@ -210,12 +396,10 @@ public class VAgent {
 		tempNextState = computeNextState(tempCurrentState, recentAction);
 
 		// Step 3. Tell the environment to change.
-		try {
-			environment.step(recentAction);
-		} catch (Exception ee) {
+		if (environment.tryStep(recentAction) != Environment.STEP_OK) {
 			System.out.println("Error occurred in VAgent.step(): \r\n" + " The action "
-					+ recentAction + " is invalid. " + ee);
-		} // Of try
+					+ recentAction + " is invalid.");
+		} // Of if
 
 		// Step 5. Return the environment's situation.
 		return environment.getGameSituation();
@@ -238,25 +422,35 @@ public class VAgent {
 	public void backup() {
 		int tempCurrentState;
 		int tempNextState;
-		SimpleTools.variableTrackingOutput("Player " + symbol + "\r\n");
+		// The strings are built only for tracking.
+		boolean tempTracking = context.isVariableTracking();
 
 		int tempRouteLength = environment.getCurrentRouteLength();
 		int[] tempRouteStates = environment.getCurrentRouteStates();
-		SimpleTools.variableTrackingOutput(
-				environment.stateToCheckerboardString(tempRouteStates[tempRouteLength - 1]));
-		SimpleTools.variableTrackingOutput(
-				"The final state is: " + tempRouteStates[tempRouteLength - 1] + "\r\n");
+		if (tempTracking) {
+			context.variableTrackingOutput("Player " + symbol + "\r\n");
+			context.variableTrackingOutput(
+					environment.stateToCheckerboardString(tempRouteStates[tempRouteLength - 1]));
+			context.variableTrackingOutput(
+					"The final state is: " + tempRouteStates[tempRouteLength - 1] + "\r\n");
+		} // Of if
 		for (int i = tempRouteLength - 2; i >= 0; i--) {
 			tempNextState = tempRouteStates[i + 1];
 			tempCurrentState = tempRouteStates[i];
 
-			SimpleTools.variableTrackingOutput(
-					"valueArray[" + tempCurrentState + "] from " + valueArray[tempCurrentState]);
-			double tempChange = valueArray[tempNextState] - valueArray[tempCurrentState];
-			valueArray[tempCurrentState] += alpha * tempChange;
-			SimpleTools.variableTrackingOutput(" to " + +valueArray[tempCurrentState] + "\r\n");
-			SimpleTools.variableTrackingOutput(
-					environment.stateToCheckerboardString(tempCurrentState));
+			double tempCurrentValue = getValue(tempCurrentState);
+			if (tempTracking) {
+				context.variableTrackingOutput(
+						"valueArray[" + tempCurrentState + "] from " + tempCurrentValue);
+			} // Of if
+			double tempChange = getValue(tempNextState) - tempCurrentValue;
+			tempCurrentValue += alpha * tempChange;
+			setValue(tempCurrentState, tempCurrentValue);
+			if (tempTracking) {
+				context.variableTrackingOutput(" to " + tempCurrentValue + "\r\n");
+				context.variableTrackingOutput(
+						environment.stateToCheckerboardString(tempCurrentState));
+			} // Of if
 		} // Of for i
 	}// Of backup
 
@@ -266,16 +460,16 @@ public class VAgent {
 	 ****************** 
 	 */
 	public void showTheFirstStep() {
-		SimpleTools.variableTrackingOutput("\r\nPlayer " + symbol);
-		SimpleTools.variableTrackingOutput(", [0]: " + valueArray[1]);
-		SimpleTools.variableTrackingOutput(", [1]: " + valueArray[3]);
-		SimpleTools.variableTrackingOutput(", [2]: " + valueArray[9]);
-		SimpleTools.variableTrackingOutput(", [3]: " + valueArray[27]);
-		SimpleTools.variableTrackingOutput(", [4]: " + valueArray[81]);
-		SimpleTools.variableTrackingOutput(", [5]: " + valueArray[243]);
-		SimpleTools.variableTrackingOutput(", [6]: " + valueArray[729]);
-		SimpleTools.variableTrackingOutput(", [7]: " + valueArray[729 * 3]);
-		SimpleTools.variableTrackingOutput(", [8]: " + valueArray[729 * 3 * 3]);
+		context.variableTrackingOutput("\r\nPlayer " + symbol);
+		context.variableTrackingOutput(", [0]: " + getValue(1));
+		context.variableTrackingOutput(", [1]: " + getValue(3));
+		context.variableTrackingOutput(", [2]: " + getValue(9));
+		context.variableTrackingOutput(", [3]: " + getValue(27));
+		context.variableTrackingOutput(", [4]: " + getValue(81));
+		context.variableTrackingOutput(", [5]: " + getValue(243));
+		context.variableTrackingOutput(", [6]: " + getValue(729));
+		context.variableTrackingOutput(", [7]: " + getValue(729 * 3));
+		context.variableTrackingOutput(", [8]: " + getValue(729 * 3 * 3));
 	}// Of showTheFirstStep
 
 	/**
@@ -292,11 +486,11 @@ public class VAgent {
 	 ****************** 
 	 */
 	public int selectAction(double[] paraValueArray, int[] paraValidActions) {
-		if (trainingStage && (Common.random.nextDouble() < epsilon)) {
-			return selectActionWeightedRandom(paraValueArray, paraValidActions);
+		if (trainingStage && (random.nextDouble() < epsilon)) {
+			return selectActionWeightedRandom(paraValueArray, paraValidActions, random);
 			// return selectActionRandom(paraValueArray, paraValidActions);
 		} else {
-			return selectBestAction(paraValueArray, paraValidActions);
+			return selectBestAction(paraValueArray, paraValidActions, random);
 		} // Of if
 	}// Of selectAction
 
@@ -332,6 +526,25 @@ public class VAgent {
 	 ****************** 
 	 */
 	public static int selectActionWeightedRandom(double[] paraValueArray, int[] paraActionArray) {
+		return selectActionWeightedRandom(paraValueArray, paraActionArray, Common.random);
+	}// Of selectActionWeightedRandom
+
+	/**
+	 ****************** 
+	 * Select an action according to the given reward array with the given
+	 * random object.
+	 * 
+	 * @param paraValueArray
+	 *            The given reward array.
+	 * @param paraActionArray
+	 *            The valid actions.
+	 * @param paraRandom
+	 *            The random object.
+	 * @return The selected action.
+	 ****************** 
+	 */
+	public static int selectActionWeightedRandom(double[] paraValueArray, int[] paraActionArray,
+			Random paraRandom) {
 		// Step 1. Scan the first time to obtain max/min/total values.
 		double tempMax = -Double.MAX_VALUE;
 		double tempMin = Double.MAX_VALUE;
@@ -369,7 +582,7 @@ public class VAgent {
 		} // Of for i
 
 		// Step 3. Choose one.
-		double tempRandom = Common.random.nextDouble();
+		double tempRandom = paraRandom.nextDouble();
 		// Important: Initialize as 0 instead of -1.
 		int resultIndex = 0;
 		for (int i = 0; i < tempScaleTotal.length; i++) {
@@ -397,6 +610,24 @@ public class VAgent {
 	 ****************** 
 	 */
 	public static int selectBestAction(double[] paraValueArray, int[] paraActionArray) {
+		return selectBestAction(paraValueArray, paraActionArray, SimpleTools.random);
+	}// Of selectBestAction
+
+	/**
+	 ****************** 
+	 * Select the best action with the given random object to break ties.
+	 * 
+	 * @param paraValueArray
+	 *            The given reward array.
+	 * @param paraActionArray
+	 *            The valid actions.
+	 * @param paraRandom
+	 *            The random object.
+	 * @return The selected action.
+	 ****************** 
+	 */
+	public static int selectBestAction(double[] paraValueArray, int[] paraActionArray,
+			Random paraRandom) {
 		double tempMaxValue = -1;
 		int[] tempBestActionArray = new int[9];
 		int numBestActions = 0;
@@ -413,7 +644,7 @@ public class VAgent {
 			} // Of if
 		} // Of for i
 
-		int[] tempIndexArray = SimpleTools.getRandomOrder(numBestActions);
+		int[] tempIndexArray = SimpleTools.getRandomOrder(numBestActions, paraRandom);
 		int resultBestAction = tempBestActionArray[tempIndexArray[0]];
 		// SimpleTools.variableTrackingOutput("\r\nFrom " +
 		// Arrays.toString(paraValueArray) + " and "
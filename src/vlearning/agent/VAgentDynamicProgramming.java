@@ -3,6 +3,7 @@ package vlearning.agent;
 import java.util.Arrays;
 
 import common.*;
+import qlearning.environment.TicTacToeSymmetry;
 import vlearning.environment.VTicTacToe;
 
 /**
@@ -13,8 +14,8 @@ import vlearning.environment.VTicTacToe;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 26, 2020.<br>
- *         Last modified: August 27, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.1
  */
 
 public class VAgentDynamicProgramming extends VAgent {
@@ -34,6 +35,74 @@ public class VAgentDynamicProgramming extends VAgent {
 	 */
 	int updateStrategy;
 
+	/**
+	 * Sweep mode. Each sweep reads only the values of the last sweep.
+	 */
+	public static final int JACOBI = 0;
+
+	/**
+	 * Sweep mode. Each sweep reads values updated in the same sweep. States are
+	 * swept in descending order since a successor always has a greater code,
+	 * hence values are propagated backward from final states.
+	 */
+	public static final int GAUSS_SEIDEL = 1;
+
+	/**
+	 * The discount of the greedy update.
+	 */
+	public static final double GREEDY_GAMMA = 0.9;
+
+	/**
+	 * The cost of one step in the greedy update.
+	 */
+	public static final double STEP_COST = 0.01;
+
+	/**
+	 * The states to sweep in ascending order.
+	 */
+	int[] sweepStates;
+
+	/**
+	 * The start of the successors of each swept state in successors. The
+	 * length is sweepStates.length + 1.
+	 */
+	int[] successorStarts;
+
+	/**
+	 * The successors, as indices of sweepStates.
+	 */
+	int[] successors;
+
+	/**
+	 * Are the successor lists built with symmetry?
+	 */
+	boolean successorListsSymmetric;
+
+	/**
+	 * The values of the swept states.
+	 */
+	double[] sweepValues;
+
+	/**
+	 * The other buffer for Jacobi sweeps.
+	 */
+	double[] nextSweepValues;
+
+	/**
+	 * The number of sweeps of the last value iteration.
+	 */
+	int lastIterations;
+
+	/**
+	 * The maximal change of the last sweep.
+	 */
+	double lastMaxDelta;
+
+	/**
+	 * The total time of the sweeps of the last value iteration in nanoseconds.
+	 */
+	long lastSweepTime;
+
 	/**
 	 ****************** 
 	 * The first constructor.
@@ -70,78 +139,286 @@ public class VAgentDynamicProgramming extends VAgent {
 
 	/**
 	 ****************** 
-	 * Update the value array.
+	 * Update the value array with the average of all neighbors. It is one
+	 * Jacobi sweep.
 	 ****************** 
 	 */
 	public void updateAverage() {
-		for (int i = 0; i < environment.getNumStates(); i++) {
-			// Ignore unavailable states.
-			if (!environment.isStateAvailable(i)) {
-				continue;
-			} // Of if
+		updateStrategy = AVERAGE_UPDATE;
+		loadSweepValues();
+		sweep(JACOBI);
+		storeSweepValues();
+		trackValues();
+	}// Of updateAverage
 
-			// Update the current state value according to its neighbors.
-			int[] tempNeighbors = environment.getTransitionMatrix()[i];
-			// System.out.println("The neighbors are " +
-			// Arrays.toString(tempNeighbors));
-			double tempValue = 0;
-			for (int j = 0; j < tempNeighbors.length; j++) {
-				if (tempNeighbors[j] == 0) {
-					// Back to itself
-					tempValue += valueArray[i];
-				} else {
-					tempValue += valueArray[tempNeighbors[j]];
-				} // Of if
-			} // Of for j
+	/**
+	 ****************** 
+	 * Update the value array greedily on all neighbors. It is one Jacobi sweep.
+	 ****************** 
+	 */
+	public void updateGreedy() {
+		updateStrategy = GREEDY_UPDATE;
+		loadSweepValues();
+		sweep(JACOBI);
+		storeSweepValues();
+		trackValues();
+	}// Of updateGreedy
 
-			valueArray[i] = tempValue / tempNeighbors.length;
-		} // Of for i
+	/**
+	 ****************** 
+	 * Output the first values for variable tracking.
+	 ****************** 
+	 */
+	void trackValues() {
+		if (!context.isVariableTracking()) {
+			return;
+		} // Of if
 
-		System.out.print("Player " + symbol + ", value array = ");
+		String tempString = "Player " + symbol + ", value array = ";
 		for (int i = 0; i < 20; i++) {
-			System.out.print("" + valueArray[i] + ",");
+			tempString += "" + getValue(i) + ",";
 		} // Of for i
-		System.out.println("...");
-	}// Of updateAverage
+		context.variableTrackingOutput(tempString + "...\r\n");
+	}// Of trackValues
 
 	/**
 	 ****************** 
-	 * Update the value array.
+	 * Build the successor lists of the available states in the compressed
+	 * sparse row (CSR) format. Successors are stored by their indices in
+	 * sweepStates. Actions staying in the same state, i.e., occupied positions
+	 * and all actions of final states, are not stored. With symmetry, only
+	 * canonical states are swept.
 	 ****************** 
 	 */
-	public void updateGreedy() {
-		double tempGamma = 0.9;
-		double tempStepCost = 0.01;
-		for (int i = 0; i < environment.getNumStates(); i++) {
-			// Ignore unavailable states.
-			if (!environment.isStateAvailable(i)) {
-				continue;
+	void buildSuccessorLists() {
+		int[] tempAvailableStates = environment.getAvailableStates();
+		int[][] tempTransitionMatrix = environment.getTransitionMatrix();
+
+		// Step 1. The states to sweep, in ascending order.
+		int tempNumSweepStates = 0;
+		int[] tempStates = new int[tempAvailableStates.length];
+		for (int i = 0; i < tempAvailableStates.length; i++) {
+			if (!symmetric || TicTacToeSymmetry.isCanonical(tempAvailableStates[i])) {
+				tempStates[tempNumSweepStates] = tempAvailableStates[i];
+				tempNumSweepStates++;
 			} // Of if
+		} // Of for i
+		sweepStates = Arrays.copyOf(tempStates, tempNumSweepStates);
 
-			// Update the current state value according to its neighbors.
-			int[] tempNeighbors = environment.getTransitionMatrix()[i];
-			// System.out.println("The neighbors are " +
-			// Arrays.toString(tempNeighbors));
-			double tempMax = -100;
-			for (int j = 0; j < tempNeighbors.length; j++) {
-				if (tempNeighbors[j] != 0) {
-					if (tempMax < tempGamma * valueArray[tempNeighbors[j]] - tempStepCost) {
-						tempMax = tempGamma * valueArray[tempNeighbors[j]] - tempStepCost;
-					}//Of if
+		int[] tempLocalIndices = new int[environment.getNumStates()];
+		Arrays.fill(tempLocalIndices, -1);
+		for (int i = 0; i < sweepStates.length; i++) {
+			tempLocalIndices[sweepStates[i]] = i;
+		} // Of for i
+
+		// Step 2. Count, then fill.
+		successorStarts = new int[sweepStates.length + 1];
+		for (int i = 0; i < sweepStates.length; i++) {
+			int tempCount = 0;
+			for (int j = 0; j < tempTransitionMatrix[sweepStates[i]].length; j++) {
+				if (tempTransitionMatrix[sweepStates[i]][j] != 0) {
+					tempCount++;
 				} // Of if
 			} // Of for j
-			
-			if (tempMax > -99) {
-				valueArray[i] = tempMax;
-			}//Of if
+			successorStarts[i + 1] = successorStarts[i] + tempCount;
 		} // Of for i
 
-		System.out.print("Player " + symbol + ", value array = ");
-		for (int i = 0; i < 20; i++) {
-			System.out.print("" + valueArray[i] + ",");
+		successors = new int[successorStarts[sweepStates.length]];
+		int tempNextState;
+		int tempPosition = 0;
+		for (int i = 0; i < sweepStates.length; i++) {
+			for (int j = 0; j < tempTransitionMatrix[sweepStates[i]].length; j++) {
+				tempNextState = tempTransitionMatrix[sweepStates[i]][j];
+				if (tempNextState != 0) {
+					if (symmetric) {
+						tempNextState = TicTacToeSymmetry.getCanonicalState(tempNextState);
+					} // Of if
+					successors[tempPosition] = tempLocalIndices[tempNextState];
+					tempPosition++;
+				} // Of if
+			} // Of for j
 		} // Of for i
-		System.out.println("...");
-	}// Of updateGreedy
+
+		sweepValues = new double[sweepStates.length];
+		nextSweepValues = new double[sweepStates.length];
+		successorListsSymmetric = symmetric;
+	}// Of buildSuccessorLists
+
+	/**
+	 ****************** 
+	 * Copy the values of the swept states into sweepValues. The successor
+	 * lists are built if necessary.
+	 ****************** 
+	 */
+	void loadSweepValues() {
+		if (sweepStates == null || successorListsSymmetric != symmetric) {
+			buildSuccessorLists();
+		} // Of if
+
+		for (int i = 0; i < sweepStates.length; i++) {
+			sweepValues[i] = getValue(sweepStates[i]);
+		} // Of for i
+	}// Of loadSweepValues
+
+	/**
+	 ****************** 
+	 * Copy sweepValues back to the values of the swept states.
+	 ****************** 
+	 */
+	void storeSweepValues() {
+		for (int i = 0; i < sweepStates.length; i++) {
+			setValue(sweepStates[i], sweepValues[i]);
+		} // Of for i
+	}// Of storeSweepValues
+
+	/**
+	 ****************** 
+	 * Sweep all states once with the current update strategy.
+	 * 
+	 * @param paraMode
+	 *            JACOBI reads only the values of the last sweep, while
+	 *            GAUSS_SEIDEL reads values updated in this sweep.
+	 * @return The maximal absolute change of values.
+	 ****************** 
+	 */
+	double sweep(int paraMode) {
+		double[] tempSource = sweepValues;
+		double[] tempTarget = sweepValues;
+		if (paraMode == JACOBI) {
+			tempTarget = nextSweepValues;
+		} // Of if
+
+		int tempNumActions = environment.getNumActions();
+		double resultMaxDelta = 0;
+		double tempOldValue;
+		double tempNewValue;
+		double tempCandidate;
+		int tempStart;
+		int tempEnd;
+		int i;
+		for (int k = 0; k < sweepStates.length; k++) {
+			if (paraMode == JACOBI) {
+				i = k;
+			} else {
+				i = sweepStates.length - 1 - k;
+			} // Of if
+			tempStart = successorStarts[i];
+			tempEnd = successorStarts[i + 1];
+			tempOldValue = tempSource[i];
+			if (updateStrategy == AVERAGE_UPDATE) {
+				// Actions which are not stored go back to the state itself.
+				tempNewValue = (tempNumActions - (tempEnd - tempStart)) * tempOldValue;
+				for (int j = tempStart; j < tempEnd; j++) {
+					tempNewValue += tempSource[successors[j]];
+				} // Of for j
+				tempNewValue /= tempNumActions;
+			} else if (tempStart == tempEnd) {
+				// A final state keeps its value.
+				tempNewValue = tempOldValue;
+			} else {
+				tempNewValue = -Double.MAX_VALUE;
+				for (int j = tempStart; j < tempEnd; j++) {
+					tempCandidate = GREEDY_GAMMA * tempSource[successors[j]] - STEP_COST;
+					if (tempNewValue < tempCandidate) {
+						tempNewValue = tempCandidate;
+					} // Of if
+				} // Of for j
+			} // Of if
+
+			tempTarget[i] = tempNewValue;
+			if (resultMaxDelta < Math.abs(tempNewValue - tempOldValue)) {
+				resultMaxDelta = Math.abs(tempNewValue - tempOldValue);
+			} // Of if
+		} // Of for k
+
+		if (paraMode == JACOBI) {
+			nextSweepValues = sweepValues;
+			sweepValues = tempTarget;
+		} // Of if
+
+		return resultMaxDelta;
+	}// Of sweep
+
+	/**
+	 ****************** 
+	 * Value iteration with the current update strategy. Sweep until the
+	 * maximal change of values is less than the threshold.
+	 * 
+	 * @param paraMode
+	 *            JACOBI or GAUSS_SEIDEL.
+	 * @param paraThreshold
+	 *            The convergence threshold of the maximal change.
+	 * @param paraMaxIterations
+	 *            The maximal number of sweeps.
+	 * @return The number of sweeps.
+	 ****************** 
+	 */
+	public int valueIteration(int paraMode, double paraThreshold, int paraMaxIterations) {
+		loadSweepValues();
+
+		lastIterations = 0;
+		lastSweepTime = 0;
+		long tempStartTime;
+		do {
+			tempStartTime = System.nanoTime();
+			lastMaxDelta = sweep(paraMode);
+			lastSweepTime += System.nanoTime() - tempStartTime;
+			lastIterations++;
+		} while (lastMaxDelta >= paraThreshold && lastIterations < paraMaxIterations);
+
+		storeSweepValues();
+
+		return lastIterations;
+	}// Of valueIteration
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of sweeps of the last value iteration.
+	 ****************** 
+	 */
+	public int getLastIterations() {
+		return lastIterations;
+	}// Of getLastIterations
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The maximal change of the last sweep.
+	 ****************** 
+	 */
+	public double getLastMaxDelta() {
+		return lastMaxDelta;
+	}// Of getLastMaxDelta
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The total time of the sweeps of the last value iteration in
+	 *         nanoseconds.
+	 ****************** 
+	 */
+	public long getLastSweepTime() {
+		return lastSweepTime;
+	}// Of getLastSweepTime
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of swept states.
+	 ****************** 
+	 */
+	public int getNumSweepStates() {
+		if (sweepStates == null || successorListsSymmetric != symmetric) {
+			buildSuccessorLists();
+		} // Of if
+
+		return sweepStates.length;
+	}// Of getNumSweepStates
 
 	/**
 	 ****************** 
@@ -4,7 +4,9 @@ import java.util.Arrays;
 import java.util.Random;
 
 import qlearning.action.IllegalActionException;
-import common.SimpleTools;
+import qlearning.environment.Environment;
+import qlearning.environment.TicTacToeLineCounter;
+import common.RunContext;
 
 /**
  * The environment of tic-tac-toe for V-learning.<br>
@@ -14,8 +16,8 @@ import common.SimpleTools;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 20, 2020.<br>
- *         Last modified: August 21, 2020.
- * @version 1.1
+ *         Last modified: October 18, 2026.
+ * @version 1.2
  */
 
 public class VTicTacToe {
@@ -84,11 +86,21 @@ public class VTicTacToe {
 	 */
 	int numActions;
 
+	/**
+	 * The incremental state and game situation of the current checkerboard.
+	 */
+	TicTacToeLineCounter lineCounter;
+
 	/**
 	 * The current route states.
 	 */
 	int[] currentRouteStates;
 
+	/**
+	 * The context of the current run. It is shared by the agents.
+	 */
+	RunContext context;
+
 	/**
 	 * Current route length.
 	 */
@@ -113,6 +125,8 @@ public class VTicTacToe {
 
 		numActions = 9;
 		currentRouteStates = new int[numActions + 1];
+		lineCounter = new TicTacToeLineCounter();
+		context = new RunContext();
 		
 		reset();
 	}// Of the first constructor
@@ -139,6 +153,18 @@ public class VTicTacToe {
 		return null;
 	}// Of getTransitionMatrix
 
+	/**
+	 ****************** 
+	 * Getter.
+	 * Just a stub here.
+	 * 
+	 * @return The available states.
+	 ****************** 
+	 */
+	public int[] getAvailableStates() {
+		return null;
+	}// Of getAvailableStates
+
 	/**
 	 ****************** 
 	 * Getter.
@@ -150,6 +176,30 @@ public class VTicTacToe {
 		return numStates;
 	}// Of getNumStates
 
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The context of the current run.
+	 ****************** 
+	 */
+	public RunContext getContext() {
+		return context;
+	}// Of getContext
+
+	/**
+	 ****************** 
+	 * Setter. It should be called before the agents are created, or the
+	 * agents should be given the same context.
+	 * 
+	 * @param paraContext
+	 *            The context of the current run.
+	 ****************** 
+	 */
+	public void setContext(RunContext paraContext) {
+		context = paraContext;
+	}// Of setContext
+
 	/**
 	 ****************** 
 	 * Getter.
@@ -210,6 +260,7 @@ public class VTicTacToe {
 		} // Of for i
 		currentState = 0;
 		currentRouteLength = 1;
+		lineCounter.reset();
 
 		// White first
 		currentPlayer = WHITE;
@@ -320,27 +371,48 @@ public class VTicTacToe {
 	 * 
 	 * @param paraAction
 	 *            The given action. It is the position chosen by the player.
-	 * @return Whether or not the process comes an end.
+	 * @throws IllegalActionException
+	 *             if the position is already occupied.
 	 ****************** 
 	 */
 	public void step(int paraAction) throws IllegalActionException {
+		if (tryStep(paraAction) == Environment.STEP_ILLEGAL_ACTION) {
+			int tempRow = paraAction / SIZE;
+			int tempColumn = paraAction % SIZE;
+			System.out.println("The checkerboard state is: " + Arrays.deepToString(checkerboard));
+			throw new IllegalActionException("The position (" + tempRow + ", " + tempColumn
+					+ " is already occupied " + checkerboard[tempRow][tempColumn]);
+		} // Of if
+	}// Of step
+
+	/**
+	 ****************** 
+	 * Go one step with the given action. No exception is thrown.
+	 * 
+	 * @param paraAction
+	 *            The given action. It is the position chosen by the player.
+	 * @return Environment.STEP_OK, or Environment.STEP_ILLEGAL_ACTION if the
+	 *         position is already occupied.
+	 ****************** 
+	 */
+	public int tryStep(int paraAction) {
 		// Step 1. Is this action legal?
 		int tempRow = paraAction / SIZE;
 		int tempColumn = paraAction % SIZE;
 		if (checkerboard[tempRow][tempColumn] != EMPTY) {
-			System.out.println("The checkerboard state is: " + Arrays.deepToString(checkerboard));
-			throw new IllegalActionException("The position (" + tempRow + ", " + tempColumn
-					+ " is already occupied " + checkerboard[tempRow][tempColumn]);
+			return Environment.STEP_ILLEGAL_ACTION;
 		} // Of if
 
 		// Step 2. Change the state of the checkerboard.
 		//SimpleTools.variableTrackingOutput(
 		//		"Assign " + currentPlayer + " to (" + tempRow + ", " + tempColumn + ").");
-		SimpleTools.variableTrackingOutput("" + paraAction + ", ");
+		if (context.isVariableTracking()) {
+			context.variableTrackingOutput("" + paraAction + ", ");
+		} // Of if
 		checkerboard[tempRow][tempColumn] = currentPlayer;
-		currentState = checkerboardToState(checkerboard);
-
-		gameSituation = computeGameSituation();
+		// Only the lines through this position are checked.
+		gameSituation = lineCounter.place(paraAction, currentPlayer);
+		currentState = lineCounter.getState();
 		//SimpleTools.variableTrackingOutput("Environment current stage: " + currentState + ", ");
 		//SimpleTools.variableTrackingOutput("gameSituation: " + gameSituation + ", ");
 
@@ -353,7 +425,9 @@ public class VTicTacToe {
 		} else {
 			currentPlayer = WHITE;
 		} // Of if
-	}// Of step
+
+		return Environment.STEP_OK;
+	}// Of tryStep
 
 	/**
 	 ****************** 
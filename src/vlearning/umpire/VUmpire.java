@@ -1,6 +1,9 @@
 package vlearning.umpire;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Random;
 
 import vlearning.agent.*;
 import common.*;
@@ -15,11 +18,17 @@ import vlearning.environment.*;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 20, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.4
  */
 
 public class VUmpire {
+	/**
+	 * The length of a sample, i.e., the number of episodes followed by the
+	 * win times of TIE and the two players.
+	 */
+	public static final int SAMPLE_LENGTH = 4;
+
 	/**
 	 * The environment for the agents.
 	 */
@@ -45,6 +54,38 @@ public class VUmpire {
 	 */
 	int[][] playCheckerboard;
 
+	/**
+	 * The number of episodes trained, including those of a loaded checkpoint.
+	 */
+	long trainedEpisodes;
+
+	/**
+	 * Is the training requested to stop? It is set by other threads, e.g.,
+	 * the cancel button of the GUI, and checked after each episode.
+	 */
+	volatile boolean cancelRequested;
+
+	/**
+	 * The number of episodes finished by the current training. It is read by
+	 * other threads to show the progress.
+	 */
+	volatile int completedEpisodes;
+
+	/**
+	 * The buffer of samples of the win times, null for no sampling.
+	 */
+	SampleRingBuffer sampleBuffer;
+
+	/**
+	 * Write a sample to the buffer every this many episodes.
+	 */
+	int sampleInterval;
+
+	/**
+	 * The sample being written. It is reused.
+	 */
+	int[] sampleRecord = new int[SAMPLE_LENGTH];
+
 	/**
 	 ****************** 
 	 * The constructor.
@@ -85,15 +126,129 @@ public class VUmpire {
 
 	/**
 	 ****************** 
-	 * Train.
+	 * Setter. Let all agents share the values of symmetric checkerboards.
+	 * 
+	 * @param paraSymmetric
+	 *            Share or not.
+	 ****************** 
+	 */
+	public void setSymmetric(boolean paraSymmetric) {
+		for (int i = 0; i < agentArray.length; i++) {
+			agentArray[i].setSymmetric(paraSymmetric);
+		} // Of for i
+	}// Of setSymmetric
+
+	/**
+	 ****************** 
+	 * Setter. Let all agents share the random object of the current run.
+	 * 
+	 * @param paraRandom
+	 *            The random object.
+	 ****************** 
+	 */
+	public void setRandom(Random paraRandom) {
+		for (int i = 0; i < agentArray.length; i++) {
+			agentArray[i].setRandom(paraRandom);
+		} // Of for i
+	}// Of setRandom
+
+	/**
+	 ****************** 
+	 * Setter. Let the environment and all agents share the context of the
+	 * current run.
+	 * 
+	 * @param paraContext
+	 *            The context.
+	 ****************** 
+	 */
+	public void setContext(RunContext paraContext) {
+		environment.setContext(paraContext);
+		for (int i = 0; i < agentArray.length; i++) {
+			agentArray[i].setContext(paraContext);
+		} // Of for i
+	}// Of setContext
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The context of the environment.
+	 ****************** 
+	 */
+	public RunContext getContext() {
+		return environment.getContext();
+	}// Of getContext
+
+	/**
+	 ****************** 
+	 * Request the current training to stop after the running episode. It may
+	 * be called from any thread.
+	 ****************** 
+	 */
+	public void cancel() {
+		cancelRequested = true;
+	}// Of cancel
+
+	/**
+	 ****************** 
+	 * Setter. Let the training write the win times to the buffer every
+	 * paraInterval episodes, e.g., for a dashboard of another thread. Each
+	 * sample has SAMPLE_LENGTH values, i.e., the number of finished episodes
+	 * and winTimesArray.
+	 * 
+	 * @param paraBuffer
+	 *            The buffer, null for no sampling.
+	 * @param paraInterval
+	 *            The number of episodes between samples.
+	 ****************** 
+	 */
+	public void setSampleBuffer(SampleRingBuffer paraBuffer, int paraInterval) {
+		sampleBuffer = paraBuffer;
+		sampleInterval = Math.max(1, paraInterval);
+	}// Of setSampleBuffer
+
+	/**
+	 ****************** 
+	 * Write the current win times to the sample buffer.
+	 * 
+	 * @param paraEpisodes
+	 *            The number of finished episodes.
+	 ****************** 
+	 */
+	void writeSample(int paraEpisodes) {
+		sampleRecord[0] = paraEpisodes;
+		for (int i = 0; i < winTimesArray.length; i++) {
+			sampleRecord[i + 1] = winTimesArray[i];
+		} // Of for i
+		sampleBuffer.add(sampleRecord);
+	}// Of writeSample
+
+	/**
+	 ****************** 
+	 * Getter. It may be called from any thread.
+	 * 
+	 * @return The number of episodes finished by the current training.
+	 ****************** 
+	 */
+	public int getCompletedEpisodes() {
+		return completedEpisodes;
+	}// Of getCompletedEpisodes
+
+	/**
+	 ****************** 
+	 * Train. It stops early if cancel() is called, and then only the finished
+	 * episodes are counted as trained.
 	 * 
 	 * @param paraEpisodes
 	 *            The number of episodes.
+	 * @return True if all episodes are trained, false if cancelled.
 	 ****************** 
 	 */
-	public void train(int paraEpisodes, double paraEpsilon, double paraAlpha) {
+	public boolean train(int paraEpisodes, double paraEpsilon, double paraAlpha) {
 		//System.out.println("Training stage ...");
 		// Step 1. Initialize.
+		cancelRequested = false;
+		completedEpisodes = 0;
 		environment.reset();
 
 		for (int i = 0; i < agentArray.length; i++) {
@@ -104,18 +259,26 @@ public class VUmpire {
 		}//Of for i
 
 		Arrays.fill(winTimesArray, 0);
+		trainedEpisodes = paraEpisodes;
+		RunContext tempContext = environment.getContext();
 
 		// Step 2. Run the given episodes.
 		for (int i = 0; i < paraEpisodes; i++) {
+			if (cancelRequested) {
+				trainedEpisodes = i;
+				return false;
+			} // Of if
+
 			if ((i == 0) || (i >= paraEpisodes - 5) ) {
 				//Important: change to true for tracking.
-				SimpleTools.variableTracking = false;
+				tempContext.setVariableTracking(false);
 			} else {
-				SimpleTools.variableTracking = false;
+				tempContext.setVariableTracking(false);
 			}//Of if
 
 			//SimpleTools.variableTrackingOutput("\r\nEpisode " + i + ":\r\n");
 			//Step 2.1. Reinitialize the environment while not the players.
+			tempContext.startEpisode(i);
 			environment.reset();
 
 			int tempCurrentPlayer = 0;
@@ -135,18 +298,24 @@ public class VUmpire {
 
 			//SimpleTools.variableTrackingOutput("The environment is: " + environment.toString());
 			winTimesArray[tempGameSituation]++;
-			SimpleTools.variableTrackingOutput(" & " + tempGameSituation + "\\\\\r\n");
+			tempContext.variableTrackingOutput(" & " + tempGameSituation + "\\\\\r\n");
 			
 			//Step 2.3. Now update the 
 			for (int j = 0; j < agentArray.length; j++) {
 				agentArray[j].backup();
 			}//Of for i
+			completedEpisodes = i + 1;
+			if (sampleBuffer != null
+					&& ((i + 1) % sampleInterval == 0 || i + 1 == paraEpisodes)) {
+				writeSample(i + 1);
+			} // Of if
 		} // Of for i
 		
 		//Step 2.3. Only for testing.
 		//for (int i = 0; i< agentArray.length; i++) {
 		//	agentArray[i].showTheFirstStep();
 		//}//Of for i
+		return true;
 	} // Of train
 	
 	/**
@@ -166,6 +335,7 @@ public class VUmpire {
 		}//Of for i
 
 		Arrays.fill(winTimesArray, 0);
+		RunContext tempContext = environment.getContext();
 
 		// Step 2. Run the given episodes.
 		for (int i = 0; i < paraEpisodes; i++) {
@@ -190,9 +360,11 @@ public class VUmpire {
 
 			//SimpleTools.variableTrackingOutput("The environment is: " + environment.toString());
 			winTimesArray[tempGameSituation]++;
-			SimpleTools.variableTrackingOutput(" & " + tempGameSituation + "\\\\");
+			tempContext.variableTrackingOutput(" & " + tempGameSituation + "\\\\");
 		} // Of for i
-		SimpleTools.variableTrackingOutput("" + environment);
+		if (tempContext.isVariableTracking()) {
+			tempContext.variableTrackingOutput("" + environment);
+		} // Of if
 	} // Of play
 	
 	/**
@@ -258,6 +430,99 @@ public class VUmpire {
 	public int[] getWinTimesArray() {
 		return winTimesArray;
 	}//Of getWinTimesArray
+
+	/**
+	 ****************** 
+	 * Get the name of the checkpoint file of an agent.
+	 * 
+	 * @param paraFilenamePrefix
+	 *            The prefix of the files, e.g., "checkpoints/v-10000".
+	 * @param paraAgentIndex
+	 *            The index of the agent.
+	 * @return The name of the file.
+	 ****************** 
+	 */
+	public static String getCheckpointFilename(String paraFilenamePrefix, int paraAgentIndex) {
+		return paraFilenamePrefix + "-player" + (paraAgentIndex + 1) + ".ckpt";
+	}// Of getCheckpointFilename
+
+	/**
+	 ****************** 
+	 * Save the values of all agents, one file for each.
+	 * 
+	 * @param paraFilenamePrefix
+	 *            The prefix of the files.
+	 * @throws IOException
+	 *             if any file cannot be written.
+	 ****************** 
+	 */
+	public void saveCheckpoint(String paraFilenamePrefix) throws IOException {
+		for (int i = 0; i < agentArray.length; i++) {
+			agentArray[i].saveCheckpoint(getCheckpointFilename(paraFilenamePrefix, i),
+					trainedEpisodes);
+		} // Of for i
+	}// Of saveCheckpoint
+
+	/**
+	 ****************** 
+	 * Load the values of all agents instead of training. The agents are ready
+	 * to play at once.
+	 * 
+	 * @param paraFilenamePrefix
+	 *            The prefix of the files.
+	 * @throws IOException
+	 *             if any file cannot be read.
+	 ****************** 
+	 */
+	public void loadCheckpoint(String paraFilenamePrefix) throws IOException {
+		for (int i = 0; i < agentArray.length; i++) {
+			trainedEpisodes = agentArray[i]
+					.loadCheckpoint(getCheckpointFilename(paraFilenamePrefix, i));
+			agentArray[i].setTrainingStage(false);
+		} // Of for i
+		Arrays.fill(winTimesArray, 0);
+	}// Of loadCheckpoint
+
+	/**
+	 ****************** 
+	 * Check whether checkpoint files of all agents exist.
+	 * 
+	 * @param paraFilenamePrefix
+	 *            The prefix of the files.
+	 * @return True if all exist.
+	 ****************** 
+	 */
+	public boolean hasCheckpoint(String paraFilenamePrefix) {
+		for (int i = 0; i < agentArray.length; i++) {
+			if (!new File(getCheckpointFilename(paraFilenamePrefix, i)).isFile()) {
+				return false;
+			} // Of if
+		} // Of for i
+
+		return true;
+	}// Of hasCheckpoint
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The number of episodes trained.
+	 ****************** 
+	 */
+	public long getTrainedEpisodes() {
+		return trainedEpisodes;
+	}// Of getTrainedEpisodes
+
+	/**
+	 ****************** 
+	 * Getter.
+	 * 
+	 * @return The information of the last training for display.
+	 ****************** 
+	 */
+	public String getTrainingInformation() {
+		return "Trained " + trainedEpisodes + " episodes.";
+	}// Of getTrainingInformation
 	
 	/**
 	 ****************** 
@@ -268,7 +533,7 @@ public class VUmpire {
 		VUmpire tempUmpire = new VUmpire();
 
 		int tempEpisodes = 10000;
-		SimpleTools.variableTracking = false;
+		tempUmpire.getContext().setVariableTracking(false);
 		tempUmpire.train(tempEpisodes, 0.1, 0.1);
 
 		System.out.println("\r\nEpisodes = " + tempEpisodes + ", winTimesArray = "
@@ -277,6 +542,44 @@ public class VUmpire {
 		tempUmpire.play(1);
 	}// Of ticTacToeVTest
 
+	/**
+	 ****************** 
+	 * Train, save a checkpoint, and then let agents loaded from it play
+	 * against each other.
+	 ****************** 
+	 */
+	public static void checkpointTest() {
+		String tempPrefix = System.getProperty("java.io.tmpdir") + "/v-checkpoint-test";
+		VUmpire tempUmpire = new VUmpire();
+		tempUmpire.setContext(new RunContext(0));
+		tempUmpire.train(10000, 0.1, 0.1);
+		tempUmpire.play(1000);
+		System.out.println("Trained agents, winTimesArray = "
+				+ Arrays.toString(tempUmpire.winTimesArray));
+
+		// The files of the test are removed when the JVM exits.
+		for (int i = 0; i < tempUmpire.agentArray.length; i++) {
+			new File(getCheckpointFilename(tempPrefix, i)).deleteOnExit();
+		} // Of for i
+
+		VUmpire tempLoaded = new VUmpire();
+		try {
+			tempUmpire.saveCheckpoint(tempPrefix);
+			long tempStartTime = System.nanoTime();
+			tempLoaded.loadCheckpoint(tempPrefix);
+			System.out.println("Loaded " + tempLoaded.getTrainedEpisodes() + " episodes in "
+					+ (System.nanoTime() - tempStartTime) / 1000 + " us.");
+		} catch (IOException ee) {
+			System.out.println("VUmpire.checkpointTest: " + ee);
+			return;
+		} // Of try
+
+		tempLoaded.setContext(new RunContext(1));
+		tempLoaded.play(1000);
+		System.out.println("Loaded agents, winTimesArray = "
+				+ Arrays.toString(tempLoaded.winTimesArray));
+	}// Of checkpointTest
+
 	/**
 	 ****************** 
 	 * For unit test.
@@ -287,5 +590,6 @@ public class VUmpire {
 	 */
 	public static void main(String args[]) {
 		ticTacToeVTest();
+		checkpointTest();
 	}// Of main
 }// Of class Umpire
\ No newline at end of file
@@ -15,12 +15,22 @@ import vlearning.environment.*;
  *         www.fansmale.com, https://github.com/FanSmale/MFReinforcement.<br>
  *         Email: minfan@swpu.edu.cn, minfanphd@163.com.<br>
  *         Date Created: August 16, 2020.<br>
- *         Last modified: August 20, 2020.
- * @version 1.0
+ *         Last modified: October 18, 2026.
+ * @version 1.3
  */
 
 public class VUmpireDynamicProgramming extends VUmpire {
 
+	/**
+	 * Training stops when the maximal change of a sweep is below it.
+	 */
+	public static final double CONVERGENCE_THRESHOLD = 1e-6;
+
+	/**
+	 * VAgentDynamicProgramming.JACOBI or GAUSS_SEIDEL.
+	 */
+	int sweepMode = VAgentDynamicProgramming.GAUSS_SEIDEL;
+
 	/**
 	 ****************** 
 	 * The constructor.
@@ -44,15 +54,32 @@ public class VUmpireDynamicProgramming extends VUmpire {
 
 	/**
 	 ****************** 
-	 * Train.
+	 * Setter.
+	 * 
+	 * @param paraSweepMode
+	 *            VAgentDynamicProgramming.JACOBI or GAUSS_SEIDEL.
+	 ****************** 
+	 */
+	public void setSweepMode(int paraSweepMode) {
+		sweepMode = paraSweepMode;
+	}// Of setSweepMode
+
+	/**
+	 ****************** 
+	 * Train by value iteration until the maximal change of a sweep is below
+	 * CONVERGENCE_THRESHOLD. Each sweep counts as an episode. It stops early
+	 * if cancel() is called before an agent starts.
 	 * 
 	 * @param paraEpisodes
-	 *            The number of episodes.
+	 *            The maximal number of sweeps of each agent.
+	 * @return True if all agents are trained, false if cancelled.
 	 ****************** 
 	 */
-	public void train(int paraEpisodes, double paraEpsilon, double paraAlpha) {
+	public boolean train(int paraEpisodes, double paraEpsilon, double paraAlpha) {
 		//System.out.println("Training stage ...");
 		// Step 1. Initialize.
+		cancelRequested = false;
+		completedEpisodes = 0;
 		environment.reset();
 
 		for (int i = 0; i < agentArray.length; i++) {
@@ -63,15 +90,45 @@ public class VUmpireDynamicProgramming extends VUmpire {
 		} // Of for i
 
 		Arrays.fill(winTimesArray, 0);
+		trainedEpisodes = 0;
 
-		// Step 2. Run the given episodes.
-		for (int i = 0; i < paraEpisodes; i++) {
-			for (int j = 0; j < agentArray.length; j++) {
-				agentArray[j].update();
-			} // Of for j
+		// Step 2. Sweep each agent until convergence, at most paraEpisodes
+		// times. The values of the agents are independent.
+		VAgentDynamicProgramming tempAgent;
+		for (int i = 0; i < agentArray.length; i++) {
+			if (cancelRequested) {
+				return false;
+			} // Of if
+
+			tempAgent = (VAgentDynamicProgramming) agentArray[i];
+			tempAgent.valueIteration(sweepMode, CONVERGENCE_THRESHOLD, paraEpisodes);
+			trainedEpisodes = Math.max(trainedEpisodes, tempAgent.getLastIterations());
+			completedEpisodes = (int) trainedEpisodes;
 		} // Of for i
+
+		return true;
 	} // Of train
 
+	/**
+	 ****************** 
+	 * The sweeps and the sweep time of each agent in the last training.
+	 * 
+	 * @return The information.
+	 ****************** 
+	 */
+	public String getTrainingInformation() {
+		String resultString = "";
+		VAgentDynamicProgramming tempAgent;
+		for (int i = 0; i < agentArray.length; i++) {
+			tempAgent = (VAgentDynamicProgramming) agentArray[i];
+			resultString += String.format("%sPlayer %d: %d sweeps in %.3f ms, max delta = %g.",
+					i == 0 ? "" : "\r\n", i + 1, tempAgent.getLastIterations(),
+					tempAgent.getLastSweepTime() / 1000000.0, tempAgent.getLastMaxDelta());
+		} // Of for i
+
+		return resultString;
+	}// Of getTrainingInformation
+
 	/**
 	 ****************** 
 	 * Test.
@@ -80,9 +137,10 @@ public class VUmpireDynamicProgramming extends VUmpire {
 	public static void ticTacToeVTest() {
 		VUmpireDynamicProgramming tempUmpire = new VUmpireDynamicProgramming(0);
 
-		int tempEpisodes = 10;
-		SimpleTools.variableTracking = false;
+		int tempEpisodes = 1000;
+		tempUmpire.getContext().setVariableTracking(false);
 		tempUmpire.train(tempEpisodes, 0.1, 0.1);
+		System.out.println(tempUmpire.getTrainingInformation());
 
 		// System.out.println("\r\nEpisodes = " + tempEpisodes + ",
 		// winTimesArray = "
@@ -91,6 +149,36 @@ public class VUmpireDynamicProgramming extends VUmpire {
 		tempUmpire.play(1);
 	}// Of ticTacToeVTest
 
+	/**
+	 ****************** 
+	 * Compare Jacobi and Gauss-Seidel value iteration for both update
+	 * strategies.
+	 ****************** 
+	 */
+	public static void valueIterationTest() {
+		String[] tempStrategyNames = { "average", "greedy" };
+		int[] tempStrategies = { VAgentDynamicProgramming.AVERAGE_UPDATE,
+				VAgentDynamicProgramming.GREEDY_UPDATE };
+		String[] tempModeNames = { "Jacobi", "Gauss-Seidel" };
+		int[] tempModes = { VAgentDynamicProgramming.JACOBI,
+				VAgentDynamicProgramming.GAUSS_SEIDEL };
+
+		VAgentDynamicProgramming tempAgent;
+		for (int i = 0; i < tempStrategies.length; i++) {
+			for (int j = 0; j < tempModes.length; j++) {
+				VUmpireDynamicProgramming tempUmpire = new VUmpireDynamicProgramming(
+						tempStrategies[i]);
+				tempAgent = (VAgentDynamicProgramming) tempUmpire.agentArray[0];
+				tempAgent.valueIteration(tempModes[j], 1e-6, 10000);
+				System.out.println(tempStrategyNames[i] + ", " + tempModeNames[j] + ": "
+						+ tempAgent.getLastIterations() + " sweeps over "
+						+ tempAgent.getNumSweepStates() + " states in "
+						+ tempAgent.getLastSweepTime() / 1000000.0 + " ms, max delta = "
+						+ tempAgent.getLastMaxDelta());
+			} // Of for j
+		} // Of for i
+	}// Of valueIterationTest
+
 	/**
 	 ****************** 
 	 * For unit test.
@@ -101,5 +189,6 @@ public class VUmpireDynamicProgramming extends VUmpire {
 	 */
 	public static void main(String args[]) {
 		ticTacToeVTest();
+		valueIterationTest();
 	}// Of main
 }// Of class VUmpireDynamicProgramming
\ No newline at end of file